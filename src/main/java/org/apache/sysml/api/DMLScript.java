@@ -83,6 +83,7 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainCounts;
 import org.apache.sysml.utils.Explain.ExplainType;
+import org.apache.sysml.utils.RuntimeMetrics;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 // import org.apache.sysml.utils.visualize.DotGraph;
@@ -130,6 +131,8 @@ public class DMLScript
 			+ "   -exec: <mode> (optional) execution mode (hadoop, singlenode, [hybrid], hybrid_spark)\n"
 			+ "   -explain: <type> (optional) explain plan (hops, [runtime], recompile_hops, recompile_runtime)\n"
 			+ "   -stats: (optional) monitor and report caching/recompilation statistics\n"
+			+ "   -metrics: (optional) monitor per-instruction latencies and export runtime\n"
+			+ "         metrics via JMX (MBean org.apache.sysml:type=RuntimeMetrics)\n"
 			+ "   -clean: (optional) cleanup all SystemML working directories (FS, DFS).\n"
 			+ "         All other flags are ignored in this mode. \n"
 			+ "   -config: (optional) use config file <config_filename> (default: use parameter\n"
@@ -293,6 +296,8 @@ public class DMLScript
 				}
 				else if( args[i].equalsIgnoreCase("-stats") )
 					STATISTICS = true;
+				else if( args[i].equalsIgnoreCase("-metrics") )
+					RuntimeMetrics.registerMBean();
 				else if ( args[i].equalsIgnoreCase("-exec")) {
 					rtplatform = parseRuntimePlatform(args[++i]);
 					if( rtplatform==null ) 
@@ -386,6 +391,7 @@ public class DMLScript
 				arg.equalsIgnoreCase("-explain") || 
 				arg.equalsIgnoreCase("-debug") || 
 				arg.equalsIgnoreCase("-stats") || 
+				arg.equalsIgnoreCase("-metrics") || 
 				arg.equalsIgnoreCase("-exec") ||
 				arg.equalsIgnoreCase("-debug") ||
 				arg.startsWith("-config="))
@@ -685,6 +691,8 @@ public class DMLScript
 			//display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
 			LOG.info(Statistics.display());
+			if( RuntimeMetrics.isEnabled() )
+				LOG.info(RuntimeMetrics.getInstance().display(10));
 			LOG.info("END DML run " + getDateTime() );
 			
 			//cleanup scratch_space and all working dirs
@@ -798,8 +806,10 @@ public class DMLScript
 		//cleanup working dirs from previous aborted runs with same pid in order to prevent conflicts
 		cleanupHadoopExecution(config); 
 		
-		//init caching (incl set active)
+		//init caching (incl set active, offheap write buffer size in MB, compression)
 		LocalFileUtils.createWorkingDirectory();
+		CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = 1024L * 1024 * config.getIntValue(DMLConfig.CP_OFFHEAP_WRITEBUFFER);
+		CacheableData.CACHING_BUFFER_COMPRESSION = config.getBooleanValue(DMLConfig.CP_CACHE_COMPRESSION);
 		CacheableData.initCaching();
 						
 		//reset statistics (required if multiple scripts executed in one JVM)
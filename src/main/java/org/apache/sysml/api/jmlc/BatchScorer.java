@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * JMLC (Java Machine Learning Connector) API:
+ *
+ * Micro-batching front end for row-wise scoring scripts. Individual input rows
+ * are coalesced (up to a maximum batch size or latency window) into one matrix,
+ * scored by a single script execution, and split back into per-row results.
+ * This turns per-row matrix-vector operations into matrix-matrix operations and
+ * amortizes the per-execution overhead.
+ *
+ * The script is required to compute output row i only from input row i. All other
+ * inputs (e.g., model weights) need to be bound with reuse before submitting rows,
+ * because batches are executed by a separate dispatcher thread. All rows need
+ * to have the same length as the first submitted row.
+ */
+public class BatchScorer
+{
+	private PreparedScript _pstmt = null;
+	private String _inVarname = null;
+	private String _outVarname = null;
+	private int _maxBatchSize = -1;
+	private long _maxLatency = -1; //in ms
+
+	//internal state
+	private BlockingQueue<ScoringRequest> _queue = null;
+	private Thread _dispatcher = null;
+	private volatile boolean _closed = false;
+	private int _ncol = -1; //row length, determined by first submitted row
+
+	//marker for closing the dispatcher
+	private static final ScoringRequest CLOSE = new ScoringRequest(null);
+
+	/**
+	 * Meant to be invoked only from PreparedScript
+	 *
+	 * @param pstmt
+	 * @param invar
+	 * @param outvar
+	 * @param maxBatchSize
+	 * @param maxLatency
+	 */
+	protected BatchScorer( PreparedScript pstmt, String invar, String outvar, int maxBatchSize, long maxLatency )
+	{
+		_pstmt = pstmt;
+		_inVarname = invar;
+		_outVarname = outvar;
+		_maxBatchSize = Math.max(maxBatchSize, 1);
+		_maxLatency = Math.max(maxLatency, 0);
+
+		//create and start dispatcher thread
+		_queue = new LinkedBlockingQueue<ScoringRequest>();
+		_dispatcher = new Thread(new Dispatcher(), "JMLC-BatchScorer");
+		_dispatcher.setDaemon(true);
+		_dispatcher.start();
+	}
+
+	/**
+	 * Submits a single input row for scoring, whose output row is returned
+	 * through the future once its batch has been executed.
+	 *
+	 * @param row
+	 * @return
+	 * @throws DMLException
+	 */
+	public Future<double[]> submit( double[] row )
+		throws DMLException
+	{
+		ScoringRequest req = new ScoringRequest(row);
+		
+		//check and enqueue under the lock of close, which ensures that all 
+		//accepted requests are enqueued before the close marker
+		synchronized( this )
+		{
+			if( _closed )
+				throw new DMLException("Failed to submit row to closed batch scorer.");
+			
+			//fail invalid rows individually (instead of their entire batch)
+			if( row == null || (_ncol >= 0 && row.length != _ncol) ) {
+				req.setException(new DMLException("Invalid input row length ("
+					+((row!=null)?row.length:"null")+"), expected "+_ncol+"."));
+				return req;
+			}
+			
+			_ncol = row.length;
+			_queue.add(req);
+		}
+
+		return req;
+	}
+
+	/**
+	 * Scores a single input row, blocking until its batch has been executed.
+	 *
+	 * @param row
+	 * @return
+	 * @throws DMLException
+	 */
+	public double[] score( double[] row )
+		throws DMLException
+	{
+		try {
+			return submit(row).get();
+		}
+		catch(ExecutionException ex) {
+			throw new DMLException(ex.getCause());
+		}
+		catch(InterruptedException ex) {
+			throw new DMLException(ex);
+		}
+	}
+
+	/**
+	 * Stops the dispatcher thread after all previously submitted rows have been scored.
+	 */
+	public void close()
+	{
+		synchronized( this ) {
+			if( !_closed ) {
+				_closed = true;
+				_queue.add(CLOSE);
+			}
+		}
+		
+		try {
+			_dispatcher.join();
+		}
+		catch(InterruptedException ex) {
+			//ignore interrupt of caller
+		}
+	}
+
+	/**
+	 *
+	 * @param batch
+	 */
+	private void executeBatch( ArrayList<ScoringRequest> batch )
+	{
+		try
+		{
+			//create input matrix of all rows
+			double[][] in = new double[batch.size()][];
+			for( int i=0; i<in.length; i++ )
+				in[i] = batch.get(i)._row;
+			MatrixBlock X = DataConverter.convertToMatrixBlock(in);
+
+			//execute script once for entire batch
+			_pstmt.setMatrix(_inVarname, X);
+			ResultVariables rs = _pstmt.executeScript();
+			double[][] out = rs.getMatrix(_outVarname);
+			_pstmt.clearParameters();
+
+			if( out.length != in.length )
+				throw new DMLException("Number of output rows ("+out.length+") does not match "
+						+ "number of input rows ("+in.length+") of batch.");
+
+			//split output matrix into per-row results
+			for( int i=0; i<out.length; i++ )
+				batch.get(i).setResult(out[i]);
+		}
+		catch(Exception ex)
+		{
+			for( ScoringRequest req : batch )
+				req.setException(ex);
+		}
+	}
+
+	/**
+	 * Dispatcher that coalesces queued requests into batches, where a batch is
+	 * closed once it reaches the maximum batch size or the maximum latency since
+	 * the arrival of its first request.
+	 */
+	private class Dispatcher implements Runnable
+	{
+		@Override
+		public void run()
+		{
+			boolean close = false;
+
+			while( !close )
+			{
+				ArrayList<ScoringRequest> batch = new ArrayList<ScoringRequest>();
+
+				try
+				{
+					//wait for first request of batch
+					batch.add(_queue.take());
+
+					//collect further requests within latency window
+					long deadline = System.nanoTime() + _maxLatency * 1000000;
+					while( batch.size() < _maxBatchSize && !batch.contains(CLOSE) ) {
+						_queue.drainTo(batch, _maxBatchSize - batch.size());
+						long wait = deadline - System.nanoTime();
+						if( batch.size() >= _maxBatchSize || wait <= 0 )
+							break;
+						ScoringRequest req = _queue.poll(wait, TimeUnit.NANOSECONDS);
+						if( req != null )
+							batch.add(req);
+					}
+				}
+				catch(InterruptedException ex)
+				{
+					batch.add(CLOSE);
+				}
+
+				//execute batch of requests before close marker
+				close = batch.remove(CLOSE);
+				if( !batch.isEmpty() )
+					executeBatch(batch);
+			}
+
+			//fail requests that raced with close
+			for( ScoringRequest req : _queue )
+				if( req != CLOSE )
+					req.setException(new DMLException("Batch scorer closed before request was scored."));
+		}
+	}
+
+	/**
+	 * Future of a single scoring request.
+	 */
+	private static class ScoringRequest implements Future<double[]>
+	{
+		private double[] _row = null;
+		private double[] _result = null;
+		private Exception _ex = null;
+		private CountDownLatch _done = new CountDownLatch(1);
+
+		public ScoringRequest( double[] row )
+		{
+			_row = row;
+		}
+
+		public void setResult( double[] result )
+		{
+			_result = result;
+			_done.countDown();
+		}
+
+		public void setException( Exception ex )
+		{
+			_ex = ex;
+			_done.countDown();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return false;
+		}
+
+		@Override
+		public boolean isDone()
+		{
+			return _done.getCount() == 0;
+		}
+
+		@Override
+		public double[] get()
+			throws InterruptedException, ExecutionException
+		{
+			_done.await();
+			return getResult();
+		}
+
+		@Override
+		public double[] get(long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException
+		{
+			if( !_done.await(timeout, unit) )
+				throw new TimeoutException();
+			return getResult();
+		}
+
+		private double[] getResult()
+			throws ExecutionException
+		{
+			if( _ex != null )
+				throw new ExecutionException(_ex);
+			return _result;
+		}
+	}
+}
@@ -45,11 +45,13 @@ import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
 import org.apache.sysml.runtime.io.ReaderTextCell;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * JMLC (Java Machine Learning Connector) API:
@@ -63,6 +65,9 @@ public class Connection
 	
 	private DMLConfig _conf = null;
 	
+	//plan cache of compiled programs (shared across connections)
+	private static PlanCache _planCache = new PlanCache(PlanCache.DEFAULT_CAPACITY);
+	
 	/**
 	 * Connection constructor, starting point for any other JMLC API calls.
 	 * 
@@ -111,8 +116,33 @@ public class Connection
 	{
 		//prepare arguments
 		
-		//simplified compilation chain
+		//probe plan cache for already compiled program
+		String key = null;
 		Program rtprog = null;
+		try {
+			key = PlanCache.createKey(script, args, inputs, outputs, parsePyDML, _conf);
+			rtprog = _planCache.get(key);
+		}
+		catch(Exception ex) {
+			throw new DMLException(ex);
+		}
+		
+		if( rtprog != null ) {
+			Statistics.incrementJMLCPlanCacheHits();
+			
+			//create deep copy of cached program (separate program blocks and instructions)
+			try {
+				rtprog = ProgramConverter.createDeepCopyProgram(rtprog);
+			}
+			catch(Exception ex) {
+				throw new DMLException(ex);
+			}
+			return new PreparedScript(rtprog, inputs, outputs);
+		}
+		Statistics.incrementJMLCPlanCacheMisses();
+		
+		//simplified compilation chain
+		long t0 = System.nanoTime();
 		try
 		{
 			//parsing
@@ -146,11 +176,42 @@ public class Connection
 		{
 			throw new DMLException(ex);
 		}
+		Statistics.incrementJMLCCompileTime(System.nanoTime()-t0);
+		
+		//keep deep copy of compiled program for reuse (the cached program
+		//is never executed, and hence not modified while creating copies)
+		if( _planCache.getCapacity() > 0 ) {
+			try {
+				_planCache.put(key, ProgramConverter.createDeepCopyProgram(rtprog));
+			}
+			catch(Exception ex) {
+				throw new DMLException(ex);
+			}
+		}
 			
 		//return newly create precompiled script 
 		return new PreparedScript(rtprog, inputs, outputs);
 	}
 	
+	/**
+	 * Sets the maximum number of compiled programs kept in the plan cache,
+	 * where a capacity of 0 disables plan caching.
+	 * 
+	 * @param capacity
+	 */
+	public static void setPlanCacheCapacity( int capacity )
+	{
+		_planCache.setCapacity(capacity);
+	}
+	
+	/**
+	 * Removes all compiled programs from the plan cache. 
+	 */
+	public static void clearPlanCache()
+	{
+		_planCache.clear();
+	}
+	
 	/**
 	 * 
 	 */
@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
 import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysml.runtime.controlprogram.IfProgramBlock;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.ProgramBlock;
 import org.apache.sysml.runtime.controlprogram.WhileProgramBlock;
@@ -106,4 +107,64 @@ public class JMLCUtils
 			}
 		}
 	}
+	
+	/**
+	 * Indicates if the given program (including functions) contains 
+	 * any parfor program blocks.
+	 * 
+	 * @param prog
+	 * @return
+	 */
+	public static boolean containsParForProgramBlock( Program prog )
+	{
+		boolean ret = false;
+		
+		Map<String, FunctionProgramBlock> funcMap = prog.getFunctionProgramBlocks();
+		if( funcMap != null && !funcMap.isEmpty() )
+			for( FunctionProgramBlock fpb : funcMap.values() )
+				for( ProgramBlock pb : fpb.getChildBlocks() )
+					ret |= rContainsParForProgramBlock(pb);
+		
+		for( ProgramBlock pb : prog.getProgramBlocks() )
+			ret |= rContainsParForProgramBlock(pb);
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param pb
+	 * @return
+	 */
+	private static boolean rContainsParForProgramBlock( ProgramBlock pb )
+	{
+		boolean ret = false;
+		
+		if( pb instanceof ParForProgramBlock )
+		{
+			ret = true;
+		}
+		else if( pb instanceof WhileProgramBlock )
+		{
+			WhileProgramBlock wpb = (WhileProgramBlock)pb;
+			for( ProgramBlock pbc : wpb.getChildBlocks() )
+				ret |= rContainsParForProgramBlock(pbc);
+		}
+		else if( pb instanceof IfProgramBlock )
+		{
+			IfProgramBlock ipb = (IfProgramBlock)pb;
+			for( ProgramBlock pbc : ipb.getChildBlocksIfBody() )
+				ret |= rContainsParForProgramBlock(pbc);
+			for( ProgramBlock pbc : ipb.getChildBlocksElseBody() )
+				ret |= rContainsParForProgramBlock(pbc);
+		}
+		else if( pb instanceof ForProgramBlock )
+		{
+			ForProgramBlock fpb = (ForProgramBlock)pb;
+			for( ProgramBlock pbc : fpb.getChildBlocks() )
+				ret |= rContainsParForProgramBlock(pbc);
+		}
+		
+		return ret;
+	}
 }
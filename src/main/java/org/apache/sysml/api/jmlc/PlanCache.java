@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Map.Entry;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.Program;
+
+/**
+ * Bounded LRU cache of compiled runtime programs of JMLC prepared scripts, which is
+ * keyed by the script, its arguments, the input/output names, and the configuration.
+ * 
+ * Since instructions are not thread-safe across prepared scripts, the cache holds
+ * a deep copy of the compiled program that is never executed, and every cache hit
+ * obtains a deep copy of the cached program (see Connection.prepareScript).
+ */
+class PlanCache 
+{
+	public static final int DEFAULT_CAPACITY = 64;
+	
+	private LinkedHashMap<String, Program> _plans = null;
+	private int _capacity = -1;
+	
+	public PlanCache( int capacity )
+	{
+		_capacity = capacity;
+		_plans = new LinkedHashMap<String, Program>(16, 0.75f, true) {
+			private static final long serialVersionUID = -2715612306452962377L;
+			
+			@Override
+			protected boolean removeEldestEntry(Entry<String, Program> eldest) {
+				return size() > _capacity;
+			}
+		};
+	}
+	
+	/**
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public synchronized Program get( String key )
+	{
+		return _plans.get(key);
+	}
+	
+	/**
+	 * 
+	 * @param key
+	 * @param prog
+	 */
+	public synchronized void put( String key, Program prog )
+	{
+		if( _capacity > 0 )
+			_plans.put(key, prog);
+	}
+	
+	/**
+	 * 
+	 * @param capacity
+	 */
+	public synchronized void setCapacity( int capacity )
+	{
+		_capacity = capacity;
+		
+		//evict least recently used plans
+		while( _plans.size() > Math.max(capacity, 0) )
+			_plans.remove(_plans.keySet().iterator().next());
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public synchronized int getCapacity()
+	{
+		return _capacity;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public synchronized int size()
+	{
+		return _plans.size();
+	}
+	
+	/**
+	 * 
+	 */
+	public synchronized void clear()
+	{
+		_plans.clear();
+	}
+	
+	/**
+	 * 
+	 * @param script
+	 * @param args
+	 * @param inputs
+	 * @param outputs
+	 * @param parsePyDML
+	 * @param conf
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static String createKey( String script, Map<String, String> args, String[] inputs, String[] outputs, boolean parsePyDML, DMLConfig conf ) 
+		throws DMLRuntimeException
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(parsePyDML ? "pydml" : "dml");
+		sb.append('\u0000');
+		sb.append(DMLScript.rtplatform);
+		sb.append('\u0000');
+		sb.append(new TreeMap<String, String>(args).toString());
+		sb.append('\u0000');
+		sb.append(Arrays.toString(inputs));
+		sb.append('\u0000');
+		sb.append(Arrays.toString(outputs));
+		sb.append('\u0000');
+		sb.append(conf.serializeDMLConfig());
+		sb.append('\u0000');
+		sb.append(script);
+		
+		return sb.toString();
+	}
+}
@@ -25,12 +25,14 @@ import org.apache.sysml.api.DMLException;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
@@ -45,6 +47,11 @@ import org.apache.sysml.runtime.util.DataConverter;
 /**
  * JMLC (Java Machine Learning Connector) API:
  * 
+ * A prepared script can be executed concurrently by multiple threads. The compiled 
+ * runtime program and inputs that are bound with reuse (e.g., model weights) are 
+ * shared across threads, while all other input bindings are thread-local and each 
+ * execution uses its own symbol table and execution context.
+ * 
  * NOTE: Currently fused API and implementation in order to reduce complexity. 
  */
 public class PreparedScript 
@@ -54,9 +61,13 @@ public class PreparedScript
 	private HashSet<String> _inVarnames = null;
 	private HashSet<String> _outVarnames = null;
 	
-	//internal state (reused)
+	//internal state (shared across threads)
 	private Program _prog = null;
-	private LocalVariableMap _vars = null; 
+	private boolean _serialExec = false;
+	private LocalVariableMap _inVarReuse = null;
+	
+	//internal state (thread-local input bindings)
+	private ThreadLocal<LocalVariableMap> _vars = null; 
 	
 	/**
 	 * Meant to be invoked only from Connection
@@ -64,7 +75,17 @@ public class PreparedScript
 	protected PreparedScript( Program prog, String[] inputs, String[] outputs )
 	{
 		_prog = prog;
-		_vars = new LocalVariableMap();
+		_inVarReuse = new LocalVariableMap();
+		_vars = new ThreadLocal<LocalVariableMap>() {
+			@Override 
+			protected LocalVariableMap initialValue() {
+				return new LocalVariableMap();
+			}
+		};
+		
+		//parfor optimization rewrites the runtime program in-place, 
+		//hence we serialize the execution of programs with parfor loops
+		_serialExec = JMLCUtils.containsParForProgramBlock(prog);
 		
 		//populate input/output vars
 		_inVarnames = new HashSet<String>();
@@ -83,11 +104,26 @@ public class PreparedScript
 	 */
 	public void setScalar(String varname, ScalarObject scalar) 
 		throws DMLException
+	{
+		setScalar(varname, scalar, false);
+	}
+	
+	/**
+	 * Binds a scalar input. If reuse is true, the input is shared by all
+	 * threads and executions until it is bound again.
+	 * 
+	 * @param varname
+	 * @param scalar
+	 * @param reuse
+	 * @throws DMLException 
+	 */
+	public void setScalar(String varname, ScalarObject scalar, boolean reuse) 
+		throws DMLException
 	{
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 		
-		_vars.put(varname, scalar);
+		bindInput(varname, scalar, reuse);
 	}
 	
 	/**
@@ -99,11 +135,7 @@ public class PreparedScript
 	public void setScalar(String varname, boolean scalar) 
 		throws DMLException
 	{
-		if( !_inVarnames.contains(varname) )
-			throw new DMLException("Unspecified input variable: "+varname);
-		
-		BooleanObject bo = new BooleanObject(varname, scalar);
-		_vars.put(varname, bo);
+		setScalar(varname, new BooleanObject(varname, scalar), false);
 	}
 	
 	/**
@@ -115,11 +147,7 @@ public class PreparedScript
 	public void setScalar(String varname, long scalar) 
 		throws DMLException
 	{
-		if( !_inVarnames.contains(varname) )
-			throw new DMLException("Unspecified input variable: "+varname);
-		
-		IntObject io = new IntObject(varname, scalar);
-		_vars.put(varname, io);
+		setScalar(varname, new IntObject(varname, scalar), false);
 	}
 	
 	/**
@@ -131,11 +159,7 @@ public class PreparedScript
 	public void setScalar(String varname, double scalar) 
 		throws DMLException
 	{
-		if( !_inVarnames.contains(varname) )
-			throw new DMLException("Unspecified input variable: "+varname);
-		
-		DoubleObject doo = new DoubleObject(varname, scalar);
-		_vars.put(varname, doo);	
+		setScalar(varname, new DoubleObject(varname, scalar), false);
 	}
 	
 	/**
@@ -146,26 +170,109 @@ public class PreparedScript
 	 */
 	public void setScalar(String varname, String scalar) 
 		throws DMLException
+	{
+		setScalar(varname, new StringObject(varname, scalar), false);
+	}
+	
+	/**
+	 * 
+	 * @param varname
+	 * @param matrix
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, MatrixBlock matrix)
+		throws DMLException
+	{
+		setMatrix(varname, matrix, false);
+	}
+	
+	/**
+	 * Binds a matrix input. If reuse is true, the input is shared by all threads 
+	 * and executions until it is bound again (e.g., for model weights). Reused 
+	 * inputs must not be modified by the caller after binding.
+	 * 
+	 * @param varname
+	 * @param matrix
+	 * @param reuse
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, MatrixBlock matrix, boolean reuse)
+		throws DMLException
+	{
+		setMatrix(varname, matrix, reuse, false);
+	}
+	
+	/**
+	 * Binds a dense matrix input of dimensions rows x cols, which wraps the given
+	 * row-major array without copy. The caller must not modify the array until the
+	 * binding is removed or replaced.
+	 * 
+	 * @param varname
+	 * @param data
+	 * @param rows
+	 * @param cols
+	 * @param reuse
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, double[] data, int rows, int cols, boolean reuse)
+		throws DMLException
 	{
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 		
-		StringObject so = new StringObject(varname, scalar);
-		_vars.put(varname, so);
+		MatrixBlock mb = new MatrixBlock();
+		try {
+			mb.initDenseUnsafe(data, rows, cols);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new DMLException(ex);
+		}
+		setMatrix(varname, mb, reuse, true);
 	}
 	
 	/**
+	 * Binds a sparse matrix input of dimensions rows x cols, which wraps the given
+	 * CSR arrays (row pointers, sorted column indexes per row, values) without copy. 
+	 * The caller must not modify the arrays until the binding is removed or replaced.
 	 * 
 	 * @param varname
-	 * @param matrix
+	 * @param rowptr
+	 * @param colind
+	 * @param values
+	 * @param rows
+	 * @param cols
+	 * @param reuse
 	 * @throws DMLException
 	 */
-	public void setMatrix(String varname, MatrixBlock matrix)
+	public void setMatrix(String varname, int[] rowptr, int[] colind, double[] values, int rows, int cols, boolean reuse)
 		throws DMLException
 	{
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 		
+		MatrixBlock mb = new MatrixBlock();
+		try {
+			mb.initCSRUnsafe(rowptr, colind, values, rows, cols);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new DMLException(ex);
+		}
+		setMatrix(varname, mb, reuse, true);
+	}
+	
+	/**
+	 * 
+	 * @param varname
+	 * @param matrix
+	 * @param reuse
+	 * @param wrapped
+	 * @throws DMLException
+	 */
+	private void setMatrix(String varname, MatrixBlock matrix, boolean reuse, boolean wrapped)
+		throws DMLException
+	{
+		if( !_inVarnames.contains(varname) )
+			throw new DMLException("Unspecified input variable: "+varname);
 		
 		DMLConfig conf = ConfigurationManager.getConfig();
 		String scratch_space = conf.getTextValue(DMLConfig.SCRATCH_SPACE);
@@ -178,8 +285,13 @@ public class PreparedScript
 		mo.acquireModify(matrix); 
 		mo.release();
 		
+		//prevent cleanup of shared inputs by rmvar instructions, and
+		//recycling of caller-owned arrays of wrapped inputs
+		if( reuse || wrapped )
+			mo.enableCleanup(false);
+		
 		//put create matrix wrapper into symbol table
-		_vars.put(varname, mo);
+		bindInput(varname, mo, reuse);
 	}
 	
 	/**
@@ -190,21 +302,53 @@ public class PreparedScript
 	 */
 	public void setMatrix(String varname, double[][] matrix)
 		throws DMLException
+	{
+		setMatrix(varname, matrix, false);
+	}
+	
+	/**
+	 * 
+	 * @param varname
+	 * @param matrix
+	 * @param reuse
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, double[][] matrix, boolean reuse)
+		throws DMLException
 	{
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 		
 		MatrixBlock mb = DataConverter.convertToMatrixBlock(matrix);
-		setMatrix(varname, mb);
+		setMatrix(varname, mb, reuse);
 	}
 	
 	
 	/**
-	 * 
+	 * Removes all thread-local input bindings of the calling thread. 
 	 */
 	public void clearParameters()
 	{
-		_vars.removeAll();
+		_vars.get().removeAll();
+	}
+	
+	/**
+	 * Removes all reused input bindings, which are shared across threads.
+	 */
+	public void clearReusedParameters()
+	{
+		synchronized( _inVarReuse ) {
+			_inVarReuse.removeAll();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return runtime program of this prepared script
+	 */
+	public Program getRTProgram()
+	{
+		return _prog;
 	}
 	
 	/**
@@ -215,19 +359,77 @@ public class PreparedScript
 	public ResultVariables executeScript() 
 		throws DMLException
 	{
+		//create symbol table of reused and thread-local inputs, where
+		//thread-local bindings take precedence over reused inputs
+		LocalVariableMap vars = new LocalVariableMap();
+		synchronized( _inVarReuse ) {
+			vars.putAll(_inVarReuse);
+		}
+		vars.putAll(_vars.get());
+		
 		//create and populate execution context
 		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
-		ec.setVariables(_vars);
+		ec.setVariables(vars);
 		
 		//core execute runtime program	
-		_prog.execute( ec );  
+		if( _serialExec ) {
+			synchronized( _prog ) {
+				_prog.execute( ec );
+			}
+		}
+		else {
+			_prog.execute( ec );  
+		}
 		
 		//construct results
 		ResultVariables rvars = new ResultVariables();
 		for( String ovar : _outVarnames )
-			if( _vars.keySet().contains(ovar) )
-				rvars.addResult(ovar, _vars.get(ovar));
+			if( vars.keySet().contains(ovar) )
+				rvars.addResult(ovar, vars.get(ovar));
 			
 		return rvars;
 	}
-}
+	
+	/**
+	 * Creates a micro-batching front end for this script, which coalesces individually
+	 * submitted rows of the given input into batches of at most maxBatchSize rows or
+	 * maxLatency milliseconds and splits the given output into per-row results. 
+	 * All other inputs need to be bound with reuse.
+	 * 
+	 * @param invar
+	 * @param outvar
+	 * @param maxBatchSize
+	 * @param maxLatency
+	 * @return
+	 * @throws DMLException
+	 */
+	public BatchScorer createBatchScorer(String invar, String outvar, int maxBatchSize, long maxLatency)
+		throws DMLException
+	{
+		if( !_inVarnames.contains(invar) )
+			throw new DMLException("Unspecified input variable: "+invar);
+		if( !_outVarnames.contains(outvar) )
+			throw new DMLException("Unspecified output variable: "+outvar);
+		
+		return new BatchScorer(this, invar, outvar, maxBatchSize, maxLatency);
+	}
+	
+	/**
+	 * 
+	 * @param varname
+	 * @param data
+	 * @param reuse
+	 */
+	private void bindInput(String varname, Data data, boolean reuse)
+	{
+		if( reuse ) {
+			synchronized( _inVarReuse ) {
+				_inVarReuse.put(varname, data);
+			}
+			_vars.get().remove(varname);
+		}
+		else {
+			_vars.get().put(varname, data);
+		}
+	}
+}
\ No newline at end of file
@@ -26,6 +26,8 @@ import org.apache.sysml.api.DMLException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
@@ -81,6 +83,94 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Returns the given output matrix as matrix block (without copy).
+	 * 
+	 * @param varname
+	 * @return
+	 * @throws DMLException
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existing output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		MatrixObject mo = (MatrixObject)dat;
+		MatrixBlock mb = mo.acquireRead();
+		mo.release();
+		
+		return mb;
+	}
+	
+	/**
+	 * Returns the given output matrix as row-major dense array. If the result is 
+	 * in dense format, its dense block is returned directly (without copy).
+	 * 
+	 * @param varname
+	 * @return
+	 * @throws DMLException
+	 */
+	public double[] getDenseArray(String varname) 
+		throws DMLException
+	{
+		MatrixBlock mb = getMatrixBlock(varname);
+		long len = (long)mb.getNumRows() * mb.getNumColumns();
+		
+		//direct access of exactly sized dense block
+		if( !mb.isInSparseFormat() && mb.getDenseArray() != null 
+			&& mb.getDenseArray().length == len )
+			return mb.getDenseArray();
+		
+		//convert sparse, empty, or oversized dense blocks
+		return DataConverter.convertToDoubleVector(mb);
+	}
+	
+	/**
+	 * Returns the given output matrix in CSR format (row pointers, column indexes,
+	 * values). If the result is in read-only CSR format, its arrays are returned 
+	 * directly (without copy).
+	 * 
+	 * @param varname
+	 * @return
+	 * @throws DMLException
+	 */
+	public SparseBlockCSR getCSRBlock(String varname) 
+		throws DMLException
+	{
+		MatrixBlock mb = getMatrixBlock(varname);
+		
+		//direct access of csr block
+		if( mb.isInCSRFormat() )
+			return mb.getCSRBlock();
+		
+		//convert sparse row blocks
+		if( mb.isInSparseFormat() ) {
+			SparseRow[] rows = mb.getSparseRows();
+			return new SparseBlockCSR((rows!=null) ? rows : new SparseRow[0], mb.getNumRows());
+		}
+		
+		//convert dense blocks
+		SparseRow[] rows = new SparseRow[mb.getNumRows()];
+		int clen = mb.getNumColumns();
+		double[] a = mb.getDenseArray();
+		if( a != null && mb.getNonZeros() > 0 )
+			for( int i=0, aix=0; i<rows.length; i++, aix+=clen )
+				for( int j=0; j<clen; j++ )
+					if( a[aix+j] != 0 ) {
+						if( rows[i] == null )
+							rows[i] = new SparseRow(4, clen);
+						rows[i].append(j, a[aix+j]);
+					}
+		return new SparseBlockCSR(rows, rows.length);
+	}
+	
 	/**
 	 * 
 	 * 
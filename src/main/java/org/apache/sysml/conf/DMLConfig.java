@@ -73,6 +73,8 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE    	= "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_OFFHEAP_WRITEBUFFER = "cp.offheap.writebuffer";
+	public static final String CP_CACHE_COMPRESSION = "cp.cache.compression";
 
 	//obsolete nimble configuration (removed 06/24/2015)
 	//public static final String NUM_MERGE_TASKS      = "NumMergeTasks";
@@ -117,6 +119,8 @@ public class DMLConfig
 		//_defaultVals.put(NIMBLE_SCRATCH,       "nimbleoutput" );	
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_OFFHEAP_WRITEBUFFER, "0" );
+		_defaultVals.put(CP_CACHE_COMPRESSION,   "true" );
 	}
 	
 	public DMLConfig()
@@ -430,7 +434,8 @@ public class DMLConfig
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM,
 				//NUM_MERGE_TASKS, NUM_SOW_THREADS,NUM_REAP_THREADS,
 				//SOWER_WAIT_INTERVAL,REAPER_WAIT_INTERVAL,NIMBLE_SCRATCH 
-				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO
+				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, CP_OFFHEAP_WRITEBUFFER,
+				CP_CACHE_COMPRESSION
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
@@ -19,6 +19,7 @@
 
 package org.apache.sysml.hops;
 
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.AppendGAlignedSP;
@@ -61,7 +62,7 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -70,6 +71,8 @@ public class BinaryOp extends Hop
 	private Hop.OpOp2 op;
 	private boolean outer = false;
 	
+	private int _maxNumThreads = -1; //-1 for unlimited
+	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	public enum AppendMethod { 
 		CP_APPEND, //in-memory general case append
@@ -122,6 +125,16 @@ public class BinaryOp extends Hop
 		return outer;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	@Override
 	public Lop constructLops() 
 		throws HopsException, LopsException 
@@ -345,10 +358,11 @@ public class BinaryOp extends Hop
 		// The output data type is a SCALAR if central moment 
 		// gets computed in CP/SPARK, and it will be MATRIX otherwise.
 		DataType dt = (et == ExecType.MR ? DataType.MATRIX : DataType.SCALAR );
+		int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 		CentralMoment cm = new CentralMoment(
 				getInput().get(0).constructLops(), 
 				getInput().get(1).constructLops(),
-				dt, getValueType(), et);
+				dt, getValueType(), et, k);
 
 		setLineNumbers(cm);
 		
@@ -585,8 +599,9 @@ public class BinaryOp extends Hop
 				ot = HopsOpOp2LopsU.get(op);
 			
 			
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -599,8 +614,9 @@ public class BinaryOp extends Hop
 			ExecType et = optFindExecType();
 			if ( et == ExecType.CP ) 
 			{
+				int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 				Binary binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -1519,6 +1535,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1532,6 +1549,7 @@ public class BinaryOp extends Hop
 		BinaryOp that2 = (BinaryOp)that;
 		return (   op == that2.op
 				&& outer == that2.outer
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0)
 				&& getInput().get(1) == that2.getInput().get(1));
 	}
@@ -47,6 +47,10 @@ public class LeftIndexingOp  extends Hop
 	
 	private boolean _rowLowerEqualsUpper = false;
 	private boolean _colLowerEqualsUpper = false;
+	
+	//flag if the left-hand-side input can be updated in-place (set by
+	//the loop update-in-place rewrite, guarded again at runtime)
+	private boolean _updateInPlace = false;
 		
 	private LeftIndexingOp() {
 		//default constructor for clone
@@ -92,6 +96,14 @@ public class LeftIndexingOp  extends Hop
 		_colLowerEqualsUpper = passed;
 	}
 	
+	public boolean isUpdateInPlace() {
+		return _updateInPlace;
+	}
+	
+	public void setUpdateInPlace(boolean flag) {
+		_updateInPlace = flag;
+	}
+	
 	@Override
 	public Lop constructLops()
 		throws HopsException, LopsException 
@@ -213,7 +225,7 @@ public class LeftIndexingOp  extends Hop
 				LeftIndex left = new LeftIndex(
 						getInput().get(0).constructLops(), getInput().get(1).constructLops(), getInput().get(2).constructLops(), 
 						getInput().get(3).constructLops(), getInput().get(4).constructLops(), getInput().get(5).constructLops(), 
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, false, _updateInPlace);
 				
 				setOutputDimensions(left);
 				setLineNumbers(left);
@@ -481,6 +493,7 @@ public class LeftIndexingOp  extends Hop
 		ret.clone(this, false);
 		
 		//copy specific attributes
+		ret._updateInPlace = _updateInPlace;
 		
 		return ret;
 	}
@@ -125,6 +125,12 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_AUTO_VECTORIZATION = true;
 	
+	/**
+	 * Enables update in-place of left indexing operations in for/while loops,
+	 * for loop-carried matrices without other references (still guarded at runtime). 
+	 */
+	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
+	
 	/**
 	 * Enables simple expression evaluation for datagen parameters 'rows', 'cols'. Simple
 	 * expressions are defined as binary operations on literals and nrow/ncol. This applies
@@ -185,6 +191,16 @@ public class OptimizerUtils
 	public static boolean PARALLEL_CP_READ_BINARYFORMATS = true;
 	public static boolean PARALLEL_CP_WRITE_BINARYFORMATS = true;
 	
+	/**
+	 * Enables the memory-mapped local binary block format for binary block writes of 
+	 * the control program in singlenode execution mode. The binary block readers 
+	 * transparently detect and read these files, but other components that directly 
+	 * read sequence files (e.g., parfor data partitioning or result merge on local
+	 * files, MR jobs) do not, which is why this format is disabled by default.
+	 * 
+	 */
+	public static boolean ALLOW_LOCAL_MMAP_BINARY_BLOCK = false;
+	
 	
 	
 	/**
@@ -202,6 +218,15 @@ public class OptimizerUtils
 	 */
 	public static boolean PARALLEL_CP_MATRIX_MULTIPLY = true;
 	
+	/**
+	 * Enables the conversion of sparse matrices read from HDFS into the read-only CSR
+	 * representation, which reduces their memory footprint and allows CSR-aware matrix
+	 * multiplications and aggregations. Operations without CSR support convert such 
+	 * blocks back to sparse rows on first access.
+	 * 
+	 */
+	public static boolean ALLOW_CSR_READ_ONLY_INPUTS = true;
+	
 	/**
 	 * Enables the use of CombineSequenceFileInputFormat with splitsize = 2x hdfs blocksize, 
 	 * if sort buffer size large enough and parallelism not hurt. This solves to issues: 
@@ -302,6 +327,7 @@ public class OptimizerUtils
 				ALLOW_COMMON_SUBEXPRESSION_ELIMINATION = false;
 				ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
 				ALLOW_AUTO_VECTORIZATION = false;
+				ALLOW_LOOP_UPDATE_IN_PLACE = false;
 				ALLOW_INTER_PROCEDURAL_ANALYSIS = false;
 				ALLOW_BRANCH_REMOVAL = false;
 				ALLOW_SUM_PRODUCT_REWRITES = false;
@@ -313,6 +339,7 @@ public class OptimizerUtils
 				ALLOW_COMMON_SUBEXPRESSION_ELIMINATION = false;
 				ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
 				ALLOW_AUTO_VECTORIZATION = false;
+				ALLOW_LOOP_UPDATE_IN_PLACE = false;
 				ALLOW_INTER_PROCEDURAL_ANALYSIS = false;
 				ALLOW_BRANCH_REMOVAL = false;
 				ALLOW_SUM_PRODUCT_REWRITES = false;
@@ -336,6 +363,7 @@ public class OptimizerUtils
 				ALLOW_CONSTANT_FOLDING = false;
 				ALLOW_COMMON_SUBEXPRESSION_ELIMINATION = false;
 				ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
+				ALLOW_LOOP_UPDATE_IN_PLACE = false;
 				ALLOW_INTER_PROCEDURAL_ANALYSIS = false;
 				ALLOW_BRANCH_REMOVAL = false;
 				ALLOW_DYN_RECOMPILATION = false;
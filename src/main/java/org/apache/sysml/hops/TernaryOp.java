@@ -19,6 +19,7 @@
 
 package org.apache.sysml.hops;
 
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.CentralMoment;
@@ -54,7 +55,7 @@ import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
  * however, since there does not exist a real TernaryOp yet - we can leave it as is for now. 
  */
 
-public class TernaryOp extends Hop 
+public class TernaryOp extends Hop implements MultiThreadedHop
 {
 	
 	public static boolean ALLOW_CTABLE_SEQUENCE_REWRITES = true;
@@ -66,6 +67,8 @@ public class TernaryOp extends Hop
 	private boolean _dimInputsPresent = false;
 	private boolean _disjointInputs = false;
 	
+	private int _maxNumThreads = -1; //-1 for unlimited
+	
 	
 	private TernaryOp() {
 		//default constructor for clone
@@ -106,6 +109,16 @@ public class TernaryOp extends Hop
 		return _op;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void setDisjointInputs(boolean flag){
 		_disjointInputs = flag;
 	}
@@ -196,11 +209,12 @@ public class TernaryOp extends Hop
 		}
 		else //CP / SPARK
 		{
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 			CentralMoment cm = new CentralMoment(
 					getInput().get(0).constructLops(),
 					getInput().get(1).constructLops(),
 					getInput().get(2).constructLops(),
-					getDataType(), getValueType(), et);
+					getDataType(), getValueType(), et, k);
 			cm.getOutputParameters().setDimensions(0, 0, 0, 0, -1);
 			setLineNumbers(cm);
 			setLops(cm);
@@ -863,6 +877,7 @@ public class TernaryOp extends Hop
 		ret._op = _op;
 		ret._dimInputsPresent  = _dimInputsPresent;
 		ret._disjointInputs    = _disjointInputs;
+		ret._maxNumThreads     = _maxNumThreads;
 		
 		return ret;
 	}
@@ -890,7 +905,8 @@ public class TernaryOp extends Hop
 		
 		//compare optimizer hints and parameters
 		ret &= _disjointInputs == that2._disjointInputs
-			&& _outputEmptyBlocks == that2._outputEmptyBlocks;
+			&& _outputEmptyBlocks == that2._outputEmptyBlocks
+			&& _maxNumThreads == that2._maxNumThreads;
 		
 		return ret;
 	}
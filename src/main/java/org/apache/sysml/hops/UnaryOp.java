@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.Aggregate.OperationTypes;
 import org.apache.sysml.lops.CombineUnary;
@@ -47,10 +48,12 @@ import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
  * 		Semantic: given a value, perform the operation (independent of other values)
  */
 
-public class UnaryOp extends Hop 
+public class UnaryOp extends Hop implements MultiThreadedHop
 {
 
 	private OpOp1 _op = null;
+	
+	private int _maxNumThreads = -1; //-1 for unlimited
 
 	
 	private UnaryOp() {
@@ -76,6 +79,16 @@ public class UnaryOp extends Hop
 		return _op;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void printMe() throws HopsException {
 		if (LOG.isDebugEnabled()){
 			if (getVisited() != VisitStatus.DONE) {
@@ -149,8 +162,11 @@ public class UnaryOp extends Hop
 				}
 				else //default unary 
 				{
+					//multi-threaded cumulative aggregates and inverse in CP
+					int k = ((isCumulativeUnaryOperation() || _op == OpOp1.INVERSE) && et == ExecType.CP) ? 
+							OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 					Unary unary1 = new Unary(input.constructLops(), HopsOpOp1LopsU.get(_op), 
-							                 getDataType(), getValueType(), et);
+							                 getDataType(), getValueType(), et, k);
 					setOutputDimensions(unary1);
 					setLineNumbers(unary1);
 					setLops(unary1);
@@ -719,6 +735,7 @@ public class UnaryOp extends Hop
 		
 		//copy specific attributes
 		ret._op = _op;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -742,6 +759,7 @@ public class UnaryOp extends Hop
 		
 		UnaryOp that2 = (UnaryOp)that;		
 		return (   _op == that2._op
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0));
 	}
 }
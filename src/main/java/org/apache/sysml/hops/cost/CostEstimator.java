@@ -569,8 +569,8 @@ public abstract class CostEstimator
 				{
 					String[] parts = InstructionUtils.getInstructionParts(inst.toString());
 					String opcode = parts[0];
-					if( opcode.equals("cm") )
-						attr = new String[]{parts[parts.length-2]};						
+					if( opcode.equals("cm") ) //order before output and num threads
+						attr = new String[]{parts[parts.length-3]};						
 				} 
 			}
 		}
@@ -114,6 +114,8 @@ public class ProgramRewriter
  			if( OptimizerUtils.ALLOW_AUTO_VECTORIZATION )
 				_sbRuleSet.add(  new RewriteForLoopVectorization()               ); //dependency: reblock (reblockop)
  			_sbRuleSet.add( new RewriteInjectSparkLoopCheckpointing(true)        ); //dependency: reblock (blocksizes)
+ 			if( OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE )
+ 				_sbRuleSet.add(  new RewriteMarkLoopUpdateInPlace()              ); //dependency: cse
 		}
 		
 		// DYNAMIC REWRITES (which do require size information)
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.rewrite;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.LeftIndexingOp;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.parser.ForStatement;
+import org.apache.sysml.parser.ForStatementBlock;
+import org.apache.sysml.parser.IfStatement;
+import org.apache.sysml.parser.IfStatementBlock;
+import org.apache.sysml.parser.ParForStatementBlock;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.VariableSet;
+import org.apache.sysml.parser.WhileStatement;
+import org.apache.sysml.parser.WhileStatementBlock;
+import org.apache.sysml.parser.Expression.DataType;
+
+/**
+ * Rule: Mark left indexing operations in for/while loops for update in-place.
+ * Candidates are loop-carried matrices that are updated in the loop body. For
+ * every hop dag of the loop body, a left indexing operation on a transient read
+ * of the candidate is marked if (1) it is the only consumer of this variable
+ * in the dag (except nrow/ncol), and (2) the variable is rebound in the same dag,
+ * i.e., the old value is dead afterwards. Chains of left indexing operations
+ * on single-consumer intermediates are marked as well. Candidates with direct
+ * aliases (e.g., S = R) in the loop body are rejected.
+ *
+ * At runtime, the in-place update is additionally guarded against aliases from
+ * outside the loop and shared inputs (see MatrixIndexingCPInstruction). The
+ * parfor result variables are handled by the parfor optimizer.
+ *
+ */
+public class RewriteMarkLoopUpdateInPlace extends StatementBlockRewriteRule
+{
+
+	@Override
+	public ArrayList<StatementBlock> rewriteStatementBlock(StatementBlock sb, ProgramRewriteStatus status)
+		throws HopsException
+	{
+		ArrayList<StatementBlock> ret = new ArrayList<StatementBlock>();
+
+		if(    OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE
+			&& (sb instanceof WhileStatementBlock || sb instanceof ForStatementBlock)
+			&& !(sb instanceof ParForStatementBlock) )
+		{
+			ArrayList<StatementBlock> body = (sb instanceof WhileStatementBlock) ?
+				((WhileStatement)sb.getStatement(0)).getBody() : ((ForStatement)sb.getStatement(0)).getBody();
+
+			//step 1: determine candidates (matrices updated in loop body)
+			ArrayList<String> candidates = new ArrayList<String>();
+			VariableSet updated = sb.variablesUpdated();
+			for( String var : updated.getVariableNames() )
+				if( updated.getVariable(var).getDataType()==DataType.MATRIX )
+					candidates.add(var);
+
+			//step 2: mark left indexing operations of valid candidates
+			ArrayList<String> inplaceVars = new ArrayList<String>();
+			for( String var : candidates )
+			{
+				ArrayList<LeftIndexingOp> lix = new ArrayList<LeftIndexingOp>();
+				if( rIsUpdateInPlaceSafe(body, var, lix) && !lix.isEmpty() ) {
+					for( LeftIndexingOp hop : lix )
+						hop.setUpdateInPlace(true);
+					inplaceVars.add(var);
+				}
+			}
+
+			if( !inplaceVars.isEmpty() ) {
+				sb.setUpdateInPlaceVars(inplaceVars);
+				LOG.debug("Applied markLoopUpdateInPlace (lines "+sb.getBeginLine()+"-"+sb.getEndLine()+"): "+inplaceVars);
+			}
+		}
+
+		ret.add(sb);
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param sbs
+	 * @param var
+	 * @param lix
+	 * @return
+	 * @throws HopsException 
+	 */
+	private boolean rIsUpdateInPlaceSafe( ArrayList<StatementBlock> sbs, String var, ArrayList<LeftIndexingOp> lix ) 
+		throws HopsException
+	{
+		boolean ret = true;
+
+		for( StatementBlock sb : sbs )
+		{
+			if( sb instanceof ParForStatementBlock ) //result vars handled by parfor optimizer
+			{
+				ret &= !sb.variablesUpdated().containsVariable(var);
+			}
+			else if( sb instanceof WhileStatementBlock )
+			{
+				WhileStatementBlock wsb = (WhileStatementBlock) sb;
+				WhileStatement wstmt = (WhileStatement)wsb.getStatement(0);
+				ret &= isUpdateInPlaceSafe(wsb.getPredicateHops(), var, lix);
+				ret &= rIsUpdateInPlaceSafe(wstmt.getBody(), var, lix);
+			}
+			else if( sb instanceof IfStatementBlock )
+			{
+				IfStatementBlock isb = (IfStatementBlock) sb;
+				IfStatement istmt = (IfStatement)isb.getStatement(0);
+				ret &= isUpdateInPlaceSafe(isb.getPredicateHops(), var, lix);
+				ret &= rIsUpdateInPlaceSafe(istmt.getIfBody(), var, lix);
+				ret &= rIsUpdateInPlaceSafe(istmt.getElseBody(), var, lix);
+			}
+			else if( sb instanceof ForStatementBlock )
+			{
+				ForStatementBlock fsb = (ForStatementBlock) sb;
+				ForStatement fstmt = (ForStatement)fsb.getStatement(0);
+				ret &= isUpdateInPlaceSafe(fsb.getFromHops(), var, lix);
+				ret &= isUpdateInPlaceSafe(fsb.getToHops(), var, lix);
+				ret &= isUpdateInPlaceSafe(fsb.getIncrementHops(), var, lix);
+				ret &= rIsUpdateInPlaceSafe(fstmt.getBody(), var, lix);
+			}
+			else //generic (last-level)
+			{
+				ret &= isUpdateInPlaceSafe(sb.get_hops(), var, lix);
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param root
+	 * @param var
+	 * @param lix
+	 * @return
+	 */
+	private boolean isUpdateInPlaceSafe( Hop root, String var, ArrayList<LeftIndexingOp> lix )
+	{
+		if( root == null )
+			return true;
+
+		ArrayList<Hop> roots = new ArrayList<Hop>();
+		roots.add(root);
+		return isUpdateInPlaceSafe(roots, var, lix);
+	}
+
+	/**
+	 *
+	 * @param roots
+	 * @param var
+	 * @param lix
+	 * @return
+	 */
+	private boolean isUpdateInPlaceSafe( ArrayList<Hop> roots, String var, ArrayList<LeftIndexingOp> lix )
+	{
+		if( roots == null )
+			return true;
+
+		//collect transient reads of var and left indexing ops (in post-order)
+		ArrayList<Hop> treads = new ArrayList<Hop>();
+		ArrayList<LeftIndexingOp> lops = new ArrayList<LeftIndexingOp>();
+		Hop.resetVisitStatus(roots);
+		for( Hop root : roots )
+			rCollectReadsAndLeftIndexing(root, var, treads, lops);
+		Hop.resetVisitStatus(roots);
+
+		//check for direct aliases and determine number of consumers
+		int numConsumers = 0;
+		for( Hop tread : treads )
+			for( Hop p : tread.getParent() ) {
+				if( p instanceof DataOp && !p.getName().equals(var) )
+					return false;
+				if( !(p instanceof UnaryOp && (((UnaryOp)p).getOp()==OpOp1.NROW
+					|| ((UnaryOp)p).getOp()==OpOp1.NCOL)) )
+					numConsumers++;
+			}
+
+		//check if var is rebound in this dag (old value dead afterwards)
+		boolean rebound = false;
+		for( Hop root : roots )
+			rebound |= (root instanceof DataOp && ((DataOp)root).getDataOpType()==DataOpTypes.TRANSIENTWRITE
+				&& root.getName().equals(var));
+
+		//mark left indexing on var and chains of single-consumer left indexing
+		ArrayList<LeftIndexingOp> dagLix = new ArrayList<LeftIndexingOp>();
+		for( LeftIndexingOp hop : lops ) {
+			Hop in = hop.getInput().get(0);
+			if( (treads.contains(in) && numConsumers==1 && rebound)
+				|| (dagLix.contains(in) && in.getParent().size()==1) )
+			{
+				dagLix.add(hop);
+			}
+		}
+		lix.addAll(dagLix);
+
+		return true;
+	}
+
+	/**
+	 *
+	 * @param hop
+	 * @param var
+	 * @param treads
+	 * @param lops
+	 */
+	private void rCollectReadsAndLeftIndexing( Hop hop, String var, ArrayList<Hop> treads, ArrayList<LeftIndexingOp> lops )
+	{
+		if( hop.getVisited() == Hop.VisitStatus.DONE )
+			return;
+
+		//recursively process childs
+		for( Hop c : hop.getInput() )
+			rCollectReadsAndLeftIndexing(c, var, treads, lops);
+
+		//collect transient reads and left indexing ops
+		if( hop instanceof DataOp && ((DataOp)hop).getDataOpType()==DataOpTypes.TRANSIENTREAD
+			&& hop.getName().equals(var) )
+		{
+			treads.add(hop);
+		}
+		else if( hop instanceof LeftIndexingOp )
+		{
+			lops.add((LeftIndexingOp)hop);
+		}
+
+		hop.setVisited(Hop.VisitStatus.DONE);
+	}
+}
@@ -161,6 +161,25 @@ public class Binary extends Lop
 		}
 	}
 	
+	/**
+	 * Indicates if the given operation type supports a multi-threaded CP runtime,
+	 * i.e., matrix multiplications, arithmetic and relational cell-wise operations, and solve.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp( OperationTypes op ) {
+		return op == OperationTypes.MATMULT
+			|| op == OperationTypes.ADD || op == OperationTypes.SUBTRACT
+			|| op == OperationTypes.MULTIPLY || op == OperationTypes.DIVIDE
+			|| op == OperationTypes.MINUS1_MULTIPLY || op == OperationTypes.MODULUS
+			|| op == OperationTypes.INTDIV || op == OperationTypes.POW
+			|| op == OperationTypes.LESS_THAN || op == OperationTypes.LESS_THAN_OR_EQUALS
+			|| op == OperationTypes.GREATER_THAN || op == OperationTypes.GREATER_THAN_OR_EQUALS
+			|| op == OperationTypes.EQUALS || op == OperationTypes.NOT_EQUALS
+			|| op == OperationTypes.SOLVE;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String input2, String output) 
 		throws LopsException 
@@ -179,8 +198,8 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications, cell-wise operations, and solve
+		if( isMultiThreadedOp(operation) && getExecType()==ExecType.CP ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}	
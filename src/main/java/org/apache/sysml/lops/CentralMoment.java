@@ -30,6 +30,7 @@ import org.apache.sysml.parser.Expression.*;
  */
 public class CentralMoment extends Lop 
 {
+	private int _numThreads = 1;
 	
 	/**
 	 * Constructor to perform central moment.
@@ -78,6 +79,15 @@ public class CentralMoment extends Lop
 		super(Lop.Type.CentralMoment, dt, vt);
 		init(input1, input2, input3, et);
 	}
+	
+	public CentralMoment(Lop input1, Lop input2, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		this(input1, input2, null, dt, vt, et, numThreads);
+	}
+	
+	public CentralMoment(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		this(input1, input2, input3, dt, vt, et);
+		_numThreads = numThreads;
+	}
 
 	@Override
 	public String toString() {
@@ -115,6 +125,12 @@ public class CentralMoment extends Lop
 		
 		sb.append( prepOutputOperand(output));
 		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -141,7 +157,13 @@ public class CentralMoment extends Lop
 		sb.append( getInputs().get(1).prepScalarInputOperand(getExecType()) );
 		sb.append( OPERAND_DELIMITOR );
 		
-		sb.append( this.prepOutputOperand(output));
+		sb.append( prepOutputOperand(output));
+		
+		//append degree of parallelism
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
@@ -41,9 +41,15 @@ public class FunctionCallCP extends Lop
 	private String _fname;
 	private String[] _outputs;
 	private ArrayList<Lop> _outputLops = null;
+	private int _numThreads = 1;
 
 	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops) throws HopsException, LopsException {
+		this(inputs, fnamespace, fname, outputs, outputHops, 1);
+	}
+	
+	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, int numThreads) throws HopsException, LopsException {
 		this(inputs, fnamespace, fname, outputs);
+		_numThreads = numThreads;
 		if(outputHops != null) {
 			_outputLops = new ArrayList<Lop>();
 			for(Hop h : outputHops) {
@@ -102,6 +108,10 @@ public class FunctionCallCP extends Lop
 			sb.append(_outputs[i]);
 		}
 		
+		//append degree of parallelism
+		sb.append(Lop.OPERAND_DELIMITOR);
+		sb.append(_numThreads);
+		
 		return sb.toString();
 	}
 	
@@ -90,6 +90,16 @@ public class LeftIndex extends Lop
 		this.isBroadcast = isBroadcast;
 		init(lhsInput, rhsInput, rowL, rowU, colL, colU, et);
 	}
+	
+	boolean updateInPlace = false;
+	public LeftIndex(
+			Lop lhsInput, Lop rhsInput, Lop rowL, Lop rowU, Lop colL, Lop colU, DataType dt, ValueType vt, ExecType et, boolean isBroadcast, boolean updateInPlace)
+			throws LopsException {
+		super(Lop.Type.LeftIndex, dt, vt);
+		this.isBroadcast = isBroadcast;
+		this.updateInPlace = updateInPlace;
+		init(lhsInput, rhsInput, rowL, rowU, colL, colU, et);
+	}
 
 	private String getOpcode() {
 		if(isBroadcast)
@@ -134,6 +144,12 @@ public class LeftIndex extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//update in-place hint (only CP, optional to keep the default format)
+		if( updateInPlace && getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( updateInPlace );
+		}
+		
 		return sb.toString();
 	}
 
@@ -42,6 +42,7 @@ public class Transform extends Lop
 	};
 	
 	private boolean _bSortIndInMem = false;
+	private int _numThreads = 1;
 	
 	private OperationTypes operation = null;
 	
@@ -63,6 +64,13 @@ public class Transform extends Lop
 		init(input, op, dt, vt, ExecType.MR);
 	}
 
+	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) 
+	{
+		super(Lop.Type.Transform, dt, vt);		
+		_numThreads = k;
+		init(input, op, dt, vt, et);
+	}
+	
 	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem) 
 	{
 		super(Lop.Type.Transform, dt, vt);		
@@ -162,6 +170,12 @@ public class Transform extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism for multi-threaded CP transpose
+		if( getExecType()==ExecType.CP && operation==OperationTypes.Transpose ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
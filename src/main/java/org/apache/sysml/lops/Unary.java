@@ -49,6 +49,9 @@ public class Unary extends Lop
 	OperationTypes operation;
 
 	Lop valInput;
+	
+	//cp-specific parameters
+	private int _numThreads = 1;
 
 	/**
 	 * Constructor to perform a unary operation with 2 inputs
@@ -62,6 +65,12 @@ public class Unary extends Lop
 		init(input1, input2, op, dt, vt, et);
 	}
 	
+	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		super(Lop.Type.UNARY, dt, vt);
+		init(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
+	
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, input2, op, dt, vt, ExecType.MR);
@@ -113,6 +122,12 @@ public class Unary extends Lop
 		init(input1, op, dt, vt, et);
 	}
 	
+	public Unary(Lop input1, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
+		super(Lop.Type.UNARY, dt, vt);
+		init(input1, op, dt, vt, et);
+		_numThreads = numThreads;
+	}
+	
 	public Unary(Lop input1, OperationTypes op, DataType dt, ValueType vt) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, op, dt, vt, ExecType.MR);
@@ -334,6 +349,12 @@ public class Unary extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( this.prepOutputOperand(output));
 			
+			//append degree of parallelism for cumulative aggregates and inverse
+			if( getExecType() == ExecType.CP && (isCumulativeOp(operation) || operation == OperationTypes.INVERSE) ) {
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( _numThreads );
+			}
+			
 			return sb.toString();
 
 		} else {
@@ -377,9 +398,46 @@ public class Unary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//append degree of parallelism for matrix-scalar operations
+		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
+	/**
+	 * Indicates if the given operation type supports a multi-threaded CP runtime,
+	 * i.e., arithmetic and relational matrix-scalar operations.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp( OperationTypes op ) {
+		return op == OperationTypes.ADD || op == OperationTypes.SUBTRACT
+			|| op == OperationTypes.SUBTRACT_NZ || op == OperationTypes.MULTIPLY
+			|| op == OperationTypes.MULTIPLY2 || op == OperationTypes.MINUS1_MULTIPLY
+			|| op == OperationTypes.DIVIDE || op == OperationTypes.MODULUS
+			|| op == OperationTypes.INTDIV || op == OperationTypes.POW
+			|| op == OperationTypes.POW2 
+			|| op == OperationTypes.LESS_THAN || op == OperationTypes.LESS_THAN_OR_EQUALS
+			|| op == OperationTypes.GREATER_THAN || op == OperationTypes.GREATER_THAN_OR_EQUALS
+			|| op == OperationTypes.EQUALS || op == OperationTypes.NOT_EQUALS;
+	}
+	
+	/**
+	 * Indicates if the given operation type is a cumulative aggregate,
+	 * which supports a multi-threaded CP runtime.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isCumulativeOp( OperationTypes op ) {
+		return op == OperationTypes.CUMSUM || op == OperationTypes.CUMPROD
+			|| op == OperationTypes.CUMMIN || op == OperationTypes.CUMMAX;
+	}
+	
 	@Override
 	public String getInstructions(int inputIndex1, int inputIndex2,
 			int outputIndex) throws LopsException {
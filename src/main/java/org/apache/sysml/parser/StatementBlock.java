@@ -55,6 +55,7 @@ public class StatementBlock extends LiveVariableAnalysis
 	HashMap<String,ConstIdentifier> _constVarsOut;
 	
 	private boolean _requiresRecompile = false;
+	private ArrayList<String> _updateInPlaceVars = null;
 	
 	public StatementBlock(){
 		_dmlProg = null;
@@ -1061,5 +1062,19 @@ public class StatementBlock extends LiveVariableAnalysis
 		return _requiresRecompile;
 	}
 	
+	/////////
+	// update in-place variables (of loops)
+	////
+	
+	public void setUpdateInPlaceVars( ArrayList<String> vars )
+	{
+		_updateInPlaceVars = vars;
+	}
+	
+	public ArrayList<String> getUpdateInPlaceVars()
+	{
+		return _updateInPlaceVars;
+	}
+	
 	
 }  // end class
@@ -203,6 +203,9 @@ public class ForProgramBlock extends ProgramBlock
 			throw new DMLRuntimeException(printBlockErrorLocation() + "Error evaluating for program block", e);
 		}
 		
+		//unpin variables updated in-place
+		unpinUpdateInPlaceVariables(ec);
+		
 		//execute exit instructions
 		try {
 			executeInstructions(_exitInstructions, ec);	
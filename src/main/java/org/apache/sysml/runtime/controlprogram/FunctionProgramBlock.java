@@ -30,6 +30,7 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.utils.RuntimeMetrics;
 import org.apache.sysml.utils.Statistics;
 
 
@@ -88,7 +89,8 @@ public class FunctionProgramBlock extends ProgramBlock
 				&& isRecompileOnce() 
 				&& ParForProgramBlock.RESET_RECOMPILATION_FLAGs )
 			{
-				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				boolean stats = DMLScript.STATISTICS || RuntimeMetrics.isEnabled();
+				long t0 = stats ? System.nanoTime() : 0;
 				
 				//note: it is important to reset the recompilation flags here
 				// (1) it is safe to reset recompilation flags because a 'recompile_once'
@@ -97,7 +99,7 @@ public class FunctionProgramBlock extends ProgramBlock
 				LocalVariableMap tmp = (LocalVariableMap) ec.getVariables().clone();
 				Recompiler.recompileProgramBlockHierarchy(_childBlocks, tmp, _tid, true);
 				
-				if( DMLScript.STATISTICS ){
+				if( stats ){
 					long t1 = System.nanoTime();
 					Statistics.incrementFunRecompileTime(t1-t0);
 					Statistics.incrementFunRecompiles();
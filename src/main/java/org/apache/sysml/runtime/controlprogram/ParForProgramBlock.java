@@ -58,7 +58,9 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorkerWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -80,6 +82,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
@@ -101,6 +104,7 @@ import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
 import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.ropt.YarnClusterAnalyzer;
@@ -137,6 +141,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,  //factoring task partitioner  
 		FACTORING_CMIN,  //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX,  //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,   //work-stealing over per-worker deques (local only), uses tasksize as min split size
 		UNSPECIFIED
 	}
 	
@@ -216,9 +221,11 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean USE_FLEX_SCHEDULER_CONF     = false;
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false;    // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
+	public static       boolean USE_DELTA_RESULT_MERGE      = true;  // record delta logs of result var writes and merge them w/o compare (local, remote spark)
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
 	public static       boolean ALLOW_REUSE_PARTITION_VARS  = true; //reuse partition input matrices, applied only if read-only in surrounding loops
+	public static       boolean ALLOW_IN_MEMORY_PARTITIONING = true; //partition inputs that fit in memory into cached partitions (local parfor, local dp)
 	public static final int     WRITE_REPLICATION_FACTOR    = 1;
 	public static final int     MAX_RETRYS_ON_ERROR         = 1;
 	public static final boolean FORCE_CP_ON_REMOTE_MR       = true; // compile body to CP if exec type forced to MR
@@ -401,6 +408,11 @@ public class ParForProgramBlock extends ForProgramBlock
 		return _optMode;
 	}
 	
+	public void setOptimizationMode(POptMode mode)
+	{
+		_optMode = mode;
+	}
+	
 	public int getDegreeOfParallelism()
 	{
 		return _numThreads;
@@ -595,6 +607,9 @@ public class ParForProgramBlock extends ForProgramBlock
 		ArrayList<String> varList = ec.getVarList();
 		HashMap<String, Boolean> varState = ec.pinVariables(varList);
 		
+		//enable delta logs of result variables (if applicable)
+		ArrayList<MatrixObject> deltaVars = enableDeltaResultMerge(ec);
+		
 		try 
 		{		
 			switch( _execMode )
@@ -627,6 +642,12 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			throw new DMLRuntimeException("PARFOR: Failed to execute loop in parallel.",ex);
 		}
+		finally
+		{
+			//reset delta result merge of original result variables
+			for( MatrixObject mo : deltaVars )
+				mo.enableDeltaResultMerge(null);
+		}
 		
 		//reset state of shared input/result variables 
 		ec.unpinVariables(varList, varState);
@@ -714,20 +735,26 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
+			boolean workStealing = (_taskPartitioner == PTaskPartitioner.WORK_STEALING);
 			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			LocalTaskQueueWorkStealing wsQueue = workStealing ? 
+					new LocalTaskQueueWorkStealing(_numThreads, _taskSize) : null;
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
 			{
 				//create parallel workers as (lazy) deep copies
-				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				workers[i] = createParallelWorker( _pwIDs[i], queue, wsQueue, i, ec ); 
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
 			
 			// start threads (from now on waiting for tasks)
-			for( Thread thread : threads )
-				thread.start();
+			// (with work stealing, deferred until the worker deques are seeded)
+			long texec = System.nanoTime();
+			if( !workStealing )
+				for( Thread thread : threads )
+					thread.start();
 			
 			//maintain statistics
 			long tinit = (long) time.stop();
@@ -740,7 +767,14 @@ public class ParForProgramBlock extends ForProgramBlock
 			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( workStealing )
+			{
+				//seed worker deques and start threads (further tasks created by splitting)
+				((TaskPartitionerWorkStealing)partitioner).createTasks(wsQueue);
+				for( Thread thread : threads )
+					thread.start();
+			}
+			else if( USE_STREAMING_TASK_CREATION )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);		
@@ -763,6 +797,9 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 3) join all threads (wait for finished work)
 			for( Thread thread : threads )
 				thread.join();
+			texec = System.nanoTime() - texec;
+			if( workStealing )
+				numCreatedTasks = wsQueue.getNumTasks();
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
@@ -771,12 +808,16 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 4) collecting results from each parallel worker
 			//obtain results
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
+			double busyTime = 0;
 			for( int i=0; i<_numThreads; i++ )
 			{
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();			
+				busyTime += workers[i].getBusyTime();
 			}
+			if( DMLScript.STATISTICS )
+				Statistics.incrementParForWorkerTime((long)busyTime, _numThreads * texec / 1000000);
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
 					                    localVariables );
@@ -1020,7 +1061,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		// NOTES: each mapper changes filenames with regard to his ID as we submit a single job,
 		//        cannot reuse serialized string, since variables are serialized as well.
 		ParForBody body = new ParForBody( _childBlocks, _resultVars, ec );
-		String program = ProgramConverter.serializeParForBody( body );
+		byte[] program = ProgramConverter.serializeParForBodyBinary( body );
 		
 		if( _monitor ) 
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
@@ -1083,7 +1124,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		// NOTES: each mapper changes filenames with regard to his ID as we submit a single job,
 		//        cannot reuse serialized string, since variables are serialized as well.
 		ParForBody body = new ParForBody( _childBlocks, _resultVars, ec );
-		String program = ProgramConverter.serializeParForBody( body );
+		byte[] program = ProgramConverter.serializeParForBodyBinary( body );
 		
 		if( _monitor ) 
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
@@ -1165,6 +1206,13 @@ public class ParForProgramBlock extends ForProgramBlock
 						
 						//input data partitioning (reuse if possible)
 						Data dpdatNew = _variablesDPReuse.get(var);
+						if( dpdatNew != null && _execMode != PExecMode.LOCAL 
+							&& ((MatrixObject)dpdatNew).hasInMemoryPartitions() )
+						{
+							//in-memory partitions not accessible by remote workers
+							ec.cleanupMatrixObject((MatrixObject)dpdatNew);
+							dpdatNew = null;
+						}
 						if( dpdatNew == null ) //no reuse opportunity
 						{
 							DataPartitioner dp = createDataPartitioner( dpf, _dataPartitioner, ec );
@@ -1348,6 +1396,45 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 	
+	/**
+	 * Marks the matrix result variables for delta result merge, i.e., left indexing
+	 * of parfor workers records delta logs of written ranges (see ResultDeltaLog).
+	 * For remote spark parfor, this requires a result merge that applies exported
+	 * delta logs (local in-memory or remote spark). Objects that are already marked
+	 * (e.g., by an outer parfor) are not modified.
+	 * 
+	 * @param ec
+	 * @return list of marked matrix objects
+	 */
+	private ArrayList<MatrixObject> enableDeltaResultMerge( ExecutionContext ec )
+	{
+		ArrayList<MatrixObject> ret = new ArrayList<MatrixObject>();
+		
+		boolean remote = (_execMode == PExecMode.REMOTE_SPARK || _execMode == PExecMode.REMOTE_SPARK_DP);
+		if( !USE_DELTA_RESULT_MERGE || !(_execMode == PExecMode.LOCAL || remote) )
+			return ret;
+		
+		for( String var : _resultVars )
+		{
+			Data dat = ec.getVariable(var);
+			if( !(dat instanceof MatrixObject) )
+				continue;
+			MatrixObject mo = (MatrixObject) dat;
+			MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+			boolean applicable = !remote 
+				|| _resultMerge == PResultMerge.LOCAL_MEM 
+				|| _resultMerge == PResultMerge.REMOTE_SPARK
+				|| (_resultMerge == PResultMerge.LOCAL_AUTOMATIC 
+				    && OptimizerRuleBased.isInMemoryResultMerge(mc.getRows(), mc.getCols(), OptimizerUtils.getLocalMemBudget()));
+			if( applicable && mo.getDeltaResultVar() == null ) {
+				mo.enableDeltaResultMerge(var);
+				ret.add(mo);
+			}
+		}
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param ec
@@ -1398,7 +1485,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	 * @throws DMLRuntimeException
 	 * @throws CloneNotSupportedException
 	 */
-	private LocalParWorker createParallelWorker(long pwID, LocalTaskQueue<Task> queue, ExecutionContext ec) 
+	private LocalParWorker createParallelWorker(long pwID, LocalTaskQueue<Task> queue, LocalTaskQueueWorkStealing wsQueue, int index, ExecutionContext ec) 
 		throws DMLRuntimeException
 	{
 		LocalParWorker pw = null; 
@@ -1431,7 +1518,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			
 			//create the actual parallel worker
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
-			pw = new LocalParWorker( pwID, queue, body, MAX_RETRYS_ON_ERROR, _monitor );
+			if( wsQueue != null )
+				pw = new LocalParWorkerWorkStealing( pwID, wsQueue, index, body, MAX_RETRYS_ON_ERROR, _monitor );
+			else
+				pw = new LocalParWorker( pwID, queue, body, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
 		}
 		catch(Exception ex)
@@ -1485,6 +1575,15 @@ public class ParForProgramBlock extends ForProgramBlock
 				tp = new TaskPartitionerFactoringCmax( _taskSize,_numThreads, _taskSize, _iterablePredicateVars[0],
 							                       from, to, incr );
 				break;	
+			case WORK_STEALING:
+				//work stealing requires shared memory, hence fall back to factoring for remote parfor
+				if( _execMode == PExecMode.LOCAL )
+					tp = new TaskPartitionerWorkStealing( _taskSize, _numThreads, _iterablePredicateVars[0],
+					                                   from, to, incr );
+				else
+					tp = new TaskPartitionerFactoring( _taskSize,_numThreads, _iterablePredicateVars[0],
+					                                   from, to, incr );
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -1518,7 +1617,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		switch( dataPartitioner )
 		{
 			case LOCAL:
-				dp = new DataPartitionerLocal(dpf, -1, _numThreads);
+				dp = new DataPartitionerLocal(dpf, -1, _numThreads, 
+						ALLOW_IN_MEMORY_PARTITIONING && _execMode == PExecMode.LOCAL);
 				break;
 			case REMOTE_MR:
 				dp = new DataPartitionerRemoteMR( dpf, -1, _ID, numRed,
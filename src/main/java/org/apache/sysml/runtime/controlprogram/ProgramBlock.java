@@ -30,14 +30,17 @@ import org.apache.sysml.hops.Hop;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.recompile.Recompiler;
 import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
@@ -46,6 +49,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
 import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.utils.RuntimeMetrics;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 
@@ -143,7 +147,8 @@ public class ProgramBlock
 			if( DMLScript.isActiveAM() ) //set program block specific remote memory
 				DMLAppMasterUtils.setupProgramBlockRemoteMaxMemory(this);
 			
-			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			boolean stats = DMLScript.STATISTICS || RuntimeMetrics.isEnabled();
+			long t0 = stats ? System.nanoTime() : 0;
 			if(    OptimizerUtils.ALLOW_DYN_RECOMPILATION 
 				&& _sb != null 
 				&& _sb.requiresRecompilation() )
@@ -153,7 +158,7 @@ public class ProgramBlock
 				if( MLContextProxy.isActive() )
 					tmp = MLContextProxy.performCleanupAfterRecompilation(tmp);
 			}
-			if( DMLScript.STATISTICS ){
+			if( stats ){
 				long t1 = System.nanoTime();
 				Statistics.incrementHOPRecompileTime(t1-t0);
 				if( tmp!=_inst )
@@ -185,13 +190,14 @@ public class ProgramBlock
 		
 		//dynamically recompile instructions if enabled and required
 		try {
-			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			boolean stats = DMLScript.STATISTICS || RuntimeMetrics.isEnabled();
+			long t0 = stats ? System.nanoTime() : 0;
 			if(    OptimizerUtils.ALLOW_DYN_RECOMPILATION 
 				&& requiresRecompile )
 			{
 				tmp = Recompiler.recompileHopsDag(hops, ec.getVariables(), null, false, _tid);
 			}
-			if( DMLScript.STATISTICS ){
+			if( stats ){
 				long t1 = System.nanoTime();
 				Statistics.incrementHOPRecompileTime(t1-t0);
 				if( tmp!=inst )
@@ -222,6 +228,10 @@ public class ProgramBlock
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			
+			//prefetch evicted inputs of next instruction
+			if( CacheableData.CACHING_ASYNC_PREFETCH && i+1 < inst.size() )
+				prefetchInputs(currInst, inst.get(i+1), ec);
+			
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
@@ -307,7 +317,8 @@ public class ProgramBlock
 				System.out.println(s);
 			}
 			// start time measurement for statistics
-			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ? 
+			boolean metrics = RuntimeMetrics.isEnabled();
+			long t0 = (DMLScript.STATISTICS || metrics || LOG.isTraceEnabled()) ? 
 					System.nanoTime() : 0;
 					
 			// pre-process instruction (debug state, inst patching, listeners)
@@ -323,9 +334,13 @@ public class ProgramBlock
 			tmp.postprocessInstruction( ec );
 			
 			// maintain aggregate statistics
-			if( DMLScript.STATISTICS) {
-				Statistics.maintainCPHeavyHitters(
-						tmp.getExtendedOpcode(), System.nanoTime()-t0);
+			if( DMLScript.STATISTICS || metrics ) {
+				long t1 = System.nanoTime();
+				String opcode = tmp.getExtendedOpcode();
+				if( DMLScript.STATISTICS )
+					Statistics.maintainCPHeavyHitters(opcode, t1-t0);
+				if( metrics )
+					RuntimeMetrics.maintainInstructionLatency(opcode, t1-t0);
 			}
 				
 			// optional trace information (instruction and runtime)
@@ -355,6 +370,35 @@ public class ProgramBlock
 		}
 	}
 	
+	/**
+	 * Starts the asynchronous restore of evicted matrix inputs of the next 
+	 * instruction, which overlaps the restore with the current instruction.
+	 * Inputs that are outputs of the current instruction are skipped.
+	 * 
+	 * @param currInst
+	 * @param nextInst
+	 * @param ec
+	 */
+	private void prefetchInputs( Instruction currInst, Instruction nextInst, ExecutionContext ec )
+	{
+		if( !CacheableData.isCachingActive() || !(nextInst instanceof ComputationCPInstruction) )
+			return;
+		
+		ComputationCPInstruction cinst = (ComputationCPInstruction) nextInst;
+		CPOperand out = (currInst instanceof ComputationCPInstruction) ? 
+				((ComputationCPInstruction) currInst).output : null;
+		CPOperand[] inputs = new CPOperand[]{cinst.input1, cinst.input2, cinst.input3};
+		
+		for( CPOperand in : inputs )
+			if( in != null && in.getDataType()==DataType.MATRIX && !in.isLiteral()
+				&& !(out != null && in.getName().equals(out.getName())) )
+			{
+				Data dat = ec.getVariable(in.getName());
+				if( dat instanceof MatrixObject )
+					((MatrixObject)dat).prefetch();
+			}
+	}
+	
 	/**
 	 * 
 	 * @param inst
@@ -365,6 +409,24 @@ public class ProgramBlock
 		return ( inst instanceof VariableCPInstruction && ((VariableCPInstruction)inst).isRemoveVariable() );
 	}
 	
+	/**
+	 * Unpins the in-memory data of all variables that are updated in-place 
+	 * within this loop, which makes them again subject to eviction.
+	 * 
+	 * @param ec
+	 */
+	protected void unpinUpdateInPlaceVariables( ExecutionContext ec )
+	{
+		if( _sb == null || _sb.getUpdateInPlaceVars() == null )
+			return;
+		
+		for( String varname : _sb.getUpdateInPlaceVars() ) {
+			Data dat = ec.getVariable(varname);
+			if( dat instanceof MatrixObject )
+				((MatrixObject)dat).enableInMemoryPin(false);
+		}
+	}
+	
 	public void printMe() {
 		//System.out.println("***** INSTRUCTION BLOCK *****");
 		for (Instruction i : this._inst) {
@@ -196,6 +196,9 @@ public class WhileProgramBlock extends ProgramBlock
 			throw new DMLRuntimeException(this.printBlockErrorLocation() + "Error evaluating while program block.", e);
 		}
 		
+		//unpin variables updated in-place
+		unpinUpdateInPlaceVariables(ec);
+		
 		//execute exit instructions
 		try {
 			executeInstructions(_exitInstructions, ec);
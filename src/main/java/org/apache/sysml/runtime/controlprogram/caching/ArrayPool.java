@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+
+import org.apache.sysml.api.DMLScript;
+
+/**
+ * Thread-safe pool of released double arrays (dense blocks) and byte arrays
+ * (serialization buffers) in order to reduce allocation and garbage collection
+ * overhead for iterative scripts, which repeatedly allocate and discard blocks
+ * of identical size. Arrays are organized in power-of-two size classes, where
+ * double arrays are only reused for the exact length (because the length of
+ * dense blocks is used by various operations), while byte arrays are reused for
+ * any smaller length of the same size class. The total size of pooled arrays is
+ * bounded by a hard memory cap (with eviction of the least recently released
+ * arrays), and all arrays are held by soft references, i.e., the garbage
+ * collector may reclaim them under memory pressure.
+ *
+ */
+public class ArrayPool
+{
+	private static final int MIN_SIZE = 4*1024; //min array size in bytes
+	private static final int NUM_CLASSES = 64;
+
+	private static LinkedList<PoolEntry>[] _classes = null; //size classes (by bytes)
+	private static LinkedHashSet<PoolEntry> _lru = null;    //all entries in release order
+	private static long _capacity = 0; //max size in bytes
+	private static long _size = 0;     //current size in bytes
+
+	/**
+	 * Initializes the pool with the given capacity in bytes.
+	 *
+	 * @param capacity
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static synchronized void init( long capacity )
+	{
+		_classes = new LinkedList[NUM_CLASSES];
+		for( int i=0; i<NUM_CLASSES; i++ )
+			_classes[i] = new LinkedList<PoolEntry>();
+		_lru = new LinkedHashSet<PoolEntry>();
+		_capacity = capacity;
+		_size = 0;
+	}
+
+	/**
+	 *
+	 */
+	public static synchronized void clear()
+	{
+		_classes = null;
+		_lru = null;
+		_capacity = 0;
+		_size = 0;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static synchronized boolean isActive()
+	{
+		return (_classes != null);
+	}
+
+	/**
+	 * Gets a zero-initialized double array of exactly the given length,
+	 * or null if no such array is pooled.
+	 *
+	 * @param len
+	 * @return
+	 */
+	public static double[] getDoubleArray( int len )
+	{
+		double[] ret = (double[]) get(8L*len, len, true);
+		if( ret != null )
+			Arrays.fill(ret, 0);
+		return ret;
+	}
+
+	/**
+	 * Releases the given double array into the pool. The caller needs to
+	 * guarantee that the array is not referenced anymore.
+	 *
+	 * @param data
+	 */
+	public static void putDoubleArray( double[] data )
+	{
+		put(data, 8L*data.length);
+	}
+
+	/**
+	 * Gets a byte array of at least the given length (and less than twice
+	 * the given length), or null if no such array is pooled. The array is
+	 * not initialized.
+	 *
+	 * @param len
+	 * @return
+	 */
+	public static byte[] getByteArray( int len )
+	{
+		return (byte[]) get(len, len, false);
+	}
+
+	/**
+	 * Releases the given byte array into the pool. The caller needs to
+	 * guarantee that the array is not referenced anymore.
+	 *
+	 * @param data
+	 */
+	public static void putByteArray( byte[] data )
+	{
+		put(data, data.length);
+	}
+
+	/**
+	 *
+	 * @param bytes
+	 * @param len
+	 * @param exact
+	 * @return
+	 */
+	private static synchronized Object get( long bytes, int len, boolean exact )
+	{
+		if( _classes == null || bytes < MIN_SIZE )
+			return null;
+
+		//probe most recently released arrays first (cache locality)
+		Object ret = null;
+		Iterator<PoolEntry> iter = _classes[getSizeClass(bytes)].descendingIterator();
+		while( iter.hasNext() && ret == null )
+		{
+			PoolEntry e = iter.next();
+			Object data = e.data.get();
+			if( data == null ) { //reclaimed by gc
+				iter.remove();
+				remove(e);
+			}
+			else if( exact ? e.len==len : e.len>=len ) {
+				iter.remove();
+				remove(e);
+				ret = data;
+			}
+		}
+
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				CacheStatistics.incrementPoolHits();
+			else
+				CacheStatistics.incrementPoolMisses();
+		}
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param data
+	 * @param bytes
+	 */
+	private static synchronized void put( Object data, long bytes )
+	{
+		if( _classes == null || bytes < MIN_SIZE || bytes > _capacity )
+			return;
+
+		//evict least recently released arrays to make room
+		Iterator<PoolEntry> iter = _lru.iterator();
+		while( _size + bytes > _capacity && iter.hasNext() ) {
+			PoolEntry e = iter.next();
+			iter.remove();
+			_classes[getSizeClass(e.bytes)].remove(e);
+			_size -= e.bytes;
+		}
+
+		//add new entry to size class and release order
+		PoolEntry e = new PoolEntry(data, java.lang.reflect.Array.getLength(data), bytes);
+		_classes[getSizeClass(bytes)].addLast(e);
+		_lru.add(e);
+		_size += bytes;
+	}
+
+	/**
+	 *
+	 * @param e
+	 */
+	private static void remove( PoolEntry e )
+	{
+		_lru.remove(e);
+		_size -= e.bytes;
+	}
+
+	/**
+	 * Gets the power-of-two size class of the given size in bytes, where
+	 * class i covers the sizes (2^(i-1), 2^i].
+	 *
+	 * @param bytes
+	 * @return
+	 */
+	private static int getSizeClass( long bytes )
+	{
+		return 64 - Long.numberOfLeadingZeros(bytes-1);
+	}
+
+	/**
+	 * Pooled array with its length and size in bytes.
+	 */
+	private static class PoolEntry
+	{
+		private final SoftReference<Object> data;
+		private final int len;
+		private final long bytes;
+
+		public PoolEntry( Object data, int len, long bytes ) {
+			this.data = new SoftReference<Object>(data);
+			this.len = len;
+			this.bytes = bytes;
+		}
+	}
+}
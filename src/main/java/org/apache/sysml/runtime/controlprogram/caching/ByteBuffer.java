@@ -19,10 +19,13 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
-import java.io.DataOutput;
 import java.io.IOException;
 
+import org.apache.sysml.runtime.controlprogram.caching.CacheCompression.CompressionPlan;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapByteStore.PageOutputStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
@@ -34,40 +37,63 @@ public class ByteBuffer
 {
 	private boolean _serialized;	
 	private boolean _sparse;
+	private boolean _offheap;
+	private boolean _deep; //byte serialized (sparse, compressed, or offheap)
 	private long _size;
+	private long _len; //serialized length (offheap)
+	private int _pins = 0; //number of concurrent reads
+	private boolean _freed = false; //release deferred until unpin
 	
-	protected byte[]       _bdata = null; //sparse matrix
+	protected byte[]       _bdata = null; //sparse/compressed matrix
 	protected MatrixBlock  _mdata = null; //dense matrix
+	protected int[]        _pages = null; //sparse/dense matrix (offheap)
 	
 	public ByteBuffer( long size )
 	{
 		_size = size;
 		_serialized = false;
+		
+		//reserve offheap pages (if offheap store active)
+		_offheap = OffHeapByteStore.isActive();
+		if( _offheap )
+			_pages = OffHeapByteStore.allocate(size);
 	}
 	
 	/**
 	 * 
 	 * @param mb
+	 * @param plan compression plan, consistent with the buffer size
 	 * @throws IOException
 	 */
-	public void serializeMatrix( MatrixBlock mb ) 
+	public void serializeMatrix( MatrixBlock mb, CompressionPlan plan ) 
 		throws IOException
 	{	
 		boolean sparseSrc = mb.isInSparseFormat(); //current representation
 		boolean sparseTrgt = mb.evalSparseFormatOnDisk(); //intended target representation
 		_sparse = sparseTrgt;
+		_deep = _offheap || _sparse || plan.isCompressed();
 		
 		try
 		{
-			if( _sparse ) //SPARSE/DENSE -> SPARSE
+			if( _offheap ) //SPARSE/DENSE -> SPARSE/DENSE (offheap)
+			{
+				//deep serialize into offheap pages (both sparse and dense, 
+				//in order to keep the evicted data out of the java heap)
+				PageOutputStream pout = OffHeapByteStore.getOutputStream(_pages);
+				FastBufferedDataOutputStream dout = new FastBufferedDataOutputStream(pout, OffHeapByteStore.PAGE_SIZE);
+				CacheCompression.write(dout, mb, plan);
+				dout.close();
+				_len = pout.getCount();
+			}
+			else if( _deep ) //SPARSE/DENSE -> SPARSE/COMPRESSED
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
+				if( CacheableData.CACHING_BUFFER_POOL )
+					_bdata = ArrayPool.getByteArray((int)_size);
 				if( _bdata==null )
 					_bdata = new byte[(int)_size];
-				DataOutput dout = new CacheDataOutput(_bdata);
-				mb.write(dout);
+				CacheDataOutput dout = new CacheDataOutput(_bdata);
+				CacheCompression.write(dout, mb, plan);
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -99,13 +125,19 @@ public class ByteBuffer
 	{
 		MatrixBlock ret = null;
 		
-		if( _sparse )
+		if( _offheap )
+		{
+			FastBufferedDataInputStream din = new FastBufferedDataInputStream(
+					OffHeapByteStore.getInputStream(_pages, _len), OffHeapByteStore.PAGE_SIZE);
+			ret = CacheCompression.read(din);
+			din.close();
+		}
+		else if( _deep )
 		{
 			//ByteArrayInputStream bis = new ByteArrayInputStream(_bdata);
 			//DataInputStream din = new DataInputStream(bis); 
 			CacheDataInput din = new CacheDataInput(_bdata);
-			ret = new MatrixBlock();
-			ret.readFields(din);
+			ret = CacheCompression.read(din);
 		}
 		else
 		{
@@ -123,15 +155,21 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( _sparse )
+		if( _offheap )
 		{
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			//write out byte serialized pages
+			OffHeapByteStore.writeToLocal(fname, _pages, _len);
+		}
+		else if( _deep )
+		{
+			//write out byte serialized array (pooled arrays might be larger)
+			LocalFileUtils.writeByteArrayToLocal(fname, _bdata, (int)_size);
 		}
 		else
 		{
-			//serialize matrix to output stream
-			LocalFileUtils.writeMatrixBlockToLocal(fname, _mdata);
+			//serialize matrix to output stream (uncompressed)
+			CacheCompression.writeToLocal(fname, _mdata, 
+				new CompressionPlan(CacheCompression.Codec.NONE, _size, _size, null));
 		}
 	}
 	
@@ -145,6 +183,17 @@ public class ByteBuffer
 		return _size;
 	}
 	
+	/**
+	 * Indicates if the buffer failed to reserve its offheap pages, 
+	 * in which case it cannot be used for serialization.
+	 * 
+	 * @return
+	 */
+	public boolean isOffHeapExhausted()
+	{
+		return (_offheap && _pages==null);
+	}
+	
 	/**
 	 * 
 	 * @return
@@ -156,15 +205,52 @@ public class ByteBuffer
 	
 	public void freeMemory()
 	{
-		//clear strong references to buffer/matrix
-		if( _sparse )
-		{
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
-				PageCache.putPage(_bdata);
-			_bdata = null;
+		//clear strong references to buffer/matrix, where the 
+		//release is deferred until concurrent reads completed
+		synchronized( this ) {
+			_freed = true;
+			if( _pins == 0 )
+				releaseMemory();
 		}
-		else
-		{
+	}
+	
+	/**
+	 * Pins the buffer for a read outside the critical region of the write 
+	 * buffer, which defers the release of its memory (e.g., for reuse).
+	 * 
+	 * @return false if the buffer has already been released
+	 */
+	public synchronized boolean pin()
+	{
+		if( _freed )
+			return false;
+		_pins++;
+		return true;
+	}
+	
+	/**
+	 * 
+	 */
+	public synchronized void unpin()
+	{
+		if( --_pins == 0 && _freed )
+			releaseMemory();
+	}
+	
+	/**
+	 * 
+	 */
+	private void releaseMemory()
+	{
+		if( _offheap ) {
+			if( _pages != null )
+				OffHeapByteStore.free(_pages);
+			_pages = null;
+		}
+		else {
+			if( CacheableData.CACHING_BUFFER_POOL && _bdata != null )
+				ArrayPool.putByteArray(_bdata);
+			_bdata = null;
 			_mdata = null;
 		}
 	}
@@ -190,15 +276,22 @@ public class ByteBuffer
 	 * 
 	 * @param size
 	 * @param mb
+	 * @param plan
 	 * @return
 	 */
-	public static boolean isValidCapacity( long size, MatrixBlock mb )
+	public static boolean isValidCapacity( long size, MatrixBlock mb, CompressionPlan plan )
 	{
 		boolean sparseTrgt = mb.evalSparseFormatOnDisk(); //intended target representation
 		
-		if( sparseTrgt ) //SPARSE
+		if( OffHeapByteStore.isActive() ) //OFFHEAP
+		{
+			// since offheap buffers consist of a list of pages, they can hold
+			// any size up to the capacity of the offheap store
+			return ( OffHeapByteStore.getAllocationSize(size) <= OffHeapByteStore.getCapacity() );
+		}
+		else if( sparseTrgt || plan.isCompressed() ) //SPARSE/COMPRESSED
 		{
-			// since sparse matrix blocks are serialized into a byte representation
+			// since sparse and compressed matrix blocks are serialized into a byte representation
 			// the buffer buffer can hold at most 2GB in size 
 			return ( size <= Integer.MAX_VALUE );
 		}
@@ -0,0 +1,543 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Lightweight compression of matrix blocks for the write buffer and local
+ * eviction files. The codec is chosen per block: blocks with at most 256
+ * distinct values (e.g., dummy-coded, recoded, or 0/1 indicator matrices)
+ * are dictionary-encoded with 1 byte per cell (dense) or 1 byte per non-zero
+ * plus variable-length delta-encoded column indexes (sparse); all other
+ * blocks use the uncompressed binary block format.
+ *
+ * Serialized format: 1 byte codec, followed by either the uncompressed block
+ * (NONE), or rlen, clen, nnz, dictionary size, dictionary, and the dense codes
+ * (DENSE_DICT) or the payload length and row-wise payload (SPARSE_DICT).
+ *
+ */
+public class CacheCompression
+{
+	public enum Codec {
+		NONE,
+		DENSE_DICT,
+		SPARSE_DICT,
+	}
+
+	private static final int MAX_DICT_SIZE = 256; //1 byte codes
+	private static final int HEADER_SIZE = 1 + 4 + 4 + 8 + 4; //codec, rlen, clen, nnz, dict size
+	private static final int CHUNK_SIZE = 64*1024;
+
+	/**
+	 * Analyzes the given block and creates a compression plan with the
+	 * codec of minimal size. The returned plan is only valid as long as
+	 * the block is not modified.
+	 *
+	 * @param mb
+	 * @return
+	 */
+	public static CompressionPlan analyze( MatrixBlock mb )
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+
+		long rawSize = 1 + mb.getExactSizeOnDisk();
+		CompressionPlan ret = new CompressionPlan(Codec.NONE, rawSize, rawSize, null);
+
+		//robustness: no compression for empty, csr, or too large blocks
+		if(    !CacheableData.CACHING_BUFFER_COMPRESSION || mb.isEmptyBlock(false)
+			|| mb.isInCSRFormat() || (long)mb.getNumRows()*mb.getNumColumns() > Integer.MAX_VALUE )
+			return ret;
+
+		if( mb.isInSparseFormat() ) //SPARSE
+		{
+			SparseRow[] a = mb.getSparseRows();
+			ValueDictionary dict = new ValueDictionary();
+			long size = HEADER_SIZE + 8;
+			for( int i=0; a!=null && i<Math.min(a.length, mb.getNumRows()); i++ )
+			{
+				int alen = (a[i]!=null) ? a[i].size() : 0;
+				size += getVarIntSize(alen);
+				if( alen > 0 ) {
+					int[] aix = a[i].getIndexContainer();
+					double[] avals = a[i].getValueContainer();
+					for( int j=0, lastIx=0; j<alen; j++ ) {
+						if( dict.add(avals[j]) < 0 )
+							return ret; //too many distinct values
+						size += getVarIntSize(aix[j]-lastIx) + 1;
+						lastIx = aix[j];
+					}
+				}
+			}
+			size += Math.max(mb.getNumRows()-((a!=null)?a.length:0), 0); //empty rows
+			size += 8L * dict.size();
+			if( size < rawSize )
+				ret = new CompressionPlan(Codec.SPARSE_DICT, size, rawSize, dict);
+		}
+		else //DENSE
+		{
+			double[] a = mb.getDenseArray();
+			int len = mb.getNumRows()*mb.getNumColumns();
+			ValueDictionary dict = new ValueDictionary();
+			for( int i=0; i<len; i++ )
+				if( dict.add(a[i]) < 0 )
+					return ret; //too many distinct values
+			long size = HEADER_SIZE + 8L * dict.size() + len;
+			if( size < rawSize )
+				ret = new CompressionPlan(Codec.DENSE_DICT, size, rawSize, dict);
+		}
+
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementCompressTime(System.nanoTime()-t0);
+
+		return ret;
+	}
+
+	/**
+	 * Writes the given block according to the given compression plan.
+	 *
+	 * @param out
+	 * @param mb
+	 * @param plan
+	 * @throws IOException
+	 */
+	public static void write( DataOutput out, MatrixBlock mb, CompressionPlan plan )
+		throws IOException
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+
+		out.writeByte(plan.getCodec().ordinal());
+		switch( plan.getCodec() ) {
+			case NONE:        mb.write(out); break;
+			case DENSE_DICT:  writeDenseDict(out, mb, plan.getDictionary()); break;
+			case SPARSE_DICT: writeSparseDict(out, mb, plan); break;
+		}
+
+		if( DMLScript.STATISTICS ) {
+			if( plan.isCompressed() )
+				CacheStatistics.incrementCompressTime(System.nanoTime()-t0);
+			CacheStatistics.incrementCompressBytes(plan.getRawSize(), plan.getSize());
+		}
+	}
+
+	/**
+	 * Reads a block that has been written with any compression plan.
+	 *
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	public static MatrixBlock read( DataInput in )
+		throws IOException
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+
+		MatrixBlock ret = null;
+		Codec codec = Codec.values()[in.readByte()];
+		if( codec == Codec.NONE ) {
+			ret = new MatrixBlock();
+			ret.readFields(in);
+		}
+		else {
+			int rlen = in.readInt();
+			int clen = in.readInt();
+			long nnz = in.readLong();
+			double[] dict = new double[in.readInt()];
+			for( int i=0; i<dict.length; i++ )
+				dict[i] = in.readDouble();
+			ret = new MatrixBlock(rlen, clen, codec==Codec.SPARSE_DICT);
+			if( codec == Codec.DENSE_DICT )
+				readDenseDict(in, ret, dict);
+			else
+				readSparseDict(in, ret, dict);
+			ret.setNonZeros(nnz);
+
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementDecompressTime(System.nanoTime()-t0);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Writes the given block to a local file according to the given compression plan.
+	 *
+	 * @param fname
+	 * @param mb
+	 * @param plan
+	 * @throws IOException
+	 */
+	public static void writeToLocal( String fname, MatrixBlock mb, CompressionPlan plan )
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream( fname );
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, LocalFileUtils.BUFFER_SIZE);
+
+		try {
+			write(out, mb, plan);
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads a block from a local file that has been written with any compression plan.
+	 *
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	public static MatrixBlock readFromLocal( String fname )
+		throws IOException
+	{
+		FileInputStream fis = new FileInputStream( fname );
+		FastBufferedDataInputStream in = new FastBufferedDataInputStream(fis, LocalFileUtils.BUFFER_SIZE);
+
+		try {
+			return read(in);
+		}
+		finally {
+			in.close();
+		}
+	}
+
+	/**
+	 *
+	 * @param out
+	 * @param mb
+	 * @param dict
+	 * @throws IOException
+	 */
+	private static void writeDenseDict( DataOutput out, MatrixBlock mb, ValueDictionary dict )
+		throws IOException
+	{
+		writeHeader(out, mb, dict);
+
+		//write 1 byte codes in chunks
+		double[] a = mb.getDenseArray();
+		int len = mb.getNumRows()*mb.getNumColumns();
+		byte[] buff = new byte[Math.min(len, CHUNK_SIZE)];
+		for( int bi=0; bi<len; bi+=buff.length ) {
+			int blen = Math.min(buff.length, len-bi);
+			for( int i=0; i<blen; i++ )
+				buff[i] = (byte)dict.getCode(a[bi+i]);
+			out.write(buff, 0, blen);
+		}
+	}
+
+	/**
+	 *
+	 * @param out
+	 * @param mb
+	 * @param plan
+	 * @throws IOException
+	 */
+	private static void writeSparseDict( DataOutput out, MatrixBlock mb, CompressionPlan plan )
+		throws IOException
+	{
+		ValueDictionary dict = plan.getDictionary();
+		writeHeader(out, mb, dict);
+		out.writeLong(plan.getSize() - HEADER_SIZE - 8 - 8L*dict.size()); //payload length
+
+		//write row lengths, delta-encoded column indexes, and 1 byte codes in chunks
+		SparseRow[] a = mb.getSparseRows();
+		int rlen = mb.getNumRows();
+		byte[] buff = new byte[CHUNK_SIZE];
+		int pos = 0;
+		for( int i=0; i<rlen; i++ )
+		{
+			int alen = (a!=null && i<a.length && a[i]!=null) ? a[i].size() : 0;
+			if( pos > buff.length-5 ) {
+				out.write(buff, 0, pos);
+				pos = 0;
+			}
+			pos = writeVarInt(alen, buff, pos);
+			if( alen > 0 ) {
+				int[] aix = a[i].getIndexContainer();
+				double[] avals = a[i].getValueContainer();
+				for( int j=0, lastIx=0; j<alen; j++ ) {
+					if( pos > buff.length-6 ) {
+						out.write(buff, 0, pos);
+						pos = 0;
+					}
+					pos = writeVarInt(aix[j]-lastIx, buff, pos);
+					buff[pos++] = (byte)dict.getCode(avals[j]);
+					lastIx = aix[j];
+				}
+			}
+		}
+		out.write(buff, 0, pos);
+	}
+
+	/**
+	 *
+	 * @param out
+	 * @param mb
+	 * @param dict
+	 * @throws IOException
+	 */
+	private static void writeHeader( DataOutput out, MatrixBlock mb, ValueDictionary dict )
+		throws IOException
+	{
+		out.writeInt(mb.getNumRows());
+		out.writeInt(mb.getNumColumns());
+		out.writeLong(mb.getNonZeros());
+		out.writeInt(dict.size());
+		double[] values = dict.getValues();
+		for( int i=0; i<dict.size(); i++ )
+			out.writeDouble(values[i]);
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param ret
+	 * @param dict
+	 * @throws IOException
+	 */
+	private static void readDenseDict( DataInput in, MatrixBlock ret, double[] dict )
+		throws IOException
+	{
+		ret.allocateDenseBlock();
+
+		//read 1 byte codes in chunks
+		double[] c = ret.getDenseArray();
+		int len = ret.getNumRows()*ret.getNumColumns();
+		byte[] buff = new byte[Math.min(len, CHUNK_SIZE)];
+		for( int bi=0; bi<len; bi+=buff.length ) {
+			int blen = Math.min(buff.length, len-bi);
+			in.readFully(buff, 0, blen);
+			for( int i=0; i<blen; i++ )
+				c[bi+i] = dict[buff[i] & 0xFF];
+		}
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param ret
+	 * @param dict
+	 * @throws IOException
+	 */
+	private static void readSparseDict( DataInput in, MatrixBlock ret, double[] dict )
+		throws IOException
+	{
+		ret.allocateSparseRowsBlock();
+		SparseRow[] c = ret.getSparseRows();
+		ChunkReader reader = new ChunkReader(in, in.readLong());
+
+		for( int i=0; i<ret.getNumRows(); i++ )
+		{
+			int alen = reader.readVarInt();
+			if( alen > 0 ) {
+				SparseRow crow = new SparseRow(alen);
+				int[] cix = crow.getIndexContainer();
+				double[] cvals = crow.getValueContainer();
+				for( int j=0, lastIx=0; j<alen; j++ ) {
+					lastIx += reader.readVarInt();
+					cix[j] = lastIx;
+					cvals[j] = dict[reader.readByte() & 0xFF];
+				}
+				crow.setSize(alen);
+				c[i] = crow;
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param val
+	 * @return
+	 */
+	private static int getVarIntSize( int val )
+	{
+		int ret = 1;
+		while( (val >>>= 7) != 0 )
+			ret++;
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param val
+	 * @param buff
+	 * @param pos
+	 * @return new position
+	 */
+	private static int writeVarInt( int val, byte[] buff, int pos )
+	{
+		while( (val & ~0x7F) != 0 ) {
+			buff[pos++] = (byte)((val & 0x7F) | 0x80);
+			val >>>= 7;
+		}
+		buff[pos++] = (byte)val;
+		return pos;
+	}
+
+	/**
+	 * Result of the block analysis, consisting of the chosen codec, the
+	 * exact serialized size (incl codec byte), the uncompressed size, and
+	 * the value dictionary (if any).
+	 */
+	public static class CompressionPlan
+	{
+		private final Codec _codec;
+		private final long _size;
+		private final long _rawSize;
+		private final ValueDictionary _dict;
+
+		public CompressionPlan( Codec codec, long size, long rawSize, ValueDictionary dict ) {
+			_codec = codec;
+			_size = size;
+			_rawSize = rawSize;
+			_dict = dict;
+		}
+
+		public Codec getCodec() {
+			return _codec;
+		}
+
+		public boolean isCompressed() {
+			return (_codec != Codec.NONE);
+		}
+
+		public long getSize() {
+			return _size;
+		}
+
+		public long getRawSize() {
+			return _rawSize;
+		}
+
+		public ValueDictionary getDictionary() {
+			return _dict;
+		}
+	}
+
+	/**
+	 * Small open-addressing hash map from double values (by their bit
+	 * representation) to dictionary codes in insertion order.
+	 */
+	private static class ValueDictionary
+	{
+		private final long[] _keys = new long[2*MAX_DICT_SIZE];
+		private final int[] _codes = new int[2*MAX_DICT_SIZE];
+		private final double[] _values = new double[MAX_DICT_SIZE];
+		private int _size = 0;
+
+		public ValueDictionary() {
+			java.util.Arrays.fill(_codes, -1);
+		}
+
+		/**
+		 * Adds the given value if not existing.
+		 *
+		 * @param v
+		 * @return code of the value, or -1 if the dictionary is full
+		 */
+		public int add( double v ) {
+			long bits = Double.doubleToRawLongBits(v);
+			int ix = probe(bits);
+			if( _codes[ix] < 0 ) {
+				if( _size >= MAX_DICT_SIZE )
+					return -1;
+				_keys[ix] = bits;
+				_codes[ix] = _size;
+				_values[_size++] = v;
+			}
+			return _codes[ix];
+		}
+
+		public int getCode( double v ) {
+			return _codes[probe(Double.doubleToRawLongBits(v))];
+		}
+
+		public int size() {
+			return _size;
+		}
+
+		public double[] getValues() {
+			return _values;
+		}
+
+		private int probe( long bits ) {
+			int h = (int)(bits ^ (bits >>> 32));
+			int ix = (h * 0x9E3779B9) >>> 23; //9 bits for 512 slots
+			while( _codes[ix] >= 0 && _keys[ix] != bits )
+				ix = (ix + 1) & (_keys.length - 1);
+			return ix;
+		}
+	}
+
+	/**
+	 * Chunked byte reader over a data input of known length,
+	 * which avoids per-byte reads from the underlying input.
+	 */
+	private static class ChunkReader
+	{
+		private final DataInput _in;
+		private final byte[] _buff;
+		private long _remaining;
+		private int _pos = 0;
+		private int _len = 0;
+
+		public ChunkReader( DataInput in, long len ) {
+			_in = in;
+			_buff = new byte[(int)Math.min(len, CHUNK_SIZE)];
+			_remaining = len;
+		}
+
+		public byte readByte()
+			throws IOException
+		{
+			if( _pos >= _len ) {
+				_len = (int)Math.min(_buff.length, _remaining);
+				_in.readFully(_buff, 0, _len);
+				_remaining -= _len;
+				_pos = 0;
+			}
+			return _buff[_pos++];
+		}
+
+		public int readVarInt()
+			throws IOException
+		{
+			int ret = 0;
+			for( int shift=0; ; shift+=7 ) {
+				byte b = readByte();
+				ret |= (b & 0x7F) << shift;
+				if( (b & 0x80) == 0 )
+					return ret;
+			}
+		}
+	}
+}
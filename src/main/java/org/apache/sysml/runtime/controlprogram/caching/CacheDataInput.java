@@ -40,13 +40,18 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	}
 
 	@Override
-	public void readFully(byte[] b) throws IOException {
-		throw new IOException("Not supported.");
+	public void readFully(byte[] b) 
+		throws IOException 
+	{
+		readFully(b, 0, b.length);
 	}
 
 	@Override
-	public void readFully(byte[] b, int off, int len) throws IOException {
-		throw new IOException("Not supported.");
+	public void readFully(byte[] b, int off, int len) 
+		throws IOException 
+	{
+		System.arraycopy(_buff, _count, b, off, len);
+		_count += len;
 	}
 
 	@Override
@@ -62,6 +62,26 @@ public class CacheStatistics
 	private static AtomicLong _numWritesFS     = null;
 	private static AtomicLong _numWritesHDFS   = null;
 	
+	//prefetch statistics caching
+	private static AtomicLong _numPrefetches    = null;
+	private static AtomicLong _numPrefetchHits  = null;
+	
+	//compression statistics caching
+	private static AtomicLong _numBytesRaw      = null;
+	private static AtomicLong _numBytesComp     = null;
+	private static AtomicLong _ctimeCompress    = null; //in nano sec
+	private static AtomicLong _ctimeDecompress  = null; //in nano sec
+	
+	//array pool statistics caching
+	private static AtomicLong _numPoolHits      = null;
+	private static AtomicLong _numPoolMisses    = null;
+	
+	//write buffer contention statistics caching
+	private static AtomicLong _numWBLockFree    = null; //lock-free reads
+	private static AtomicLong _numWBLocked      = null; //lock acquisitions
+	private static AtomicLong _ctimeWBLock      = null; //in nano sec
+	private static AtomicLong _ctimeWBEvictWait = null; //in nano sec
+	
 	//time statistics caching
 	private static AtomicLong _ctimeAcquireR   = null; //in nano sec
 	private static AtomicLong _ctimeAcquireM   = null; //in nano sec
@@ -85,6 +105,19 @@ public class CacheStatistics
 		_numWritesFS = new AtomicLong(0);
 		_numWritesHDFS = new AtomicLong(0);
 		
+		_numPrefetches = new AtomicLong(0);
+		_numPrefetchHits = new AtomicLong(0);
+		_numBytesRaw = new AtomicLong(0);
+		_numBytesComp = new AtomicLong(0);
+		_ctimeCompress = new AtomicLong(0);
+		_ctimeDecompress = new AtomicLong(0);
+		_numPoolHits = new AtomicLong(0);
+		_numPoolMisses = new AtomicLong(0);
+		_numWBLockFree = new AtomicLong(0);
+		_numWBLocked = new AtomicLong(0);
+		_ctimeWBLock = new AtomicLong(0);
+		_ctimeWBEvictWait = new AtomicLong(0);
+		
 		_ctimeAcquireR = new AtomicLong(0);
 		_ctimeAcquireM = new AtomicLong(0);
 		_ctimeRelease = new AtomicLong(0);
@@ -242,6 +275,118 @@ public class CacheStatistics
 	}
 
 	
+	public static void incrementPrefetches()
+	{
+		_numPrefetches.incrementAndGet();
+	}
+	
+	public static long getPrefetches()
+	{
+		return _numPrefetches.get();
+	}
+	
+	public static void incrementPrefetchHits()
+	{
+		_numPrefetchHits.incrementAndGet();
+	}
+	
+	public static long getPrefetchHits()
+	{
+		return _numPrefetchHits.get();
+	}
+	
+	public static void incrementCompressBytes(long raw, long comp)
+	{
+		_numBytesRaw.addAndGet(raw);
+		_numBytesComp.addAndGet(comp);
+	}
+	
+	public static double getCompressionRatio()
+	{
+		long comp = _numBytesComp.get();
+		return (comp > 0) ? (double)_numBytesRaw.get()/comp : 1;
+	}
+	
+	public static void incrementCompressTime(long delta)
+	{
+		_ctimeCompress.addAndGet(delta);
+	}
+	
+	public static long getCompressTime()
+	{
+		return _ctimeCompress.get();
+	}
+	
+	public static void incrementDecompressTime(long delta)
+	{
+		_ctimeDecompress.addAndGet(delta);
+	}
+	
+	public static long getDecompressTime()
+	{
+		return _ctimeDecompress.get();
+	}
+	
+	public static void incrementPoolHits()
+	{
+		_numPoolHits.incrementAndGet();
+	}
+	
+	public static long getPoolHits()
+	{
+		return _numPoolHits.get();
+	}
+	
+	public static void incrementPoolMisses()
+	{
+		_numPoolMisses.incrementAndGet();
+	}
+	
+	public static long getPoolMisses()
+	{
+		return _numPoolMisses.get();
+	}
+	
+	public static void incrementWBLockFreeReads()
+	{
+		_numWBLockFree.incrementAndGet();
+	}
+	
+	public static long getWBLockFreeReads()
+	{
+		return _numWBLockFree.get();
+	}
+	
+	public static void incrementWBLockAcquires()
+	{
+		_numWBLocked.incrementAndGet();
+	}
+	
+	public static long getWBLockAcquires()
+	{
+		return _numWBLocked.get();
+	}
+	
+	public static void incrementWBLockWaitTime(long delta)
+	{
+		_ctimeWBLock.addAndGet(delta);
+	}
+	
+	public static long getWBLockWaitTime()
+	{
+		return _ctimeWBLock.get();
+	}
+	
+	public static void incrementWBEvictWaitTime(long delta)
+	{
+		_ctimeWBEvictWait.addAndGet(delta);
+	}
+	
+	public static long getWBEvictWaitTime()
+	{
+		return _ctimeWBEvictWait.get();
+	}
+	
 	public static void incrementExportTime(long delta)
 	{
 		_ctimeExport.addAndGet(delta);
@@ -281,6 +426,58 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayPrefetches()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.get());
+		sb.append("/");
+		sb.append(_numPrefetchHits.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayCompression()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%.2f", getCompressionRatio()));
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeCompress.get())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeDecompress.get())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
+	public static String displayPool()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPoolHits.get());
+		sb.append("/");
+		sb.append(_numPoolMisses.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayWBOps()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWBLockFree.get());
+		sb.append("/");
+		sb.append(_numWBLocked.get());
+		
+		return sb.toString();
+	}
+	
+	public static String displayWBWaitTime()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%.3f", ((double)_ctimeWBLock.get())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeWBEvictWait.get())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime()
 	{	
 		StringBuilder sb = new StringBuilder();
@@ -60,8 +60,15 @@ public abstract class CacheableData extends Data
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static final boolean CACHING_BUFFER_POOL = true; //reuse of released dense blocks and buffers
+	public static final double  CACHING_BUFFER_POOL_SIZE = 0.05; //max size of pooled arrays (fraction of max heap)
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;
+	public static long          CACHING_BUFFER_OFFHEAP_SIZE = 0; //offheap write buffer [in bytes], 0 disables offheap
+	public static boolean       CACHING_BUFFER_COMPRESSION = true; //dictionary compression of buffered/evicted blocks
+	public static final boolean CACHING_ASYNC_EVICTION = true; //background writes of evicted buffer entries
+	public static final double  CACHING_ASYNC_EVICTION_WATERMARK = 0.75; //buffer fraction that triggers background writes
+	public static final boolean CACHING_ASYNC_PREFETCH = true; //background restore of inputs of next instruction
+	public static final int     CACHING_ASYNC_IO_THREADS = 2; 
 	
 	public static final String CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	
@@ -20,21 +20,41 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.caching.CacheCompression.CompressionPlan;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.utils.RuntimeMetrics;
 
 /**
- * 
+ * Write buffer for evicted matrices. All modifications of the eviction queue
+ * and buffer size are done in the critical region of the queue, but evictions
+ * (i.e., writes to the local file system) and deserialization happen outside 
+ * of this critical region. Entries are moved from the eviction queue to the 
+ * pending writes before their actual write, and removed from the pending writes
+ * after their write, which allows lock-free lookups (for FIFO) via concurrent 
+ * indexes in the order queue, pending writes, local file system.
  * 
  */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
 	
 	public enum RPolicy{
 		FIFO,
@@ -51,11 +71,17 @@ public class LazyWriteBuffer
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//pending writes of evicted entries (incl deletes requested during the 
+	//write), size of pending entries, and background i/o threads
+	private static ConcurrentHashMap<String, ByteBuffer> _pending;
+	private static HashSet<String> _pendingDeletes;
+	private static long _pendingSize;
+	private static ExecutorService _ioPool;
+	
 	static 
 	{
 		//obtain the logical buffer size in bytes
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_limit = getWriteBufferSize();
 	}
 	
 	/**
@@ -67,58 +93,118 @@ public class LazyWriteBuffer
 	public static void writeMatrix( String fname, MatrixBlock mb ) 
 		throws IOException
 	{	
-		long lSize = mb.getExactSizeOnDisk(); 
-		boolean requiresWrite = (   lSize > _limit  //global buffer limit
-				                 || !ByteBuffer.isValidCapacity(lSize, mb) ); //local buffer limit
+		CompressionPlan plan = CacheCompression.analyze(mb);
+		long lSize = plan.getSize(); //exact size incl compression
+		if( OffHeapByteStore.isActive() ) //page granularity
+			lSize = OffHeapByteStore.getAllocationSize(lSize);
+		boolean requiresWrite = (   lSize >= _limit  //global buffer limit
+				                 || !ByteBuffer.isValidCapacity(lSize, mb, plan) ); //local buffer limit
 	
 		if( !requiresWrite ) //if it fits in writebuffer
 		{			
 			ByteBuffer bbuff = null;
+			boolean first = true;
 			
-			//modify buffer pool
-			synchronized( _mQueue )
+			while( bbuff == null && !requiresWrite )
 			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
+				ArrayList<Entry<String, ByteBuffer>> victims = null;
+				
+				//modify buffer pool
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				synchronized( _mQueue )
 				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
+					lockAcquired(t0);
 					
-					if( tmp != null )
+					//wait for pending write of same file, and remove 
+					//existing entry of same file (e.g., after restore)
+					if( first ) {
+						waitForPendingWrite(fname);
+						ByteBuffer old = _mQueue.remove(fname);
+						if( old != null ) {
+							old.checkSerialized();
+							old.freeMemory();
+							_size -= old.getSize();
+						}
+						first = false;
+					}
+					
+					if( _size+lSize < _limit )
 					{
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
+						//create buffer (reserve mem), and lock
+						bbuff = new ByteBuffer( lSize );
 						
-						if( DMLScript.STATISTICS )
-							CacheStatistics.incrementFSWrites();
+						if( bbuff.isOffHeapExhausted() ) 
+						{
+							//direct memory exhausted, adjust limit to reduced capacity
+							_limit = OffHeapByteStore.getCapacity();
+							requiresWrite = true;
+						}
+						else
+						{
+							//put placeholder into buffer pool 
+							_mQueue.addLast(fname, bbuff);
+							_size += lSize;	
+							
+							//start asynchronous eviction above watermark
+							if( CacheableData.CACHING_ASYNC_EVICTION && _ioPool != null )
+								evictAsync();
+						}
+					}
+					else
+					{
+						//select matrices to evict to make room (by default FIFO),
+						//or wait for pending writes of other threads
+						victims = selectVictims(lSize);
+						if( victims.isEmpty() ) {
+							if( _pending.isEmpty() ) //robustness for reduced limit
+								requiresWrite = true;
+							else
+								waitForNotify();
+						}
 					}
 				}
 				
-				//create buffer (reserve mem), and lock
-				bbuff = new ByteBuffer( lSize );
-				
-				//put placeholder into buffer pool 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+				//evict matrices (outside synchronized critical path), where all victims
+				//are processed before rethrowing the first failure in order to release 
+				//their pending writes (otherwise readers of these files would block)
+				Exception evictEx = null;
+				for( int i=0; victims!=null && i<victims.size(); i++ ) {
+					Entry<String, ByteBuffer> entry = victims.get(i);
+					try {
+						new EvictionTask(entry.getKey(), entry.getValue()).evict();
+					}
+					catch(Exception ex) {
+						if( evictEx == null )
+							evictEx = ex;
+					}
+				}
+				if( evictEx instanceof IOException )
+					throw (IOException) evictEx;
+				else if( evictEx != null )
+					throw (RuntimeException) evictEx;
 			}
 			
-			//serialize matrix (outside synchronized critical path)
-			bbuff.serializeMatrix(mb);
-			
-			if( DMLScript.STATISTICS )
-				CacheStatistics.incrementFSBuffWrites();
+			if( !requiresWrite )
+			{
+				//serialize matrix (outside synchronized critical path)
+				bbuff.serializeMatrix(mb, plan);
+				
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSBuffWrites();
+			}
 		}	
-		else
+		
+		if( requiresWrite )
 		{
+			//wait for pending write of same file
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			synchronized( _mQueue ) {
+				lockAcquired(t0);
+				waitForPendingWrite(fname);
+			}
+			
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+			CacheCompression.writeToLocal(fname, mb, plan);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
 		}	
@@ -132,8 +218,11 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		synchronized( _mQueue )
 		{
+			lockAcquired(t0);
+			
 			//remove queue entry 
 			ByteBuffer ldata = _mQueue.remove(fname);
 			if( ldata != null )
@@ -142,6 +231,12 @@ public class LazyWriteBuffer
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			else if( _pending.containsKey(fname) )
+			{
+				//delete after pending write
+				_pendingDeletes.add(fname);
+				requiresDelete = false;
+			}
 		}
 		
 		//delete from FS if required
@@ -160,48 +255,151 @@ public class LazyWriteBuffer
 	{
 		MatrixBlock mb = null;
 		ByteBuffer ldata = null;
+		boolean pinned = false;
 		
-		//probe write buffer
-		synchronized( _mQueue )
+		//probe write buffer w/o lock (FIFO requires no reordering), where 
+		//a failed pin indicates a concurrently released buffer entry
+		if( CacheableData.CACHING_BUFFER_POLICY == RPolicy.FIFO )
 		{
-			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
-				&& ldata != null )
+			ldata = _mQueue.getConcurrent(fname);
+			if( ldata == null )
+				ldata = _pending.get(fname);
+			pinned = (ldata == null || ldata.pin());
+			if( pinned && DMLScript.STATISTICS )
+				CacheStatistics.incrementWBLockFreeReads();
+		}
+		
+		//probe write buffer in critical region
+		if( !pinned )
+		{
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			synchronized( _mQueue )
 			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				lockAcquired(t0);
+				ldata = _mQueue.get(fname);
+				
+				//modify eviction order (accordingly to access)
+				if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
+					&& ldata != null )
+				{
+					//reinsert entry at end of eviction queue
+					_mQueue.remove( fname );
+					_mQueue.addLast( fname, ldata );
+				}
+				
+				//probe pending writes
+				if( ldata == null && !_pendingDeletes.contains(fname) )
+					ldata = _pending.get(fname);
+				
+				//pin buffer for deserialization outside critical path
+				//(buffers in queue or pending writes are never released)
+				if( ldata != null )
+					ldata.pin();
 			}
 		}
 		
 		//deserialize or read from FS if required
 		if( ldata != null )
 		{
-			mb = ldata.deserializeMatrix();
-			if( DMLScript.STATISTICS )
+			try {
+				ldata.checkSerialized();
+				mb = ldata.deserializeMatrix();
+			}
+			finally {
+				ldata.unpin();
+			}
+			if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
-			mb = LocalFileUtils.readMatrixBlockFromLocal(fname); //read from FS
-			if( DMLScript.STATISTICS )
+			mb = CacheCompression.readFromLocal(fname); //read from FS
+			if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 				CacheStatistics.incrementFSHits();
 		}
 		
 		return mb;
 	}
 		
+	/**
+	 * Asynchronously reads the given matrix from the write buffer or local
+	 * file system, e.g., for prefetching evicted inputs. Returns null if
+	 * asynchronous i/o is disabled.
+	 * 
+	 * @param fname
+	 * @return
+	 */
+	public static Future<MatrixBlock> prefetchMatrix( final String fname )
+	{
+		ExecutorService pool = _ioPool;
+		if( pool == null )
+			return null;
+		
+		try {
+			return pool.submit(new Callable<MatrixBlock>() {
+				@Override
+				public MatrixBlock call() throws IOException {
+					return readMatrix(fname);
+				}
+			});
+		}
+		catch(RuntimeException ex) { 
+			//robustness for concurrent cleanup (rejected execution)
+			return null;
+		}
+	}
+	
+	/**
+	 * Indicates if there is a pending write of the given file,
+	 * in which case the evicted data is still in use.
+	 * 
+	 * @param fname
+	 * @return
+	 */
+	public static boolean isPendingWrite( String fname )
+	{
+		return (_pending != null && _pending.containsKey(fname));
+	}
+	
+	/**
+	 * Waits for all pending writes of evicted entries.
+	 * 
+	 */
+	public static void waitForPendingWrites()
+	{
+		if( _mQueue == null )
+			return;
+		
+		synchronized( _mQueue ) {
+			while( !_pending.isEmpty() )
+				waitForNotify();
+		}
+	}
+	
 	/**
 	 * 
 	 */
 	public static void init()
 	{
+		//shutdown i/o threads of previous init
+		shutdownIOPool();
+		
 		_mQueue = new EvictionQueue();		
 		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		_pending = new ConcurrentHashMap<String, ByteBuffer>();
+		_pendingDeletes = new HashSet<String>();
+		_pendingSize = 0;
+		if( CacheableData.CACHING_ASYNC_EVICTION || CacheableData.CACHING_ASYNC_PREFETCH )
+			_ioPool = Executors.newFixedThreadPool(CacheableData.CACHING_ASYNC_IO_THREADS, new IOThreadFactory());
+		if( CacheableData.CACHING_BUFFER_POOL )
+			ArrayPool.init((long)(CacheableData.CACHING_BUFFER_POOL_SIZE * InfrastructureAnalyzer.getLocalMaxMemory()));
+		
+		//init offheap store (if configured), otherwise use heap
+		if( CacheableData.CACHING_BUFFER_OFFHEAP_SIZE > 0 )
+			OffHeapByteStore.init(CacheableData.CACHING_BUFFER_OFFHEAP_SIZE);
+		else
+			OffHeapByteStore.clear();
+		_limit = getWriteBufferSize();
 	}
 	
 	/**
@@ -209,10 +407,13 @@ public class LazyWriteBuffer
 	 */
 	public static void cleanup()
 	{
+		//complete pending writes before clearing the cache dir
+		shutdownIOPool();
+		
 		if( _mQueue!=null )
 			_mQueue.clear();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		ArrayPool.clear();
+		OffHeapByteStore.clear();
 	}
 	
 	/**
@@ -221,6 +422,10 @@ public class LazyWriteBuffer
 	 */
 	public static long getWriteBufferSize()
 	{
+		//offheap buffer size independent of max heap
+		if( OffHeapByteStore.isActive() )
+			return OffHeapByteStore.getCapacity();
+		
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
@@ -250,31 +455,246 @@ public class LazyWriteBuffer
 		}
 	}
 	
+	/**
+	 * Moves entries from the head of the eviction queue to the pending writes 
+	 * until the size of non-pending entries is below the eviction watermark. 
+	 * This method needs to be called within the critical region of the queue.
+	 */
+	private static void evictAsync()
+	{
+		long watermark = (long)(CacheableData.CACHING_ASYNC_EVICTION_WATERMARK * _limit);
+		
+		while( _size - _pendingSize > watermark && !_mQueue.isEmpty() )
+		{
+			//move first entry from eviction queue to pending writes
+			Entry<String, ByteBuffer> entry = moveFirstToPending();
+			
+			//submit write task
+			_ioPool.submit(new EvictionTask(entry.getKey(), entry.getValue()));
+		}
+	}
+	
+	/**
+	 * Moves entries from the head of the eviction queue to the pending writes
+	 * until there is enough room for an entry of the given size (once all
+	 * pending writes completed). The caller is responsible for evicting the
+	 * returned entries. This method needs to be called within the critical 
+	 * region of the queue.
+	 * 
+	 * @param lSize
+	 * @return
+	 */
+	private static ArrayList<Entry<String, ByteBuffer>> selectVictims( long lSize )
+	{
+		ArrayList<Entry<String, ByteBuffer>> ret = new ArrayList<Entry<String, ByteBuffer>>();
+		
+		while( _size - _pendingSize + lSize >= _limit && !_mQueue.isEmpty() )
+			ret.add(moveFirstToPending());
+		
+		return ret;
+	}
+	
+	/**
+	 * Moves the first entry of the eviction queue to the pending writes, where
+	 * the entry is registered as pending before its removal from the queue in 
+	 * order to allow consistent lock-free lookups. This method needs to be 
+	 * called within the critical region of the queue.
+	 * 
+	 * @return
+	 */
+	private static Entry<String, ByteBuffer> moveFirstToPending()
+	{
+		Entry<String, ByteBuffer> entry = _mQueue.getFirst();
+		_pending.put(entry.getKey(), entry.getValue());
+		_pendingSize += entry.getValue().getSize();
+		_mQueue.remove(entry.getKey());
+		
+		return entry;
+	}
+	
+	/**
+	 * This method needs to be called within the critical region of the queue.
+	 * 
+	 * @param fname
+	 */
+	private static void waitForPendingWrite( String fname )
+	{
+		while( _pending.containsKey(fname) )
+			waitForNotify();
+	}
+	
+	/**
+	 * This method needs to be called within the critical region of the queue.
+	 */
+	private static void waitForNotify()
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		try {
+			_mQueue.wait();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ex);
+		}
+		
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementWBEvictWaitTime(System.nanoTime()-t0);
+	}
+	
+	/**
+	 * Maintains the lock statistics after entering the critical region of the queue.
+	 * 
+	 * @param t0 start time of lock acquisition
+	 */
+	private static void lockAcquired( long t0 )
+	{
+		if( DMLScript.STATISTICS ) {
+			CacheStatistics.incrementWBLockAcquires();
+			CacheStatistics.incrementWBLockWaitTime(System.nanoTime()-t0);
+		}
+	}
+	
+	/**
+	 * Shuts down the i/o threads (if any) and waits for the completion 
+	 * of all pending writes.
+	 */
+	private static void shutdownIOPool()
+	{
+		if( _ioPool == null )
+			return;
+		
+		_ioPool.shutdown();
+		try {
+			while( !_ioPool.awaitTermination(1, TimeUnit.SECONDS) );
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		_ioPool = null;
+	}
+	
+	/**
+	 * Task for writing an evicted entry to the local file system and releasing
+	 * its buffer afterwards, either asynchronously or by the evicting thread. 
+	 * Until completion, the entry is still accounted for in the buffer size, 
+	 * which keeps the size limit of the buffer pool (and prevents reuse of 
+	 * offheap pages) but allows to write outside the critical region.
+	 */
+	private static class EvictionTask implements Runnable
+	{
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		
+		public EvictionTask( String fname, ByteBuffer bbuff ) {
+			_fname = fname;
+			_bbuff = bbuff;
+		}
+		
+		@Override
+		public void run() 
+		{
+			try {
+				evict();
+			}
+			catch(Exception ex) {
+				LOG.error("Failed to evict write buffer entry "+_fname+".", ex);
+			}
+		}
+		
+		public void evict()
+			throws IOException
+		{
+			try
+			{
+				//wait for pending serialization
+				_bbuff.checkSerialized();
+				
+				//evict matrix
+				_bbuff.evictBuffer(_fname);
+				
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites();
+			}
+			finally
+			{
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				synchronized( _mQueue )
+				{
+					lockAcquired(t0);
+					
+					//release buffer and pending write
+					_bbuff.freeMemory();
+					_size -= _bbuff.getSize();
+					_pendingSize -= _bbuff.getSize();
+					_pending.remove(_fname);
+					if( _pendingDeletes.remove(_fname) )
+						LocalFileUtils.deleteFileIfExists(_fname, true);
+					
+					//notify waiting writers
+					_mQueue.notifyAll();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Thread factory for daemon i/o threads, which do not prevent JVM 
+	 * shutdown (e.g., for JMLC, where caching is not explicitly cleaned up). 
+	 */
+	private static class IOThreadFactory implements ThreadFactory
+	{
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "SystemML-CacheIO");
+			t.setDaemon(true);
+			return t;
+		}
+	}
+	
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing 
-	 * last/first entries.
+	 * last/first entries, and a concurrent index for lock-free lookups. All 
+	 * modifications need to be called within the critical region of the queue.
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
 	{
 		private static final long serialVersionUID = -5208333402581364859L;
 		
+		private final ConcurrentHashMap<String, ByteBuffer> _index = 
+				new ConcurrentHashMap<String, ByteBuffer>();
+		
 		public void addLast( String fname, ByteBuffer bbuff )
 		{
 			//put entry into eviction queue w/ 'addLast' semantics
 			put(fname, bbuff);
+			_index.put(fname, bbuff);
 		}
 		
-		public Entry<String, ByteBuffer> removeFirst() 
+		public Entry<String, ByteBuffer> getFirst() 
 		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
+			Entry<String, ByteBuffer> entry = entrySet().iterator().next();
+			return new SimpleEntry<String, ByteBuffer>(entry.getKey(), entry.getValue());
+		}
+		
+		public ByteBuffer getConcurrent( String fname )
+		{
+			return _index.get(fname);
+		}
+		
+		@Override
+		public ByteBuffer remove( Object fname )
+		{
+			_index.remove(fname);
+			return super.remove(fname);
+		}
+		
+		@Override
+		public void clear()
+		{
+			_index.clear();
+			super.clear();
 		}
 	}
 }
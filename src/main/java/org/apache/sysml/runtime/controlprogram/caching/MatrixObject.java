@@ -21,11 +21,16 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
 import java.lang.ref.SoftReference;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.DMLTranslator;
@@ -34,9 +39,12 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultDeltaLog;
 import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.data.RDDProperties;
+import org.apache.sysml.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixDimensionsMetaData;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
@@ -49,6 +57,7 @@ import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.utils.RuntimeMetrics;
 
 
 /**
@@ -76,6 +85,11 @@ public class MatrixObject extends CacheableData
 	 * Cache for actual data, evicted by garbage collector.
 	 */
 	private SoftReference<MatrixBlock> _cache = null;
+	
+	/**
+	 * Pending asynchronous restore of evicted data (see prefetch).
+	 */
+	private Future<MatrixBlock> _prefetch = null;
 
 	/**
 	 * Container object that holds the actual data.
@@ -121,6 +135,9 @@ public class MatrixObject extends CacheableData
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
 	private boolean _cleanupFlag = true; //flag if obj unpinned (cleanup enabled)
 	private boolean _updateInPlaceFlag = false; //flag if in-place update
+	private boolean _inMemoryPinFlag = false; //flag if excluded from eviction
+	private String _deltaResultVar = null; //parfor result var w/ delta result merge
+	private ResultDeltaLog _deltaLog = null; //parfor worker writes since initial result
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -137,6 +154,13 @@ public class MatrixObject extends CacheableData
 	private int _partitionSize = -1; //indicates n for BLOCKWISE_N
 	private String _partitionCacheName = null; //name of cache block
 	private MatrixBlock _partitionInMemory = null;
+	private MatrixObject[] _partitionObjects = null; //in-memory partitions (via buffer pool)
+	
+	/**
+	 * Number of blocks read via direct range reads, which bounds the redundant 
+	 * reads of repeated range reads (e.g., in loops) by the size of the matrix.
+	 */
+	private long _rangeReadBlocks = 0;
 	
 	/**
 	 * Information relevant to specific external file formats
@@ -191,10 +215,12 @@ public class MatrixObject extends CacheableData
 		_varName = mo._varName;
 		_cleanupFlag = mo._cleanupFlag;
 		_updateInPlaceFlag = mo._updateInPlaceFlag;
+		_deltaResultVar = mo._deltaResultVar;
 		_partitioned = mo._partitioned;
 		_partitionFormat = mo._partitionFormat;
 		_partitionSize = mo._partitionSize;
 		_partitionCacheName = mo._partitionCacheName;
+		_partitionObjects = mo._partitionObjects;
 	}
 
 	public void setVarName(String s) 
@@ -485,7 +511,7 @@ public class MatrixObject extends CacheableData
 		{			
 			try
 			{
-				if( DMLScript.STATISTICS )
+				if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 					CacheStatistics.incrementHDFSHits();
 				
 				if( getRDDHandle()==null || getRDDHandle().allowsShortCircuitRead() )
@@ -497,6 +523,10 @@ public class MatrixObject extends CacheableData
 					//read matrix from hdfs
 					_data = readMatrixFromHDFS( _hdfsFileName );
 					
+					//convert sparse read-only inputs into compact csr format
+					if( OptimizerUtils.ALLOW_CSR_READ_ONLY_INPUTS )
+						_data.sparseToCSR();
+					
 					//mark for initial local write despite read operation
 					_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
 				}
@@ -522,15 +552,20 @@ public class MatrixObject extends CacheableData
 			
 			_isAcquireFromEmpty = true;
 		}
-		else if( DMLScript.STATISTICS )
+		else if( DMLScript.STATISTICS || RuntimeMetrics.isEnabled() )
 		{
 			if( _data!=null )
 				CacheStatistics.incrementMemHits();
 		}
 		
+		//get object from pending prefetch
+		if( _data == null )
+			getPrefetch();
+		
 		//cache status maintenance
 		super.acquire( false, _data==null );	
 		updateStatusPinned(true);
+		setDataOwner();
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -583,11 +618,17 @@ public class MatrixObject extends CacheableData
 			}
 		}
 
+		//get object from pending prefetch
+		if( _data == null )
+			getPrefetch();
+		
 		//cache status maintenance
 		super.acquire( true, _data==null );
 		updateStatusPinned(true);
+		setDataOwner();
 		_dirtyFlag = true;
 		_isAcquireFromEmpty = false;
+		_deltaLog = null; //modified data not covered by delta log
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -619,19 +660,21 @@ public class MatrixObject extends CacheableData
 		if (! isAvailableToModify ())
 			throw new CacheStatusException ("MatrixObject not available to modify.");
 		
-		//clear old data 
-		clearData(); 
+		//clear old data (w/o reuse if the new data is the old data)
+		clearData( newData != _data ); 
 		
 		//cache status maintenance
 		super.acquire (true, false); //no need to load evicted matrix
 		_dirtyFlag = true;
 		_isAcquireFromEmpty = false;
+		_deltaLog = null; //modified data not covered by delta log
 		
 		//set references to new data
 		if (newData == null)
 			throw new CacheException("acquireModify with empty matrix block.");
 		_data = newData; 
 		updateStatusPinned(true);
+		setDataOwner();
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -682,6 +725,7 @@ public class MatrixObject extends CacheableData
 		if(    isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true)    //not empty and not read/modify
 			&& !isUpdateInPlace()        //pinned result variable
+			&& !_inMemoryPinFlag         //pinned in-place loop variable
 		    && !isBelowCachingThreshold() ) //min size for caching
 		{
 			if( write || _requiresLocalWrite ) 
@@ -723,6 +767,17 @@ public class MatrixObject extends CacheableData
 	 */
 	public synchronized void clearData() 
 		throws CacheException
+	{
+		clearData( true );
+	}
+	
+	/**
+	 * 
+	 * @param reuse release the dense block for reuse (if exclusively owned)
+	 * @throws CacheException
+	 */
+	private void clearData( boolean reuse ) 
+		throws CacheException
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Clear data "+_varName);
@@ -733,14 +788,37 @@ public class MatrixObject extends CacheableData
 		if( !isAvailableToModify() )
 			throw new CacheStatusException ("MatrixObject (" + this.getDebugName() + ") not available to modify. Status = " + this.getStatusAsString() + ".");
 		
+		// clear in-memory partitions (incl evicted partitions)
+		if( _partitionObjects != null ) {
+			for( MatrixObject part : _partitionObjects )
+				part.clearData();
+			_partitionObjects = null;
+		}
+		
 		// clear existing WB / FS representation (but prevent unnecessary probes)
 		if( !(isEmpty(true)||(_data!=null && isBelowCachingThreshold()) 
 			  ||(_data!=null && !isCachingActive()) )) //additional condition for JMLC
 			freeEvictedBlob();	
 		
+		// release dense block for reuse (only if not referenced by other 
+		// matrix objects, rdds/broadcasts, or pending writes of evicted data)
+		if( reuse && isCachingActive() && CacheableData.CACHING_BUFFER_POOL ) 
+		{
+			MatrixBlock mb = (_data != null) ? _data : (_cache != null) ? _cache.get() : null;
+			if(    mb != null && mb.isExclusiveOwner(this) 
+				&& !mb.isInSparseFormat() && mb.getDenseArray() != null
+				&& _rddHandle == null && _bcHandle == null 
+				&& !LazyWriteBuffer.isPendingWrite(getCacheFilePathAndName()) )
+			{
+				ArrayPool.putDoubleArray(mb.getDenseArray());
+				mb.cleanupBlock(true, false);
+			}
+		}
+		
 		// clear the in-memory data
 		_data = null;	
 		clearCache();
+		clearPrefetch();
 		
 		// clear rdd/broadcast back refs
 		if( _rddHandle != null )
@@ -753,6 +831,33 @@ public class MatrixObject extends CacheableData
 		setEmpty();
 	}
 	
+	/**
+	 * Asynchronously restores evicted data into memory in order to overlap 
+	 * the restore with other computation. A subsequent acquire consumes the
+	 * prefetched data (and waits for the pending restore if necessary).
+	 * This is a no-op if the data is not evicted or asynchronous i/o is 
+	 * disabled.
+	 * 
+	 * In-Status:  any;
+	 * Out-Status: unchanged.
+	 */
+	public synchronized void prefetch()
+	{
+		//prefetch only evicted data (not in soft reference cache)
+		if(    !isCachingActive() || !isCached(false) 
+			|| _data != null || _prefetch != null
+			|| (_cache != null && _cache.get() != null) )
+			return;
+		
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Prefetch "+_varName);
+		
+		_prefetch = LazyWriteBuffer.prefetchMatrix(getCacheFilePathAndName());
+		
+		if( DMLScript.STATISTICS && _prefetch != null )
+			CacheStatistics.incrementPrefetches();
+	}
+	
 	public synchronized void exportData()
 		throws CacheException
 	{
@@ -863,6 +968,7 @@ public class MatrixObject extends CacheableData
 			if( _data == null )
 				getCache();
 			super.acquire( false, _data==null ); //incl. read matrix if evicted	
+			setDataOwner();
 			
 			// b) write the matrix 
 			try
@@ -1018,6 +1124,27 @@ public class MatrixObject extends CacheableData
 		_partitionInMemory = block;
 	}
 	
+	/**
+	 * Sets the in-memory partitions of a partitioned matrix, where each partition 
+	 * is a cached matrix object (with partition index as position in the array). 
+	 * Partition reads are then served by the buffer pool instead of partition files.
+	 * 
+	 * @param parts
+	 */
+	public void setInMemoryPartitions( MatrixObject[] parts )
+	{
+		_partitionObjects = parts;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean hasInMemoryPartitions()
+	{
+		return (_partitionObjects != null);
+	}
+	
 	/**
 	 * NOTE: for reading matrix partitions, we could cache (in its real sense) the read block
 	 * with soft references (no need for eviction, as partitioning only applied for read-only matrices).
@@ -1030,7 +1157,25 @@ public class MatrixObject extends CacheableData
 	 * @return
 	 * @throws CacheException
 	 */
-	public synchronized MatrixBlock readMatrixPartition( IndexRange pred ) 
+	public MatrixBlock readMatrixPartition( IndexRange pred ) 
+		throws CacheException
+	{
+		//read in-memory partitions w/o lock on the partitioned matrix, 
+		//which allows parallel partition reads of local parfor workers
+		MatrixObject[] parts = _partitionObjects;
+		if( _partitioned && parts != null )
+			return readInMemoryPartition( parts, pred );
+		
+		return readMatrixPartitionFromFile( pred );
+	}
+	
+	/**
+	 * 
+	 * @param pred
+	 * @return
+	 * @throws CacheException
+	 */
+	private synchronized MatrixBlock readMatrixPartitionFromFile( IndexRange pred ) 
 		throws CacheException
 	{
 		if( LOG.isTraceEnabled() )
@@ -1139,6 +1284,158 @@ public class MatrixObject extends CacheableData
 	}
 	
 	
+	/**
+	 * Reads a partition from the given in-memory partitions via the buffer pool 
+	 * (i.e., restored if evicted). Row- and column-wise partitions are returned 
+	 * without copy because partitioned matrices are read-only and the partition 
+	 * blocks are marked as shared, while block-wise partitions are sliced.
+	 * 
+	 * @param parts
+	 * @param pred
+	 * @return
+	 * @throws CacheException
+	 */
+	private MatrixBlock readInMemoryPartition( MatrixObject[] parts, IndexRange pred )
+		throws CacheException
+	{
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Acquire in-memory partition "+_varName+" "+pred);
+		
+		MatrixCharacteristics mc = ((MatrixFormatMetaData) _metaData).getMatrixCharacteristics();
+		int brlen = mc.getRowsPerBlock();
+		int bclen = mc.getColsPerBlock();
+		
+		//get partition index depending on format
+		int pix = -1;
+		switch( _partitionFormat )
+		{
+			case ROW_WISE:          pix = (int)(pred.rowStart-1); break;
+			case ROW_BLOCK_WISE:    pix = (int)((pred.rowStart-1)/brlen); break;
+			case COLUMN_WISE:       pix = (int)(pred.colStart-1); break;
+			case COLUMN_BLOCK_WISE: pix = (int)((pred.colStart-1)/bclen); break;
+			default:
+				throw new CacheException("Unsupported partition format: "+_partitionFormat);
+		}
+		
+		//read partition via buffer pool
+		MatrixObject part = parts[pix];
+		MatrixBlock mb = part.acquireRead();
+		part.release();
+		
+		//slice block-wise partitions
+		try
+		{
+			if( _partitionFormat == PDataPartitionFormat.ROW_BLOCK_WISE )
+			{
+				int rix = (int)((pred.rowStart-1)%brlen);
+				mb = mb.sliceOperations(rix, rix, (int)(pred.colStart-1), (int)(pred.colEnd-1), new MatrixBlock());
+			}
+			if( _partitionFormat == PDataPartitionFormat.COLUMN_BLOCK_WISE )
+			{
+				int cix = (int)((pred.colStart-1)%bclen);
+				mb = mb.sliceOperations((int)(pred.rowStart-1), (int)(pred.rowEnd-1), cix, cix, new MatrixBlock());
+			}
+		}
+		catch(Exception ex)
+		{
+			throw new CacheException(ex);
+		}
+		
+		return mb;
+	}
+	
+	/**
+	 * Indicates if the given index range can be directly read from the backing file, 
+	 * without reading the entire matrix. This applies to matrices that are not in memory,
+	 * evicted, or modified, and that are backed by a block-indexed local binary block 
+	 * file. Once the total number of blocks read via range reads would exceed the number 
+	 * of blocks of the matrix, we fall back to reading and caching the entire matrix.
+	 * 
+	 * @param ixrange
+	 * @return
+	 */
+	public synchronized boolean isRangeReadable( IndexRange ixrange )
+	{
+		//check for matrix not in memory and not evicted
+		if( !isEmpty(true) || _data != null || (_cache != null && _cache.get() != null)
+			|| getRDDHandle() != null || _hdfsFileName == null || _partitioned 
+			|| !(_metaData instanceof MatrixFormatMetaData) )
+			return false;
+		
+		//check for binary block input with known dimensions
+		MatrixFormatMetaData iimd = (MatrixFormatMetaData) _metaData;
+		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+		if( iimd.getInputInfo() != InputInfo.BinaryBlockInputInfo || !mc.dimsKnown() 
+			|| mc.getRowsPerBlock() <= 0 || mc.getColsPerBlock() <= 0 )
+			return false;
+		
+		//check for bounded number of blocks read via range reads
+		if( _rangeReadBlocks + getNumOverlappingBlocks(ixrange, mc) > mc.getNumRowBlocks()*mc.getNumColBlocks() )
+			return false;
+		
+		//check for block-indexed local binary block file
+		try {
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			return LocalBinaryBlockFile.isLocalBinaryBlockFile(FileSystem.get(job), new Path(_hdfsFileName));
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Reads the given index range directly from the backing file, where only the 
+	 * non-empty blocks overlapping the range are accessed. Note that the result is
+	 * not cached because it is only a part of the matrix.
+	 * 
+	 * @param ixrange
+	 * @return
+	 * @throws CacheException
+	 */
+	public synchronized MatrixBlock readMatrixRange( IndexRange ixrange ) 
+		throws CacheException
+	{
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Read range "+_varName+" "+ixrange);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		MatrixBlock mb = null;
+		try
+		{
+			MatrixCharacteristics mc = ((MatrixFormatMetaData) _metaData).getMatrixCharacteristics();
+			ReaderBinaryBlockLocal reader = new ReaderBinaryBlockLocal(1);
+			mb = reader.readMatrixRangeFromHDFS(_hdfsFileName, mc.getRows(), mc.getCols(), 
+					mc.getRowsPerBlock(), mc.getColsPerBlock(), ixrange);
+			_rangeReadBlocks += getNumOverlappingBlocks(ixrange, mc);
+		}
+		catch(Exception ex)
+		{
+			throw new CacheException(ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			long t1 = System.nanoTime();
+			CacheStatistics.incrementHDFSHits();
+			CacheStatistics.incrementAcquireRTime(t1-t0);
+		}
+		
+		return mb;
+	}
+	
+	/**
+	 * 
+	 * @param ixrange
+	 * @param mc
+	 * @return
+	 */
+	private static long getNumOverlappingBlocks( IndexRange ixrange, MatrixCharacteristics mc )
+	{
+		long brlen = mc.getRowsPerBlock();
+		long bclen = mc.getColsPerBlock();
+		return ((ixrange.rowEnd-1)/brlen - (ixrange.rowStart-1)/brlen + 1)
+			 * ((ixrange.colEnd-1)/bclen - (ixrange.colStart-1)/bclen + 1);
+	}
+	
 	/**
 	 * 
 	 * @param pred
@@ -1620,6 +1917,48 @@ public class MatrixObject extends CacheableData
 		}
 	}
 
+	/**
+	 * Registers this matrix object as owner of the in-memory block, which 
+	 * allows to release its dense block for reuse on clear (if not shared).
+	 */
+	private void setDataOwner()
+	{
+		if( _data != null )
+			_data.setOwner(this);
+	}
+	
+	/**
+	 * 
+	 */
+	private void getPrefetch()
+	{
+		if( _prefetch != null )
+		{
+			try {
+				_data = _prefetch.get();
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementPrefetchHits();
+			}
+			catch(Exception ex) {
+				//fall back to synchronous restore
+				LOG.warn("Prefetch of "+_varName+" failed.", ex);
+			}
+			_prefetch = null;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private void clearPrefetch()
+	{
+		if( _prefetch != null )
+		{
+			_prefetch.cancel(false);
+			_prefetch = null;
+		}
+	}
+	
 	/**
 	 * 
 	 */
@@ -1682,6 +2021,66 @@ public class MatrixObject extends CacheableData
 		return _updateInPlaceFlag;
 	}
 	
+	/**
+	 * Pins the in-memory data of this matrix object, i.e., excludes it from
+	 * eviction on release. This is used for variables that are updated in-place
+	 * within loops, in order to prevent an eviction per iteration.
+	 * 
+	 * @param flag
+	 */
+	public void enableInMemoryPin(boolean flag)
+	{
+		_inMemoryPinFlag = flag;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public boolean isInMemoryPinEnabled()
+	{
+		return _inMemoryPinFlag;
+	}
+	
+	/**
+	 * Marks this matrix object as the initial state of the given parfor result 
+	 * variable, for which parfor workers record delta logs of all left indexing
+	 * writes (see ResultDeltaLog). A null variable name disables delta logs.
+	 * 
+	 * @param resultVar
+	 */
+	public void enableDeltaResultMerge(String resultVar)
+	{
+		_deltaResultVar = resultVar;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public String getDeltaResultVar()
+	{
+		return _deltaResultVar;
+	}
+	
+	/**
+	 * 
+	 * @param log
+	 */
+	public void setDeltaLog(ResultDeltaLog log)
+	{
+		_deltaLog = log;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public ResultDeltaLog getDeltaLog()
+	{
+		return _deltaLog;
+	}
+	
 	
 
 	/**
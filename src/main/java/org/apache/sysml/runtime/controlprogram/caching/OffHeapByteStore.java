@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Off-heap byte store for the write buffer, which keeps serialized matrix
+ * blocks in direct NIO buffers outside the Java heap. The store is organized
+ * in fixed-size pages that are carved out of lazily allocated slabs, where each
+ * buffer entry holds a list of (not necessarily contiguous) pages. Released pages
+ * are reused for subsequent entries, which avoids both fragmentation and the
+ * non-deterministic release of direct buffers by the garbage collector.
+ *
+ * Note that direct memory is limited by -XX:MaxDirectMemorySize (by default,
+ * the max heap size), which hence needs to be set accordingly.
+ *
+ */
+public class OffHeapByteStore
+{
+	private static final Log LOG = LogFactory.getLog(OffHeapByteStore.class.getName());
+
+	public static final int PAGE_SIZE = 64*1024; //64KB
+	private static final int SLAB_PAGES = 1024;  //64MB per slab
+
+	private static java.nio.ByteBuffer[] _slabs = null; //lazily allocated slabs
+	private static int[] _free = null; //stack of free page ids
+	private static int _numFree = 0;   //number of free pages
+	private static int _numPages = 0;  //number of allocated pages
+	private static int _maxPages = 0;  //max number of pages
+
+	/**
+	 * Initializes the off-heap store with the given capacity in bytes,
+	 * without allocating any direct memory.
+	 *
+	 * @param capacity
+	 */
+	public static synchronized void init( long capacity )
+	{
+		_maxPages = (int)Math.min(capacity/PAGE_SIZE, Integer.MAX_VALUE);
+		_slabs = new java.nio.ByteBuffer[(int)Math.ceil((double)_maxPages/SLAB_PAGES)];
+		_free = new int[_maxPages];
+		_numFree = 0;
+		_numPages = 0;
+	}
+
+	/**
+	 * Releases all slabs (the direct memory is freed on garbage collection).
+	 */
+	public static synchronized void clear()
+	{
+		_slabs = null;
+		_free = null;
+		_numFree = 0;
+		_numPages = 0;
+		_maxPages = 0;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public static synchronized boolean isActive()
+	{
+		return (_slabs != null);
+	}
+
+	/**
+	 * Gets the current capacity of the store in bytes.
+	 *
+	 * @return
+	 */
+	public static synchronized long getCapacity()
+	{
+		return (long)_maxPages * PAGE_SIZE;
+	}
+
+	/**
+	 * Gets the number of bytes allocated for an entry of the given size,
+	 * i.e., the size rounded up to page granularity.
+	 *
+	 * @param size
+	 * @return
+	 */
+	public static long getAllocationSize( long size )
+	{
+		return getNumPages(size) * PAGE_SIZE;
+	}
+
+	/**
+	 * Allocates the pages for an entry of the given size. Returns null if
+	 * the direct memory is exhausted, in which case the capacity of the
+	 * store is reduced to the number of already allocated pages.
+	 *
+	 * @param size
+	 * @return
+	 */
+	public static synchronized int[] allocate( long size )
+	{
+		int len = (int)getNumPages(size);
+		if( len > _numFree + _maxPages - _numPages )
+			return null;
+
+		int[] pages = new int[len];
+		for( int i=0; i<len; i++ )
+		{
+			if( _numFree > 0 ) //reuse released page
+				pages[i] = _free[--_numFree];
+			else if( (pages[i] = allocatePage()) < 0 ) {
+				free(pages, i);
+				return null;
+			}
+		}
+
+		return pages;
+	}
+
+	/**
+	 * Releases the given pages for reuse.
+	 *
+	 * @param pages
+	 */
+	public static synchronized void free( int[] pages )
+	{
+		free(pages, pages.length);
+	}
+
+	/**
+	 * Gets an output stream that writes into the given pages.
+	 *
+	 * @param pages
+	 * @return
+	 */
+	public static PageOutputStream getOutputStream( int[] pages )
+	{
+		return new PageOutputStream(pages);
+	}
+
+	/**
+	 * Gets an input stream that reads the first len bytes of the given pages.
+	 *
+	 * @param pages
+	 * @param len
+	 * @return
+	 */
+	public static InputStream getInputStream( int[] pages, long len )
+	{
+		return new PageInputStream(pages, len);
+	}
+
+	/**
+	 * Writes the first len bytes of the given pages to a local file.
+	 *
+	 * @param fname
+	 * @param pages
+	 * @param len
+	 * @throws IOException
+	 */
+	public static void writeToLocal( String fname, int[] pages, long len )
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream( fname );
+		FileChannel fc = fos.getChannel();
+
+		try
+		{
+			for( int i=0; i<pages.length && len>0; i++ ) {
+				int plen = (int)Math.min(PAGE_SIZE, len);
+				java.nio.ByteBuffer page = getPage(pages[i], plen);
+				while( page.hasRemaining() )
+					fc.write(page);
+				len -= plen;
+			}
+		}
+		finally
+		{
+			fos.close();
+		}
+	}
+
+	/**
+	 *
+	 * @param size
+	 * @return
+	 */
+	private static long getNumPages( long size )
+	{
+		return Math.max((size + PAGE_SIZE - 1) / PAGE_SIZE, 1);
+	}
+
+	/**
+	 *
+	 * @return new page id, or -1 if direct memory is exhausted
+	 */
+	private static int allocatePage()
+	{
+		int slab = _numPages / SLAB_PAGES;
+		if( _slabs[slab] == null )
+		{
+			int npages = Math.min(SLAB_PAGES, _maxPages - slab*SLAB_PAGES);
+			try {
+				_slabs[slab] = java.nio.ByteBuffer.allocateDirect(npages * PAGE_SIZE);
+			}
+			catch(OutOfMemoryError ex) {
+				LOG.warn("Failed to allocate off-heap slab, reduced write buffer capacity to "
+						+ _numPages+" pages (consider increasing -XX:MaxDirectMemorySize).");
+				_maxPages = _numPages;
+				return -1;
+			}
+		}
+
+		return _numPages++;
+	}
+
+	/**
+	 *
+	 * @param pages
+	 * @param len
+	 */
+	private static void free( int[] pages, int len )
+	{
+		//robustness for pages of a previous store
+		if( _free == null )
+			return;
+
+		for( int i=0; i<len; i++ )
+			if( pages[i] < _numPages )
+				_free[_numFree++] = pages[i];
+	}
+
+	/**
+	 * Gets an independent view of the first len bytes of the given page.
+	 *
+	 * @param page
+	 * @param len
+	 * @return
+	 */
+	private static java.nio.ByteBuffer getPage( int page, int len )
+	{
+		java.nio.ByteBuffer slab = null;
+		synchronized( OffHeapByteStore.class ) {
+			slab = _slabs[page / SLAB_PAGES];
+		}
+
+		//duplicate for independent position/limit
+		int off = (page % SLAB_PAGES) * PAGE_SIZE;
+		java.nio.ByteBuffer ret = slab.duplicate();
+		ret.limit(off + len);
+		ret.position(off);
+		return ret;
+	}
+
+	/**
+	 * Output stream over a list of off-heap pages.
+	 *
+	 */
+	public static class PageOutputStream extends OutputStream
+	{
+		private final int[] _pages;
+		private java.nio.ByteBuffer _page = null;
+		private int _pix = -1;
+		private long _count = 0;
+
+		public PageOutputStream( int[] pages ) {
+			_pages = pages;
+		}
+
+		@Override
+		public void write(int b)
+			throws IOException
+		{
+			nextPage();
+			_page.put((byte)b);
+			_count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len)
+			throws IOException
+		{
+			while( len > 0 ) {
+				nextPage();
+				int llen = Math.min(len, _page.remaining());
+				_page.put(b, off, llen);
+				off += llen;
+				len -= llen;
+				_count += llen;
+			}
+		}
+
+		/**
+		 * Gets the number of written bytes.
+		 *
+		 * @return
+		 */
+		public long getCount() {
+			return _count;
+		}
+
+		private void nextPage()
+			throws IOException
+		{
+			if( _page != null && _page.hasRemaining() )
+				return;
+			if( ++_pix >= _pages.length )
+				throw new IOException("Off-heap buffer overflow ("+_count+" bytes).");
+			_page = getPage(_pages[_pix], PAGE_SIZE);
+		}
+	}
+
+	/**
+	 * Input stream over a list of off-heap pages.
+	 *
+	 */
+	private static class PageInputStream extends InputStream
+	{
+		private final int[] _pages;
+		private java.nio.ByteBuffer _page = null;
+		private int _pix = -1;
+		private long _len = 0; //remaining bytes
+
+		public PageInputStream( int[] pages, long len ) {
+			_pages = pages;
+			_len = len;
+		}
+
+		@Override
+		public int read()
+			throws IOException
+		{
+			if( !nextPage() )
+				return -1;
+			return _page.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len)
+			throws IOException
+		{
+			if( len == 0 )
+				return 0;
+			if( !nextPage() )
+				return -1;
+			int llen = Math.min(len, _page.remaining());
+			_page.get(b, off, llen);
+			return llen;
+		}
+
+		private boolean nextPage()
+		{
+			if( _page != null && _page.hasRemaining() )
+				return true;
+			if( _len <= 0 )
+				return false;
+			int plen = (int)Math.min(PAGE_SIZE, _len);
+			_page = getPage(_pages[++_pix], plen);
+			_len -= plen;
+			return true;
+		}
+	}
+}
@@ -39,7 +39,11 @@ import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
@@ -48,6 +52,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.Cell;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -57,6 +63,7 @@ import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.data.SparseRowsIterator;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Partitions a given matrix into row or column partitions with a two pass-approach.
@@ -75,17 +82,23 @@ import org.apache.sysml.runtime.util.LocalFileUtils;
  *       row/col offsets for partitioned read. Currently not done in order to avoid overhead from normal read
  *       and since partitioning only applied if exclusively indexed access.
  *
+ * If enabled (local parfor only) and the input fits in memory, the input is partitioned in memory 
+ * instead, where each partition is sliced from the in-memory matrix and registered as a cached 
+ * matrix object. Partition reads are then served by the buffer pool instead of partition files.
  *
  */
 public class DataPartitionerLocal extends DataPartitioner
 {
 	
 	private static final boolean PARALLEL = true; 
+	private static final long PARTITION_OVERHEAD = 1024; //matrix object, block, and buffer pool entry
 	
 	private IDSequence _seq = null;
 	private MatrixBlock _reuseBlk = null;
 	
 	private int _par = -1;
+	private boolean _inMemory = false;
+	private MatrixObject[] _partitions = null; //output of in-memory partitioning
 	
 	/**
 	 * 
@@ -107,10 +120,47 @@ public class DataPartitionerLocal extends DataPartitioner
 		_par = (par > 0) ? par : 1;
 	}
 	
+	/**
+	 * 
+	 * @param dpf
+	 * @param n
+	 * @param par -1 for serial otherwise number of threads, can be ignored by implementation
+	 * @param inMemory allow in-memory partitioning of inputs that fit in memory
+	 * @throws DMLRuntimeException
+	 */
+	public DataPartitionerLocal(PDataPartitionFormat dpf, int n, int par, boolean inMemory) 
+		throws DMLRuntimeException 
+	{
+		this(dpf, n, par);
+		_inMemory = inMemory;
+	}
+	
+	@Override
+	public MatrixObject createPartitionedMatrixObject( MatrixObject in, MatrixObject out, boolean force )
+		throws DMLRuntimeException
+	{
+		_partitions = null;
+		MatrixObject ret = super.createPartitionedMatrixObject(in, out, force);
+		
+		//attach in-memory partitions to output matrix object
+		if( ret == out && _partitions != null ) {
+			out.setInMemoryPartitions(_partitions);
+			_partitions = null;
+		}
+		
+		return ret;
+	}
+	
 	@Override
 	protected void partitionMatrix(MatrixObject in, String fnameNew, InputInfo ii, OutputInfo oi, long rlen, long clen, int brlen, int bclen)
 			throws DMLRuntimeException 
 	{
+		//in-memory partitioning if applicable (no staging and partition files)
+		if( _inMemory && isInMemoryPartitioningApplicable(in, rlen, clen, brlen, bclen) ) {
+			_partitions = partitionInMemory(in, fnameNew, rlen, clen, brlen, bclen);
+			return;
+		}
+		
 		//force writing to disk (typically not required since partitioning only applied if dataset exceeds CP size)
 		in.exportData(); //written to disk iff dirty
 		
@@ -138,6 +188,113 @@ public class DataPartitionerLocal extends DataPartitioner
 
 
 
+	/**
+	 * Indicates if the input matrix (incl the overhead per partition) fits into
+	 * the local memory budget, which allows to partition it in memory.
+	 * 
+	 * @param in
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @return
+	 */
+	private boolean isInMemoryPartitioningApplicable( MatrixObject in, long rlen, long clen, int brlen, int bclen )
+	{
+		if( rlen <= 0 || clen <= 0 )
+			return false;
+		
+		long numParts = getNumPartitions(rlen, clen, brlen, bclen);
+		double sp = OptimizerUtils.getSparsity(rlen, clen, in.getNnz());
+		double mem = OptimizerUtils.estimateSizeExactSparsity(rlen, clen, sp) 
+				   + numParts * PARTITION_OVERHEAD;
+		
+		return ( numParts > 0 && numParts <= Integer.MAX_VALUE 
+			&& mem < OptimizerUtils.getLocalMemBudget() );
+	}
+	
+	/**
+	 * 
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @return
+	 */
+	private long getNumPartitions( long rlen, long clen, int brlen, int bclen )
+	{
+		switch( _format )
+		{
+			case ROW_WISE:          return rlen;
+			case ROW_BLOCK_WISE:    return (long)Math.ceil((double)rlen/brlen);
+			case COLUMN_WISE:       return clen;
+			case COLUMN_BLOCK_WISE: return (long)Math.ceil((double)clen/bclen);
+			default:                return -1;
+		}
+	}
+	
+	/**
+	 * Slices the in-memory input matrix into partitions according to the partition 
+	 * format, and registers each partition as a cached matrix object. The partition
+	 * blocks are marked as shared because they are directly returned on partition reads.
+	 * 
+	 * @param in
+	 * @param fnameNew
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private MatrixObject[] partitionInMemory( MatrixObject in, String fnameNew, long rlen, long clen, int brlen, int bclen ) 
+		throws DMLRuntimeException
+	{
+		int numParts = (int)getNumPartitions(rlen, clen, brlen, bclen);
+		MatrixObject[] ret = new MatrixObject[numParts];
+		
+		MatrixBlock mb = in.acquireRead();
+		try
+		{
+			for( int i=0; i<numParts; i++ )
+			{
+				//slice partition from input matrix
+				int rl = 0, ru = (int)rlen-1, cl = 0, cu = (int)clen-1;
+				switch( _format )
+				{
+					case ROW_WISE:          rl = ru = i; break;
+					case ROW_BLOCK_WISE:    rl = i*brlen; ru = (int)Math.min(rl+brlen, rlen)-1; break;
+					case COLUMN_WISE:       cl = cu = i; break;
+					case COLUMN_BLOCK_WISE: cl = i*bclen; cu = (int)Math.min(cl+bclen, clen)-1; break;
+					default:
+						throw new DMLRuntimeException("Unsupported in-memory partition format: "+_format);
+				}
+				MatrixBlock part = mb.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+				part.examSparsity();
+				part.setSharedDenseBlock();
+				
+				//register partition as cached matrix object
+				MatrixObject mo = new MatrixObject(in.getValueType(), fnameNew + Lop.FILE_SEPARATOR + (i+1));
+				mo.setDataType(DataType.MATRIX);
+				mo.setVarName(in.getVarName() + NAME_SUFFIX + (i+1));
+				MatrixCharacteristics mc = new MatrixCharacteristics(ru-rl+1, cu-cl+1, brlen, bclen, part.getNonZeros());
+				mo.setMetaData(new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+				mo.acquireModify(part);
+				mo.release();
+				ret[i] = mo;
+			}
+		}
+		finally
+		{
+			in.release();
+		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParForInMemDPCount();
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param fname
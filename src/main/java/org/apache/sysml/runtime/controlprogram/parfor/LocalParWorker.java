@@ -43,6 +43,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 	
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
+	protected long      _busyTime    = 0; //in nano sec
 	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, int max_retry, boolean monitor )	
 	{
@@ -70,6 +71,45 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Returns the time spent in task execution (excluding waiting for tasks)
+	 * and hence should only be called after execution.
+	 * 
+	 * @return busy time in milliseconds
+	 */
+	public double getBusyTime() {
+		return ((double)_busyTime) / 1000000;
+	}
+	
+	/**
+	 * Obtains the next task, or NO_MORE_TASKS if the task queue is closed.
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	protected Task dequeueTask() 
+		throws InterruptedException 
+	{
+		return _taskQueue.dequeueTask();
+	}
+	
+	/**
+	 * Called after the given task was executed (successfully or not).
+	 * 
+	 * @param task
+	 */
+	protected void completeTask( Task task ) {
+		//do nothing
+	}
+	
+	/**
+	 * Called if the worker terminates abnormally (i.e., on errors during task 
+	 * execution), in order to wake up workers waiting for its in-flight tasks.
+	 */
+	protected void abortTasks() {
+		//do nothing
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -90,7 +130,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
-				lTask = _taskQueue.dequeueTask();
+				lTask = dequeueTask();
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -105,31 +145,46 @@ public class LocalParWorker extends ParWorker implements Runnable
 			
 			//execute the task sequentially (re-try on error)
 			boolean success = false;
+			boolean completed = false;
 			int retrys = _max_retry;
+			long t0 = System.nanoTime();
 			
-			while( !success )
+			try
 			{
-				try 
-				{
-					///////
-					//core execution (see ParWorker)
-					executeTask( lTask );
-					success = true;
-				} 
-				catch (Exception ex) 
+				while( !success )
 				{
-					LOG.error("Failed to execute "+lTask.toString()+", retry:"+retrys, ex);
-					
-					if( retrys > 0 )
-						retrys--; //retry on task error
-					else
+					try 
+					{
+						///////
+						//core execution (see ParWorker)
+						executeTask( lTask );
+						success = true;
+					} 
+					catch (Exception ex) 
 					{
-						// abort on no remaining retrys
-						LOG.error("Error executing task: ",ex);
-						LOG.error("Stopping LocalParWorker.");
-						break; //no exception thrown to prevent blocking on join 
+						LOG.error("Failed to execute "+lTask.toString()+", retry:"+retrys, ex);
+						
+						if( retrys > 0 )
+							retrys--; //retry on task error
+						else
+						{
+							// abort on no remaining retrys
+							LOG.error("Error executing task: ",ex);
+							LOG.error("Stopping LocalParWorker.");
+							break; //no exception thrown to prevent blocking on join 
+						}
 					}
 				}
+				completed = true;
+			}
+			finally
+			{
+				//release in-flight task also on errors (e.g., OOM, stack overflow),
+				//and wake up waiting workers if this worker dies
+				_busyTime += System.nanoTime() - t0;
+				completeTask( lTask );
+				if( !completed )
+					abortTasks();
 			}
 		}	
 
@@ -143,6 +198,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_BUSY_T, getBusyTime());
 		}
 	}
 }
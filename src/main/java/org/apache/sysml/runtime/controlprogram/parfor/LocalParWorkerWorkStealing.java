@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+/**
+ * Local parallel worker that obtains its tasks from its own deque of a
+ * LocalTaskQueueWorkStealing (and steals from other workers once its deque is empty)
+ * instead of the shared LocalTaskQueue.
+ *
+ */
+public class LocalParWorkerWorkStealing extends LocalParWorker
+{
+	private LocalTaskQueueWorkStealing _wsQueue = null;
+	private int _wsIndex = -1;
+
+	public LocalParWorkerWorkStealing( long ID, LocalTaskQueueWorkStealing q, int index, ParForBody body, int max_retry, boolean monitor )
+	{
+		super(ID, null, body, max_retry, monitor);
+
+		_wsQueue = q;
+		_wsIndex = index;
+	}
+
+	@Override
+	protected Task dequeueTask()
+	{
+		return _wsQueue.dequeueTask(_wsIndex);
+	}
+
+	@Override
+	protected void completeTask( Task task )
+	{
+		_wsQueue.completeTask(task);
+	}
+
+	@Override
+	protected void abortTasks()
+	{
+		_wsQueue.abort();
+	}
+}
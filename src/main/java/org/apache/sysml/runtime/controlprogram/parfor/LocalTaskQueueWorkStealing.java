@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * This class provides work-stealing task distribution to multiple local workers,
+ * as an alternative to the single shared LocalTaskQueue. Each worker owns a deque
+ * which is initially seeded with a contiguous range of iterations. Workers take
+ * tasks from the tail of their own deque and, once it is empty, steal from the head
+ * of other workers' deques. Large range tasks are split adaptively on dequeue: the
+ * upper half is pushed back to the own deque until the remaining range does not
+ * exceed the minimum task size. Hence, thieves always steal the largest remaining
+ * ranges, while the owner works through small, contiguous ranges.
+ *
+ * Since every deque is only locked for individual push/pop operations (mostly by
+ * its owner), there is no single point of contention as with the shared queue.
+ *
+ */
+public class LocalTaskQueueWorkStealing
+{
+	private static final int MAX_SPINS = 64; //busy spins before parking idle workers
+	private static final long PARK_NANOS = 100000; //100us
+
+	private ArrayDeque<Task>[] _deques = null;
+	private long _minTaskSize = -1;
+
+	private AtomicLong _remaining = null; //remaining iterations (incl in-flight tasks)
+	private AtomicLong _numTasks = null;
+	private AtomicLong _numSteals = null;
+	private volatile boolean _aborted = false; //abnormal worker termination
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public LocalTaskQueueWorkStealing( int numWorkers, long minTaskSize )
+	{
+		_deques = new ArrayDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ArrayDeque<Task>();
+		_minTaskSize = Math.max(minTaskSize, 1);
+
+		_remaining = new AtomicLong(0);
+		_numTasks = new AtomicLong(0);
+		_numSteals = new AtomicLong(0);
+	}
+
+	/**
+	 * Adds an initial task to the deque of the given worker. All tasks need to be
+	 * added before the workers are started.
+	 *
+	 * @param worker
+	 * @param t
+	 */
+	public void addTask( int worker, Task t )
+	{
+		_remaining.addAndGet( getNumIterations(t) );
+		pushTask(worker, t);
+	}
+
+	/**
+	 * Obtains the next task for the given worker, either from its own deque or
+	 * by stealing from other deques. Blocks while other workers still execute
+	 * tasks that might create further work, and returns NO_MORE_TASKS once all
+	 * iterations have been executed or the queue was aborted.
+	 *
+	 * @param worker
+	 * @return
+	 */
+	public Task dequeueTask( int worker )
+	{
+		int numDeques = _deques.length;
+		int spins = 0;
+
+		while( !_aborted )
+		{
+			//take task from tail of own deque
+			Task t = pollTask(worker, true);
+
+			//steal task from head of other deques
+			for( int i=1; i<numDeques && t==null; i++ ) {
+				t = pollTask((worker+i) % numDeques, false);
+				if( t != null )
+					_numSteals.incrementAndGet();
+			}
+
+			if( t != null ) {
+				_numTasks.incrementAndGet();
+				return splitTask(worker, t);
+			}
+
+			//no more tasks (all executed)
+			if( _remaining.get() <= 0 )
+				return (Task)LocalTaskQueue.NO_MORE_TASKS;
+
+			//wait for in-flight tasks of other workers
+			if( ++spins < MAX_SPINS )
+				Thread.yield();
+			else
+				LockSupport.parkNanos(PARK_NANOS);
+		}
+
+		return (Task)LocalTaskQueue.NO_MORE_TASKS;
+	}
+
+	/**
+	 * Marks the given task as executed (successfully or not).
+	 *
+	 * @param t
+	 */
+	public void completeTask( Task t )
+	{
+		_remaining.addAndGet( -getNumIterations(t) );
+	}
+
+	/**
+	 * Aborts the task distribution, i.e., all subsequent dequeue calls (incl
+	 * calls of waiting workers) return NO_MORE_TASKS. This is used if a worker
+	 * terminates abnormally, in order to prevent other workers from waiting 
+	 * for its in-flight tasks.
+	 */
+	public void abort()
+	{
+		_aborted = true;
+	}
+
+	/**
+	 * Returns the number of tasks (after splitting) handed out to workers.
+	 *
+	 * @return
+	 */
+	public long getNumTasks()
+	{
+		return _numTasks.get();
+	}
+
+	/**
+	 * Returns the number of tasks obtained from other workers' deques.
+	 *
+	 * @return
+	 */
+	public long getNumSteals()
+	{
+		return _numSteals.get();
+	}
+
+	/**
+	 *
+	 * @param worker
+	 * @param t
+	 */
+	private void pushTask( int worker, Task t )
+	{
+		ArrayDeque<Task> deque = _deques[worker];
+		synchronized( deque ) {
+			deque.addLast(t);
+		}
+	}
+
+	/**
+	 *
+	 * @param worker
+	 * @param tail
+	 * @return
+	 */
+	private Task pollTask( int worker, boolean tail )
+	{
+		ArrayDeque<Task> deque = _deques[worker];
+		synchronized( deque ) {
+			return tail ? deque.pollLast() : deque.pollFirst();
+		}
+	}
+
+	/**
+	 * Splits range tasks larger than the minimum task size in halves, where the
+	 * upper halves are pushed to the tail of the given worker's deque.
+	 *
+	 * @param worker
+	 * @param t
+	 * @return
+	 */
+	private Task splitTask( int worker, Task t )
+	{
+		if( t.getType() != TaskType.RANGE )
+			return t;
+
+		List<IntObject> it = t.getIterations();
+		String varname = it.get(0).getName();
+		long from = it.get(0).getLongValue();
+		long to = it.get(1).getLongValue();
+		long incr = it.get(2).getLongValue();
+		long len = getNumIterations(t);
+
+		if( len <= _minTaskSize )
+			return t;
+
+		while( len > _minTaskSize ) {
+			long len1 = len / 2;
+			long mid = from + len1 * incr;
+			pushTask(worker, createRangeTask(varname, mid, to, incr));
+			to = mid - incr;
+			len = len1;
+		}
+
+		return createRangeTask(varname, from, to, incr);
+	}
+
+	/**
+	 *
+	 * @param varname
+	 * @param from
+	 * @param to
+	 * @param incr
+	 * @return
+	 */
+	private static Task createRangeTask( String varname, long from, long to, long incr )
+	{
+		Task t = new Task(TaskType.RANGE);
+		t.addIteration(new IntObject(varname, from));
+		t.addIteration(new IntObject(varname, to));
+		t.addIteration(new IntObject(varname, incr));
+		return t;
+	}
+
+	/**
+	 *
+	 * @param t
+	 * @return
+	 */
+	private static long getNumIterations( Task t )
+	{
+		if( t.getType() == TaskType.SET )
+			return t.size();
+
+		List<IntObject> it = t.getIterations();
+		long from = it.get(0).getLongValue();
+		long to = it.get(1).getLongValue();
+		long incr = it.get(2).getLongValue();
+		return (to - from) / incr + 1;
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+
+/**
+ * Executor-side cache of parsed parfor bodies for remote spark parfor workers. 
+ * Each task obtains a parsed body of its parfor job (identified by a body ID that 
+ * is unique per job) and returns it after successful execution. Hence, the parfor
+ * body is parsed at most once per concurrently running task of an executor JVM,
+ * and the in-memory inputs are reused across tasks. Since parsed bodies include 
+ * worker-specific file names and mutable symbol tables, a body is exclusively 
+ * used by one task at a time. On reuse, all result variables are reset to their
+ * initial state in order to export only the results of the current task, which 
+ * keeps the results of different tasks disjoint for result merge.
+ * 
+ * The cache is bounded by the number of distinct body IDs, where the least 
+ * recently used bodies are evicted (e.g., of previous parfor jobs).
+ * 
+ */
+public class ParForBodyCache 
+{
+	private static final int MAX_CACHED_BODY_IDS = 4;
+	
+	private static final IDSequence _seq = new IDSequence();
+	
+	private static final LinkedHashMap<String, LinkedList<CachedBody>> _cache = 
+		new LinkedHashMap<String, LinkedList<CachedBody>>(16, 0.75f, true) {
+			private static final long serialVersionUID = -4207834624573612553L;
+			@Override
+			protected boolean removeEldestEntry( Map.Entry<String, LinkedList<CachedBody>> eldest ) {
+				return size() > MAX_CACHED_BODY_IDS;
+			}
+		};
+	
+	/**
+	 * Creates a unique body ID for a remote parfor job (driver-side).
+	 * 
+	 * @param pfid
+	 * @return
+	 */
+	public static String createBodyID( long pfid )
+	{
+		return DMLScript.getUUID() + "_" + pfid + "_" + _seq.getNextID();
+	}
+	
+	/**
+	 * Obtains a cached parsed body with the given body ID for exclusive use, 
+	 * or null if no such body is available.
+	 * 
+	 * @param bodyID
+	 * @return
+	 */
+	public static synchronized CachedBody get( String bodyID )
+	{
+		LinkedList<CachedBody> bodies = _cache.get(bodyID);
+		return (bodies != null) ? bodies.poll() : null;
+	}
+	
+	/**
+	 * Returns a parsed body to the cache, which makes it available for subsequent tasks.
+	 * 
+	 * @param bodyID
+	 * @param body
+	 */
+	public static synchronized void put( String bodyID, CachedBody body )
+	{
+		LinkedList<CachedBody> bodies = _cache.get(bodyID);
+		if( bodies == null ) {
+			bodies = new LinkedList<CachedBody>();
+			_cache.put(bodyID, bodies);
+		}
+		bodies.add(body);
+	}
+	
+	/**
+	 * 
+	 * @return number of available parsed bodies
+	 */
+	public static synchronized int size()
+	{
+		int ret = 0;
+		for( LinkedList<CachedBody> bodies : _cache.values() )
+			ret += bodies.size();
+		return ret;
+	}
+	
+	/**
+	 * 
+	 */
+	public static synchronized void clear()
+	{
+		_cache.clear();
+	}
+	
+	/**
+	 * Parsed parfor body and the ID it was parsed with (which determines
+	 * the worker-specific file names of its instructions), as well as the
+	 * meta data of the initial result variables.
+	 */
+	public static class CachedBody
+	{
+		private long _workerID = -1;
+		private ParForBody _body = null;
+		private HashMap<String, MatrixObject> _resultVarsInit = null;
+		
+		/**
+		 * Creates a cached body from a freshly parsed body, i.e., before
+		 * any of its result variables has been modified.
+		 * 
+		 * @param workerID
+		 * @param body
+		 */
+		public CachedBody( long workerID, ParForBody body )
+		{
+			_workerID = workerID;
+			_body = body;
+			
+			//keep meta data (but no data) of initial result variables
+			_resultVarsInit = new HashMap<String, MatrixObject>();
+			ExecutionContext ec = body.getEc();
+			for( String var : body.getResultVarNames() ) {
+				Data dat = ec.getVariable(var);
+				if( dat instanceof MatrixObject )
+					_resultVarsInit.put(var, new MatrixObject((MatrixObject)dat));
+			}
+		}
+		
+		/**
+		 * Resets all result variables to their initial state, where the replaced 
+		 * variables are not cleaned up because they have been exported already.
+		 * 
+		 * @throws DMLRuntimeException
+		 */
+		public void resetResultVariables() 
+			throws DMLRuntimeException
+		{
+			ExecutionContext ec = _body.getEc();
+			for( String var : _resultVarsInit.keySet() )
+				ec.setVariable(var, new MatrixObject(_resultVarsInit.get(var)));
+		}
+		
+		public long getWorkerID() {
+			return _workerID;
+		}
+		
+		public ParForBody getBody() {
+			return _body;
+		}
+	}
+}
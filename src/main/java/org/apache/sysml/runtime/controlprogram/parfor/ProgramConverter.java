@@ -19,12 +19,18 @@
 
 package org.apache.sysml.runtime.controlprogram.parfor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.StringTokenizer;
 import java.util.Map.Entry;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -109,6 +115,7 @@ public class ProgramConverter
 	public static final String LEVELOUT          = "\u23ac"; //variant of right curly bracket; "\u007d"; //"}";	
 	public static final String EMPTY             = "null";
 	public static final String EXT_FUNCTION      = "extfunct";
+	public static final String BINARY_CHARSET    = "UTF-8"; //charset of binary parfor body
 	
 	//public static final String CP_ROOT_THREAD_SEPARATOR = "/";//File.separator;
 	public static final String CP_ROOT_THREAD_ID = "_t0";       
@@ -195,6 +202,86 @@ public class ProgramConverter
 		return cpec;
 	}
 	
+	/**
+	 * Creates a deep copy of the given program (incl function program blocks) without 
+	 * replacement of filenames. Since the copy has its own program blocks and instructions,
+	 * it can be executed concurrently to the original program (e.g., for plan cache hits
+	 * of JMLC prepared scripts). External function program blocks are shared.
+	 * 
+	 * @param prog
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public static Program createDeepCopyProgram(Program prog) 
+		throws DMLRuntimeException, DMLUnsupportedOperationException 
+	{
+		Program ret = new Program();
+		HashSet<String> fnStack = new HashSet<String>();
+		HashSet<String> fnCreated = new HashSet<String>();
+		
+		//copy function program blocks
+		for( Entry<String, FunctionProgramBlock> e : prog.getFunctionProgramBlocks().entrySet() ) {
+			String[] parts = DMLProgram.splitFunctionKey(e.getKey());
+			FunctionProgramBlock fpb = e.getValue();
+			FunctionProgramBlock copy = fpb;
+			if( !(fpb instanceof ExternalFunctionProgramBlock) ) {
+				copy = createDeepCopyFunctionProgramBlock(fpb, fnStack, fnCreated);
+				copy.setProgram(ret);
+				rSetProgram(fpb.getChildBlocks(), copy.getChildBlocks(), ret);
+			}
+			ret.addFunctionProgramBlock(parts[0], parts[1], copy);
+		}
+		
+		//copy program blocks
+		ArrayList<ProgramBlock> pbs = rcreateDeepCopyProgramBlocks(
+				prog.getProgramBlocks(), 0, -1, fnStack, fnCreated, true, false);
+		rSetProgram(prog.getProgramBlocks(), pbs, ret);
+		for( ProgramBlock pb : pbs )
+			ret.addProgramBlock(pb);
+		
+		return ret;
+	}
+	
+	/**
+	 * Assigns the given program to all copied program blocks, and preserves the 
+	 * optimization mode of copied parfor program blocks.
+	 * 
+	 * @param pbs
+	 * @param copies
+	 * @param prog
+	 */
+	private static void rSetProgram(ArrayList<ProgramBlock> pbs, ArrayList<ProgramBlock> copies, Program prog)
+	{
+		if( copies == null )
+			return;
+		
+		for( int i=0; i<copies.size(); i++ )
+		{
+			ProgramBlock pb = pbs.get(i);
+			ProgramBlock copy = copies.get(i);
+			copy.setProgram(prog);
+			
+			if( pb instanceof WhileProgramBlock ) {
+				rSetProgram(((WhileProgramBlock)pb).getChildBlocks(), 
+						((WhileProgramBlock)copy).getChildBlocks(), prog);
+			}
+			else if( pb instanceof ForProgramBlock ) {
+				if( pb instanceof ParForProgramBlock && copy instanceof ParForProgramBlock )
+					((ParForProgramBlock)copy).setOptimizationMode(
+						((ParForProgramBlock)pb).getOptimizationMode());
+				rSetProgram(((ForProgramBlock)pb).getChildBlocks(), 
+						((ForProgramBlock)copy).getChildBlocks(), prog);
+			}
+			else if( pb instanceof IfProgramBlock ) {
+				rSetProgram(((IfProgramBlock)pb).getChildBlocksIfBody(), 
+						((IfProgramBlock)copy).getChildBlocksIfBody(), prog);
+				rSetProgram(((IfProgramBlock)pb).getChildBlocksElseBody(), 
+						((IfProgramBlock)copy).getChildBlocksElseBody(), prog);
+			}
+		}
+	}
+	
 	/**
 	 * This recursively creates a deep copy of program blocks and transparently replaces filenames according to the
 	 * specified parallel worker in order to avoid conflicts between parworkers. This happens recursively in order
@@ -896,6 +983,34 @@ public class ProgramConverter
 		return sb.toString();		
 	}
 	
+	/**
+	 * Creates a compact binary representation of the given parfor body, i.e.,
+	 * the deflate-compressed serialized parfor body. 
+	 * 
+	 * @param body
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException
+	 */
+	public static byte[] serializeParForBodyBinary( ParForBody body ) 
+		throws DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		String in = serializeParForBody(body);
+		
+		try
+		{
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(in.length()/4);
+			DeflaterOutputStream out = new DeflaterOutputStream(bos, new Deflater(Deflater.BEST_SPEED));
+			out.write(in.getBytes(BINARY_CHARSET));
+			out.close();
+			return bos.toByteArray();
+		}
+		catch(IOException ex)
+		{
+			throw new DMLRuntimeException("Failed to compress parfor body.", ex);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param prog
@@ -1018,7 +1133,10 @@ public class ProgramConverter
 				value = mo.getFileName();
 				PDataPartitionFormat partFormat = (mo.getPartitionFormat()!=null) ? mo.getPartitionFormat() : PDataPartitionFormat.NONE;
 				boolean inplace = mo.isUpdateInPlaceEnabled();
-				matrixMetaData = new String[9];
+				ResultDeltaLog log = mo.getDeltaLog();
+				boolean delta = (log != null && log.isExported());
+				String deltaVar = delta ? log.getResultVar() : mo.getDeltaResultVar();
+				matrixMetaData = new String[11];
 				matrixMetaData[0] = String.valueOf( mc.getRows() );
 				matrixMetaData[1] = String.valueOf( mc.getCols() );
 				matrixMetaData[2] = String.valueOf( mc.getRowsPerBlock() );
@@ -1028,6 +1146,8 @@ public class ProgramConverter
 				matrixMetaData[6] = OutputInfo.outputInfoToString( md.getOutputInfo() );
 				matrixMetaData[7] = String.valueOf( partFormat );
 				matrixMetaData[8] = String.valueOf( inplace );
+				matrixMetaData[9] = String.valueOf( deltaVar );
+				matrixMetaData[10] = String.valueOf( delta );
 				break;
 			default:
 				throw new DMLRuntimeException("Unable to serialize datatype "+datatype);
@@ -1531,6 +1651,37 @@ public class ProgramConverter
 	////////////////////////////////
 	
 	
+	/**
+	 * 
+	 * @param in
+	 * @param id
+	 * @return
+	 * @throws DMLRuntimeException
+	 * @throws DMLUnsupportedOperationException 
+	 */
+	public static ParForBody parseParForBody( byte[] in, int id ) 
+		throws DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		String tmp = null;
+		
+		try
+		{
+			InflaterInputStream bin = new InflaterInputStream(new ByteArrayInputStream(in));
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(in.length*4);
+			byte[] buff = new byte[8192];
+			for( int len = bin.read(buff); len > 0; len = bin.read(buff) )
+				bos.write(buff, 0, len);
+			bin.close();
+			tmp = bos.toString(BINARY_CHARSET);
+		}
+		catch(IOException ex)
+		{
+			throw new DMLRuntimeException("Failed to decompress parfor body.", ex);
+		}
+		
+		return parseParForBody(tmp, id);
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -2189,6 +2340,8 @@ public class ProgramConverter
 				OutputInfo oin = OutputInfo.stringToOutputInfo( st.nextToken() );		
 				PDataPartitionFormat partFormat = PDataPartitionFormat.valueOf( st.nextToken() );
 				boolean inplace = Boolean.parseBoolean( st.nextToken() );
+				String deltaVar = st.nextToken();
+				boolean delta = Boolean.parseBoolean( st.nextToken() );
 				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, brows, bcols, nnz); 
 				MatrixFormatMetaData md = new MatrixFormatMetaData( mc, oin, iin );
 				mo.setMetaData( md );
@@ -2196,6 +2349,10 @@ public class ProgramConverter
 				if( partFormat!=PDataPartitionFormat.NONE )
 					mo.setPartitioned( partFormat, -1 ); //TODO once we support BLOCKWISE_N we should support it here as well
 				mo.enableUpdateInPlace(inplace);
+				if( delta ) //exported delta log of remote worker
+					mo.setDeltaLog(new ResultDeltaLog(deltaVar, valString));
+				else if( !deltaVar.equals("null") )
+					mo.enableDeltaResultMerge(deltaVar);
 				dat = mo;
 				break;
 			}
@@ -70,7 +70,7 @@ public class RemoteDPParForSpark
 	 * @throws DMLRuntimeException
 	 * @throws DMLUnsupportedOperationException 
 	 */
-	public static RemoteParForJobReturn runJob(long pfid, String itervar, String matrixvar, String program, String resultFile, MatrixObject input, 
+	public static RemoteParForJobReturn runJob(long pfid, String itervar, String matrixvar, byte[] program, String resultFile, MatrixObject input, 
 			                                   ExecutionContext ec,
 			                                   PDataPartitionFormat dpf, OutputInfo oi, boolean tSparseCol, //config params
 			                                   boolean enableCPCaching, int numReducers )  //opt params
@@ -93,7 +93,8 @@ public class RemoteDPParForSpark
 		
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in = sec.getBinaryBlockRDDHandleForVariable(matrixvar);
 		DataPartitionerRemoteSparkMapper dpfun = new DataPartitionerRemoteSparkMapper(mc, ii, oi, dpf);
-		RemoteDPParForSparkWorker efun = new RemoteDPParForSparkWorker(program, matrixvar, itervar, 
+		String bodyID = ParForBodyCache.createBodyID(pfid);
+		RemoteDPParForSparkWorker efun = new RemoteDPParForSparkWorker(program, bodyID, matrixvar, itervar, 
 				          enableCPCaching, mc, tSparseCol, dpf, oi, aTasks, aIters);
 		List<Tuple2<Long,String>> out = 
 				in.flatMapToPair(dpfun)         //partition the input blocks
@@ -33,6 +33,7 @@ import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.parfor.ParForBodyCache.CachedBody;
 import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.controlprogram.parfor.util.PairWritableBlock;
@@ -52,7 +53,9 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 {
 	private static final long serialVersionUID = 30223759283155139L;
 	
-	private String  _prog = null;
+	private byte[]  _prog = null;
+	private String  _bodyID = null;
+	private CachedBody _cbody = null;
 	private boolean _caching = true;
 	private String _inputVar = null;
 	private String _iterVar = null;
@@ -68,12 +71,13 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 	private Accumulator<Integer> _aTasks = null;
 	private Accumulator<Integer> _aIters = null;
 	
-	public RemoteDPParForSparkWorker(String program, String inputVar, String iterVar, boolean cpCaching, MatrixCharacteristics mc, boolean tSparseCol, PDataPartitionFormat dpf, OutputInfo oinfo, Accumulator<Integer> atasks, Accumulator<Integer> aiters) 
+	public RemoteDPParForSparkWorker(byte[] program, String bodyID, String inputVar, String iterVar, boolean cpCaching, MatrixCharacteristics mc, boolean tSparseCol, PDataPartitionFormat dpf, OutputInfo oinfo, Accumulator<Integer> atasks, Accumulator<Integer> aiters) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException
 	{
 		//keep inputs (unfortunately, spark does not expose task ids and it would be implementation-dependent
 		//when this constructor is actually called; hence, we do lazy initialization on task execution)
 		_prog = program;
+		_bodyID = bodyID;
 		_caching = cpCaching;
 		_inputVar = inputVar;
 		_iterVar = iterVar;
@@ -103,8 +107,9 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 	{
 		ArrayList<Tuple2<Long,String>> ret = new ArrayList<Tuple2<Long,String>>();
 		
-		//lazy parworker initialization
-		configureWorker( TaskContext.get().taskAttemptId() ); //requires Spark 1.3
+		//lazy parworker initialization (parse or reuse cached body)
+		long taskID = TaskContext.get().taskAttemptId(); //requires Spark 1.3
+		configureWorker( taskID );
 	
 		//process all matrix partitions of this data partition
 		while( arg0.hasNext() )
@@ -134,13 +139,16 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 			_aTasks.add( 1 );
 			_aIters.add( (int)(getExecutedIterations()-numIter) );
 			
-			//write output if required (matrix indexed write) 
+			//write output if required (matrix indexed write), keyed by task
 			//note: this copy is necessary for environments without spark libraries
 			ArrayList<String> tmp = RemoteParForUtils.exportResultVariables( _workerID, _ec.getVariables(), _resultVars );
 			for( String val : tmp )
-				ret.add(new Tuple2<Long,String>(_workerID, val));
+				ret.add(new Tuple2<Long,String>(taskID, val));
 		}	
 		
+		//return parsed body for reuse by subsequent tasks (only on success)
+		ParForBodyCache.put(_bodyID, _cbody);
+		
 		return ret;
 	}
 	
@@ -154,15 +162,27 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 	private void configureWorker( long ID ) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException, IOException
 	{
-		_workerID = ID;
+		//probe executor-side cache of parsed bodies
+		_cbody = ParForBodyCache.get(_bodyID);
+		boolean cached = (_cbody != null);
 		
-		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
+		//parse and setup parfor body program (if required)
+		if( cached )
+			_cbody.resetResultVariables();
+		else
+			_cbody = new CachedBody(ID, ProgramConverter.parseParForBody(_prog, (int)ID));
+		ParForBody body = _cbody.getBody();
+		_workerID    = _cbody.getWorkerID();
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();				
 		_resultVars  = body.getResultVarNames();
 		_numTasks    = 0;
 		_numIters    = 0;
+		
+		if( cached ) { //already configured
+			super.pinResultVariables();
+			return;
+		}
 
 		//init local cache manager 
 		if( !CacheableData.isCachingActive() ) {
@@ -66,7 +66,7 @@ public class RemoteParForSpark
 	 * @throws DMLRuntimeException 
 	 * @throws DMLUnsupportedOperationException 
 	 */
-	public static RemoteParForJobReturn runJob(long pfid, String program, List<Task> tasks, ExecutionContext ec,
+	public static RemoteParForJobReturn runJob(long pfid, byte[] program, List<Task> tasks, ExecutionContext ec,
 			                                   boolean cpCaching, int numMappers) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException  
 	{
@@ -82,10 +82,11 @@ public class RemoteParForSpark
 		
 		//run remote_spark parfor job 
 		//(w/o lazy evaluation to fit existing parfor framework, e.g., result merge)
-		RemoteParForSparkWorker func = new RemoteParForSparkWorker(program, cpCaching, aTasks, aIters);
+		String bodyID = ParForBodyCache.createBodyID(pfid);
+		RemoteParForSparkWorker func = new RemoteParForSparkWorker(program, bodyID, cpCaching, aTasks, aIters);
 		List<Tuple2<Long,String>> out = 
 				sc.parallelize( tasks, numMappers )  //create rdd of parfor tasks
-		          .flatMapToPair( func )             //execute parfor tasks 
+		          .mapPartitionsToPair( func )       //execute parfor tasks 
 		          .collect();                        //get output handles
 		
 		//de-serialize results
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import org.apache.spark.Accumulator;
 import org.apache.spark.TaskContext;
@@ -29,34 +30,37 @@ import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.parfor.ParForBodyCache.CachedBody;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 import scala.Tuple2;
 
 /**
- * 
+ * Remote spark parfor worker, which executes all tasks of a data partition with 
+ * a parsed parfor body obtained from the executor-side body cache (see ParForBodyCache).
  * 
  */
-public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFunction<Task, Long, String> 
+public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFunction<Iterator<Task>, Long, String> 
 {
 	
 	private static final long serialVersionUID = -3254950138084272296L;
 
-	private boolean _initialized = false;
-	private String  _prog = null;
+	private byte[]  _prog = null;
+	private String  _bodyID = null;
+	private CachedBody _cbody = null;
 	private boolean _caching = true;
 	
 	private Accumulator<Integer> _aTasks = null;
 	private Accumulator<Integer> _aIters = null;
 	
-	public RemoteParForSparkWorker(String program, boolean cpCaching, Accumulator<Integer> atasks, Accumulator<Integer> aiters) 
+	public RemoteParForSparkWorker(byte[] program, String bodyID, boolean cpCaching, Accumulator<Integer> atasks, Accumulator<Integer> aiters) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException
 	{
 		//keep inputs (unfortunately, spark does not expose task ids and it would be implementation-dependent
 		//when this constructor is actually called; hence, we do lazy initialization on task execution)
-		_initialized = false;
 		_prog = program;
+		_bodyID = bodyID;
 		_caching = cpCaching;
 		
 		//setup spark accumulators
@@ -65,28 +69,34 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	}
 	
 	@Override 
-	public Iterable<Tuple2<Long, String>> call(Task arg0)
+	public Iterable<Tuple2<Long, String>> call(Iterator<Task> arg0)
 		throws Exception 
 	{
-		//lazy parworker initialization
-		if( !_initialized )
-			configureWorker( TaskContext.get().taskAttemptId() ); //requires Spark 1.3
-		
-		//execute a single task
-		long numIter = getExecutedIterations();
-		super.executeTask( arg0 );
+		//lazy parworker initialization (parse or reuse cached body)
+		long taskID = TaskContext.get().taskAttemptId(); //requires Spark 1.3
+		configureWorker( taskID );
 		
-		//maintain accumulators
-		_aTasks.add( 1 );
-		_aIters.add( (int)(getExecutedIterations()-numIter) );
+		//execute all tasks of this partition
+		while( arg0.hasNext() )
+		{
+			long numIter = getExecutedIterations();
+			super.executeTask( arg0.next() );
+			
+			//maintain accumulators
+			_aTasks.add( 1 );
+			_aIters.add( (int)(getExecutedIterations()-numIter) );
+		}
 		
-		//write output if required (matrix indexed write) 
+		//write output if required (matrix indexed write), keyed by task
 		//note: this copy is necessary for environments without spark libraries
 		ArrayList<Tuple2<Long,String>> ret = new ArrayList<Tuple2<Long,String>>();
 		ArrayList<String> tmp = RemoteParForUtils.exportResultVariables( _workerID, _ec.getVariables(), _resultVars );
 		for( String val : tmp )
-			ret.add(new Tuple2<Long,String>(_workerID, val));
-			
+			ret.add(new Tuple2<Long,String>(taskID, val));
+		
+		//return parsed body for reuse by subsequent tasks (only on success)
+		ParForBodyCache.put(_bodyID, _cbody);
+		
 		return ret;
 	}
 	
@@ -100,16 +110,28 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	private void configureWorker( long ID ) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException, IOException
 	{
-		_workerID = ID;
+		//probe executor-side cache of parsed bodies
+		_cbody = ParForBodyCache.get(_bodyID);
+		boolean cached = (_cbody != null);
 		
-		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
+		//parse and setup parfor body program (if required)
+		if( cached )
+			_cbody.resetResultVariables();
+		else
+			_cbody = new CachedBody(ID, ProgramConverter.parseParForBody(_prog, (int)ID));
+		ParForBody body = _cbody.getBody();
+		_workerID    = _cbody.getWorkerID();
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();				
 		_resultVars  = body.getResultVarNames();
 		_numTasks    = 0;
 		_numIters    = 0;
-
+		
+		if( cached ) { //already configured
+			super.pinResultVariables();
+			return;
+		}
+		
 		//init local cache manager 
 		if( !CacheableData.isCachingActive() ) {
 			String uuid = IDHandler.createDistributedUniqueID();
@@ -126,8 +148,5 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 		//enable/disable caching (if required)
 		if( !_caching )
 			CacheableData.disableCaching();
-		
-		//make as lazily intialized
-		_initialized = true;
 	}
 }
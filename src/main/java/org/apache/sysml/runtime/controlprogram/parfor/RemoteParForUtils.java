@@ -190,7 +190,21 @@ public class RemoteParForUtils
 			if ( dat != null && dat.getDataType() == DataType.MATRIX ) 
 			{
 				MatrixObject mo = (MatrixObject) dat;
-				if( mo.isDirty() )
+				ResultDeltaLog log = mo.getDeltaLog();
+				if( log != null && rvar.equals(log.getResultVar()) )
+				{
+					//export delta log instead of the full result var (iff modified 
+					//since last export), where exports overwrite previous exports
+					if( !log.isEmpty() && !log.isExported() ) 
+					{
+						log.writeDeltaLogToHDFS(mo.getFileName() + ResultDeltaLog.DELTA_FNAME_SUFFIX);
+						MatrixObject moDelta = new MatrixObject(mo);
+						moDelta.setFileName(log.getFileName());
+						moDelta.setDeltaLog(log);
+						ret.add( ProgramConverter.serializeDataObject(rvar, moDelta) );
+					}
+				}
+				else if( mo.isDirty() )
 				{
 					//export result var (iff actually modified in parfor)
 					mo.exportData(); 
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Delta log of a parfor result variable, which records the index ranges and values
+ * written by left indexing operations of a single parfor worker. If all workers
+ * provide delta logs, the result merge applies these logs directly to a copy of the
+ * original output (see ResultMergeLocalMemory, ResultMergeRemoteSpark), which neither
+ * requires compare buffers nor full-size worker results.
+ *
+ * The log is an immutable, persistent list, i.e., each append creates a new log that
+ * shares the previous entries. This allows every matrix object of a worker to refer
+ * to its own history, where the data of a matrix object with delta log is always the
+ * initial result variable with all logged writes applied in order. The total size of
+ * the log is bounded by the size of the dense result matrix; appends that exceed this
+ * budget drop the log, which falls back to the default merge with compare.
+ *
+ */
+public class ResultDeltaLog
+{
+	private static final long ENTRY_OVERHEAD = 64; //entry, log, and block headers
+
+	public static final String DELTA_FNAME_SUFFIX = "_delta";
+
+	private String _resultVar = null;      //parfor result variable
+	private DeltaEntry _entry = null;      //last entry (null for empty log)
+	private ResultDeltaLog _prev = null;   //log of previous entries
+	private int _numEntries = 0;           //total number of entries
+	private long _size = 0;                //total size in memory
+	private long _maxSize = -1;            //max size in memory
+	private String _fname = null;          //filename of exported log
+
+	/**
+	 * Creates an empty delta log for the given result variable.
+	 *
+	 * @param resultVar
+	 * @param rows
+	 * @param cols
+	 */
+	public ResultDeltaLog( String resultVar, long rows, long cols )
+	{
+		_resultVar = resultVar;
+		_maxSize = MatrixBlock.estimateSizeInMemory(rows, cols, 1.0);
+	}
+
+	/**
+	 * Creates a delta log for a log exported to the given file.
+	 *
+	 * @param resultVar
+	 * @param fname
+	 */
+	public ResultDeltaLog( String resultVar, String fname )
+	{
+		_resultVar = resultVar;
+		_fname = fname;
+	}
+
+	private ResultDeltaLog( ResultDeltaLog prev, DeltaEntry entry, long size )
+	{
+		_resultVar = prev._resultVar;
+		_entry = entry;
+		_prev = prev;
+		_numEntries = prev._numEntries + 1;
+		_size = prev._size + size;
+		_maxSize = prev._maxSize;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public String getResultVar()
+	{
+		return _resultVar;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public int getNumEntries()
+	{
+		return _numEntries;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public boolean isEmpty()
+	{
+		return (_numEntries == 0 && _fname == null);
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public boolean isExported()
+	{
+		return (_fname != null);
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public String getFileName()
+	{
+		return _fname;
+	}
+
+	/**
+	 * Appends the written range [rl:ru, cl:cu] (0-based, inclusive) of the given
+	 * left indexing result to a new delta log. Returns null if the log would
+	 * exceed its memory budget.
+	 *
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 * @param result
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public ResultDeltaLog append( int rl, int ru, int cl, int cu, MatrixBlock result )
+		throws DMLRuntimeException
+	{
+		//early abort before slicing the written values
+		long cells = (long)(ru-rl+1) * (cu-cl+1);
+		if( _size + cells * 8 > _maxSize )
+			return null;
+
+		MatrixBlock values = result.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+		long size = values.getSizeInMemory() + ENTRY_OVERHEAD;
+		if( _size + size > _maxSize )
+			return null;
+
+		return new ResultDeltaLog(this, new DeltaEntry(_numEntries, rl, ru, cl, cu, values), size);
+	}
+
+	/**
+	 * Returns all entries of this log in the order of their writes,
+	 * incl a read of exported logs.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public ArrayList<DeltaEntry> getEntries()
+		throws IOException
+	{
+		if( _fname != null && _entry == null )
+			return readDeltaLogFromHDFS(_fname);
+
+		ArrayList<DeltaEntry> ret = new ArrayList<DeltaEntry>(_numEntries);
+		for( ResultDeltaLog log = this; log._entry != null; log = log._prev )
+			ret.add(log._entry);
+		Collections.reverse(ret);
+
+		return ret;
+	}
+
+	/**
+	 * Applies all entries of this log to the given output block.
+	 *
+	 * @param out
+	 * @param unsafe see DeltaEntry.applyTo
+	 * @throws IOException
+	 */
+	public void applyTo( MatrixBlock out, boolean unsafe )
+		throws IOException
+	{
+		for( DeltaEntry e : getEntries() )
+			e.applyTo(out, unsafe);
+	}
+
+	/**
+	 * Writes all entries of this log to the given file, and marks the log as exported.
+	 *
+	 * @param fname
+	 * @throws IOException
+	 */
+	public void writeDeltaLogToHDFS( String fname )
+		throws IOException
+	{
+		ArrayList<DeltaEntry> entries = getEntries();
+
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		DataOutputStream out = fs.create(new Path(fname), true);
+
+		try {
+			out.writeInt(entries.size());
+			for( DeltaEntry e : entries ) {
+				out.writeInt(e._rl);
+				out.writeInt(e._ru);
+				out.writeInt(e._cl);
+				out.writeInt(e._cu);
+				e._values.write(out);
+			}
+			out.close();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+
+		_fname = fname;
+	}
+
+	/**
+	 * Reads all entries of an exported log in the order of their writes.
+	 *
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	public static ArrayList<DeltaEntry> readDeltaLogFromHDFS( String fname )
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		DataInputStream in = fs.open(new Path(fname));
+
+		try {
+			int len = in.readInt();
+			ArrayList<DeltaEntry> ret = new ArrayList<DeltaEntry>(len);
+			for( int i=0; i<len; i++ ) {
+				int rl = in.readInt();
+				int ru = in.readInt();
+				int cl = in.readInt();
+				int cu = in.readInt();
+				MatrixBlock values = new MatrixBlock();
+				values.readFields(in);
+				ret.add(new DeltaEntry(i, rl, ru, cl, cu, values));
+			}
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	/**
+	 * Single log entry of written index range (0-based, inclusive) and values, where
+	 * the sequence number gives the order of writes within a log.
+	 */
+	public static class DeltaEntry implements Serializable
+	{
+		private static final long serialVersionUID = 2796307512964537071L;
+
+		private int _seq = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+		private MatrixBlock _values = null;
+
+		public DeltaEntry( int seq, int rl, int ru, int cl, int cu, MatrixBlock values )
+		{
+			_seq = seq;
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+			_cu = cu;
+			_values = values;
+		}
+
+		public int getSeq() {
+			return _seq;
+		}
+
+		public int getRowLower() {
+			return _rl;
+		}
+
+		public int getRowUpper() {
+			return _ru;
+		}
+
+		public int getColLower() {
+			return _cl;
+		}
+
+		public int getColUpper() {
+			return _cu;
+		}
+
+		public MatrixBlock getValues() {
+			return _values;
+		}
+
+		/**
+		 * Creates an entry for the intersection of this entry with the given range
+		 * (0-based, inclusive), shifted by the lower bounds of this range, or null
+		 * if there is no overlap.
+		 *
+		 * @param rl
+		 * @param ru
+		 * @param cl
+		 * @param cu
+		 * @return
+		 * @throws DMLRuntimeException
+		 */
+		public DeltaEntry slice( int rl, int ru, int cl, int cu )
+			throws DMLRuntimeException
+		{
+			int lrl = Math.max(_rl, rl);
+			int lru = Math.min(_ru, ru);
+			int lcl = Math.max(_cl, cl);
+			int lcu = Math.min(_cu, cu);
+			if( lrl > lru || lcl > lcu )
+				return null;
+
+			MatrixBlock values = _values.sliceOperations(lrl-_rl, lru-_rl, lcl-_cl, lcu-_cl, new MatrixBlock());
+			return new DeltaEntry(_seq, lrl-rl, lru-rl, lcl-cl, lcu-cl, values);
+		}
+
+		/**
+		 * Writes the values of this entry (incl zeros) into the given output block
+		 * at the logged index range. In unsafe mode, the values
+		 * are directly written into the dense block without maintaining the number of
+		 * non-zeros, which allows the parallel application of disjoint entries; the
+		 * caller is responsible to recompute the number of non-zeros.
+		 *
+		 * @param out
+		 * @param unsafe
+		 */
+		public void applyTo( MatrixBlock out, boolean unsafe )
+		{
+			int rows = _ru - _rl + 1;
+			int cols = _cu - _cl + 1;
+
+			if( unsafe && !out.isInSparseFormat() && out.getDenseArray() != null )
+			{
+				double[] a = out.getDenseArray();
+				int n = out.getNumColumns();
+				for( int i=0, aix=_rl*n+_cl; i<rows; i++, aix+=n )
+					for( int j=0; j<cols; j++ )
+						a[aix+j] = _values.quickGetValue(i, j);
+			}
+			else
+			{
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						out.quickSetValue(_rl+i, _cl+j, _values.quickGetValue(i, j));
+			}
+		}
+	}
+}
@@ -162,6 +162,51 @@ public abstract class ResultMerge
 		return ret;
 	}
 	
+	/**
+	 * Returns the non-empty delta logs of all inputs if all modified inputs provide 
+	 * delta logs of the output result variable (see ResultDeltaLog), and null otherwise.
+	 * Inputs that are still the initial state of the result variable are skipped. 
+	 * 
+	 * @return
+	 */
+	protected ArrayList<ResultDeltaLog> getDeltaLogs()
+	{
+		String var = _output.getDeltaResultVar();
+		if( var == null )
+			return null;
+		
+		ArrayList<ResultDeltaLog> ret = new ArrayList<ResultDeltaLog>();
+		for( MatrixObject in : _inputs )
+		{
+			//check for empty inputs (no iterations executed) or unmodified inputs
+			//(the initial state might carry the log of an outer parfor worker)
+			if( in == null || in == _output || var.equals(in.getDeltaResultVar()) )
+				continue;
+			
+			ResultDeltaLog log = in.getDeltaLog();
+			if( log == null || !var.equals(log.getResultVar()) )
+				return null; //fallback to merge w/ compare
+			if( !log.isEmpty() )
+				ret.add(log);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Indicates if any input is a delta log exported by a remote worker,
+	 * which can only be merged by applying the log (w/o compare).
+	 * 
+	 * @return
+	 */
+	protected boolean hasExportedDeltaLogs()
+	{
+		for( MatrixObject in : _inputs )
+			if( in != null && in.getDeltaLog() != null && in.getDeltaLog().isExported() )
+				return true;
+		return false;
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -50,7 +50,9 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		//note: exported delta logs of remote workers require in-memory merge
+		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, OptimizerUtils.getLocalMemBudget()) 
+			|| hasExportedDeltaLogs() )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
@@ -70,7 +72,8 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) 
+			|| hasExportedDeltaLogs() )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
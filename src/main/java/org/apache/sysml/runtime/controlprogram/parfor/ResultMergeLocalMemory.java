@@ -20,7 +20,13 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -32,6 +38,7 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
@@ -58,7 +65,12 @@ public class ResultMergeLocalMemory extends ResultMerge
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 
 		LOG.trace("ResultMerge (local, in-memory): Execute serial merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
-				
+		
+		//delta merge if all inputs provide delta logs
+		ArrayList<ResultDeltaLog> logs = getDeltaLogs();
+		if( logs != null )
+			return executeDeltaMerge( logs, 1 );
+		
 		try
 		{
 			//get matrix blocks through caching 
@@ -68,7 +80,7 @@ public class ResultMergeLocalMemory extends ResultMerge
 			int estnnz = outMB.getNumRows()*outMB.getNumColumns();
 			MatrixBlock outMBNew = new MatrixBlock(outMB.getNumRows(), outMB.getNumColumns(), 
 					                               outMB.isInSparseFormat(), estnnz);
-			boolean appendOnly = outMBNew.isInSparseFormat();
+			boolean appendOnly = outMBNew.isInSparseFormat() && !hasExportedDeltaLogs();
 			
 			//create compare matrix if required (existing data in result)
 			_compare = createCompareMatrix(outMB);
@@ -84,15 +96,24 @@ public class ResultMergeLocalMemory extends ResultMerge
 				{
 					LOG.trace("ResultMerge (local, in-memory): Merge input "+in.getVarName()+" (fname="+in.getFileName()+")");
 					
-					//read/pin input_i
-					MatrixBlock inMB = in.acquireRead();	
-					
-					//core merge 
-					merge( outMBNew, inMB, appendOnly );
-					
-					//unpin and clear in-memory input_i
-					in.release();
-					in.clearData();
+					ResultDeltaLog log = in.getDeltaLog();
+					if( log != null && log.isExported() ) 
+					{
+						//apply delta log of remote worker 
+						log.applyTo(outMBNew, false);
+					}
+					else
+					{
+						//read/pin input_i
+						MatrixBlock inMB = in.acquireRead();	
+						
+						//core merge 
+						merge( outMBNew, inMB, appendOnly );
+						
+						//unpin and clear in-memory input_i
+						in.release();
+						in.clearData();
+					}
 					flagMerged = true;
 					
 					//determine need for sparse2dense change during merge
@@ -150,6 +171,10 @@ public class ResultMergeLocalMemory extends ResultMerge
 		//	time = new Timing();
 		//	time.start();
 		
+		//delta merge if all inputs provide delta logs
+		ArrayList<ResultDeltaLog> logs = getDeltaLogs();
+		if( logs != null )
+			return executeDeltaMerge( logs, par );
 
 		try
 		{
@@ -198,6 +223,7 @@ public class ResultMergeLocalMemory extends ResultMerge
 						threads[i].join();
 					}
 				}
+				outMBNew.recomputeNonZeros();
 				
 				//create new output matrix 
 				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
@@ -223,6 +249,75 @@ public class ResultMergeLocalMemory extends ResultMerge
 		return moNew;		
 	}
 
+	/**
+	 * Merges the given delta logs of all workers into a copy of the output. Since
+	 * the writes of different workers are disjoint, the logs are applied in parallel
+	 * (without synchronization) to a dense output, if par>1 and multiple logs exist. 
+	 * 
+	 * @param logs
+	 * @param par
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private MatrixObject executeDeltaMerge( ArrayList<ResultDeltaLog> logs, int par ) 
+		throws DMLRuntimeException
+	{
+		if( logs.isEmpty() )
+			return _output; //return old matrix, to prevent copy
+		
+		LOG.trace("ResultMerge (local, in-memory): Execute delta merge of "+logs.size()+" logs for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
+		
+		MatrixObject moNew = null;
+		
+		try
+		{
+			int numThreads = Math.min(par, logs.size()); //number of logs can be lower than par
+			numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+			
+			//copy old output (dense for parallel unsynchronized writes)
+			MatrixBlock outMB = _output.acquireRead();
+			boolean sparse = (numThreads == 1) && outMB.isInSparseFormat();
+			MatrixBlock outMBNew = new MatrixBlock(outMB.getNumRows(), outMB.getNumColumns(), sparse);
+			outMBNew.copy(outMB, sparse);
+			_output.release();
+			
+			if( numThreads > 1 )
+			{
+				if( outMBNew.getDenseArray() == null )
+					outMBNew.allocateDenseBlock();
+				
+				//apply disjoint logs in parallel 
+				ExecutorService pool = Executors.newFixedThreadPool( numThreads );
+				ArrayList<DeltaMergeTask> tasks = new ArrayList<DeltaMergeTask>();
+				for( ResultDeltaLog log : logs )
+					tasks.add(new DeltaMergeTask(log, outMBNew));
+				List<Future<Object>> ret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> rc : ret )
+					rc.get(); //error handling
+				outMBNew.recomputeNonZeros();
+			}
+			else
+			{
+				//apply logs sequentially
+				for( ResultDeltaLog log : logs )
+					log.applyTo(outMBNew, false);
+			}
+			
+			//create new output matrix 
+			moNew = createNewMatrixObject( outMBNew );
+		}
+		catch(Exception ex)
+		{
+			throw new DMLRuntimeException(ex);
+		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParForDeltaMergeCount();
+		
+		return moNew;
+	}
+	
 	/**
 	 * 
 	 * @param output
@@ -303,6 +398,29 @@ public class ResultMergeLocalMemory extends ResultMerge
 	}
 	
 	
+	/**
+	 * NOTE: only used if matrix in dense
+	 */
+	private static class DeltaMergeTask implements Callable<Object>
+	{
+		private ResultDeltaLog _log = null;
+		private MatrixBlock _outMB = null;
+		
+		public DeltaMergeTask(ResultDeltaLog log, MatrixBlock outMB)
+		{
+			_log = log;
+			_outMB = outMB;
+		}
+		
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			_log.applyTo(_outMB, true);
+			return null;
+		}
+	}
+	
 	/**
 	 * NOTE: only used if matrix in dense
 	 */
@@ -325,10 +443,17 @@ public class ResultMergeLocalMemory extends ResultMerge
 			{
 				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.getVarName()+" (fname="+_inMO.getFileName()+")");
 				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+				ResultDeltaLog log = _inMO.getDeltaLog();
+				if( log != null && log.isExported() ) {
+					//apply delta log of remote worker (nnz maintained by caller)
+					log.applyTo(_outMB, true);
+				}
+				else {
+					MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
+					merge( _outMB, inMB, false );
+					_inMO.release();
+					_inMO.clearData();
+				}
 			}
 			catch(Exception ex)
 			{
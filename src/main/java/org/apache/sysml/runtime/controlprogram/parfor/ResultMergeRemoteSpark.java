@@ -19,8 +19,10 @@
 
 package org.apache.sysml.runtime.controlprogram.parfor;
 
+import java.util.ArrayList;
 
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.parser.Expression.DataType;
@@ -29,6 +31,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultDeltaLog.DeltaEntry;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
@@ -77,7 +80,21 @@ public class ResultMergeRemoteSpark extends ResultMerge
 
 		try
 		{
-			if( _inputs != null && _inputs.length>0 )
+			//split inputs into results and exported delta logs of remote workers
+			ArrayList<MatrixObject> inputs = new ArrayList<MatrixObject>();
+			ArrayList<String> deltas = new ArrayList<String>();
+			for( int i=0; _inputs!=null && i<_inputs.length; i++ ) {
+				MatrixObject in = _inputs[i];
+				if( in == null || in == _output )
+					continue;
+				ResultDeltaLog log = in.getDeltaLog();
+				if( log != null && log.isExported() )
+					deltas.add(log.getFileName());
+				else
+					inputs.add(in);
+			}
+			
+			if( !inputs.isEmpty() || !deltas.isEmpty() )
 			{
 				//prepare compare
 				MatrixFormatMetaData metadata = (MatrixFormatMetaData) _output.getMetaData();
@@ -85,7 +102,8 @@ public class ResultMergeRemoteSpark extends ResultMerge
 				MatrixObject compare = (mcOld.getNonZeros()==0) ? null : _output;
 				
 				//actual merge
-				RDDObject ro = executeMerge(compare, _inputs, _output.getVarName(), mcOld.getRows(), mcOld.getCols(), mcOld.getRowsPerBlock(), mcOld.getColsPerBlock());
+				RDDObject ro = executeMerge(compare, inputs.toArray(new MatrixObject[0]), deltas, _output.getVarName(), 
+						mcOld.getRows(), mcOld.getCols(), mcOld.getRowsPerBlock(), mcOld.getColsPerBlock());
 				
 				//create new output matrix (e.g., to prevent potential export<->read file access conflict
 				String varName = _output.getVarName();
@@ -97,7 +115,7 @@ public class ResultMergeRemoteSpark extends ResultMerge
 				InputInfo iiOld = metadata.getInputInfo();
 				MatrixCharacteristics mc = new MatrixCharacteristics(mcOld.getRows(),mcOld.getCols(),
 						                                             mcOld.getRowsPerBlock(),mcOld.getColsPerBlock());
-				mc.setNonZeros( computeNonZeros(_output, convertToList(_inputs)) );
+				mc.setNonZeros( deltas.isEmpty() ? computeNonZeros(_output, inputs) : -1 );
 				MatrixFormatMetaData meta = new MatrixFormatMetaData(mc,oiOld,iiOld);
 				moNew.setMetaData( meta );
 				moNew.setRDDHandle( ro );
@@ -120,6 +138,7 @@ public class ResultMergeRemoteSpark extends ResultMerge
 	 * @param fname 	null if no comparison required
 	 * @param fnameNew
 	 * @param srcFnames
+	 * @param deltas    filenames of exported delta logs
 	 * @param ii
 	 * @param oi
 	 * @param rlen
@@ -129,7 +148,7 @@ public class ResultMergeRemoteSpark extends ResultMerge
 	 * @throws DMLRuntimeException
 	 */
 	@SuppressWarnings("unchecked")
-	protected RDDObject executeMerge(MatrixObject compare, MatrixObject[] inputs, String varname, long rlen, long clen, int brlen, int bclen)
+	protected RDDObject executeMerge(MatrixObject compare, MatrixObject[] inputs, ArrayList<String> deltas, String varname, long rlen, long clen, int brlen, int bclen)
 		throws DMLRuntimeException 
 	{
 		String jobname = "ParFor-RMSP";
@@ -144,23 +163,29 @@ public class ResultMergeRemoteSpark extends ResultMerge
 		int numRed = (int)determineNumReducers(rlen, clen, brlen, bclen, _numReducers);
 	
 		//sanity check for empty src files
-		if( inputs == null || inputs.length==0  )
+		if( (inputs == null || inputs.length==0) && deltas.isEmpty() )
 			throw new DMLRuntimeException("Execute merge should never be called with no inputs.");
 		
 		try
 		{
+		    JavaPairRDD<MatrixIndexes, MatrixBlock> out = null;
+		    
 		    //Step 1: union over all results
-		    JavaPairRDD<MatrixIndexes, MatrixBlock> rdd = (JavaPairRDD<MatrixIndexes, MatrixBlock>) 
-		    		sec.getRDDHandleForMatrixObject(_inputs[0], InputInfo.BinaryBlockInputInfo);
-		    for( int i=1; i<_inputs.length; i++ ) {
+		    JavaPairRDD<MatrixIndexes, MatrixBlock> rdd = null;
+		    for( int i=0; i<inputs.length; i++ ) {
 			    JavaPairRDD<MatrixIndexes, MatrixBlock> rdd2 = (JavaPairRDD<MatrixIndexes, MatrixBlock>) 
-			    		sec.getRDDHandleForMatrixObject(_inputs[i], InputInfo.BinaryBlockInputInfo);
-			    rdd = rdd.union(rdd2);
+			    		sec.getRDDHandleForMatrixObject(inputs[i], InputInfo.BinaryBlockInputInfo);
+			    rdd = (rdd == null) ? rdd2 : rdd.union(rdd2);
 		    }
 		
 		    //Step 2a: merge with compare
-		    JavaPairRDD<MatrixIndexes, MatrixBlock> out = null;
-		    if( withCompare )
+		    if( rdd == null ) 
+		    {
+		    	//only delta logs, applied to the original output
+		    	out = (JavaPairRDD<MatrixIndexes, MatrixBlock>) 
+		    			sec.getRDDHandleForMatrixObject(_output, InputInfo.BinaryBlockInputInfo);
+		    }
+		    else if( withCompare )
 		    {
 		    	JavaPairRDD<MatrixIndexes, MatrixBlock> compareRdd = (JavaPairRDD<MatrixIndexes, MatrixBlock>) 
 			    		sec.getRDDHandleForMatrixObject(compare, InputInfo.BinaryBlockInputInfo);
@@ -178,13 +203,29 @@ public class ResultMergeRemoteSpark extends ResultMerge
 		    	out = RDDAggregateUtils.mergeByKey(rdd);
 		    }
 		    
+		    //Step 2c: apply delta logs of remote workers (w/o compare)
+		    if( !deltas.isEmpty() )
+		    {
+		    	//split log entries by blocks and apply them to copies of the output blocks
+		    	JavaRDD<String> fnames = sec.getSparkContext().parallelize(deltas, deltas.size());
+		    	JavaPairRDD<MatrixIndexes, DeltaEntry> entries = fnames.flatMapToPair(
+		    			new ResultMergeRemoteSparkDeltaMapper(rlen, clen, brlen, bclen));
+		    	out = out.cogroup(entries, Math.max(numRed, 1))
+		    	         .mapToPair(new ResultMergeRemoteSparkDeltaReducer(rlen, clen, brlen, bclen));
+		    	
+		    	if( DMLScript.STATISTICS )
+		    		Statistics.incrementParForDeltaMergeCount();
+		    }
+		    
 		    //Step 3: create output rdd handle w/ lineage
 		    ret = new RDDObject(out, varname);
-		    for( int i=0; i<_inputs.length; i++ ) {
+		    for( int i=0; i<inputs.length; i++ ) {
 		    	//child rdd handles guaranteed to exist
-		    	RDDObject child = _inputs[i].getRDDHandle();
+		    	RDDObject child = inputs[i].getRDDHandle();
 				ret.addLineageChild(child);
 		    }
+		    if( inputs.length == 0 )
+		    	ret.addLineageChild(_output.getRDDHandle());
 		}
 		catch( Exception ex )
 		{
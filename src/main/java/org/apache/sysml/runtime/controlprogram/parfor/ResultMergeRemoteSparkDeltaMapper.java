@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+
+import scala.Tuple2;
+
+import org.apache.sysml.runtime.controlprogram.parfor.ResultDeltaLog.DeltaEntry;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Reads an exported delta log of a remote parfor worker and splits its entries
+ * into block-local entries of all overlapping output blocks.
+ *
+ */
+public class ResultMergeRemoteSparkDeltaMapper implements PairFlatMapFunction<String, MatrixIndexes, DeltaEntry>
+{
+
+	private static final long serialVersionUID = 6208454792581036218L;
+
+	private long _rlen = -1;
+	private long _clen = -1;
+	private int _brlen = -1;
+	private int _bclen = -1;
+
+	public ResultMergeRemoteSparkDeltaMapper( long rlen, long clen, int brlen, int bclen )
+	{
+		_rlen = rlen;
+		_clen = clen;
+		_brlen = brlen;
+		_bclen = bclen;
+	}
+
+	@Override
+	public Iterable<Tuple2<MatrixIndexes, DeltaEntry>> call(String fname)
+		throws Exception
+	{
+		ArrayList<Tuple2<MatrixIndexes, DeltaEntry>> ret = new ArrayList<Tuple2<MatrixIndexes, DeltaEntry>>();
+
+		for( DeltaEntry e : ResultDeltaLog.readDeltaLogFromHDFS(fname) )
+		{
+			//split entry by all overlapping blocks
+			for( int bi = e.getRowLower()/_brlen; bi <= e.getRowUpper()/_brlen; bi++ )
+				for( int bj = e.getColLower()/_bclen; bj <= e.getColUpper()/_bclen; bj++ )
+				{
+					int rl = bi * _brlen;
+					int ru = (int)Math.min(rl + _brlen, _rlen) - 1;
+					int cl = bj * _bclen;
+					int cu = (int)Math.min(cl + _bclen, _clen) - 1;
+					DeltaEntry be = e.slice(rl, ru, cl, cu);
+					if( be != null )
+						ret.add(new Tuple2<MatrixIndexes, DeltaEntry>(new MatrixIndexes(bi+1, bj+1), be));
+				}
+		}
+
+		return ret;
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import org.apache.spark.api.java.function.PairFunction;
+
+import scala.Tuple2;
+
+import org.apache.sysml.runtime.controlprogram.parfor.ResultDeltaLog.DeltaEntry;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Applies all block-local delta log entries of an output block to a copy of
+ * this block (or a new empty block if the block does not exist).
+ *
+ */
+public class ResultMergeRemoteSparkDeltaReducer implements PairFunction<Tuple2<MatrixIndexes,Tuple2<Iterable<MatrixBlock>,Iterable<DeltaEntry>>>, MatrixIndexes, MatrixBlock>
+{
+
+	private static final long serialVersionUID = -2384212646359431862L;
+
+	private long _rlen = -1;
+	private long _clen = -1;
+	private int _brlen = -1;
+	private int _bclen = -1;
+
+	public ResultMergeRemoteSparkDeltaReducer( long rlen, long clen, int brlen, int bclen )
+	{
+		_rlen = rlen;
+		_clen = clen;
+		_brlen = brlen;
+		_bclen = bclen;
+	}
+
+	@Override
+	public Tuple2<MatrixIndexes, MatrixBlock> call(Tuple2<MatrixIndexes, Tuple2<Iterable<MatrixBlock>, Iterable<DeltaEntry>>> arg)
+		throws Exception
+	{
+		MatrixIndexes ixin = arg._1();
+		Iterator<MatrixBlock> bin = arg._2()._1().iterator();
+
+		//collect entries in order of writes (entries of different workers are disjoint)
+		ArrayList<DeltaEntry> entries = new ArrayList<DeltaEntry>();
+		for( DeltaEntry e : arg._2()._2() )
+			entries.add(e);
+		if( entries.isEmpty() ) //unmodified block
+			return new Tuple2<MatrixIndexes,MatrixBlock>(ixin, bin.next());
+		Collections.sort(entries, new Comparator<DeltaEntry>() {
+			@Override
+			public int compare(DeltaEntry e1, DeltaEntry e2) {
+				return (e1.getSeq() < e2.getSeq()) ? -1 : (e1.getSeq() == e2.getSeq()) ? 0 : 1;
+			}
+		});
+
+		//apply entries to copy of output block
+		MatrixBlock out = null;
+		if( bin.hasNext() )
+			out = new MatrixBlock(bin.next());
+		else {
+			int rows = (int)Math.min(_brlen, _rlen - (ixin.getRowIndex()-1) * _brlen);
+			int cols = (int)Math.min(_bclen, _clen - (ixin.getColumnIndex()-1) * _bclen);
+			out = new MatrixBlock(rows, cols, true);
+		}
+		for( DeltaEntry e : entries )
+			e.applyTo(out, false);
+		out.examSparsity();
+
+		//create output tuple
+		return new Tuple2<MatrixIndexes,MatrixBlock>(new MatrixIndexes(ixin), out);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * This work-stealing task partitioner seeds the per-worker deques of a
+ * LocalTaskQueueWorkStealing with one contiguous range task of numIterations/numWorkers
+ * iterations per worker. The actual task granularity is determined at runtime by
+ * adaptive splitting of these ranges (down to the given task size), and load imbalance
+ * is compensated by stealing. For the list and shared-queue task creation, this
+ * partitioner behaves like the static task partitioner.
+ *
+ */
+public class TaskPartitionerWorkStealing extends TaskPartitionerStatic
+{
+	private int _numThreads = -1;
+	private long _minTaskSize = -1;
+
+	public TaskPartitionerWorkStealing( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal )
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+
+		_numThreads = numThreads;
+		_minTaskSize = Math.max(taskSize, 1);
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public long getMinTaskSize()
+	{
+		return _minTaskSize;
+	}
+
+	/**
+	 * Creates one range task per worker and adds it to the worker's deque.
+	 *
+	 * @param queue
+	 * @return
+	 */
+	public long createTasks( LocalTaskQueueWorkStealing queue )
+	{
+		long numCreatedTasks = 0;
+
+		long lFrom  = _fromVal.getLongValue();
+		long lTo    = _toVal.getLongValue();
+		long lIncr  = _incrVal.getLongValue();
+
+		long i = lFrom;
+		for( int j=0; j<_numThreads && i<=lTo; j++ )
+		{
+			//equally sized ranges, where the first numIter%numThreads get one more iteration
+			long len = _numIter / _numThreads + ((j < _numIter % _numThreads) ? 1 : 0);
+			if( len <= 0 )
+				break;
+			long to = Math.min( i+(len-1)*lIncr, lTo );
+
+			Task lTask = new Task( TaskType.RANGE );
+			lTask.addIteration(new IntObject(_iterVarName, i));	    //from
+			lTask.addIteration(new IntObject(_iterVarName, to));    //to
+			lTask.addIteration(new IntObject(_iterVarName, lIncr));	//increment
+			queue.addTask(j, lTask);
+			numCreatedTasks++;
+
+			i = to + lIncr;
+		}
+
+		return numCreatedTasks;
+	}
+}
@@ -284,6 +284,9 @@ public class OptimizerRuleBased extends Optimizer
 		}
 		else //if( pn.getExecType() == ExecType.CP )
 		{
+			// rewrite 9b: in-memory data partitioning
+			rewriteSetInMemoryDataPartitioner( pn, partitionedMatrices, ec.getVariables() );
+			
 			// rewrite 10: determine parallelism
 			rewriteSetDegreeOfParallelism( pn, M1, false );
 			
@@ -642,6 +645,55 @@ public class OptimizerRuleBased extends Optimizer
 		return (getRIXExecType(mo, PDataPartitionFormat.COLUMN_BLOCK_WISE, false)==LopProperties.ExecType.CP );
 	}
 	
+	/**
+	 * For local parfor, remote data partitioning is replaced by local in-memory 
+	 * data partitioning if all partitioned matrices fit into the local memory budget 
+	 * (see DataPartitionerLocal). This avoids the partitioning job as well as the
+	 * write and read of partition files.
+	 * 
+	 * NOTE: this rewrite requires 'set data partitioner' and 'set execution strategy'
+	 * to be executed in order to leverage the partitioning and exec type information.
+	 * 
+	 * @param n
+	 * @param partitionedMatrices
+	 * @param vars
+	 * @throws DMLRuntimeException
+	 */
+	protected void rewriteSetInMemoryDataPartitioner( OptNode n, HashMap<String, PDataPartitionFormat> partitionedMatrices, LocalVariableMap vars ) 
+		throws DMLRuntimeException
+	{
+		if( n.getNodeType() != NodeType.PARFOR )
+			LOG.warn(getOptMode()+" OPT: Data partitioner can only be set for a ParFor node.");
+		
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+				.getAbstractPlanMapping().getMappedProg(n.getID())[1];
+		
+		boolean apply = false;
+		if(    ParForProgramBlock.ALLOW_IN_MEMORY_PARTITIONING
+			&& n.getExecType() == ExecType.CP 
+			&& !partitionedMatrices.isEmpty()
+			&& !n.getParam(ParamType.DATA_PARTITIONER).equals(PDataPartitioner.NONE.toString()) )
+		{
+			//check that all partitioned matrices fit into local memory
+			double sizeInputs = 0;
+			for( String var : partitionedMatrices.keySet() ) {
+				MatrixObject mo = (MatrixObject)vars.get(var);
+				sizeInputs += (mo != null) ? 
+					OptimizerUtils.estimateSizeExactSparsity(mo.getMatrixCharacteristics()) : _lm;
+			}
+			apply = (sizeInputs < _lm);
+		}
+		
+		//modify the runtime plan and plan tree
+		if( apply ) {
+			pfpb.setDataPartitioner(PDataPartitioner.LOCAL);
+			n.addParam(ParamType.DATA_PARTITIONER, PDataPartitioner.LOCAL.toString());
+		}
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set in-memory data partitioner' - result="+apply );
+	}
+	
 	///////
 	//REWRITE set result partitioning
 	///
@@ -1524,7 +1576,7 @@ public class OptimizerRuleBased extends Optimizer
 					//set degree of parallelism for multi-threaded leaf nodes
 					Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID());
 					if(    OptimizerUtils.PARALLEL_CP_MATRIX_MULTIPLY 
-						&& h instanceof MultiThreadedHop //abop, datagenop, qop, paramop
+						&& h instanceof MultiThreadedHop //abop, datagenop, qop, paramop, binop, reorgop
 						&& !( h instanceof ParameterizedBuiltinOp //only paramop-grpagg
 							 && ((ParameterizedBuiltinOp)h).getOp()!=ParamBuiltinOp.GROUPEDAGG) )
 					{
@@ -2692,7 +2744,8 @@ public class OptimizerRuleBased extends Optimizer
 			case STATIC:           W = N / k; break;
 			case FACTORING:
 			case FACTORING_CMIN:
-			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case FACTORING_CMAX:   
+			case WORK_STEALING:    W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
 			default:               W = N; break; //N as worst case estimate
 		}
 		
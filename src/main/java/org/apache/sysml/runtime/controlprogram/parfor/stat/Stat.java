@@ -56,7 +56,8 @@ public enum Stat
 	PARWRK_TASKSIZE,
 	PARWRK_ITER_T,
 	PARWRK_TASK_T,
-	PARWRK_EXEC_T;
+	PARWRK_EXEC_T,
+	PARWRK_BUSY_T;
 	
 
 }
@@ -209,6 +209,8 @@ public class StatisticMonitor
 						sb.append("       Num Tasks = "+ntasks+"\n");
 						sb.append("       Num Iters = "+niters+"\n");
 						sb.append("       Time EXEC = "+stats2.get(Stat.PARWRK_EXEC_T).get(0)+"ms\n");
+						if( stats2.containsKey(Stat.PARWRK_BUSY_T) )
+							sb.append("       Time BUSY = "+stats2.get(Stat.PARWRK_BUSY_T).get(0)+"ms\n");
 						
 						LinkedList<Double> taskexec = stats2.get(Stat.PARWRK_TASK_T);
 						LinkedList<Double> tasksize = stats2.get(Stat.PARWRK_TASKSIZE);
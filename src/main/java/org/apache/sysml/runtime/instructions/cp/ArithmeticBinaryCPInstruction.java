@@ -24,7 +24,9 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction 
@@ -47,7 +49,15 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		
+		//optional degree of parallelism (only for CP matrix operations)
+		int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 		
 		// Arithmetic operations must be performed on DOUBLE or INT
 		ValueType vt1 = in1.getValueType();
@@ -75,6 +85,10 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		Operator operator = (dt1 != dt2) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
 					InstructionUtils.parseBinaryOperator(opcode);
+		if( operator instanceof ScalarOperator )
+			((ScalarOperator)operator).setNumThreads(k);
+		else
+			((BinaryOperator)operator).setNumThreads(k);
 		
 		if ( opcode.equalsIgnoreCase("+") && dt1 == DataType.SCALAR && dt2 == DataType.SCALAR) 
 		{
@@ -25,6 +25,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
@@ -51,7 +52,15 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		
+		//optional degree of parallelism (only for CP solve)
+		int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 		
 		ValueFunction func = Builtin.getBuiltinFnObject(opcode);
 		
@@ -62,7 +71,7 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		} else if (in1.getDataType() != in2.getDataType()) {
 			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str);					
 		} else { // if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX ) {
-			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);	
+			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func, k), in1, in2, out, opcode, str);	
 		} 
 	}
 }
@@ -57,7 +57,7 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 		String opcode = null;
 		ValueFunction func = null;
 		
-		if( parts.length==4 ) //print or stop
+		if( parts.length==4 && !isMultiThreadedOpcode(parts[0]) ) //print or stop
 		{
 			opcode = parts[0];
 			in.split(parts[1]);
@@ -66,6 +66,16 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 			
 			return new ScalarBuiltinCPInstruction(new SimpleOperator(func), in, out, opcode, str);
 		}
+		else if( parts.length==4 ) //cumulative aggregates and inverse w/ num threads
+		{
+			opcode = parts[0];
+			in.split(parts[1]);
+			out.split(parts[2]);
+			func = Builtin.getBuiltinFnObject(opcode);
+			int k = Integer.parseInt(parts[3]);
+			
+			return new MatrixBuiltinCPInstruction(new UnaryOperator(func, k), in, out, opcode, str);
+		}
 		else //2+1, general case
 		{
 			opcode = parseUnaryInstruction(str, in, out);
@@ -79,4 +89,16 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 		
 		return null;
 	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @return
+	 */
+	private static boolean isMultiThreadedOpcode( String opcode )
+	{
+		return opcode.equals("ucumk+") || opcode.equals("ucum*")
+			|| opcode.equals("ucummin") || opcode.equals("ucummax")
+			|| opcode.equals("inverse");
+	}
 }
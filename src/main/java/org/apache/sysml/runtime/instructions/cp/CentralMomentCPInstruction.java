@@ -25,6 +25,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.CM;
+import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.CMOperator;
@@ -54,17 +55,32 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 			throw new DMLRuntimeException("Unsupported opcode "+opcode);
 		}
 			
-		if ( parts.length == 4 ) {
-			// Example: CP.cm.mVar0.Var1.mVar2; (without weights)
+		//check for optional degree of parallelism (appended after the output)
+		int k = 1;
+		int len = parts.length;
+		if( !parts[len-1].contains(Instruction.DATATYPE_PREFIX) ) {
+			k = Integer.parseInt(parts[len-1]);
+			len--;
+		}
+		
+		if ( len == 4 ) {
+			// Example: CP.cm.mVar0.Var1.mVar2.k; (without weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
 		}
-		else if ( parts.length == 5) {
-			// CP.cm.mVar0.mVar1.Var2.mVar3; (with weights)
+		else if ( len == 5) {
+			// CP.cm.mVar0.mVar1.Var2.mVar3.k; (with weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 			in3 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, in3, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			in3.split(parts[3]);
 		}
+		else {
+			throw new DMLRuntimeException("Unexpected number of operands in the instruction: " + str);
+		}
+		out.split(parts[len-1]);
 	
 		/* 
 		 * Exact order of the central moment MAY NOT be known at compilation time.
@@ -86,7 +102,7 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		}
 		
 		AggregateOperationTypes opType = CMOperator.getCMAggOpType(cmOrder);
-		CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType);
+		CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType, k);
 		return new CentralMomentCPInstruction(cm, in1, in2, in3, out, opcode, str);
 	}
 	
@@ -108,10 +124,13 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		CPOperand scalarInput = (input3==null ? input2 : input3);
 		ScalarObject order = ec.getScalarInput(scalarInput.getName(), scalarInput.getValueType(), scalarInput.isLiteral()); 
 		
+		//create call-local operator w/ new fn object (state in CM, buff2/buff3),
+		//the instruction might be shared by concurrent executions (e.g., jmlc)
 		CMOperator cm_op = ((CMOperator)_optr); 
-		if ( cm_op.getAggOpType() == AggregateOperationTypes.INVALID ) {
-			((CMOperator)_optr).setCMAggOp((int)order.getLongValue());
-		}
+		AggregateOperationTypes opType = cm_op.getAggOpType();
+		if ( opType == AggregateOperationTypes.INVALID )
+			opType = CMOperator.getCMAggOpType((int)order.getLongValue());
+		cm_op = new CMOperator(CM.getCMFnObject(opType), opType, cm_op.getNumThreads());
 		
 		CM_COV_Object cmobj = null; 
 		if (input3 == null ) {
@@ -125,7 +144,7 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		
 		ec.releaseMatrixInput(input1.getName());
 		
-		double val = cmobj.getRequiredResult(_optr);
+		double val = cmobj.getRequiredResult(cm_op);
 		DoubleObject ret = new DoubleObject(output_name, val);
 		ec.setScalarOutput(output_name, ret);
 	}
@@ -21,9 +21,8 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
-import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
-import org.apache.sysml.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
@@ -43,8 +42,10 @@ public class MatrixBuiltinCPInstruction extends BuiltinUnaryCPInstruction
 		String output_name = output.getName();
 		
 		String opcode = getOpcode();
-		if(LibCommonsMath.isSupportedUnaryOperation(opcode)) {
-			MatrixBlock retBlock = LibCommonsMath.unaryOperations((MatrixObject)ec.getVariable(input1.getName()),getOpcode());
+		if(LibMatrixLinAlg.isSupportedUnaryOperation(opcode)) {
+			MatrixBlock inBlock = ec.getMatrixInput(input1.getName());
+			MatrixBlock retBlock = LibMatrixLinAlg.unaryOperations(inBlock, opcode, u_op.getNumThreads());
+			ec.releaseMatrixInput(input1.getName());
 			ec.setMatrixOutput(output_name, retBlock);
 		}
 		else {
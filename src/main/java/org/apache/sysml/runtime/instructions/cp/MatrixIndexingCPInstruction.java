@@ -19,17 +19,20 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultDeltaLog;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
 import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.utils.Statistics;
 
 public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 {
@@ -45,9 +48,12 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 	 *     leftIndex:mVar1:mVar2:Var3:Var4:Var5:Var6:mVar7
 	 *         triggered by "mVar1[Var3:Var4, Var5:Var6] = mVar2"
 	 *         the result is stored in mVar7
+	 *     leftIndex:mVar1:mVar2:Var3:Var4:Var5:Var6:mVar7:true
+	 *         same as above, but with compiler hint for update in-place
 	 *  
 	 */
 	protected CPOperand rowLower, rowUpper, colLower, colUpper;
+	private boolean _updateInPlace = false;
 	
 	public MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr){
 		super(op, in, out, opcode, istr);
@@ -94,8 +100,8 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 			}
 		} 
 		else if ( opcode.equalsIgnoreCase("leftIndex")) {
-			if ( parts.length == 8 ) {
-				// Example: leftIndex:mVar1:mvar2:Var3:Var4:Var5:Var6:mVar7
+			if ( parts.length == 8 || parts.length == 9 ) {
+				// Example: leftIndex:mVar1:mvar2:Var3:Var4:Var5:Var6:mVar7[:true]
 				CPOperand lhsInput, rhsInput, rl, ru, cl, cu, out;
 				lhsInput = new CPOperand();
 				rhsInput = new CPOperand();
@@ -111,7 +117,10 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 				cl.split(parts[5]);
 				cu.split(parts[6]);
 				out.split(parts[7]);
-				return new MatrixIndexingCPInstruction(new SimpleOperator(null), lhsInput, rhsInput, rl, ru, cl, cu, out, opcode, str);
+				MatrixIndexingCPInstruction inst = new MatrixIndexingCPInstruction(new SimpleOperator(null), lhsInput, rhsInput, rl, ru, cl, cu, out, opcode, str);
+				if( parts.length == 9 )
+					inst._updateInPlace = Boolean.parseBoolean(parts[8]);
+				return inst;
 			}
 			else {
 				throw new DMLRuntimeException("Invalid number of operands in instruction: " + str);
@@ -142,8 +151,12 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 		{
 			MatrixBlock resultBlock = null;
 			
+			IndexRange ixrange = new IndexRange(rl+1,ru+1,cl+1,cu+1);
+			
 			if( mo.isPartitioned() ) //via data partitioning
-				resultBlock = mo.readMatrixPartition( new IndexRange(rl+1,ru+1,cl+1,cu+1) );
+				resultBlock = mo.readMatrixPartition( ixrange );
+			else if( mo.isRangeReadable(ixrange) ) //via range read of overlapping blocks
+				resultBlock = mo.readMatrixRange( ixrange );
 			else //via slicing the in-memory matrix
 			{
 				//execute right indexing operation
@@ -168,10 +181,14 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 			MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 			MatrixBlock resultBlock = null;
 			
+			//compiler-hinted update in-place (e.g., in loops), guarded at runtime 
+			boolean inplaceLoop = !inplace && _updateInPlace && isSafeUpdateInPlace(ec, mo, matBlock);
+			
 			if(input2.getDataType() == DataType.MATRIX) //MATRIX<-MATRIX
 			{
 				MatrixBlock rhsMatBlock = ec.getMatrixInput(input2.getName());
-				resultBlock = matBlock.leftIndexingOperations(rhsMatBlock, rl, ru, cl, cu, new MatrixBlock(), inplace);
+				inplaceLoop &= (rhsMatBlock != matBlock);
+				resultBlock = matBlock.leftIndexingOperations(rhsMatBlock, rl, ru, cl, cu, new MatrixBlock(), inplace || inplaceLoop);
 				ec.releaseMatrixInput(input2.getName());
 			}
 			else //MATRIX<-SCALAR 
@@ -179,7 +196,7 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 				if(!(rl==ru && cl==cu))
 					throw new DMLRuntimeException("Invalid index range of scalar leftindexing: ["+rl+":"+ru+","+cl+":"+cu+"]." );
 				ScalarObject scalar = ec.getScalarInput(input2.getName(), ValueType.DOUBLE, input2.isLiteral());
-				resultBlock = (MatrixBlock) matBlock.leftIndexingOperations(scalar, rl, cl, new MatrixBlock(), inplace);
+				resultBlock = (MatrixBlock) matBlock.leftIndexingOperations(scalar, rl, cl, new MatrixBlock(), inplace || inplaceLoop);
 			}
 
 			//unpin lhs input
@@ -189,10 +206,50 @@ public class MatrixIndexingCPInstruction extends UnaryCPInstruction
 			//(memory guarded by release of input)
 			resultBlock.examSparsity();
 			
+			//hand over the updated block to the output and pin it in memory 
+			//(the input is removed by the subsequent rmvar/cpvar instructions)
+			if( inplaceLoop ) {
+				MatrixObject out = (MatrixObject)ec.getVariable(output.getName());
+				resultBlock.transferOwner(mo, out);
+				out.enableInMemoryPin(true);
+				if( DMLScript.STATISTICS )
+					Statistics.incrementUpdateInPlace();
+			}
+			
 			//unpin output
 			ec.setMatrixOutput(output.getName(), resultBlock, inplace);
+			
+			//record written cells of parfor result variables (see ResultDeltaLog);
+			//initial states of the current parfor start a fresh log because an inherited
+			//log of an outer parfor worker would make the logs of all workers overlap
+			ResultDeltaLog log = mo.getDeltaLog();
+			if( mo.getDeltaResultVar() != null )
+				log = new ResultDeltaLog(mo.getDeltaResultVar(), resultBlock.getNumRows(), resultBlock.getNumColumns());
+			if( log != null ) {
+				MatrixObject out = (MatrixObject)ec.getVariable(output.getName());
+				out.setDeltaLog( log.append(rl, ru, cl, cu, resultBlock) );
+			}
 		}
 		else
 			throw new DMLRuntimeException("Invalid opcode (" + opcode +") encountered in MatrixIndexingCPInstruction.");		
 	}
+	
+	/**
+	 * Checks if the given lhs matrix can be safely updated in-place, i.e., it is
+	 * not pinned (function inputs, parfor inputs/results, jmlc shared or wrapped
+	 * inputs), not referenced by other variables or rdds/broadcasts, and its block
+	 * is exclusively owned (not shared with other matrix objects).
+	 * 
+	 * @param ec
+	 * @param mo
+	 * @param mb
+	 * @return
+	 */
+	private static boolean isSafeUpdateInPlace( ExecutionContext ec, MatrixObject mo, MatrixBlock mb )
+	{
+		return mo.isCleanupEnabled()
+			&& mo.getRDDHandle() == null && mo.getBroadcastHandle() == null
+			&& ec.getVariables().getNumReferences(mo, true) == 1
+			&& mb.isExclusiveOwner(mo);
+	}
 }
@@ -21,9 +21,8 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
-import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
-import org.apache.sysml.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
@@ -46,16 +45,20 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		throws DMLRuntimeException, DMLUnsupportedOperationException
 	{
 		String opcode = getOpcode();
+		BinaryOperator bop = (BinaryOperator) _optr;
         
-        if ( LibCommonsMath.isSupportedMatrixMatrixOperation(opcode) ) {
-        	MatrixBlock solution = LibCommonsMath.matrixMatrixOperations((MatrixObject)ec.getVariable(input1.getName()), (MatrixObject)ec.getVariable(input2.getName()), opcode);
+        if ( LibMatrixLinAlg.isSupportedMatrixMatrixOperation(opcode) ) {
+        	MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName());
+        	MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName());
+        	MatrixBlock solution = LibMatrixLinAlg.matrixMatrixOperations(inBlock1, inBlock2, opcode, bop.getNumThreads());
+        	ec.releaseMatrixInput(input1.getName());
+        	ec.releaseMatrixInput(input2.getName());
     		ec.setMatrixOutput(output.getName(), solution);
         	return;
         }
 		
         /* Default behavior of this instruction */
 		String output_name = output.getName();
-		BinaryOperator bop = (BinaryOperator) _optr;
 		
 		MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName());
 		MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName());
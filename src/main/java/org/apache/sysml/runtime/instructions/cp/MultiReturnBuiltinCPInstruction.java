@@ -25,10 +25,9 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
-import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
-import org.apache.sysml.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -38,12 +37,19 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 	
 	int arity;
 	protected ArrayList<CPOperand> _outputs;
+	private int _numThreads = 1;
 	
 	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr )
+	{
+		this(op, input1, outputs, opcode, istr, 1);
+	}
+	
+	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr, int k )
 	{
 		super(op, input1, null, outputs.get(0), opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.MultiReturnBuiltin;
 		_outputs = outputs;
+		_numThreads = k;
 	}
 
 	public int getArity() {
@@ -68,8 +74,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 		}
 		else if ( opcode.equalsIgnoreCase("lu") ) {
 			CPOperand in1 = new CPOperand(parts[1]);
@@ -78,8 +85,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("eigen") ) {
@@ -87,8 +95,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else {
@@ -102,11 +111,13 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 		throws DMLRuntimeException, DMLUnsupportedOperationException 
 	{
 		String opcode = getOpcode();
-		MatrixObject mo = (MatrixObject) ec.getVariable(input1.getName());
 		MatrixBlock[] out = null;
 		
-		if(LibCommonsMath.isSupportedMultiReturnOperation(opcode))
-			out = LibCommonsMath.multiReturnOperations(mo, opcode);
+		if(LibMatrixLinAlg.isSupportedMultiReturnOperation(opcode)) {
+			MatrixBlock in = ec.getMatrixInput(input1.getName());
+			out = LibMatrixLinAlg.multiReturnOperations(in, opcode, _numThreads);
+			ec.releaseMatrixInput(input1.getName());
+		}
 		else 
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
 
@@ -23,7 +23,9 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction 
@@ -36,11 +38,18 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static RelationalBinaryCPInstruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		
+		//optional degree of parallelism (only for CP matrix operations)
+		int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
 		
 		// TODO: Relational operations need not have value type checking
 		ValueType vt1 = in1.getValueType();
@@ -74,6 +83,10 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		Operator operator = (dt1 != dt2) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
 					InstructionUtils.parseBinaryOperator(opcode);
+		if( operator instanceof ScalarOperator )
+			((ScalarOperator)operator).setNumThreads(k);
+		else
+			((BinaryOperator)operator).setNumThreads(k);
 		
 		//for scalar relational operations we only allow boolean operands
 		//or when both operands are numeric (int or double)
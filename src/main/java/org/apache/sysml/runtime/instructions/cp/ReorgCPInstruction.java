@@ -84,8 +84,12 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase("r'") ) {
-			parseUnaryInstruction(str, in, out); //max 2 operands
-			return new ReorgCPInstruction(new ReorgOperator(SwapIndex.getSwapIndexFnObject()), in, out, opcode, str);
+			InstructionUtils.checkNumFields(parts, 2, 3);
+			in.split(parts[1]);
+			out.split(parts[2]);
+			//optional degree of parallelism
+			int k = (parts.length > 3) ? Integer.parseInt(parts[3]) : 1;
+			return new ReorgCPInstruction(new ReorgOperator(SwapIndex.getSwapIndexFnObject(), k), in, out, opcode, str);
 		} 
 		else if ( opcode.equalsIgnoreCase("rdiag") ) {
 			parseUnaryInstruction(str, in, out); //max 2 operands
@@ -122,7 +126,8 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 			int col = (int)ec.getScalarInput(_col.getName(), _col.getValueType(), _col.isLiteral()).getLongValue();
 			boolean desc = ec.getScalarInput(_desc.getName(), _desc.getValueType(), _desc.isLiteral()).getBooleanValue();
 			boolean ixret = ec.getScalarInput(_ixret.getName(), _ixret.getValueType(), _ixret.isLiteral()).getBooleanValue();
-			r_op.fn = SortIndex.getSortIndexFnObject(col, desc, ixret);
+			//create operator copy (shared instructions for concurrent execution)
+			r_op = new ReorgOperator(SortIndex.getSortIndexFnObject(col, desc, ixret), r_op.getNumThreads());
 		}
 		
 		//execute operation
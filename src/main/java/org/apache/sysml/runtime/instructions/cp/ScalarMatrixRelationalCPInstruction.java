@@ -50,8 +50,8 @@ public class ScalarMatrixRelationalCPInstruction extends RelationalBinaryCPInstr
 		MatrixBlock inBlock = ec.getMatrixInput(mat.getName());
 		ScalarObject constant = (ScalarObject) ec.getScalarInput(scalar.getName(), scalar.getValueType(), scalar.isLiteral());
 		
-		ScalarOperator sc_op = (ScalarOperator) _optr;
-		sc_op.setConstant(constant.getDoubleValue());
+		//bind constant to operator copy (shared instructions for concurrent execution)
+		ScalarOperator sc_op = ((ScalarOperator) _optr).copyWithConstant(constant.getDoubleValue());
 		
 		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock());
 		
@@ -29,7 +29,9 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -140,6 +142,21 @@ public class IOUtilFunctions
 		}
 	}
 	
+	/**
+	 * 
+	 * @param lr
+	 */
+	public static void closeSilently( LineReader lr ) 
+	{
+		try {
+			if( lr != null )
+				lr.close();
+        } 
+		catch (Exception ex) {
+           LOG.error("Failed to close line reader.", ex);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param br
@@ -185,6 +202,42 @@ public class IOUtilFunctions
 		}
 	}
 	
+	/**
+	 * Byte-level variant of the empty field check, which only materializes
+	 * the line as string in case of errors.
+	 * 
+	 * @param line
+	 * @param fill
+	 * @param emptyFound
+	 * @throws IOException
+	 */
+	public static void checkAndRaiseErrorCSVEmptyField(Text line, boolean fill, boolean emptyFound) 
+		throws IOException
+	{
+		if ( !fill && emptyFound) {
+			checkAndRaiseErrorCSVEmptyField(line.toString().trim(), fill, emptyFound);
+		}
+	}
+	
+	/**
+	 * Byte-level variant of the number of columns check, which only materializes
+	 * the line as string in case of errors.
+	 * 
+	 * @param fname
+	 * @param line
+	 * @param realncol
+	 * @param ncol
+	 * @throws IOException
+	 */
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, Text line, int realncol, long ncol) 
+		throws IOException
+	{
+		if( realncol != ncol ) {
+			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
+					+ "found in delimited file (" + fname + ") for line: " + line.toString().trim());
+		}
+	}
+	
 	/**
 	 * Splits a string by a specified delimiter into all tokens, including empty.
 	 * NOTE: This method is meant as a faster drop-in replacement of the regular 
@@ -0,0 +1,951 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.util.IndexRange;
+
+/**
+ * Memory-mapped binary block file on the local file system. In contrast to the
+ * sequence-file-based binary block format, all blocks of a matrix are stored in a
+ * single file with a footer index of block offsets and statistics. This allows (1) bulk
+ * transfers of dense blocks and sparse rows from/to the mapped file via DoubleBuffer/IntBuffer
+ * views instead of per-value stream (de)serialization, (2) concurrent reads and writes
+ * of disjoint blocks without locking, (3) random access to individual blocks, and
+ * (4) range reads that only access the non-empty blocks overlapping an index range.
+ *
+ * File layout (all values in the native byte order recorded in the header):
+ * HEADER  magic, byte order, version, rlen, clen, brlen, bclen, index offset, num blocks
+ * BLOCKS  per non-empty block (8-byte aligned): type, rows, cols, nnz, and payload
+ *         dense:  rows*cols values (row-major, double)
+ *         sparse: rows row lengths (int), nnz column indexes (int), nnz values (double)
+ * INDEX   per non-empty block: row block index, column block index, offset, nnz (long),
+ *         min, max (double)
+ *
+ * Since a single mapping is limited to 2GB, the file is mapped in windows of
+ * consecutive blocks of at most MAX_WINDOW_SIZE bytes.
+ *
+ */
+public class LocalBinaryBlockFile
+{
+	private static final byte[] MAGIC = new byte[]{'S','Y','S','M','L','B','B','F'};
+	private static final int VERSION = 2;
+
+	private static final int HEADER_SIZE = 64;
+	private static final int BLOCK_HEADER_SIZE = 24;
+	private static final int INDEX_ENTRY_SIZE = 48;
+	private static final int BLOCK_DENSE = 0;
+	private static final int BLOCK_SPARSE = 1;
+
+	private static final long MAX_WINDOW_SIZE = 1L << 30; //1GB
+
+	//file meta data
+	private final File _file;
+	private final ByteOrder _order;
+	private final long _rlen;
+	private final long _clen;
+	private final int _brlen;
+	private final int _bclen;
+
+	//block index and mapped windows
+	private final long[] _rix;
+	private final long[] _cix;
+	private final long[] _off;
+	private final long[] _nnz;
+	private final double[] _min;
+	private final double[] _max;
+	private final int[] _win;
+	private final long[] _winOff;
+	private final MappedByteBuffer[] _windows;
+	private HashMap<MatrixIndexes, Integer> _map = null;
+
+	/**
+	 * Opens and maps the given local binary block file (read-only).
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public LocalBinaryBlockFile( File file )
+		throws IOException
+	{
+		_file = file;
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try
+		{
+			FileChannel ch = raf.getChannel();
+			long len = ch.size();
+			if( len < HEADER_SIZE )
+				throw new IOException("Invalid local binary block file "+file+" of size "+len+".");
+
+			//read header
+			ByteBuffer hb = ch.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+			byte[] magic = new byte[MAGIC.length];
+			hb.get(magic);
+			if( !Arrays.equals(magic, MAGIC) )
+				throw new IOException("Invalid local binary block file "+file+" (unknown magic number).");
+			_order = (hb.get()==0) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+			hb.order(_order).position(16);
+			int version = hb.getInt();
+			if( version != VERSION )
+				throw new IOException("Unsupported version "+version+" of local binary block file "+file+".");
+			hb.getInt();
+			_rlen = hb.getLong();
+			_clen = hb.getLong();
+			_brlen = hb.getInt();
+			_bclen = hb.getInt();
+			long indexOffset = hb.getLong();
+			int numBlocks = hb.getInt();
+			if( indexOffset + (long)numBlocks*INDEX_ENTRY_SIZE != len )
+				throw new IOException("Corrupted local binary block file "+file+" (inconsistent size).");
+
+			//read block index
+			_rix = new long[numBlocks];
+			_cix = new long[numBlocks];
+			_off = new long[numBlocks];
+			_nnz = new long[numBlocks];
+			_min = new double[numBlocks];
+			_max = new double[numBlocks];
+			if( numBlocks > 0 ) {
+				ByteBuffer ib = ch.map(MapMode.READ_ONLY, indexOffset, (long)numBlocks*INDEX_ENTRY_SIZE).order(_order);
+				for( int i=0; i<numBlocks; i++ ) {
+					_rix[i] = ib.getLong();
+					_cix[i] = ib.getLong();
+					_off[i] = ib.getLong();
+					_nnz[i] = ib.getLong();
+					_min[i] = ib.getDouble();
+					_max[i] = ib.getDouble();
+				}
+			}
+
+			//map windows of consecutive blocks
+			int[] wbeg = computeWindows(_off, numBlocks, indexOffset, MAX_WINDOW_SIZE);
+			_win = new int[numBlocks];
+			_winOff = new long[wbeg.length-1];
+			_windows = new MappedByteBuffer[wbeg.length-1];
+			for( int w=0; w<_windows.length; w++ ) {
+				long end = (wbeg[w+1] < numBlocks) ? _off[wbeg[w+1]] : indexOffset;
+				_winOff[w] = _off[wbeg[w]];
+				_windows[w] = ch.map(MapMode.READ_ONLY, _winOff[w], end-_winOff[w]);
+				for( int i=wbeg[w]; i<wbeg[w+1]; i++ )
+					_win[i] = w;
+			}
+		}
+		finally {
+			//note: mappings remain valid after the channel is closed
+			raf.close();
+		}
+	}
+
+	public File getFile() {
+		return _file;
+	}
+
+	public long getNumRows() {
+		return _rlen;
+	}
+
+	public long getNumColumns() {
+		return _clen;
+	}
+
+	public int getNumRowsPerBlock() {
+		return _brlen;
+	}
+
+	public int getNumColumnsPerBlock() {
+		return _bclen;
+	}
+
+	/**
+	 * Returns the number of non-empty (i.e., stored) blocks.
+	 *
+	 * @return
+	 */
+	public int getNumBlocks() {
+		return _off.length;
+	}
+
+	public MatrixIndexes getBlockIndexes( int i ) {
+		return new MatrixIndexes(_rix[i], _cix[i]);
+	}
+
+	public long getBlockRowIndex( int i ) {
+		return _rix[i];
+	}
+
+	public long getBlockColumnIndex( int i ) {
+		return _cix[i];
+	}
+
+	public long getBlockNonZeros( int i ) {
+		return _nnz[i];
+	}
+
+	public double getBlockMin( int i ) {
+		return _min[i];
+	}
+
+	public double getBlockMax( int i ) {
+		return _max[i];
+	}
+
+	/**
+	 * Returns the total number of non-zeros according to the block index.
+	 *
+	 * @return
+	 */
+	public long getNonZeros()
+	{
+		long nnz = 0;
+		for( int i=0; i<_nnz.length; i++ )
+			nnz += _nnz[i];
+		return nnz;
+	}
+
+	/**
+	 * Returns the number of non-zeros of all blocks overlapping the given
+	 * index range, which is an upper bound of the non-zeros in the range.
+	 *
+	 * @param ixrange
+	 * @return
+	 */
+	public long getNonZeros( IndexRange ixrange )
+	{
+		long nnz = 0;
+		for( int i=0; i<_nnz.length; i++ )
+			if( isBlockInRange(i, ixrange) )
+				nnz += _nnz[i];
+		return nnz;
+	}
+
+	/**
+	 * Reads the block of the given indexes, where non-existing (i.e., empty)
+	 * blocks are returned as empty blocks of the correct dimensions.
+	 *
+	 * @param ix
+	 * @return
+	 * @throws IOException
+	 */
+	public MatrixBlock readBlock( MatrixIndexes ix )
+		throws IOException
+	{
+		long nbr = (long)Math.ceil((double)_rlen/_brlen);
+		long nbc = (long)Math.ceil((double)_clen/_bclen);
+		if( ix.getRowIndex() < 1 || ix.getRowIndex() > nbr || ix.getColumnIndex() < 1 || ix.getColumnIndex() > nbc )
+			throw new IOException("Block index "+ix+" out of range [1:"+nbr+",1:"+nbc+"] of file "+_file+".");
+
+		Integer pos = getBlockMap().get(ix);
+		if( pos != null )
+			return readBlock(pos);
+
+		//empty block
+		int rows = (int)Math.min(_brlen, _rlen-(ix.getRowIndex()-1)*_brlen);
+		int cols = (int)Math.min(_bclen, _clen-(ix.getColumnIndex()-1)*_bclen);
+		return new MatrixBlock(rows, cols, true);
+	}
+
+	/**
+	 * Reads the i-th stored block into a new matrix block.
+	 *
+	 * @param i
+	 * @return
+	 * @throws IOException
+	 */
+	public MatrixBlock readBlock( int i )
+		throws IOException
+	{
+		ByteBuffer buf = getBlockBuffer(i);
+		int pos = buf.position();
+		boolean sparse = (buf.getInt(pos) == BLOCK_SPARSE);
+		int rows = buf.getInt(pos+4);
+		int cols = buf.getInt(pos+8);
+		long nnz = buf.getLong(pos+16);
+
+		MatrixBlock ret = new MatrixBlock(rows, cols, sparse, nnz);
+		if( sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		readBlockInto(buf, ret, 0, rows, 0, cols, 0, 0);
+		ret.setNonZeros(nnz);
+
+		return ret;
+	}
+
+	/**
+	 * Reads the i-th stored block into the given target matrix at the position
+	 * of the block. Concurrent reads into the same target are safe as long as
+	 * they affect disjoint rows. Note that sparse rows are appended and hence
+	 * might require a final sort.
+	 *
+	 * @param i
+	 * @param dest
+	 * @return number of non-zeros of the block
+	 * @throws IOException
+	 */
+	public long readBlockInto( int i, MatrixBlock dest )
+		throws IOException
+	{
+		int rows = (int)Math.min(_brlen, _rlen-(_rix[i]-1)*_brlen);
+		int cols = (int)Math.min(_bclen, _clen-(_cix[i]-1)*_bclen);
+		readBlockInto(getBlockBuffer(i), dest, 0, rows, 0, cols,
+			(int)((_rix[i]-1)*_brlen), (int)((_cix[i]-1)*_bclen));
+		return _nnz[i];
+	}
+
+	/**
+	 * Reads the given index range (1-based, inclusive) into a new matrix block.
+	 * Only non-empty blocks overlapping the range are accessed, where blocks that
+	 * are fully covered are copied entirely, and all other blocks are clipped
+	 * during the copy. The output representation is determined by the nnz of
+	 * the overlapping blocks as recorded in the block index.
+	 *
+	 * @param ixrange
+	 * @return
+	 * @throws IOException
+	 */
+	public MatrixBlock readRange( IndexRange ixrange )
+		throws IOException
+	{
+		if( ixrange.rowStart < 1 || ixrange.rowEnd > _rlen || ixrange.rowStart > ixrange.rowEnd
+			|| ixrange.colStart < 1 || ixrange.colEnd > _clen || ixrange.colStart > ixrange.colEnd )
+		{
+			throw new IOException("Invalid index range "+ixrange+" for matrix of size ["+_rlen+"x"+_clen+"] in file "+_file+".");
+		}
+
+		//allocate output block (upper bound of nnz from block index)
+		int rows = (int)(ixrange.rowEnd-ixrange.rowStart+1);
+		int cols = (int)(ixrange.colEnd-ixrange.colStart+1);
+		long estnnz = Math.min(getNonZeros(ixrange), (long)rows*cols);
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rows, cols, estnnz);
+		MatrixBlock ret = new MatrixBlock(rows, cols, sparse, estnnz);
+		if( estnnz == 0 )
+			return ret;
+		if( sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+
+		//copy overlapping non-empty blocks (in row-major order, i.e., w/o need for sort)
+		int rl = (int)ixrange.rowStart-1, ru = (int)ixrange.rowEnd;
+		int cl = (int)ixrange.colStart-1, cu = (int)ixrange.colEnd;
+		for( int i=0; i<_off.length; i++ ) {
+			if( !isBlockInRange(i, ixrange) )
+				continue;
+			int brl = (int)(_rix[i]-1)*_brlen, bcl = (int)(_cix[i]-1)*_bclen;
+			int rbeg = Math.max(rl, brl), rend = (int)Math.min(ru, Math.min(brl+_brlen, _rlen));
+			int cbeg = Math.max(cl, bcl), cend = (int)Math.min(cu, Math.min(bcl+_bclen, _clen));
+			readBlockInto(getBlockBuffer(i), ret, rbeg-brl, rend-brl, cbeg-bcl, cend-bcl, rbeg-rl, cbeg-cl);
+		}
+
+		ret.recomputeNonZeros();
+
+		return ret;
+	}
+
+	/**
+	 * Indicates if the given path refers to a local binary block file,
+	 * which is determined via the magic number.
+	 *
+	 * @param fs
+	 * @param path
+	 * @return
+	 * @throws IOException
+	 */
+	public static boolean isLocalBinaryBlockFile( FileSystem fs, Path path )
+		throws IOException
+	{
+		if( !isLocalFileSystem(fs) )
+			return false;
+
+		File file = getLocalFile(fs, path);
+		if( !file.isFile() || file.length() < HEADER_SIZE )
+			return false;
+
+		byte[] magic = new byte[MAGIC.length];
+		FileInputStream in = new FileInputStream(file);
+		try {
+			int len = in.read(magic);
+			return len == MAGIC.length && Arrays.equals(magic, MAGIC);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	/**
+	 *
+	 * @param fs
+	 * @return
+	 */
+	public static boolean isLocalFileSystem( FileSystem fs )
+	{
+		return fs instanceof LocalFileSystem
+			|| fs instanceof RawLocalFileSystem;
+	}
+
+	/**
+	 *
+	 * @param fs
+	 * @param path
+	 * @return
+	 */
+	public static File getLocalFile( FileSystem fs, Path path )
+	{
+		return new File(fs.makeQualified(path).toUri().getPath());
+	}
+
+	/**
+	 * Writes the given matrix block as local binary block file, where blocks are
+	 * written in parallel into disjoint windows of the mapped file.
+	 *
+	 * @param file
+	 * @param src
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param k
+	 * @throws IOException
+	 */
+	public static void writeMatrix( File file, MatrixBlock src, long rlen, long clen, int brlen, int bclen, int k )
+		throws IOException
+	{
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		ByteOrder order = ByteOrder.nativeOrder();
+		int nbr = (int)Math.ceil((double)rlen/brlen);
+		int nbc = (int)Math.ceil((double)clen/bclen);
+
+		//compute non-zeros, sizes, and offsets of non-empty blocks
+		int n = 0;
+		long[] rix = new long[nbr*nbc];
+		long[] cix = new long[nbr*nbc];
+		long[] off = new long[nbr*nbc];
+		long[] nnz = new long[nbr*nbc];
+		double[] min = new double[nbr*nbc];
+		double[] max = new double[nbr*nbc];
+		double[] minmax = new double[2];
+		long pos = HEADER_SIZE;
+		if( !src.isEmptyBlock(false) ) {
+			for( int bi=0; bi<nbr; bi++ )
+				for( int bj=0; bj<nbc; bj++ ) {
+					int rl = bi*brlen, ru = (int)Math.min(rl+brlen, rlen);
+					int cl = bj*bclen, cu = (int)Math.min(cl+bclen, clen);
+					long bnnz = computeBlockStatistics(src, rl, ru, cl, cu, minmax);
+					if( bnnz == 0 )
+						continue;
+					rix[n] = bi+1; cix[n] = bj+1; off[n] = pos; nnz[n] = bnnz;
+					min[n] = minmax[0]; max[n] = minmax[1];
+					pos = align8(pos + BLOCK_HEADER_SIZE + (src.isInSparseFormat() ?
+						getSparsePayloadSize(ru-rl, bnnz) : 8L*(ru-rl)*(cu-cl)));
+					n++;
+				}
+		}
+		long indexOffset = pos;
+
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try
+		{
+			raf.setLength(indexOffset + (long)n*INDEX_ENTRY_SIZE);
+			FileChannel ch = raf.getChannel();
+
+			//write header
+			ByteBuffer hb = ch.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+			hb.put(MAGIC);
+			hb.put((byte)(order==ByteOrder.BIG_ENDIAN ? 0 : 1));
+			hb.order(order).position(16);
+			hb.putInt(VERSION).putInt(0);
+			hb.putLong(rlen).putLong(clen);
+			hb.putInt(brlen).putInt(bclen);
+			hb.putLong(indexOffset).putInt(n);
+
+			//write block index (footer)
+			if( n > 0 ) {
+				ByteBuffer ib = ch.map(MapMode.READ_WRITE, indexOffset, (long)n*INDEX_ENTRY_SIZE).order(order);
+				for( int i=0; i<n; i++ ) {
+					ib.putLong(rix[i]).putLong(cix[i]).putLong(off[i]);
+					ib.putLong(nnz[i]).putDouble(min[i]).putDouble(max[i]);
+				}
+			}
+
+			//write blocks in parallel windows (max window size for load balance)
+			long maxWindow = Math.min(MAX_WINDOW_SIZE, Math.max(indexOffset/Math.max(k,1), 1));
+			int[] wbeg = computeWindows(off, n, indexOffset, maxWindow);
+			ArrayList<WriteWindowTask> tasks = new ArrayList<WriteWindowTask>();
+			for( int w=0; w<wbeg.length-1; w++ ) {
+				long end = (wbeg[w+1] < n) ? off[wbeg[w+1]] : indexOffset;
+				ByteBuffer buf = ch.map(MapMode.READ_WRITE, off[wbeg[w]], end-off[wbeg[w]]).order(order);
+				tasks.add(new WriteWindowTask(buf, src, wbeg[w], wbeg[w+1], rix, cix, off, nnz, rlen, clen, brlen, bclen));
+			}
+
+			if( k <= 1 || tasks.size() <= 1 ) {
+				for( WriteWindowTask task : tasks )
+					task.call();
+			}
+			else {
+				ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, tasks.size()));
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : rt )
+					task.get();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed write of local binary block file "+file+".", ex);
+		}
+		finally {
+			raf.close();
+		}
+	}
+
+	/////////////////////////
+	// private helper methods
+
+	/**
+	 *
+	 * @return
+	 */
+	private synchronized HashMap<MatrixIndexes, Integer> getBlockMap()
+	{
+		//lazy construction of index map for random access
+		if( _map == null ) {
+			_map = new HashMap<MatrixIndexes, Integer>();
+			for( int i=0; i<_off.length; i++ )
+				_map.put(new MatrixIndexes(_rix[i], _cix[i]), i);
+		}
+		return _map;
+	}
+
+	/**
+	 * Returns a thread-local view of the mapped window of the i-th block,
+	 * positioned at the block header.
+	 *
+	 * @param i
+	 * @return
+	 */
+	private ByteBuffer getBlockBuffer( int i )
+	{
+		int w = _win[i];
+		ByteBuffer buf = _windows[w].duplicate().order(_order);
+		buf.position((int)(_off[i]-_winOff[w]));
+		return buf;
+	}
+
+	/**
+	 *
+	 * @param i
+	 * @param ixrange
+	 * @return
+	 */
+	private boolean isBlockInRange( int i, IndexRange ixrange )
+	{
+		long brl = (_rix[i]-1)*_brlen + 1, bru = brl + _brlen - 1;
+		long bcl = (_cix[i]-1)*_bclen + 1, bcu = bcl + _bclen - 1;
+		return brl <= ixrange.rowEnd && bru >= ixrange.rowStart
+			&& bcl <= ixrange.colEnd && bcu >= ixrange.colStart;
+	}
+
+	/**
+	 * Copies the cells [rbeg,rend) x [cbeg,cend) of the block at the current buffer
+	 * position into the target at row/column offsets rl and cl.
+	 *
+	 * @param buf
+	 * @param dest
+	 * @param rbeg
+	 * @param rend
+	 * @param cbeg
+	 * @param cend
+	 * @param rl
+	 * @param cl
+	 * @throws IOException
+	 */
+	private void readBlockInto( ByteBuffer buf, MatrixBlock dest, int rbeg, int rend, int cbeg, int cend, int rl, int cl )
+		throws IOException
+	{
+		int pos = buf.position();
+		int type = buf.getInt(pos);
+		int rows = buf.getInt(pos+4);
+		int cols = buf.getInt(pos+8);
+		long nnz = buf.getLong(pos+16);
+		pos += BLOCK_HEADER_SIZE;
+
+		//bound check per block
+		int clen = dest.getNumColumns();
+		int len = cend - cbeg;
+		if( rend > rows || cend > cols || rl + rend-rbeg > dest.getNumRows() || cl + len > clen ) {
+			throw new IOException("Matrix block ["+(rl+1)+":"+(rl+rend-rbeg)+","+(cl+1)+":"+(cl+len)+"] " +
+					              "out of overall matrix range [1:"+dest.getNumRows()+",1:"+clen+"].");
+		}
+
+		if( type == BLOCK_DENSE )
+		{
+			DoubleBuffer vals = view(buf, pos).asDoubleBuffer();
+			if( !dest.isInSparseFormat() ) { //DENSE<-DENSE
+				double[] c = dest.getDenseArray();
+				if( len == clen && len == cols ) {
+					vals.position(rbeg*cols);
+					vals.get(c, rl*clen, (rend-rbeg)*cols);
+				}
+				else
+					for( int i=rbeg, cix=rl*clen+cl; i<rend; i++, cix+=clen ) {
+						vals.position(i*cols+cbeg);
+						vals.get(c, cix, len);
+					}
+			}
+			else { //SPARSE<-DENSE
+				SparseRow[] c = dest.getSparseRows();
+				double[] tmp = new double[len];
+				for( int i=rbeg, cix=rl; i<rend; i++, cix++ ) {
+					vals.position(i*cols+cbeg);
+					vals.get(tmp, 0, len);
+					for( int j=0; j<len; j++ )
+						if( tmp[j] != 0 ) {
+							if( c[cix] == null )
+								c[cix] = new SparseRow(len, clen);
+							c[cix].append(cl+j, tmp[j]);
+						}
+				}
+			}
+		}
+		else if( type == BLOCK_SPARSE )
+		{
+			int[] lens = new int[rows];
+			view(buf, pos).asIntBuffer().get(lens);
+			int ipos = pos + 4*rows;
+			IntBuffer ix = view(buf, ipos).asIntBuffer();
+			DoubleBuffer vals = view(buf, (int)align8(ipos + 4*nnz)).asDoubleBuffer();
+			boolean allCols = (cbeg == 0 && cend == cols);
+
+			//skip rows before range
+			int apos = 0;
+			for( int i=0; i<rbeg; i++ )
+				apos += lens[i];
+
+			if( dest.isInSparseFormat() ) { //SPARSE<-SPARSE
+				SparseRow[] c = dest.getSparseRows();
+				for( int i=rbeg, cix=rl; i<rend; apos+=lens[i], i++, cix++ ) {
+					int alen = lens[i];
+					if( alen == 0 )
+						continue;
+					ix.position(apos);
+					vals.position(apos);
+					if( allCols && c[cix] == null && cl == 0 ) {
+						//bulk transfer into new row
+						SparseRow row = new SparseRow(alen);
+						ix.get(row.getIndexContainer(), 0, alen);
+						vals.get(row.getValueContainer(), 0, alen);
+						row.setSize(alen);
+						c[cix] = row;
+					}
+					else {
+						for( int j=0; j<alen; j++ ) {
+							int aix = ix.get();
+							double val = vals.get();
+							if( aix < cbeg || aix >= cend )
+								continue;
+							if( c[cix] == null )
+								c[cix] = new SparseRow(alen, clen);
+							c[cix].append(cl+aix-cbeg, val);
+						}
+					}
+				}
+			}
+			else { //DENSE<-SPARSE
+				double[] c = dest.getDenseArray();
+				for( int i=rbeg, cix=rl*clen+cl-cbeg; i<rend; apos+=lens[i], i++, cix+=clen ) {
+					for( int j=apos; j<apos+lens[i]; j++ ) {
+						int aix = ix.get(j);
+						if( allCols || (aix >= cbeg && aix < cend) )
+							c[cix+aix] = vals.get(j);
+					}
+				}
+			}
+		}
+		else {
+			throw new IOException("Unknown block type "+type+" in local binary block file "+_file+".");
+		}
+	}
+
+	/**
+	 *
+	 * @param buf
+	 * @param pos
+	 * @return
+	 */
+	private static ByteBuffer view( ByteBuffer buf, int pos )
+	{
+		ByteOrder order = buf.order();
+		ByteBuffer ret = buf.duplicate();
+		ret.position(pos);
+		return ret.order(order);
+	}
+
+	/**
+	 * Computes the start blocks of windows of consecutive blocks, where each
+	 * window (except for single large blocks) is at most maxSize bytes.
+	 *
+	 * @param off
+	 * @param n
+	 * @param end
+	 * @param maxSize
+	 * @return window start blocks (incl. n as last entry)
+	 * @throws IOException
+	 */
+	private static int[] computeWindows( long[] off, int n, long end, long maxSize )
+		throws IOException
+	{
+		ArrayList<Integer> wbeg = new ArrayList<Integer>();
+		for( int i=0; i<n; i++ ) {
+			long bend = (i+1 < n) ? off[i+1] : end;
+			if( bend - off[i] > Integer.MAX_VALUE )
+				throw new IOException("Block size of "+(bend-off[i])+" bytes exceeds the max mapping size.");
+			if( wbeg.isEmpty() || bend - off[wbeg.get(wbeg.size()-1)] > maxSize )
+				wbeg.add(i);
+		}
+		wbeg.add(n);
+
+		int[] ret = new int[wbeg.size()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = wbeg.get(i);
+		return ret;
+	}
+
+	/**
+	 * Computes the number of non-zeros as well as min and max of the given block
+	 * range, where min and max include zero if the block contains zeros.
+	 *
+	 * @param src
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 * @param minmax
+	 * @return
+	 */
+	private static long computeBlockStatistics( MatrixBlock src, int rl, int ru, int cl, int cu, double[] minmax )
+	{
+		long nnz = 0;
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		if( src.isInSparseFormat() ) {
+			SparseRow[] a = src.getSparseRows();
+			for( int i=rl; i<Math.min(ru, a.length); i++ )
+				if( a[i] != null && !a[i].isEmpty() ) {
+					int[] range = getSparseRange(a[i], cl, cu);
+					double[] avals = a[i].getValueContainer();
+					for( int j=range[0]; j<range[1]; j++ ) {
+						min = Math.min(min, avals[j]);
+						max = Math.max(max, avals[j]);
+					}
+					nnz += range[1] - range[0];
+				}
+		}
+		else {
+			double[] a = src.getDenseArray();
+			int n = src.getNumColumns();
+			for( int i=rl, aix=rl*n; i<Math.min(ru, src.getNumRows()); i++, aix+=n )
+				for( int j=cl; j<Math.min(cu, n); j++ )
+					if( a[aix+j] != 0 ) {
+						min = Math.min(min, a[aix+j]);
+						max = Math.max(max, a[aix+j]);
+						nnz++;
+					}
+		}
+
+		//account for zeros
+		if( nnz < (long)(ru-rl)*(cu-cl) ) {
+			min = Math.min(min, 0);
+			max = Math.max(max, 0);
+		}
+		minmax[0] = min;
+		minmax[1] = max;
+
+		return nnz;
+	}
+
+	/**
+	 * Returns the position range [beg, end) of entries in the column range [cl, cu).
+	 *
+	 * @param row
+	 * @param cl
+	 * @param cu
+	 * @return
+	 */
+	private static int[] getSparseRange( SparseRow row, int cl, int cu )
+	{
+		int[] ix = row.getIndexContainer();
+		int size = row.size();
+		int beg = (cl > 0) ? Arrays.binarySearch(ix, 0, size, cl) : 0;
+		beg = (beg < 0) ? -beg-1 : beg;
+		int end = Arrays.binarySearch(ix, beg, size, cu);
+		end = (end < 0) ? -end-1 : end;
+		return new int[]{beg, end};
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param nnz
+	 * @return
+	 */
+	private static long getSparsePayloadSize( int rows, long nnz )
+	{
+		return align8(4L*rows + 4L*nnz) + 8L*nnz;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return
+	 */
+	private static long align8( long pos )
+	{
+		return (pos + 7) & ~7L;
+	}
+
+	/**
+	 * Writes a range of consecutive blocks into a mapped window of the file.
+	 */
+	private static class WriteWindowTask implements Callable<Object>
+	{
+		private ByteBuffer _buf = null;
+		private MatrixBlock _src = null;
+		private int _beg = -1;
+		private int _end = -1;
+		private long[] _rix = null;
+		private long[] _cix = null;
+		private long[] _off = null;
+		private long[] _nnz = null;
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+
+		public WriteWindowTask( ByteBuffer buf, MatrixBlock src, int beg, int end, long[] rix, long[] cix, long[] off, long[] nnz, long rlen, long clen, int brlen, int bclen )
+		{
+			_buf = buf;
+			_src = src;
+			_beg = beg;
+			_end = end;
+			_rix = rix;
+			_cix = cix;
+			_off = off;
+			_nnz = nnz;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+
+		@Override
+		public Object call() throws Exception
+		{
+			boolean sparse = _src.isInSparseFormat();
+			int n = _src.getNumColumns();
+
+			for( int b=_beg; b<_end; b++ )
+			{
+				int rl = (int)(_rix[b]-1)*_brlen, rows = (int)Math.min(_brlen, _rlen-rl);
+				int cl = (int)(_cix[b]-1)*_bclen, cols = (int)Math.min(_bclen, _clen-cl);
+				int pos = (int)(_off[b]-_off[_beg]);
+
+				//write block header
+				_buf.position(pos);
+				_buf.putInt(sparse ? BLOCK_SPARSE : BLOCK_DENSE);
+				_buf.putInt(rows).putInt(cols).putInt(0);
+				_buf.putLong(_nnz[b]);
+				pos += BLOCK_HEADER_SIZE;
+
+				//write block payload
+				if( sparse ) {
+					SparseRow[] a = _src.getSparseRows();
+					IntBuffer lens = view(_buf, pos).asIntBuffer();
+					int ipos = pos + 4*rows;
+					IntBuffer ix = view(_buf, ipos).asIntBuffer();
+					DoubleBuffer vals = view(_buf, (int)align8(ipos + 4*_nnz[b])).asDoubleBuffer();
+					for( int i=rl; i<rl+rows; i++ ) {
+						if( i >= a.length || a[i] == null || a[i].isEmpty() ) {
+							lens.put(0);
+							continue;
+						}
+						int[] range = getSparseRange(a[i], cl, cl+cols);
+						int alen = range[1] - range[0];
+						lens.put(alen);
+						int[] aix = a[i].getIndexContainer();
+						if( cl == 0 )
+							ix.put(aix, range[0], alen);
+						else
+							for( int j=range[0]; j<range[1]; j++ )
+								ix.put(aix[j]-cl);
+						vals.put(a[i].getValueContainer(), range[0], alen);
+					}
+				}
+				else {
+					double[] a = _src.getDenseArray();
+					DoubleBuffer vals = view(_buf, pos).asDoubleBuffer();
+					int ru = Math.min(rl+rows, _src.getNumRows());
+					int ncols = Math.min(cols, n-cl);
+					for( int i=rl; i<ru; i++ ) {
+						vals.position((i-rl)*cols);
+						vals.put(a, i*n+cl, ncols);
+					}
+				}
+			}
+
+			return null;
+		}
+	}
+}
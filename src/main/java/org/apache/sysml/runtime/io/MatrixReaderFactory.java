@@ -55,8 +55,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV(new CSVFileFormatProperties());
 		}
-		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
-			reader = new ReaderBinaryCell();
+		else if( iinfo == InputInfo.BinaryCellInputInfo ) {
+			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
+				reader = new ReaderBinaryCellParallel();
+			else
+				reader = new ReaderBinaryCell();
+		}
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
 			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
 				reader = new ReaderBinaryBlockParallel( false );
@@ -99,8 +103,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV( props.formatProperties!=null ? (CSVFileFormatProperties)props.formatProperties : new CSVFileFormatProperties());
 		}
-		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
-			reader = new ReaderBinaryCell();
+		else if( iinfo == InputInfo.BinaryCellInputInfo ) {
+			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
+				reader = new ReaderBinaryCellParallel();
+			else
+				reader = new ReaderBinaryCell();
+		}
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
 			if( OptimizerUtils.PARALLEL_CP_READ_BINARYFORMATS )
 				reader = new ReaderBinaryBlockParallel( props.localFS );
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
@@ -81,10 +83,15 @@ public class MatrixWriterFactory
 				writer = new WriterTextCSV((CSVFileFormatProperties)props);
 		}
 		else if( oinfo == OutputInfo.BinaryCellOutputInfo ) {
-			writer = new WriterBinaryCell();
+			if( OptimizerUtils.PARALLEL_CP_WRITE_BINARYFORMATS )
+				writer = new WriterBinaryCellParallel();
+			else
+				writer = new WriterBinaryCell();
 		}
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo ) {
-			if( OptimizerUtils.PARALLEL_CP_WRITE_BINARYFORMATS )
+			if( OptimizerUtils.ALLOW_LOCAL_MMAP_BINARY_BLOCK && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE )
+				writer = new WriterBinaryBlockLocal(replication);
+			else if( OptimizerUtils.PARALLEL_CP_WRITE_BINARYFORMATS )
 				writer = new WriterBinaryBlockParallel(replication);
 			else
 				writer = new WriterBinaryBlock(replication);
@@ -52,9 +52,6 @@ public class ReaderBinaryBlock extends MatrixReader
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
@@ -62,6 +59,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//delegate memory-mapped local binary block files
+		if( LocalBinaryBlockFile.isLocalBinaryBlockFile(fs, path) )
+			return new ReaderBinaryBlockLocal(1).readMatrixFromHDFS(path.toString(), rlen, clen, brlen, bclen, estnnz);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
@@ -99,6 +103,10 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//delegate memory-mapped local binary block files
+		if( LocalBinaryBlockFile.isLocalBinaryBlockFile(fs, path) )
+			return new ReaderBinaryBlockLocal(1).readIndexedMatrixBlocksFromHDFS(path.toString());
 	
 		//core read 
 		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+import org.apache.sysml.runtime.util.IndexRange;
+
+/**
+ * Reader for memory-mapped local binary block files (see LocalBinaryBlockFile).
+ * Since blocks are directly transferred from the mapped file, there is no need
+ * for intermediate block deserialization. For parallel reads, we create tasks of
+ * disjoint block rows, which allows lock-free inserts into dense and sparse targets.
+ * Furthermore, this reader supports range reads of the blocks overlapping an index 
+ * range, which allows to push right indexing into the read of a matrix.
+ *
+ * Note: This reader is usually not created via the reader factory but by the binary
+ * block readers, which transparently delegate to it if the input is a local binary
+ * block file.
+ *
+ */
+public class ReaderBinaryBlockLocal extends MatrixReader
+{
+	private int _numThreads = 1;
+
+	public ReaderBinaryBlockLocal( int numThreads )
+	{
+		_numThreads = numThreads;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		LocalBinaryBlockFile file = openFile(fname, rlen, clen, brlen, bclen);
+
+		//allocate output matrix block (incl block allocation for parallel)
+		//(exact nnz from block index, which is known before the read)
+		MatrixBlock ret = createOutputMatrixBlock(file.getNumRows(), file.getNumColumns(), file.getNonZeros(), true, true);
+
+		//core read
+		readLocalBinaryBlockMatrix(file, ret, _numThreads);
+
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	/**
+	 * Reads the given index range (1-based, inclusive) of a local binary block file,
+	 * where only the non-empty blocks that overlap the range are accessed.
+	 *
+	 * @param fname
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @param ixrange
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	public MatrixBlock readMatrixRangeFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, IndexRange ixrange)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		LocalBinaryBlockFile file = openFile(fname, rlen, clen, brlen, bclen);
+
+		//core read of overlapping blocks
+		MatrixBlock ret = file.readRange(ixrange);
+
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	/**
+	 * Reads all non-empty blocks of the given local binary block file.
+	 *
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	public ArrayList<IndexedMatrixValue> readIndexedMatrixBlocksFromHDFS(String fname)
+		throws IOException
+	{
+		LocalBinaryBlockFile file = openFile(fname, -1, -1, -1, -1);
+
+		ArrayList<IndexedMatrixValue> ret = new ArrayList<IndexedMatrixValue>();
+		for( int i=0; i<file.getNumBlocks(); i++ )
+			ret.add(new IndexedMatrixValue(file.getBlockIndexes(i), file.readBlock(i)));
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param fname
+	 * @param rlen
+	 * @param clen
+	 * @param brlen
+	 * @param bclen
+	 * @return
+	 * @throws IOException
+	 */
+	private static LocalBinaryBlockFile openFile( String fname, long rlen, long clen, int brlen, int bclen )
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.getLocal(job);
+		Path path = new Path(fname);
+		checkValidInputFile(fs, path);
+		LocalBinaryBlockFile file = new LocalBinaryBlockFile(LocalBinaryBlockFile.getLocalFile(fs, path));
+
+		//check for consistent meta data
+		if( (rlen > 0 && rlen != file.getNumRows()) || (clen > 0 && clen != file.getNumColumns())
+			|| (brlen > 0 && brlen != file.getNumRowsPerBlock()) || (bclen > 0 && bclen != file.getNumColumnsPerBlock()) )
+		{
+			throw new IOException("Inconsistent meta data of local binary block file "+file.getFile()+": "
+				+ "expected ["+rlen+"x"+clen+", "+brlen+"x"+bclen+"], but found ["+file.getNumRows()+"x"
+				+ file.getNumColumns()+", "+file.getNumRowsPerBlock()+"x"+file.getNumColumnsPerBlock()+"].");
+		}
+
+		return file;
+	}
+
+	/**
+	 *
+	 * @param file
+	 * @param dest
+	 * @param k
+	 * @throws IOException
+	 */
+	private static void readLocalBinaryBlockMatrix( LocalBinaryBlockFile file, MatrixBlock dest, int k )
+		throws IOException
+	{
+		int n = file.getNumBlocks();
+
+		//create read tasks of disjoint block rows (blocks are stored in row-major order)
+		ArrayList<ReadBlocksTask> tasks = new ArrayList<ReadBlocksTask>();
+		int blklen = (int)Math.ceil((double)n / Math.max(k, 1));
+		for( int beg=0; beg<n; ) {
+			int end = Math.min(beg+blklen, n);
+			while( end < n && file.getBlockRowIndex(end) == file.getBlockRowIndex(end-1) )
+				end++;
+			tasks.add(new ReadBlocksTask(file, dest, beg, end));
+			beg = end;
+		}
+
+		try
+		{
+			long lnnz = 0;
+			if( k <= 1 || tasks.size() <= 1 ) {
+				for( ReadBlocksTask task : tasks )
+					lnnz += task.call();
+			}
+			else {
+				ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, tasks.size()));
+				List<Future<Long>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Long> task : rt )
+					lnnz += task.get();
+			}
+
+			//post-processing
+			dest.setNonZeros( lnnz );
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed read of local binary block input.", ex);
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class ReadBlocksTask implements Callable<Long>
+	{
+		private LocalBinaryBlockFile _file = null;
+		private MatrixBlock _dest = null;
+		private int _beg = -1;
+		private int _end = -1;
+
+		public ReadBlocksTask( LocalBinaryBlockFile file, MatrixBlock dest, int beg, int end )
+		{
+			_file = file;
+			_dest = dest;
+			_beg = beg;
+			_end = end;
+		}
+
+		@Override
+		public Long call() throws Exception
+		{
+			//note: blocks of a block row are ordered by column index,
+			//hence appends to sparse rows require no final sort
+			long lnnz = 0;
+			for( int i=_beg; i<_end; i++ )
+				lnnz += _file.readBlockInto(i, _dest);
+
+			return lnnz;
+		}
+	}
+}
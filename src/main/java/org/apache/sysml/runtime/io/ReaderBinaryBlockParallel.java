@@ -54,9 +54,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{	
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
@@ -64,6 +61,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 				
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//delegate memory-mapped local binary block files
+		if( LocalBinaryBlockFile.isLocalBinaryBlockFile(fs, path) )
+			return new ReaderBinaryBlockLocal(_numThreads).readMatrixFromHDFS(path.toString(), rlen, clen, brlen, bclen, estnnz);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, estnnz, true, true);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
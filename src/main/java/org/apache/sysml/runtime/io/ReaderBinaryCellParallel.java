@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.SequenceFileInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixCell;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+
+/**
+ * Parallel version of ReaderBinaryCell.java. We create read tasks per split of the
+ * sequence files (which covers both multiple part files and large single files) and
+ * use a fixed-size thread pool to execute these tasks. If the target matrix is dense,
+ * the inserts are done lock-free. If the matrix is sparse, each read task buckets its
+ * cells into row partitions, and subsequent append tasks per row partition merge all
+ * buckets of this partition into the target. Since row partitions are disjoint, the
+ * appends are contention-free (without locking the target sparse matrix).
+ *
+ */
+public class ReaderBinaryCellParallel extends MatrixReader
+{
+	private int _numThreads = 1;
+
+	public ReaderBinaryCellParallel()
+	{
+		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, estnnz, true, true);
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//core read
+		readBinaryCellMatrixFromHDFS(path, job, ret, rlen, clen);
+
+		//post-processing (representation-specific, change of sparse/dense block representation)
+		if( ret.isInSparseFormat() )
+			ret.sortSparseRows();
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param path
+	 * @param job
+	 * @param dest
+	 * @param rlen
+	 * @param clen
+	 * @throws IOException
+	 */
+	private void readBinaryCellMatrixFromHDFS( Path path, JobConf job, MatrixBlock dest, long rlen, long clen )
+		throws IOException
+	{
+		int par = _numThreads;
+
+		FileInputFormat.addInputPath(job, path);
+		SequenceFileInputFormat<MatrixIndexes,MatrixCell> informat = new SequenceFileInputFormat<MatrixIndexes,MatrixCell>();
+		InputSplit[] splits = informat.getSplits(job, par);
+
+		//row partitions for contention-free sparse appends
+		int numParts = dest.isInSparseFormat() ? Math.max(Math.min(par, (int)rlen), 1) : 0;
+		int partlen = (int)Math.ceil((double)rlen / Math.max(numParts, 1));
+
+		try
+		{
+			ExecutorService pool = Executors.newFixedThreadPool(par);
+
+			//create and execute read tasks for all splits
+			ArrayList<ReadTask> tasks = new ArrayList<ReadTask>();
+			for( InputSplit split : splits )
+				tasks.add(new ReadTask(split, informat, job, dest, rlen, clen, numParts, partlen));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get();
+
+			//create and execute append tasks for all row partitions (sparse only)
+			if( numParts > 0 ) {
+				ArrayList<AppendTask> tasks2 = new ArrayList<AppendTask>();
+				for( int i=0; i<numParts; i++ )
+					tasks2.add(new AppendTask(tasks, dest, i));
+				List<Future<Object>> rt2 = pool.invokeAll(tasks2);
+				for( Future<Object> task : rt2 )
+					task.get();
+			}
+
+			pool.shutdown();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of binary cell input.", e);
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class ReadTask implements Callable<Object>
+	{
+		private InputSplit _split = null;
+		private SequenceFileInputFormat<MatrixIndexes,MatrixCell> _informat = null;
+		private JobConf _job = null;
+		private MatrixBlock _dest = null;
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _partlen = -1;
+		private CellBuffer[] _buffers = null;
+
+		public ReadTask( InputSplit split, SequenceFileInputFormat<MatrixIndexes,MatrixCell> informat, JobConf job, MatrixBlock dest, long rlen, long clen, int numParts, int partlen )
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_partlen = partlen;
+			if( numParts > 0 ) {
+				_buffers = new CellBuffer[numParts];
+				for( int i=0; i<numParts; i++ )
+					_buffers[i] = new CellBuffer();
+			}
+		}
+
+		public CellBuffer getBuffer( int part ) {
+			return _buffers[part];
+		}
+
+		@Override
+		public Object call() throws Exception
+		{
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixCell value = new MatrixCell();
+			int row = -1;
+			int col = -1;
+
+			RecordReader<MatrixIndexes,MatrixCell> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+
+			try
+			{
+				if( _buffers != null ) //SPARSE<-value
+				{
+					while( reader.next(key, value) ) {
+						row = (int)key.getRowIndex()-1;
+						col = (int)key.getColumnIndex()-1;
+						if( row < 0 || row >= _rlen || col < 0 || col >= _clen )
+							throw new IOException("Matrix cell ["+(row+1)+","+(col+1)+"] " +
+									              "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+						double lvalue = value.getValue();
+						if( lvalue != 0 )
+							_buffers[row/_partlen].addCell(row, col, lvalue);
+					}
+				}
+				else //DENSE<-value
+				{
+					while( reader.next(key, value) ) {
+						row = (int)key.getRowIndex()-1;
+						col = (int)key.getColumnIndex()-1;
+						if( row < 0 || row >= _rlen || col < 0 || col >= _clen )
+							throw new IOException("Matrix cell ["+(row+1)+","+(col+1)+"] " +
+									              "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+						_dest.setValueDenseUnsafe(row, col, value.getValue());
+					}
+				}
+			}
+			finally
+			{
+				IOUtilFunctions.closeSilently(reader);
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class AppendTask implements Callable<Object>
+	{
+		private ArrayList<ReadTask> _tasks = null;
+		private MatrixBlock _dest = null;
+		private int _part = -1;
+
+		public AppendTask( ArrayList<ReadTask> tasks, MatrixBlock dest, int part )
+		{
+			_tasks = tasks;
+			_dest = dest;
+			_part = part;
+		}
+
+		@Override
+		public Object call() throws Exception
+		{
+			SparseRow[] c = _dest.getSparseRows();
+			int clen = _dest.getNumColumns();
+
+			//append buffered cells of all read tasks (disjoint rows)
+			for( ReadTask task : _tasks ) {
+				CellBuffer buff = task.getBuffer(_part);
+				for( int i=0; i<buff.size(); i++ ) {
+					int row = buff._rix[i];
+					if( c[row] == null )
+						c[row] = new SparseRow(4, clen);
+					c[row].append(buff._cix[i], buff._vals[i]);
+				}
+				buff.clear();
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * Growable buffer of cells, which are appended per row partition.
+	 */
+	private static class CellBuffer
+	{
+		private int[] _rix = new int[16];
+		private int[] _cix = new int[16];
+		private double[] _vals = new double[16];
+		private int _size = 0;
+
+		public void addCell( int rix, int cix, double val )
+		{
+			if( _size == _vals.length ) {
+				int newCap = _size * 2;
+				int[] rtmp = new int[newCap];
+				int[] ctmp = new int[newCap];
+				double[] vtmp = new double[newCap];
+				System.arraycopy(_rix, 0, rtmp, 0, _size);
+				System.arraycopy(_cix, 0, ctmp, 0, _size);
+				System.arraycopy(_vals, 0, vtmp, 0, _size);
+				_rix = rtmp; _cix = ctmp; _vals = vtmp;
+			}
+			_rix[_size] = rix;
+			_cix[_size] = cix;
+			_vals[_size] = val;
+			_size++;
+		}
+
+		public int size() {
+			return _size;
+		}
+
+		public void clear() {
+			_rix = null;
+			_cix = null;
+			_vals = null;
+			_size = 0;
+		}
+	}
+}
@@ -19,25 +19,24 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 public class ReaderTextCSV extends MatrixReader
 {
@@ -117,7 +116,8 @@ public class ReaderTextCSV extends MatrixReader
 		boolean sparse = dest.isInSparseFormat();
 		
 		/////////////////////////////////////////
-		String value = null;
+		Text value = new Text();
+		FastByteTokenizer st = new FastByteTokenizer(delim, true);
 		int row = 0;
 		int col = -1;
 		double cellValue = 0;
@@ -125,9 +125,9 @@ public class ReaderTextCSV extends MatrixReader
 		
 		for(int fileNo=0; fileNo<files.size(); fileNo++)
 		{
-			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));
+			LineReader lr = new LineReader(fs.open(files.get(fileNo)));
 			if(fileNo==0 && hasHeader ) 
-				br.readLine(); //ignore header
+				lr.readLine(value); //ignore header
 			
 			// Read the data
 			boolean emptyValuesFound = false;
@@ -135,22 +135,20 @@ public class ReaderTextCSV extends MatrixReader
 			{
 				if( sparse ) //SPARSE<-value
 				{
-					while( (value=br.readLine())!=null ) //foreach line
+					while( lr.readLine(value) > 0 ) //foreach line
 					{
-						String cellStr = value.toString().trim();
+						st.reset( value ); //reinit tokenizer (incl trim)
 						emptyValuesFound = false;
-						String[] parts = IOUtilFunctions.split(cellStr, delim);
 						col = 0;
 						
-						for(String part : parts) //foreach cell
+						while( st.nextToken() ) //foreach cell
 						{
-							part = part.trim();
-							if ( part.isEmpty() ) {
+							if ( st.isEmptyToken() ) {
 								emptyValuesFound = true;
 								cellValue = fillValue;
 							}
 							else {
-								cellValue = UtilFunctions.parseToDouble(part);
+								cellValue = st.getDouble();
 							}
 							if ( cellValue != 0 ) {
 								dest.appendValue(row, col, cellValue);
@@ -160,29 +158,27 @@ public class ReaderTextCSV extends MatrixReader
 						}
 						
 						//sanity checks for empty values and number of columns
-						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), cellStr, parts, clen);
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value, fill, emptyValuesFound);
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), value, col, clen);
 						row++;
 					}
 				} 
 				else //DENSE<-value
 				{
-					while( (value=br.readLine())!=null ) //foreach line
+					while( lr.readLine(value) > 0 ) //foreach line
 					{
-						String cellStr = value.toString().trim();
+						st.reset( value ); //reinit tokenizer (incl trim)
 						emptyValuesFound = false;
-						String[] parts = IOUtilFunctions.split(cellStr, delim);
 						col = 0;
 						
-						for( String part : parts ) //foreach cell
+						while( st.nextToken() ) //foreach cell
 						{
-							part = part.trim();
-							if ( part.isEmpty() ) {
+							if ( st.isEmptyToken() ) {
 								emptyValuesFound = true;
 								cellValue = fillValue;
 							}
 							else {
-								cellValue = UtilFunctions.parseToDouble(part);
+								cellValue = st.getDouble();
 							}
 							if ( cellValue != 0 ) {
 								dest.setValueDenseUnsafe(row, col, cellValue);
@@ -192,14 +188,14 @@ public class ReaderTextCSV extends MatrixReader
 						}
 						
 						//sanity checks for empty values and number of columns
-						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), cellStr, parts, clen);
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value, fill, emptyValuesFound);
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), value, col, clen);
 						row++;
 					}
 				}
 			}
 			finally {
-				IOUtilFunctions.closeSilently(br);
+				IOUtilFunctions.closeSilently(lr);
 			}
 		}
 		
@@ -226,32 +222,35 @@ public class ReaderTextCSV extends MatrixReader
 	{		
 		int nrow = -1;
 		int ncol = -1;
-		String value = null;
+		Text value = new Text();
+		FastByteTokenizer st = new FastByteTokenizer(delim, true);
 		
-		String cellStr = null;
 		for(int fileNo=0; fileNo<files.size(); fileNo++)
 		{
-			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));	
+			LineReader lr = new LineReader(fs.open(files.get(fileNo)));	
 			try
 			{
 				// Read the header line, if there is one.
 				if(fileNo==0)
 				{
 					if ( hasHeader ) 
-						br.readLine(); //ignore header
-					if( (value = br.readLine()) != null ) {
-						cellStr = value.toString().trim();
-						ncol = StringUtils.countMatches(cellStr, delim) + 1;
+						lr.readLine(value); //ignore header
+					if( lr.readLine(value) > 0 ) {
+						st.reset( value );
+						ncol = 0;
+						while( st.nextToken() )
+							ncol++;
+						ncol = Math.max(ncol, 1); //see count of delimiters + 1
 						nrow = 1;
 					}
 				}
 				
-				while ( (value = br.readLine()) != null ) {
+				while ( lr.readLine(value) > 0 ) {
 					nrow++;
 				}
 			}
 			finally {
-				IOUtilFunctions.closeSilently(br);
+				IOUtilFunctions.closeSilently(lr);
 			}
 		}
 		
@@ -24,10 +24,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
@@ -45,6 +46,8 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
@@ -56,9 +59,20 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
  * danger of lost updates. Note, there is also no sorting of sparse rows
  * required because data comes in sorted order per row.
  * 
+ * By default, we avoid the separate count pass via a single-pass read, where
+ * every split is parsed into its own growable buffer of row chunks, and the row
+ * chunks are stitched into the output matrix block once all split offsets are
+ * known (sparse rows are moved by reference, dense chunks are copied). We fall
+ * back to the two-pass read if dense chunks and output would not fit into the
+ * local memory budget.
+ * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	//internal configuration
+	private static final boolean SINGLE_PASS_READ = true;
+	private static final int CHUNK_SIZE = 512 * 1024; //cells per row chunk
+	
 	private CSVFileFormatProperties _props = null;
 	private int _numThreads = 1;
 
@@ -103,17 +117,28 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
+		MatrixBlock ret = null;
+		if( isSinglePassRead(rlen, clen, estnnz) )
+		{
+			// Single Read Pass (parse splits into row chunks, allocate and stitch matrix block)
+			ret = readCSVMatrixFromHDFSSinglePass(splits, path, job, rlen, estnnz,
+					_props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue());
+		}
+		else 
+		{
+			// allocate output matrix block
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
+					path, job, _props.hasHeader(), _props.getDelim(), estnnz);
+			
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, job, ret, ret.getNumRows(), ret.getNumColumns(), 
+					brlen, bclen, _props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue());
+		}
 		rlen = ret.getNumRows();
 		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -205,19 +230,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		informat.configure(job);
 
 		// count no of entities in the first non-header row
-		LongWritable key = new LongWritable();
-		Text oneLine = new Text();
-		RecordReader<LongWritable, Text> reader = informat
-				.getRecordReader(splits[0], job, Reporter.NULL);
-		try {
-			if (reader.next(key, oneLine)) {
-				String cellStr = oneLine.toString().trim();
-				ncol = StringUtils.countMatches(cellStr, delim) + 1;
-			}
-		} 
-		finally {
-			IOUtilFunctions.closeSilently(reader);
-		}
+		ncol = computeCSVNumColumns(splits[0], informat, job, delim);
 
 		// count rows in parallel per split
 		try 
@@ -251,6 +264,142 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return createOutputMatrixBlock(nrow, ncol, estnnz, true, true);
 	}
 
+	/**
+	 * 
+	 * @param rlen
+	 * @param clen
+	 * @param estnnz
+	 * @return
+	 */
+	private static boolean isSinglePassRead(long rlen, long clen, long estnnz)
+	{
+		if( !SINGLE_PASS_READ )
+			return false;
+		
+		// unknown dimensions: row chunks in sparse format (see ReaderTextCSV)
+		if( rlen <= 0 || clen <= 0 )
+			return true;
+		
+		// dense row chunks temporarily require twice the size of the output
+		return MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz)
+			|| 2 * MatrixBlock.estimateSizeDenseInMemory(rlen, clen) < OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * 
+	 * @param splits
+	 * @param path
+	 * @param job
+	 * @param rlen
+	 * @param estnnz
+	 * @param hasHeader
+	 * @param delim
+	 * @param fill
+	 * @param fillValue
+	 * @return
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	private MatrixBlock readCSVMatrixFromHDFSSinglePass(InputSplit[] splits, Path path, JobConf job, 
+			long rlen, long estnnz, boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException, DMLRuntimeException 
+	{
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		// count no of entities in the first non-header row, determine row chunk format
+		int ncol = computeCSVNumColumns(splits[0], informat, job, delim);
+		boolean sparse = (rlen > 0) ? MatrixBlock.evalSparseFormatInMemory(rlen, ncol, estnnz) : true;
+		int estnnzRow = (rlen > 0 && estnnz > 0) ? (int)Math.ceil((double)estnnz/rlen) : SparseRow.initialCapacity;
+		
+		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		MatrixBlock ret = null;
+		
+		try 
+		{
+			// parse splits into row chunks in parallel
+			ArrayList<CSVChunkReadTask> tasks = new ArrayList<CSVChunkReadTask>();
+			for( int i=0; i<splits.length; i++ ) {
+				tasks.add( new CSVChunkReadTask(splits[i], informat, job, ncol, sparse, 
+					estnnzRow, hasHeader && i==0, delim, fill, fillValue) );
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			// compute split offsets and allocate output matrix block
+			long nrow = 0;
+			for( CSVChunkReadTask rt : tasks )
+				nrow += rt.getBuffer().getNumRows();
+			if( !OptimizerUtils.isValidCPDimensions(nrow, ncol) )
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+ncol);
+			ret = new MatrixBlock((int)nrow, ncol, sparse);
+			if( sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlockUnsafe((int)nrow, ncol);
+			
+			// stitch row chunks into output in parallel (disjoint rows)
+			ArrayList<CSVChunkStitchTask> tasks2 = new ArrayList<CSVChunkStitchTask>();
+			int rowOffset = 0;
+			long lnnz = 0;
+			for( CSVChunkReadTask rt : tasks ) {
+				RowChunkBuffer buff = rt.getBuffer();
+				tasks2.add( new CSVChunkStitchTask(buff, ret, rowOffset) );
+				rowOffset += buff.getNumRows();
+				lnnz += buff.getNonZeros();
+			}
+			for( Future<Object> task : pool.invokeAll(tasks2) )
+				task.get();
+			ret.setNonZeros(lnnz);
+		}
+		catch (ExecutionException e) {
+			throw new IOException("Read task for csv input failed: "+ e.getCause().getMessage(), e.getCause());
+		}
+		catch (InterruptedException e) {
+			throw new IOException("Threadpool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param split
+	 * @param informat
+	 * @param job
+	 * @param delim
+	 * @return
+	 * @throws IOException
+	 */
+	private static int computeCSVNumColumns(InputSplit split, TextInputFormat informat, JobConf job, String delim) 
+		throws IOException
+	{
+		int ncol = 0;
+		
+		LongWritable key = new LongWritable();
+		Text oneLine = new Text();
+		RecordReader<LongWritable, Text> reader = informat
+				.getRecordReader(split, job, Reporter.NULL);
+		try {
+			if (reader.next(key, oneLine)) {
+				FastByteTokenizer st = new FastByteTokenizer(delim, true);
+				st.reset(oneLine);
+				while (st.nextToken())
+					ncol++;
+				ncol = Math.max(ncol, 1); // see count of delimiters + 1
+			}
+		} 
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return ncol;
+	}
+
 	/**
 	 * 
 	 * 
@@ -420,6 +569,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 				RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 				LongWritable key = new LongWritable();
 				Text value = new Text();
+				FastByteTokenizer st = new FastByteTokenizer(_delim, true);
 				
 				// skip the header line
 				if (_isFirstSplit && _hasHeader) {
@@ -434,19 +584,17 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							st.reset(value); // reinit tokenizer (incl trim)
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (st.nextToken()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (st.isEmptyToken()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = st.getDouble();
 								}
 
 								if( cellValue != 0 ) {
@@ -457,8 +605,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value, _fill, noFillEmpty);
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value, col, _clen);
 							
 							row++;
 						}
@@ -467,19 +615,17 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							st.reset(value); // reinit tokenizer (incl trim)
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (st.nextToken()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (st.isEmptyToken()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = st.getDouble();
 								}
 								if( cellValue != 0 ) {
 									_dest.setValueDenseUnsafe(row, col, cellValue);
@@ -489,8 +635,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value, _fill, noFillEmpty);
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value, col, _clen);
 							
 							row++;
 						}
@@ -532,4 +678,200 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return null;
 		}
 	}
+
+	/**
+	 * Growable buffer of row chunks for the rows of a single split, which
+	 * allows parsing a split before its row offset is known. Row chunks are 
+	 * either dense (row-major cell arrays) or sparse (arrays of sparse rows).
+	 */
+	private static class RowChunkBuffer 
+	{
+		private final int _clen;
+		private final boolean _sparse;
+		private final int _estnnzRow;
+		private final int _chunkSize; // rows per chunk
+		
+		private ArrayList<double[]> _dchunks = new ArrayList<double[]>();
+		private ArrayList<SparseRow[]> _schunks = new ArrayList<SparseRow[]>();
+		private double[] _dcur = null;
+		private SparseRow[] _scur = null;
+		private int _pos = -1;
+		private int _nrows = 0;
+		private long _nnz = 0;
+		
+		public RowChunkBuffer(int clen, boolean sparse, int estnnzRow) {
+			_clen = clen;
+			_sparse = sparse;
+			_estnnzRow = estnnzRow;
+			_chunkSize = Math.max(CHUNK_SIZE / Math.max(clen, 1), 1);
+			_pos = _chunkSize - 1; // allocate chunk on first row
+		}
+		
+		public int getNumRows() {
+			return _nrows;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public void nextRow() {
+			if( ++_pos == _chunkSize ) {
+				if( _sparse ) {
+					_scur = new SparseRow[_chunkSize];
+					_schunks.add(_scur);
+				}
+				else {
+					_dcur = new double[_chunkSize * _clen];
+					_dchunks.add(_dcur);
+				}
+				_pos = 0;
+			}
+			_nrows++;
+		}
+		
+		public void appendValue(int col, double v) {
+			if( _sparse ) {
+				if( _scur[_pos] == null )
+					_scur[_pos] = new SparseRow(_estnnzRow, _clen);
+				_scur[_pos].append(col, v);
+			}
+			else {
+				_dcur[_pos * _clen + col] = v;
+			}
+			_nnz++;
+		}
+		
+		public void copyInto(MatrixBlock dest, int rowOffset) {
+			if( _sparse ) {
+				// move sparse rows by reference
+				SparseRow[] rows = dest.getSparseRows();
+				for( int i=0; i<_schunks.size(); i++ ) {
+					int len = Math.min(_chunkSize, _nrows - i*_chunkSize);
+					System.arraycopy(_schunks.get(i), 0, rows, rowOffset + i*_chunkSize, len);
+				}
+			}
+			else {
+				double[] a = dest.getDenseArray();
+				for( int i=0; i<_dchunks.size(); i++ ) {
+					int len = Math.min(_chunkSize, _nrows - i*_chunkSize);
+					System.arraycopy(_dchunks.get(i), 0, a, (rowOffset + i*_chunkSize) * _clen, len * _clen);
+					_dchunks.set(i, null); // release chunk
+				}
+			}
+			_dchunks = null;
+			_schunks = null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class CSVChunkReadTask implements Callable<Object> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		private long _clen = -1;
+		private boolean _hasHeader = false;
+		private boolean _fill = false;
+		private double _fillValue = 0;
+		private String _delim = null;
+		private RowChunkBuffer _buff = null;
+		
+		public CSVChunkReadTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				int clen, boolean sparse, int estnnzRow, boolean hasHeader, String delim, 
+				boolean fill, double fillValue) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_clen = clen;
+			_hasHeader = hasHeader;
+			_fill = fill;
+			_fillValue = fillValue;
+			_delim = delim;
+			_buff = new RowChunkBuffer(clen, sparse, estnnzRow);
+		}
+		
+		public RowChunkBuffer getBuffer() {
+			return _buff;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			FastByteTokenizer st = new FastByteTokenizer(_delim, true);
+			boolean noFillEmpty = false;
+			
+			try
+			{
+				// skip the header line
+				if( _hasHeader ) {
+					reader.next(key, value);
+				}
+				
+				while( reader.next(key, value) ) // foreach line
+				{
+					st.reset(value); // reinit tokenizer (incl trim)
+					_buff.nextRow();
+					int col = 0;
+					
+					while( st.nextToken() ) // foreach cell
+					{
+						double cellValue = 0;
+						if( st.isEmptyToken() ) {
+							noFillEmpty |= !_fill;
+							cellValue = _fillValue;
+						}
+						else {
+							cellValue = st.getDouble();
+						}
+						if( cellValue != 0 && col < _clen )
+							_buff.appendValue(col, cellValue);
+						col++;
+					}
+					
+					// sanity checks (number of columns, fill values)
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value, _fill, noFillEmpty);
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), value, col, _clen);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class CSVChunkStitchTask implements Callable<Object> 
+	{
+		private RowChunkBuffer _buff = null;
+		private MatrixBlock _dest = null;
+		private int _rowOffset = -1;
+		
+		public CSVChunkStitchTask(RowChunkBuffer buff, MatrixBlock dest, int rowOffset) {
+			_buff = buff;
+			_dest = dest;
+			_rowOffset = rowOffset;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			_buff.copyInto(_dest, _rowOffset);
+			return null;
+		}
+	}
 }
@@ -41,7 +41,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 /**
@@ -214,7 +214,7 @@ public class ReaderTextCellParallel extends MatrixReader
 			
 			try
 			{			
-				FastStringTokenizer st = new FastStringTokenizer(' ');
+				FastByteTokenizer st = new FastByteTokenizer(' ');
 				RecordReader<LongWritable,Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 				
 				// Read the header lines, if reading from a matrixMarket file
@@ -229,10 +229,10 @@ public class ReaderTextCellParallel extends MatrixReader
 					
 					//process current value (otherwise ignore following meta data)
 					if( !foundComment ) {
-						st.reset( value.toString() ); //reinit tokenizer
+						st.reset( value ); //reinit tokenizer
 						row = st.nextInt()-1;
 						col = st.nextInt()-1;
-						double lvalue = st.nextDoubleForParallel();
+						double lvalue = st.nextDouble();
 						synchronized( _dest ){ //sparse requires lock	
 							_dest.appendValue(row, col, lvalue);
 						}
@@ -248,10 +248,10 @@ public class ReaderTextCellParallel extends MatrixReader
 						
 						while( reader.next(key, value) )
 						{
-							st.reset( value.toString() ); //reinit tokenizer
+							st.reset( value ); //reinit tokenizer
 							row = st.nextInt() - 1;
 							col = st.nextInt() - 1;
-							double lvalue = st.nextDoubleForParallel();
+							double lvalue = st.nextDouble();
 							
 							buff.addCell(row, col, lvalue);
 							//capacity buffer flush on demand
@@ -270,10 +270,10 @@ public class ReaderTextCellParallel extends MatrixReader
 					{
 						while( reader.next(key, value) )
 						{
-							st.reset( value.toString() ); //reinit tokenizer
+							st.reset( value ); //reinit tokenizer
 							row = st.nextInt()-1;
 							col = st.nextInt()-1;
-							double lvalue = st.nextDoubleForParallel();
+							double lvalue = st.nextDouble();
 							_dest.setValueDenseUnsafe( row, col, lvalue );
 						}
 					}
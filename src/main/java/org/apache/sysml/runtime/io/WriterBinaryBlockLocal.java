@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.DMLUnsupportedOperationException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for memory-mapped local binary block files (see LocalBinaryBlockFile).
+ * If the target file system is not the local file system, we fall back to the
+ * parallel sequence file writer.
+ *
+ */
+public class WriterBinaryBlockLocal extends WriterBinaryBlockParallel
+{
+	public WriterBinaryBlockLocal( int replication )
+	{
+		super(replication);
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz)
+		throws IOException, DMLRuntimeException, DMLUnsupportedOperationException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//fall back to sequence files for non-local file systems
+		if( !LocalBinaryBlockFile.isLocalFileSystem(fs) ) {
+			super.writeMatrixToHDFS(src, fname, rlen, clen, brlen, bclen, nnz);
+			return;
+		}
+
+		//if the file already exists, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+
+		File file = LocalBinaryBlockFile.getLocalFile(fs, path);
+		if( file.getParentFile() != null )
+			file.getParentFile().mkdirs();
+
+		//core write (w/ empty block filter, which subsumes diag blocks)
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		LocalBinaryBlockFile.writeMatrix(file, src, rlen, clen, brlen, bclen, numThreads);
+	}
+}
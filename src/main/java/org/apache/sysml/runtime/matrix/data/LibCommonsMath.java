@@ -188,6 +188,30 @@ public class LibCommonsMath
 		
 		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
 		
+		return computeEigen(matrixInput);
+	}
+	
+	/**
+	 * Function to perform Eigen decomposition on a given matrix block,
+	 * used as fallback for non-symmetric inputs of LibMatrixLinAlg.
+	 * 
+	 * @param in
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	protected static MatrixBlock[] computeEigen(MatrixBlock in) throws DMLRuntimeException {
+		Array2DRowRealMatrix matrixInput = new Array2DRowRealMatrix(DataConverter.convertToDoubleMatrix(in), false);
+		
+		return computeEigen(matrixInput);
+	}
+	
+	/**
+	 * 
+	 * @param matrixInput
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock[] computeEigen(Array2DRowRealMatrix matrixInput) throws DMLRuntimeException {
 		EigenDecomposition eigendecompose = new EigenDecomposition(matrixInput);
 		RealMatrix eVectorsMatrix = eigendecompose.getV();
 		double[][] eVectors = eVectorsMatrix.getData();
@@ -120,6 +120,7 @@ public class LibMatrixAgg
 		//long naggVal = aggVal.getNonZeros(), naggCorr = aggCorr.getNonZeros();
 		
 		//core aggregation
+		in.csrToSparse();
 		if(!in.sparse && !aggVal.sparse && !aggCorr.sparse)
 			aggregateBinaryMatrixAllDense(in, aggVal, aggCorr);
 		else if(in.sparse && !aggVal.sparse && !aggCorr.sparse)
@@ -154,6 +155,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		//core aggregation
+		in.csrToSparse();
 		boolean lastRowCorr = (aop.correctionLocation == CorrectionLocationType.LASTROW);
 		boolean lastColCorr = (aop.correctionLocation == CorrectionLocationType.LASTCOLUMN);
 		if( !in.sparse && lastRowCorr )
@@ -248,6 +250,11 @@ public class LibMatrixAgg
 			out.allocateDenseBlock();
 		}
 		
+		//convert read-only CSR inputs upfront for aggregates w/o CSR kernels
+		//(otherwise concurrent conversions by the individual tasks)
+		if( in.sparse && !isCSRSupportedAggregate(aggtype, uaop.indexFn) )
+			prepCSRInputs(in);
+		
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
@@ -308,9 +315,9 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		if( !in.sparse )
-			aggregateUnaryMatrixDense(in, out, aggtype, uop.fn, null, 0, m);
+			cumaggregateUnaryMatrixDense(in, out, aggtype, uop.fn, null, 0, m);
 		else
-			aggregateUnaryMatrixSparse(in, out, aggtype, uop.fn, null, 0, m);
+			cumaggregateUnaryMatrixSparse(in, out, aggtype, uop.fn, null, 0, m);
 		
 		//cleanup output and change representation (if necessary)
 		out.recomputeNonZeros();
@@ -319,6 +326,82 @@ public class LibMatrixAgg
 		//System.out.println("uop ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
 	}
 	
+	/**
+	 * Multi-threaded cumulative aggregates (e.g., cumsum/cumprod/cummin/cummax)
+	 * via a two-pass prefix scheme over row partitions: first, we compute 
+	 * the column aggregates of all partitions (except the last), second, we 
+	 * compute the cumulative aggregates of all partitions, initialized with the
+	 * offsets from the prefix over the preceding partition aggregates.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param uop
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void aggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, UnaryOperator uop, int k) 
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		if(    k <= 1 || (long)in.rlen*in.clen < PAR_NUMCELL_THRESHOLD || in.rlen <= k
+			|| (long)in.clen*8*2*k > PAR_INTERMEDIATE_SIZE_THRESHOLD ) {
+			aggregateUnaryMatrix(in, out, uop);
+			return;
+		}
+		
+		//prepare meta data 
+		AggType aggtype = getAggType(uop);
+		final int m = in.rlen;
+		final int n = in.clen;
+		final int m2 = out.rlen;
+		final int n2 = out.clen;
+		
+		//filter empty input blocks (incl special handling for sparse-unsafe operations)
+		if( in.isEmptyBlock(false) ){
+			aggregateUnaryMatrixEmpty(in, out, aggtype, null);
+			return;
+		}	
+		
+		//allocate output arrays (if required)
+		out.reset(m2, n2, false); //always dense
+		out.allocateDenseBlock();
+		
+		//Timing time = new Timing(true);
+		
+		//core multi-threaded cumulative aggregate computation
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int blklen = (int)(Math.ceil((double)m/k));
+			prepCSRInputs(in);
+			
+			//pass 1: column aggregates per row partition (w/o last partition)
+			ArrayList<PartialCumAggTask> tasks1 = new ArrayList<PartialCumAggTask>();
+			for( int i=0; i<k-1 & (i+1)*blklen<m; i++ )
+				tasks1.add( new PartialCumAggTask(in, aggtype, uop, i*blklen, (i+1)*blklen) );
+			pool.invokeAll(tasks1);
+			
+			//pass 2: cumulative aggregates per row partition w/ offsets
+			ArrayList<CumAggTask> tasks2 = new ArrayList<CumAggTask>();
+			double[] agg = null; //offsets of current partition
+			for( int i=0; i<k & i*blklen<m; i++ ) {
+				tasks2.add( new CumAggTask(in, out, aggtype, uop, agg, i*blklen, Math.min((i+1)*blklen, m)) );
+				if( i < tasks1.size() )
+					agg = cumaggregateOffsets(aggtype, uop.fn, agg, tasks1.get(i).getResult(), n);
+			}
+			pool.invokeAll(tasks2);	
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//cleanup output and change representation (if necessary)
+		out.recomputeNonZeros();
+		out.examSparsity();
+		
+		//System.out.println("uop k="+k+" ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
+	}
+	
 	/**
 	 * 
 	 * @param in1
@@ -337,6 +420,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		double val = -1;
+		prepCSRInputs(in1, in2, in3);
 		if( !in1.sparse && !in2.sparse && (in3==null||!in3.sparse) ) //DENSE
 			val = aggregateTernaryDense(in1, in2, in3, 0, in1.rlen);
 		else //GENERAL CASE
@@ -355,7 +439,7 @@ public class LibMatrixAgg
 		throws DMLRuntimeException
 	{		
 		//fall back to sequential version if necessary
-		if( k <= 1 || in1.rlen/3 < PAR_NUMCELL_THRESHOLD ) {
+		if( k <= 1 || (long)in1.rlen*in1.clen < PAR_NUMCELL_THRESHOLD || in1.rlen <= k ) {
 			return aggregateTernary(in1, in2, in3);
 		}
 		
@@ -367,6 +451,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		double val = -1;
+		prepCSRInputs(in1, in2, in3);
 		try {
 			ExecutorService pool = Executors.newFixedThreadPool( k );
 			ArrayList<AggTernaryTask> tasks = new ArrayList<AggTernaryTask>();
@@ -391,6 +476,56 @@ public class LibMatrixAgg
 		return val;			
 	}
 
+	/**
+	 * Multi-threaded central moment (incl weighted mean) over row partitions 
+	 * of the given column vector and optional weights, where the partial 
+	 * results are merged via the central moment function.
+	 * 
+	 * @param in1 data column vector
+	 * @param in2 weights column vector (optional)
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static CM_COV_Object aggregateCmCov(MatrixBlock in1, MatrixBlock in2, CMOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		//(see CM for call-local fn objects, the operator might be shared)
+		if( k <= 1 || in1.rlen < PAR_NUMCELL_THRESHOLD ) {
+			prepCSRInputs(in1, in2);
+			return aggregateCmCov(in1, in2, CM.getCMFnObject(op.getAggOpType()), 0, in1.rlen);
+		}
+		
+		//Timing time = new Timing(true);
+		
+		CM_COV_Object ret = null;
+		prepCSRInputs(in1, in2);
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<AggCmCovTask> tasks = new ArrayList<AggCmCovTask>();
+			int blklen = (int)(Math.ceil((double)in1.rlen/k));
+			for( int i=0; i<k & i*blklen<in1.rlen; i++ ) //see CM for thread-local fn objects
+				tasks.add( new AggCmCovTask(in1, in2, CM.getCMFnObject(op.getAggOpType()), 
+						i*blklen, Math.min((i+1)*blklen, in1.rlen)));
+			pool.invokeAll(tasks);	
+			pool.shutdown();
+			//aggregate partial results
+			CM fn = CM.getCMFnObject(op.getAggOpType());
+			ret = tasks.get(0).getResult();
+			for( int i=1; i<tasks.size(); i++ )
+				fn.execute(ret, tasks.get(i).getResult());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//System.out.println("cm k="+k+" ("+in1.rlen+","+in1.sparse+") in "+time.stop()+"ms.");
+		
+		return ret;
+	}
+	
 	/**
 	 * 
 	 * @param groups
@@ -408,6 +543,8 @@ public class LibMatrixAgg
 			throw new DMLRuntimeException("Invalid operator (" + op + ") encountered while processing groupedAggregate.");
 		}
 		
+		prepCSRInputs(groups, target, weights);
+		
 		//CM operator for count, mean, variance
 		//note: current support only for column vectors
 		if(op instanceof CMOperator) {
@@ -454,6 +591,7 @@ public class LibMatrixAgg
 		}
 		
 		//preprocessing
+		prepCSRInputs(groups, target, weights);
 		result.sparse = false;
 		result.allocateDenseBlock();
 		
@@ -516,6 +654,18 @@ public class LibMatrixAgg
 		}
 	}	
 	
+	/**
+	 * Converts all given read-only CSR inputs back to sparse rows.
+	 * 
+	 * @param inputs
+	 */
+	private static void prepCSRInputs( MatrixBlock... inputs )
+	{
+		for( MatrixBlock mb : inputs )
+			if( mb != null )
+				mb.csrToSparse();
+	}
+	
 	/**
 	 * 
 	 * @param op
@@ -617,6 +767,133 @@ public class LibMatrixAgg
 		else
 			out.binaryOperationsInPlace(laop.increOp, partout);
 	}
+	
+	/**
+	 * Computes the offsets of the next row partition for cumulative aggregates, 
+	 * i.e., the aggregate of the offsets and column aggregates of the current
+	 * row partition (incl corrections for cumsum).
+	 * 
+	 * @param optype
+	 * @param vFn
+	 * @param off offsets of current partition (null for first partition)
+	 * @param agg column aggregates of current partition
+	 * @param n
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] cumaggregateOffsets( AggType optype, ValueFunction vFn, double[] off, double[] agg, int n ) 
+		throws DMLRuntimeException
+	{
+		//first partition w/o offsets
+		if( off == null )
+			return agg;
+		
+		double[] ret = new double[ agg.length ];
+		switch( optype )
+		{
+			case CUM_KAHAN_SUM: //CUMSUM
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+				for( int j=0; j<n; j++ ) {
+					kbuff.set(off[j], off[n+j]);
+					kplus.execute(kbuff, agg[j], agg[n+j]);
+					ret[j] = kbuff._sum;
+					ret[n+j] = kbuff._correction;
+				}
+				break;
+			}
+			case CUM_PROD: //CUMPROD
+			{
+				for( int j=0; j<n; j++ )
+					ret[j] = off[j] * agg[j];
+				break;
+			}
+			case CUM_MIN:
+			case CUM_MAX:
+			{
+				Builtin builtin = (Builtin)vFn;
+				for( int j=0; j<n; j++ )
+					ret[j] = builtin.execute2(off[j], agg[j]);
+				break;
+			}
+			
+			default:
+				throw new DMLRuntimeException("Unsupported cumulative aggregation type: "+optype);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Central moment (incl weighted mean) over the row range [rl,ru) of 
+	 * the given column vector and optional weights.
+	 * 
+	 * @param in1 data column vector
+	 * @param in2 weights column vector (optional)
+	 * @param fn
+	 * @param rl
+	 * @param ru
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static CM_COV_Object aggregateCmCov( MatrixBlock in1, MatrixBlock in2, ValueFunction fn, int rl, int ru ) 
+		throws DMLRuntimeException
+	{
+		CM_COV_Object cmobj = new CM_COV_Object();
+		
+		if( in2 == null ) //UNWEIGHTED
+		{
+			if( in1.sparse && in1.sparseRows!=null ) //SPARSE
+			{
+				int nzcount = 0;
+				SparseRow[] a = in1.sparseRows;
+				for( int r=rl; r<Math.min(ru, a.length); r++ ) {
+					if( a[r]==null ) 
+						continue;
+					double[] avals = a[r].getValueContainer();
+					for( int i=0; i<a[r].size(); i++ ) {
+						fn.execute(cmobj, avals[i]);
+						nzcount++;
+					}
+				}
+				// account for zeros in the vector
+				fn.execute(cmobj, 0.0, ru-rl-nzcount);
+			}
+			else if( !in1.sparse && in1.denseBlock!=null ) //DENSE
+			{
+				double[] a = in1.denseBlock;
+				for( int i=rl; i<ru; i++ )
+					fn.execute(cmobj, a[i]);
+			}
+		}
+		else //WEIGHTED
+		{
+			if( in1.sparse && in1.sparseRows!=null ) //SPARSE
+			{
+				for( int i=rl; i<ru; i++ ) 
+					fn.execute(cmobj, in1.quickGetValue(i,0), in2.quickGetValue(i,0));
+			}
+			else if( !in1.sparse && in1.denseBlock!=null ) //DENSE
+			{
+				double[] a = in1.denseBlock;
+				if( !in2.sparse ) {
+					//both dense vectors (default case)
+					if( in2.denseBlock!=null ) {
+						double[] w = in2.denseBlock;
+						for( int i=rl; i<ru; i++ )
+							fn.execute(cmobj, a[i], w[i]);
+					}
+				}
+				else {
+					for( int i=rl; i<ru; i++ ) 
+						fn.execute(cmobj, a[i], in2.quickGetValue(i,0));
+				}
+			}
+		}
+		
+		return cmobj;
+	}
 
 	/**
 	 * 
@@ -1344,25 +1621,6 @@ public class LibMatrixAgg
 					d_uacsqkp(a, c, m, n, kbuff, (KahanPlusSq)vFn, rl, ru);
 				break;
 			}
-			case CUM_KAHAN_SUM: //CUMSUM
-			{
-				KahanObject kbuff = new KahanObject(0, 0);
-				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
-				d_ucumkp(a, c, m, n, kbuff, kplus);
-				break;
-			}
-			case CUM_PROD: //CUMPROD
-			{
-				d_ucumm(a, c, m, n);
-				break;
-			}
-			case CUM_MIN:
-			case CUM_MAX:
-			{
-				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
-				d_ucummxx(a, c, m, n, init, (Builtin)vFn);
-				break;
-			}
 			case MIN: 
 			case MAX: //MAX/MIN
 			{
@@ -1432,6 +1690,13 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
+		//sum-type aggregates over read-only CSR blocks
+		SparseBlockCSR csr = in.getCSRBlock();
+		if( csr != null && isCSRSupportedAggregate(optype, ixFn) ) {
+			aggregateUnaryMatrixCSR(csr, out, (KahanFunction)vFn, ixFn, n, rl, ru);
+			return;
+		}
+		
 		SparseRow[] a = in.getSparseRows();
 		double[] c = out.getDenseArray();
 		
@@ -1463,25 +1728,6 @@ public class LibMatrixAgg
 					s_uacsqkp(a, c, m, n, kbuff, (KahanPlusSq)vFn, rl, ru);
 				break;
 			}
-			case CUM_KAHAN_SUM: //CUMSUM
-			{
-				KahanObject kbuff = new KahanObject(0, 0);
-				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
-				s_ucumkp(a, c, m, n, kbuff, kplus);
-				break;
-			}
-			case CUM_PROD: //CUMPROD
-			{
-				s_ucumm(a, c, m, n);
-				break;
-			}
-			case CUM_MIN:
-			case CUM_MAX:
-			{
-				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
-				s_ucummxx(a, c, m, n, init, (Builtin)vFn);
-				break;
-			}
 			case MIN:
 			case MAX: //MAX/MIN
 			{
@@ -1536,6 +1782,139 @@ public class LibMatrixAgg
 		}
 	}
 
+	/**
+	 * Cumulative aggregates over the row range [rl,ru) of a dense input, 
+	 * initialized with the given offsets (optional). If the output is null,
+	 * only the column aggregates of the row range are computed.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param optype
+	 * @param vFn
+	 * @param agg offsets (optional)
+	 * @param rl
+	 * @param ru
+	 * @return column aggregates of the row range, incl offsets
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] cumaggregateUnaryMatrixDense(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, double[] agg, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		double[] a = in.getDenseArray();
+		double[] c = (out != null) ? out.getDenseArray() : null;
+		
+		switch( optype )
+		{
+			case CUM_KAHAN_SUM: //CUMSUM
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+				return d_ucumkp(a, agg, c, m, n, kbuff, kplus, rl, ru);
+			}
+			case CUM_PROD: //CUMPROD
+			{
+				return d_ucumm(a, agg, c, m, n, rl, ru);
+			}
+			case CUM_MIN:
+			case CUM_MAX:
+			{
+				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
+				return d_ucummxx(a, agg, c, m, n, init, (Builtin)vFn, rl, ru);
+			}
+			
+			default:
+				throw new DMLRuntimeException("Unsupported cumulative aggregation type: "+optype);
+		}
+	}
+	
+	/**
+	 * Cumulative aggregates over the row range [rl,ru) of a sparse input, 
+	 * initialized with the given offsets (optional). If the output is null,
+	 * only the column aggregates of the row range are computed.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param optype
+	 * @param vFn
+	 * @param agg offsets (optional)
+	 * @param rl
+	 * @param ru
+	 * @return column aggregates of the row range, incl offsets
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] cumaggregateUnaryMatrixSparse(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, double[] agg, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		SparseRow[] a = in.getSparseRows();
+		double[] c = (out != null) ? out.getDenseArray() : null;
+		
+		switch( optype )
+		{
+			case CUM_KAHAN_SUM: //CUMSUM
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+				return s_ucumkp(a, agg, c, m, n, kbuff, kplus, rl, ru);
+			}
+			case CUM_PROD: //CUMPROD
+			{
+				return s_ucumm(a, agg, c, m, n, rl, ru);
+			}
+			case CUM_MIN:
+			case CUM_MAX:
+			{
+				double init = Double.MAX_VALUE * ((optype==AggType.CUM_MAX)?-1:1);
+				return s_ucummxx(a, agg, c, m, n, init, (Builtin)vFn, rl, ru);
+			}
+			
+			default:
+				throw new DMLRuntimeException("Unsupported cumulative aggregation type: "+optype);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param optype
+	 * @param ixFn
+	 * @return
+	 */
+	private static boolean isCSRSupportedAggregate( AggType optype, IndexFunction ixFn )
+	{
+		return (optype == AggType.KAHAN_SUM || optype == AggType.KAHAN_SUM_SQ)
+			&& (ixFn instanceof ReduceAll || ixFn instanceof ReduceCol || ixFn instanceof ReduceRow);
+	}
+	
+	/**
+	 * Sum-type unary aggregates (sum, rowSums, colSums and their squared 
+	 * variants) over a read-only CSR block.
+	 * 
+	 * @param a
+	 * @param out
+	 * @param kfunc
+	 * @param ixFn
+	 * @param n
+	 * @param rl
+	 * @param ru
+	 */
+	private static void aggregateUnaryMatrixCSR(SparseBlockCSR a, MatrixBlock out, KahanFunction kfunc, IndexFunction ixFn, int n, int rl, int ru)
+	{
+		double[] c = out.getDenseArray();
+		KahanObject kbuff = new KahanObject(0, 0);
+		
+		if( ixFn instanceof ReduceAll ) // SUM, SUM_SQ
+			c_uakp(a, c, kbuff, kfunc, rl, ru);
+		else if( ixFn instanceof ReduceCol ) //ROWSUM, ROWSUM_SQ
+			c_uarkp(a, c, kbuff, kfunc, rl, ru);
+		else if( ixFn instanceof ReduceRow ) //COLSUM, COLSUM_SQ
+			c_uackp(a, c, n, kbuff, kfunc, rl, ru);
+	}
+	
 	/**
 	 * 
 	 * @param in
@@ -1738,17 +2117,19 @@ public class LibMatrixAgg
 	 * @param kbuff
 	 * @param kplus
 	 */
-	private static void d_ucumkp( double[] a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus ) 
+	private static double[] d_ucumkp( double[] a, double[] agg, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
-		//init current row sum/correction arrays w/ neutral 0
-		double[] csums = new double[ 2*n ]; 
-		Arrays.fill(csums, 0); 
+		//init current row sum/correction arrays w/ neutral 0 or offsets
+		double[] csums = (agg != null) ? Arrays.copyOf(agg, 2*n) : new double[ 2*n ]; 
 		
 		//scan once and compute prefix sums
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			sumAgg( a, csums, aix, 0, n, kbuff, kplus );
-			System.arraycopy(csums, 0, c, aix, n);	
+			if( c != null )
+				System.arraycopy(csums, 0, c, aix, n);	
 		}
+		
+		return csums;
 	}
 	
 	/**
@@ -1761,17 +2142,21 @@ public class LibMatrixAgg
 	 * @param kbuff
 	 * @param kplus
 	 */
-	private static void d_ucumm( double[] a, double[] c, int m, int n ) 
+	private static double[] d_ucumm( double[] a, double[] agg, double[] c, int m, int n, int rl, int ru ) 
 	{	
-		//init current row product array w/ neutral 1
-		double[] cprods = new double[ n ]; 
-		Arrays.fill(cprods, 1);
+		//init current row product array w/ neutral 1 or offsets
+		double[] cprods = (agg != null) ? Arrays.copyOf(agg, n) : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cprods, 1);
 		
 		//scan once and compute prefix products
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			productAgg( a, cprods, aix, 0, n );
-			System.arraycopy(cprods, 0, c, aix, n);
-		}			
+			if( c != null )
+				System.arraycopy(cprods, 0, c, aix, n);
+		}
+		
+		return cprods;
 	}
 	
 	/**
@@ -1783,17 +2168,21 @@ public class LibMatrixAgg
 	 * @param n
 	 * @param builtin
 	 */
-	private static void d_ucummxx( double[] a, double[] c, int m, int n, double init, Builtin builtin )
+	private static double[] d_ucummxx( double[] a, double[] agg, double[] c, int m, int n, double init, Builtin builtin, int rl, int ru )
 	{
-		//init current row min/max array w/ extreme value 
-		double[] cmxx = new double[ n ]; 
-		Arrays.fill(cmxx, init);
+		//init current row min/max array w/ extreme value or offsets
+		double[] cmxx = (agg != null) ? Arrays.copyOf(agg, n) : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cmxx, init);
 				
 		//scan once and compute prefix min/max
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
 			builtinAgg( a, cmxx, aix, n, builtin );
-			System.arraycopy(cmxx, 0, c, aix, n);
+			if( c != null )
+				System.arraycopy(cmxx, 0, c, aix, n);
 		}
+		
+		return cmxx;
 	}
 	/**
 	 * TRACE, opcode: uaktrace 
@@ -2160,6 +2549,68 @@ public class LibMatrixAgg
 		}
 	}
 
+	/**
+	 * SUM/SUM_SQ, opcode: uak+/uasqk+, csr input.
+	 * 
+	 * @param a
+	 * @param c
+	 * @param kbuff
+	 * @param kfunc
+	 * @param rl
+	 * @param ru
+	 */
+	private static void c_uakp( SparseBlockCSR a, double[] c, KahanObject kbuff, KahanFunction kfunc, int rl, int ru )
+	{
+		//rows [rl,ru) are stored contiguously
+		sumWithFn(a.values(), a.pos(rl), a.size(rl, ru), kbuff, kfunc);
+		c[0] = kbuff._sum;
+		c[1] = kbuff._correction;	
+	}
+	
+	/**
+	 * ROWSUM/ROWSUM_SQ, opcode: uark+/uarsqk+, csr input.
+	 * 
+	 * @param a
+	 * @param c
+	 * @param kbuff
+	 * @param kfunc
+	 * @param rl
+	 * @param ru
+	 */
+	private static void c_uarkp( SparseBlockCSR a, double[] c, KahanObject kbuff, KahanFunction kfunc, int rl, int ru ) 
+	{
+		double[] avals = a.values();
+		
+		//compute row aggregates
+		for( int i=rl, cix=rl*2; i<ru; i++, cix+=2 )
+			if( !a.isEmpty(i) ) {
+				kbuff.set(0, 0); //reset buffer
+				sumWithFn(avals, a.pos(i), a.size(i), kbuff, kfunc);
+				c[cix+0] = kbuff._sum;
+				c[cix+1] = kbuff._correction;			
+			}
+	}
+	
+	/**
+	 * COLSUM/COLSUM_SQ, opcode: uack+/uacsqk+, csr input.
+	 * 
+	 * @param a
+	 * @param c
+	 * @param n
+	 * @param kbuff
+	 * @param kfunc
+	 * @param rl
+	 * @param ru
+	 */
+	private static void c_uackp( SparseBlockCSR a, double[] c, int n, KahanObject kbuff, KahanFunction kfunc, int rl, int ru ) 
+	{
+		//init result (for empty columns)
+		Arrays.fill(c, 0); 
+		
+		//compute column aggregates (rows [rl,ru) are stored contiguously)
+		sumAggWithFn(a.values(), c, a.indexes(), a.pos(rl), a.size(rl, ru), n, kbuff, kfunc);
+	}
+	
 	/**
 	 * CUMSUM, opcode: ucumk+, sparse input.
 	 * 
@@ -2170,14 +2621,13 @@ public class LibMatrixAgg
 	 * @param kbuff
 	 * @param kplus
 	 */
-	private static void s_ucumkp( SparseRow[] a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus )
+	private static double[] s_ucumkp( SparseRow[] a, double[] agg, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru )
 	{
-		//init current row sum/correction arrays w/ neutral 0
-		double[] csums = new double[ 2*n ]; 
-		Arrays.fill(csums, 0);
+		//init current row sum/correction arrays w/ neutral 0 or offsets
+		double[] csums = (agg != null) ? Arrays.copyOf(agg, 2*n) : new double[ 2*n ]; 
 		
 		//scan once and compute prefix sums
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			if( arow!=null && !arow.isEmpty() )
@@ -2188,8 +2638,11 @@ public class LibMatrixAgg
 				sumAgg( avals, csums, aix, alen, n, kbuff, kplus );
 			}
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(csums, 0, c, ix, n);
+			if( c != null )
+				System.arraycopy(csums, 0, c, ix, n);
 		}
+		
+		return csums;
 	}
 	
 	/**
@@ -2200,18 +2653,19 @@ public class LibMatrixAgg
 	 * @param m
 	 * @param n
 	 */
-	private static void s_ucumm( SparseRow[] a, double[] c, int m, int n )
+	private static double[] s_ucumm( SparseRow[] a, double[] agg, double[] c, int m, int n, int rl, int ru )
 	{
-		//init current row prod arrays w/ neutral 1
-		double[] cprod = new double[ n ]; 
-		Arrays.fill(cprod, 1);
+		//init current row prod arrays w/ neutral 1 or offsets
+		double[] cprod = (agg != null) ? Arrays.copyOf(agg, n) : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cprod, 1);
 		
 		//init count arrays (helper, see correction)
 		int[] cnt = new int[ n ]; 
 		Arrays.fill(cnt, 0); //init count array
 				
 		//scan once and compute prefix products
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			
@@ -2227,12 +2681,15 @@ public class LibMatrixAgg
 			//correction (not sparse-safe and cumulative)
 			//note: we need to determine if there are only nnz in a column
 			for( int j=0; j<n; j++ )
-				if( cnt[j] < i+1 ) //no dense column
+				if( cnt[j] < i-rl+1 ) //no dense column
 					cprod[j] *= 0;
 			
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(cprod, 0, c, ix, n);
-		}	
+			if( c != null )
+				System.arraycopy(cprod, 0, c, ix, n);
+		}
+		
+		return cprod;
 	}
 	
 	/**
@@ -2245,18 +2702,19 @@ public class LibMatrixAgg
 	 * @param init
 	 * @param builtin
 	 */
-	private static void s_ucummxx( SparseRow[] a, double[] c, int m, int n, double init, Builtin builtin ) 
+	private static double[] s_ucummxx( SparseRow[] a, double[] agg, double[] c, int m, int n, double init, Builtin builtin, int rl, int ru ) 
 	{
-		//init current row min/max array w/ extreme value 
-		double[] cmxx = new double[ n ]; 
-		Arrays.fill(cmxx, init);
+		//init current row min/max array w/ extreme value or offsets
+		double[] cmxx = (agg != null) ? Arrays.copyOf(agg, n) : new double[ n ]; 
+		if( agg == null )
+			Arrays.fill(cmxx, init);
 				
 		//init count arrays (helper, see correction)
 		int[] cnt = new int[ n ]; 
 		Arrays.fill(cnt, 0); //init count array
 		
 		//compute column aggregates min/max
-		for( int i=0, ix=0; i<m; i++, ix+=n )
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 		{
 			SparseRow arow = a[i];
 			if( arow!=null && !arow.isEmpty() )
@@ -2271,12 +2729,15 @@ public class LibMatrixAgg
 			//correction (not sparse-safe and cumulative)
 			//note: we need to determine if there are only nnz in a column
 			for( int j=0; j<n; j++ )
-				if( cnt[j] < i+1 ) //no dense column
+				if( cnt[j] < i-rl+1 ) //no dense column
 					cmxx[j] = builtin.execute2(cmxx[j], 0);
 			
 			//always copy current sum (not sparse-safe)
-			System.arraycopy(cmxx, 0, c, ix, n);
+			if( c != null )
+				System.arraycopy(cmxx, 0, c, ix, n);
 		}
+		
+		return cmxx;
 	}
 	
 	/**
@@ -2785,6 +3246,35 @@ public class LibMatrixAgg
 			c[ai[i]+n] = kbuff._correction;
 		}
 	}
+
+	/**
+	 * Aggregated summation using the Kahan summation algorithm
+	 * with one of the Kahan functions, starting at position apos
+	 * of the value and index arrays.
+	 *
+	 * @param a Array of values to sum.
+	 * @param c Output array to store aggregated sum and correction
+	 *          factors.
+	 * @param aix Array of column indices of array `a`.
+	 * @param apos Index at which to start processing arrays `a` and `aix`.
+	 * @param len Number of values to process, starting at index apos.
+	 * @param n Number of values per row.
+	 * @param kbuff A KahanObject to hold the current sum and
+	 *              correction factor for the Kahan summation
+	 *              algorithm.
+	 * @param kfunc A KahanFunction object to perform the summation.
+	 */
+	private static void sumAggWithFn(double[] a, double[] c, int[] aix, int apos, final int len, final int n,
+	                                 KahanObject kbuff, KahanFunction kfunc)
+	{
+		for (int i=apos; i<apos+len; i++) {
+			kbuff._sum = c[aix[i]];
+			kbuff._correction = c[aix[i]+n];
+			kfunc.execute2(kbuff, a[i]);
+			c[aix[i]] = kbuff._sum;
+			c[aix[i]+n] = kbuff._correction;
+		}
+	}
 	/**
 	 * 
 	 * @param a
@@ -3190,6 +3680,117 @@ public class LibMatrixAgg
 		}
 	}
 	
+	/**
+	 * Column aggregates of a row partition (pass 1 of cumulative aggregates).
+	 */
+	private static class PartialCumAggTask extends AggTask 
+	{
+		private MatrixBlock _in  = null;
+		private double[] _ret = null;
+		private AggType _aggtype = null;
+		private UnaryOperator _uop = null;		
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected PartialCumAggTask( MatrixBlock in, AggType aggtype, UnaryOperator uop, int rl, int ru ) 
+			throws DMLRuntimeException
+		{
+			_in = in;			
+			_aggtype = aggtype;
+			_uop = uop;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			if( !_in.sparse )
+				_ret = cumaggregateUnaryMatrixDense(_in, null, _aggtype, _uop.fn, null, _rl, _ru);
+			else
+				_ret = cumaggregateUnaryMatrixSparse(_in, null, _aggtype, _uop.fn, null, _rl, _ru);
+			
+			return null;
+		}
+		
+		public double[] getResult() {
+			return _ret;
+		}
+	}
+	
+	/**
+	 * Cumulative aggregates of a row partition with given offsets 
+	 * (pass 2 of cumulative aggregates).
+	 */
+	private static class CumAggTask extends AggTask 
+	{
+		private MatrixBlock _in  = null;
+		private MatrixBlock _ret = null;
+		private AggType _aggtype = null;
+		private UnaryOperator _uop = null;
+		private double[] _agg = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected CumAggTask( MatrixBlock in, MatrixBlock ret, AggType aggtype, UnaryOperator uop, double[] agg, int rl, int ru ) 
+			throws DMLRuntimeException
+		{
+			_in = in;
+			_ret = ret;
+			_aggtype = aggtype;
+			_uop = uop;
+			_agg = agg;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			if( !_in.sparse )
+				cumaggregateUnaryMatrixDense(_in, _ret, _aggtype, _uop.fn, _agg, _rl, _ru);
+			else
+				cumaggregateUnaryMatrixSparse(_in, _ret, _aggtype, _uop.fn, _agg, _rl, _ru);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class AggCmCovTask extends AggTask 
+	{
+		private MatrixBlock _in1  = null;
+		private MatrixBlock _in2  = null;
+		private ValueFunction _fn = null;
+		private CM_COV_Object _ret = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected AggCmCovTask( MatrixBlock in1, MatrixBlock in2, ValueFunction fn, int rl, int ru ) 
+			throws DMLRuntimeException
+		{
+			_in1 = in1;	
+			_in2 = in2;	
+			_fn = fn;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			_ret = aggregateCmCov(_in1, _in2, _fn, _rl, _ru);
+			
+			return null;
+		}
+		
+		public CM_COV_Object getResult() {
+			return _ret;
+		}
+	}
+	
 	private static class GrpAggTask extends AggTask 
 	{
 		private MatrixBlock _groups  = null;
@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -54,6 +60,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
+	//internal configuration
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -82,6 +90,9 @@ public class LibMatrixBincell
 	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		m1.csrToSparse();
+		
 		//check internal assumptions 
 		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
 			||(!op.sparseSafe && ret.isInSparseFormat()) ) {
@@ -90,9 +101,9 @@ public class LibMatrixBincell
 		
 		//execute binary cell operations
 		if(op.sparseSafe)
-			safeBinaryScalar(m1, ret, op);
+			safeBinaryScalar(m1, ret, op, 0, m1.rlen);
 		else
-			unsafeBinaryScalar(m1, ret, op);
+			unsafeBinaryScalar(m1, ret, op, 0, m1.rlen);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -100,6 +111,64 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * Multi-threaded matrix-scalar, scalar-matrix binary operations. The parameter 
+	 * k (k>=1) determines the max parallelism k' with k'=min(k, vcores, m1.rlen).
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//convert read-only CSR inputs (no CSR support)
+		m1.csrToSparse();
+		
+		//fallback to sequential for small or empty inputs (the empty 
+		//sparse-unsafe case is already handled via a single dense fill)
+		if( k <= 1 || m1.isEmptyBlock(false) || m1.rlen <= k 
+			|| (long)m1.rlen*m1.clen < PAR_NUMCELL_THRESHOLD ) {
+			bincellOp(m1, ret, op);
+			return;
+		}
+		
+		//check internal assumptions 
+		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
+			||(!op.sparseSafe && ret.isInSparseFormat()) ) {
+			throw new DMLRuntimeException("Wrong output representation for safe="+op.sparseSafe+": "+m1.isInSparseFormat()+", "+ret.isInSparseFormat());
+		}
+		
+		//pre-processing: output allocation (in contrast to single-threaded,
+		//we need to allocate sparse as well in order to prevent synchronization)
+		ret.allocateDenseOrSparseBlock();
+		
+		//core multi-threaded binary cell operations (parallelization over rows)
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			List<Future<Long>> rtasks = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//aggregate partial nnz (reset after execute)
+			ret.nonZeros = 0;
+			for( Future<Long> task : rtasks )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * matrix-matrix binary operations, MM, MV
 	 * 
@@ -111,11 +180,15 @@ public class LibMatrixBincell
 	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		m1.csrToSparse();
+		m2.csrToSparse();
+		
 		//execute binary cell operations
 		if(op.sparseSafe || isSparseSafeDivide(op, m2))
-			safeBinary(m1, m2, ret, op);
+			safeBinary(m1, m2, ret, op, 0, m1.rlen);
 		else
-			unsafeBinary(m1, m2, ret, op);
+			unsafeBinary(m1, m2, ret, op, 0, m1.rlen);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -123,6 +196,65 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * Multi-threaded matrix-matrix binary operations, MM, MV. The parameter 
+	 * k (k>=1) determines the max parallelism k' with k'=min(k, vcores, m1.rlen).
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//convert read-only CSR inputs (no CSR support)
+		m1.csrToSparse();
+		m2.csrToSparse();
+		
+		boolean safe = (op.sparseSafe || isSparseSafeDivide(op, m2));
+		boolean skipEmpty = (op.fn instanceof Multiply);
+		
+		//fallback to sequential for small inputs, outer vector operations,  
+		//and sparse-safe operations over empty inputs (early abort)
+		if( k <= 1 || m1.rlen <= k || (long)m1.rlen*m1.clen < PAR_NUMCELL_THRESHOLD 
+			|| getBinaryAccessType(m1, m2) == BinaryAccessType.OUTER_VECTOR_VECTOR
+			|| (safe && m1.isEmptyBlock(false) && m2.isEmptyBlock(false))
+			|| (safe && skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false))) ) {
+			bincellOp(m1, m2, ret, op);
+			return;
+		}
+		
+		//pre-processing: output allocation (in contrast to single-threaded,
+		//we need to allocate sparse as well in order to prevent synchronization)
+		ret.allocateDenseOrSparseBlock();
+		
+		//core multi-threaded binary cell operations (parallelization over rows)
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, safe, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			List<Future<Long>> rtasks = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//aggregate partial nnz (reset after execute)
+			ret.nonZeros = 0;
+			for( Future<Long> task : rtasks )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
 	 * 
@@ -134,6 +266,10 @@ public class LibMatrixBincell
 	public static void bincellOpInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		m1ret.csrToSparse();
+		m2.csrToSparse();
+		
 		//execute binary cell operations
 		if(op.sparseSafe || isSparseSafeDivide(op, m2))
 			safeBinaryInPlace(m1ret, m2, op);
@@ -220,9 +356,11 @@ public class LibMatrixBincell
 	 * @param m2
 	 * @param ret
 	 * @param op
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
@@ -235,7 +373,6 @@ public class LibMatrixBincell
 			return;
 		}
 	
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
@@ -244,11 +381,11 @@ public class LibMatrixBincell
 		{
 			//note: m2 vector and hence always dense
 			if( !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE all
-				safeBinaryMVDense(m1, m2, ret, op);
+				safeBinaryMVDense(m1, m2, ret, op, rl, ru);
 			else if( m1.sparse ) //SPARSE m1
-				safeBinaryMVSparse(m1, m2, ret, op);
+				safeBinaryMVSparse(m1, m2, ret, op, rl, ru);
 			else //generic combinations
-				safeBinaryMVGeneric(m1, m2, ret, op);
+				safeBinaryMVGeneric(m1, m2, ret, op, rl, ru);
 		}	
 		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
 		{
@@ -264,7 +401,7 @@ public class LibMatrixBincell
 				//both sparse blocks existing
 				if(m1.sparseRows!=null && m2.sparseRows!=null)
 				{
-					for(int r=0; r<rlen; r++)
+					for(int r=rl; r<ru; r++)
 					{
 						SparseRow lrow = (m1.sparseRows.length>r && m1.sparseRows[r]!=null) ? m1.sparseRows[r] : null; 
 						SparseRow rrow = (m2.sparseRows.length>r && m2.sparseRows[r]!=null) ? m2.sparseRows[r] : null; 
@@ -291,7 +428,7 @@ public class LibMatrixBincell
 				//right sparse block existing
 				else if( m2.sparseRows!=null )
 				{
-					for(int r=0; r<Math.min(rlen, m2.sparseRows.length); r++)
+					for(int r=rl; r<Math.min(ru, m2.sparseRows.length); r++)
 						if(m2.sparseRows[r]!=null)
 						{
 							appendRightForSparseBinary(op, m2.sparseRows[r].getValueContainer(), 
@@ -301,7 +438,7 @@ public class LibMatrixBincell
 				//left sparse block existing
 				else
 				{
-					for(int r=0; r<rlen; r++)
+					for(int r=rl; r<ru; r++)
 						if( m1.sparseRows[r]!=null )
 						{
 							appendLeftForSparseBinary(op, m1.sparseRows[r].getValueContainer(), 
@@ -315,7 +452,6 @@ public class LibMatrixBincell
 			{
 				//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
 				final int n = ret.clen;
 				double[] c = ret.denseBlock;
 				
@@ -326,11 +462,11 @@ public class LibMatrixBincell
 				
 				if( m1.sparse ) //SPARSE left
 				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
+					Arrays.fill(ret.denseBlock, rl*n, ru*n, 0); 
 					
 					if( m1.sparseRows != null )
 					{
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
 							SparseRow arow = m1.sparseRows[i];
 							if( arow != null && !arow.isEmpty() )
 							{
@@ -346,9 +482,9 @@ public class LibMatrixBincell
 				else //DENSE left
 				{
 					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
+						System.arraycopy(m1.denseBlock, rl*n, c, rl*n, (ru-rl)*n);
 					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						Arrays.fill(ret.denseBlock, rl*n, ru*n, 0); 
 				}
 				
 				//2) process right input: op.fn (+,-,*), * only if dense
@@ -356,7 +492,7 @@ public class LibMatrixBincell
 				{				
 					if(m2.sparseRows!=null)
 					{
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
 							SparseRow arow = m2.sparseRows[i];
 							if( arow != null && !arow.isEmpty() )
 							{
@@ -372,24 +508,23 @@ public class LibMatrixBincell
 				else //DENSE right
 				{
 					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
+						for( int i=rl*n; i<ru*n; i++ )
 							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
 					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						Arrays.fill(ret.denseBlock, rl*n, ru*n, 0); 
 				}
 	
 				//3) recompute nnz
-				ret.recomputeNonZeros();
+				ret.nonZeros = ret.recomputeNonZeros(rl, ru-1, 0, n-1);
 			}
 			else if( !ret.sparse && !m1.sparse && !m2.sparse && m1.denseBlock!=null && m2.denseBlock!=null )
 			{
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
 				final int n = ret.clen;
 				double[] c = ret.denseBlock;
 				
 				//int nnz = 0;
-				for( int i=0; i<m*n; i++ )
+				for( int i=rl*n; i<ru*n; i++ )
 				{
 					c[i] = op.fn.execute(m1.denseBlock[i], m2.denseBlock[i]);
 					//HotSpot JVM bug causes crash in presence of NaNs 
@@ -402,7 +537,7 @@ public class LibMatrixBincell
 			else //generic case
 			{
 				double thisvalue, thatvalue, resultvalue;
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++)
 					{
 						thisvalue=m1.quickGetValue(r, c);
@@ -424,13 +559,12 @@ public class LibMatrixBincell
 	 * @param op
 	 * @throws DMLRuntimeException 
 	 */
-	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		
 		//early abort on skip and empy
@@ -444,7 +578,7 @@ public class LibMatrixBincell
 
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 			{
 				//replicate vector value
 				double v2 = (b==null) ? 0 : b[i];
@@ -471,26 +605,27 @@ public class LibMatrixBincell
 			if( a==null && b==null ) //both empty
 			{
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
+				Arrays.fill(c, rl*clen, ru*clen, v);
 			}
 			else if( a==null ) //left empty
 			{
 				//compute first row
+				int rix = rl*clen;
 				for( int j=0; j<clen; j++ )
-					c[j] = op.fn.execute( 0, b[j] );
+					c[rix+j] = op.fn.execute( 0, b[j] );
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1, ix=rix+clen; i<ru; i++, ix+=clen )
+					System.arraycopy(c, rix, c, ix, clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 					for( int j=0; j<clen; j++ )
 						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
 			}
 		}
 		
-		ret.recomputeNonZeros();
+		ret.nonZeros = ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 	
 	/**
@@ -501,13 +636,12 @@ public class LibMatrixBincell
 	 * @param op
 	 * @throws DMLRuntimeException 
 	 */
-	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		SparseRow[] a = m1.sparseRows;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
@@ -522,7 +656,7 @@ public class LibMatrixBincell
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				double v2 = m2.quickGetValue(i, 0);
 				SparseRow arow = (a==null) ? null : a[i];
@@ -570,7 +704,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				SparseRow arow = (a==null) ? null : a[i];
 				
@@ -619,12 +753,11 @@ public class LibMatrixBincell
 	 * @param op
 	 * @throws DMLRuntimeException 
 	 */
-	private static void safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
@@ -638,7 +771,7 @@ public class LibMatrixBincell
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				//replicate vector value
 				double v2 = m2.quickGetValue(i, 0);
@@ -678,7 +811,7 @@ public class LibMatrixBincell
 					int blen = brow.size();
 					int[] bix = brow.getIndexContainer();
 					double[] bvals = brow.getValueContainer();
-					for( int i=0; i<rlen; i++ ) {
+					for( int i=rl; i<ru; i++ ) {
 						//for each row iterate only over non-zeros elements in rhs
 						for( int j=0; j<blen; j++ ) {
 							double v1 = m1.quickGetValue(i, bix[j]);
@@ -690,7 +823,7 @@ public class LibMatrixBincell
 			}
 			else //GENERAL CASE
 			{
-				for( int i=0; i<rlen; i++ )
+				for( int i=rl; i<ru; i++ )
 					for( int j=0; j<clen; j++ )
 					{
 						double v1 = m1.quickGetValue(i, j);
@@ -809,9 +942,11 @@ public class LibMatrixBincell
 	 * @param m2
 	 * @param ret
 	 * @param op
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		int rlen = m1.rlen;
@@ -820,7 +955,7 @@ public class LibMatrixBincell
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 			{
 				//replicated value
 				double v2 = m2.quickGetValue(r, 0);
@@ -835,7 +970,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) //MATRIX - ROW_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 				for(int c=0; c<clen; c++)
 				{
 					double v1 = m1.quickGetValue(r, c);	
@@ -875,7 +1010,7 @@ public class LibMatrixBincell
 				double[] a = m1.denseBlock;
 				double[] b = m2.denseBlock;
 				double[] c = ret.denseBlock;
-				for( int i=0; i<rlen; i++ ) {
+				for( int i=rl; i<ru; i++ ) {
 					c[i] = op.fn.execute( a[i], b[i] );
 					if( c[i] != 0 ) 
 						ret.nonZeros++;
@@ -884,7 +1019,7 @@ public class LibMatrixBincell
 			//general case
 			else 
 			{
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++)
 					{
 						double v1 = m1.quickGetValue(r, c);
@@ -901,9 +1036,11 @@ public class LibMatrixBincell
 	 * @param m1
 	 * @param m2
 	 * @param op
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
 		throws DMLRuntimeException
 	{
 		//early abort possible since sparsesafe
@@ -924,7 +1061,7 @@ public class LibMatrixBincell
 			SparseRow[] a = m1.sparseRows;
 			SparseRow[] c = ret.sparseRows;
 			
-			for(int r=0; r<Math.min(m1.rlen, m1.sparseRows.length); r++) {
+			for(int r=rl; r<Math.min(ru, m1.sparseRows.length); r++) {
 				if( a[r]!=null && !a[r].isEmpty() )
 				{
 					int alen = a[r].size();
@@ -973,8 +1110,8 @@ public class LibMatrixBincell
 			double[] a = m1.denseBlock;
 			double[] c = ret.denseBlock;
 			
-			int limit = m1.rlen*m1.clen;
-			for( int i=0; i<limit; i++ )
+			int limit = ru*m1.clen;
+			for( int i=rl*m1.clen; i<limit; i++ )
 			{
 				c[i] = op.executeScalar( a[i] );
 				if( c[i] != 0 )
@@ -990,9 +1127,11 @@ public class LibMatrixBincell
 	 * @param m1
 	 * @param m2
 	 * @param op
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
 		throws DMLRuntimeException
 	{
 		//early abort possible since sparsesafe
@@ -1014,15 +1153,14 @@ public class LibMatrixBincell
 			
 			SparseRow[] a = m1.sparseRows;
 			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
 			int n = m1.clen;
 			
 			//init dense result with unsafe 0-value
 			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
+			Arrays.fill(c, rl*n, ru*n, cval0);
 			
 			//compute non-zero input values
-			for(int i=0, cix=0; i<m; i++, cix+=n) 
+			for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) 
 			{
 				if( a[i]!=null && !a[i].isEmpty() )
 				{
@@ -1037,7 +1175,7 @@ public class LibMatrixBincell
 			}
 		
 			//recompute non zeros 
-			ret.recomputeNonZeros();
+			ret.nonZeros = ret.recomputeNonZeros(rl, ru-1, 0, n-1);
 		}
 		else //DENSE MATRIX
 		{
@@ -1048,8 +1186,8 @@ public class LibMatrixBincell
 			double[] c = ret.denseBlock;
 			
 			//compute scalar operation, incl nnz maintenance
-			int limit = m1.rlen*m1.clen;
-			for( int i=0; i<limit; i++ )
+			int limit = ru*m1.clen;
+			for( int i=rl*m1.clen; i<limit; i++ )
 			{
 				c[i] = op.executeScalar( a[i] );
 				if( c[i] != 0 )
@@ -1318,5 +1456,100 @@ public class LibMatrixBincell
 		}
 	}
 	
+	/**
+	 * Creates a shallow copy of the given output block, which shares the dense/sparse 
+	 * block but maintains its own number of non-zeros. Since tasks write disjoint row
+	 * ranges, this allows us to reuse the sequential kernels (incl nnz maintenance)
+	 * without synchronization or contention on the shared nnz counter.
+	 * 
+	 * @param ret
+	 * @return
+	 */
+	private static MatrixBlock createPartitionView( MatrixBlock ret )
+	{
+		MatrixBlock view = new MatrixBlock(ret.rlen, ret.clen, ret.sparse);
+		view.estimatedNNzsPerRow = ret.estimatedNNzsPerRow;
+		view.denseBlock = ret.denseBlock;
+		view.sparseRows = ret.sparseRows;
+		return view;
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class BincellTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _m2  = null;
+		private MatrixBlock _ret = null;
+		private BinaryOperator _op = null;
+		private boolean _safe = false;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, boolean safe, int rl, int ru )
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_safe = safe;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//thread-local nnz maintenance via partition view
+			MatrixBlock view = createPartitionView(_ret);
+			
+			//execute binary cell operations on row range
+			if( _safe )
+				safeBinary(_m1, _m2, view, _op, _rl, _ru);
+			else
+				unsafeBinary(_m1, _m2, view, _op, _rl, _ru);
+			
+			return view.nonZeros;
+		}
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _ret = null;
+		private ScalarOperator _op = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru )
+		{
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//thread-local nnz maintenance via partition view
+			MatrixBlock view = createPartitionView(_ret);
+			
+			//execute binary scalar operations on row range
+			if( _op.sparseSafe )
+				safeBinaryScalar(_m1, view, _op, _rl, _ru);
+			else
+				unsafeBinaryScalar(_m1, view, _op, _rl, _ru);
+			
+			return view.nonZeros;
+		}
+	}
 }
 
@@ -0,0 +1,1518 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+
+/**
+ * MB:
+ * Library for dense linear algebra operations, i.e., matrix decompositions
+ * (Cholesky, LU w/ partial pivoting, Householder QR, symmetric Eigen),
+ * triangular solve, solve, and inverse.
+ *
+ * All operations directly work on row-major dense working copies (allocated
+ * as the dense blocks of the output matrix blocks), which avoids the double
+ * conversion to and from commons-math matrices. The decompositions are blocked
+ * (panel factorization and trailing update), where the trailing updates, the
+ * triangular solves over multiple right-hand-sides, and the accumulation of
+ * transformations in the Eigen decomposition are parallelized over disjoint
+ * row or column ranges. The results of QR and LU are compatible with the
+ * previously used commons-math decompositions; non-symmetric inputs to eigen
+ * are still delegated to commons-math.
+ *
+ */
+public class LibMatrixLinAlg
+{
+	//internal configuration
+	private static final int BLOCKSIZE = 64; //panel width of blocked decompositions
+	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //MIN 2 MFLOP
+	private static final int MAX_EIGEN_ITER = 100; //max QL iterations per eigenvalue
+	private static final double EPSILON = Math.pow(2.0, -52);
+
+	private LibMatrixLinAlg() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @return
+	 */
+	public static boolean isSupportedUnaryOperation( String opcode ) {
+		return opcode.equals("inverse");
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @return
+	 */
+	public static boolean isSupportedMultiReturnOperation( String opcode ) {
+		return opcode.equals("qr") || opcode.equals("lu") || opcode.equals("eigen");
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @return
+	 */
+	public static boolean isSupportedMatrixMatrixOperation( String opcode ) {
+		return opcode.equals("solve");
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param opcode
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock unaryOperations( MatrixBlock in, String opcode, int k )
+		throws DMLRuntimeException
+	{
+		if( opcode.equals("inverse") )
+			return inverse(in, k);
+
+		throw new DMLRuntimeException("Unsupported unary linear algebra operation: "+opcode);
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param opcode
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] multiReturnOperations( MatrixBlock in, String opcode, int k )
+		throws DMLRuntimeException
+	{
+		if( opcode.equals("qr") )
+			return qr(in, k);
+		else if( opcode.equals("lu") )
+			return lu(in, k);
+		else if( opcode.equals("eigen") )
+			return eigen(in, k);
+
+		throw new DMLRuntimeException("Unsupported multi-return linear algebra operation: "+opcode);
+	}
+
+	/**
+	 *
+	 * @param in1
+	 * @param in2
+	 * @param opcode
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock matrixMatrixOperations( MatrixBlock in1, MatrixBlock in2, String opcode, int k )
+		throws DMLRuntimeException
+	{
+		if( opcode.equals("solve") )
+			return solve(in1, in2, k);
+
+		throw new DMLRuntimeException("Unsupported matrix-matrix linear algebra operation: "+opcode);
+	}
+
+	////////////////////////////////
+	// public decomposition interface
+	////////////////////////////////
+
+	/**
+	 * Computes the Cholesky decomposition A = L %*% t(L) of a symmetric
+	 * positive definite matrix A, where only the lower triangular part
+	 * of A is accessed.
+	 *
+	 * @param in
+	 * @param k
+	 * @return lower triangular matrix L
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock cholesky( MatrixBlock in, int k )
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "Cholesky Decomposition");
+
+		final int n = in.getNumRows();
+		MatrixBlock ret = copyToDense(in, false);
+		double[] a = ret.getDenseArray();
+
+		ExecutorService pool = createThreadPool(k, (long)n*n*n/3);
+		try {
+			if( !choleskyDense(a, n, pool, k) )
+				throw new DMLRuntimeException("Cholesky Decomposition requires a symmetric positive definite matrix.");
+		}
+		finally {
+			shutdown(pool);
+		}
+
+		//clear upper triangular part
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int j=i+1; j<n; j++ )
+				a[ix+j] = 0;
+
+		return finalizeResult(ret);
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting P %*% A = L %*% U
+	 * of a square matrix A.
+	 *
+	 * @param in
+	 * @param k
+	 * @return matrix blocks P, L, and U
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] lu( MatrixBlock in, int k )
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "LU Decomposition");
+
+		final int n = in.getNumRows();
+		MatrixBlock ret = copyToDense(in, false);
+		double[] a = ret.getDenseArray();
+
+		int[] perm = null;
+		ExecutorService pool = createThreadPool(k, 2L*n*n*n/3);
+		try {
+			perm = luDense(a, n, pool, k);
+		}
+		finally {
+			shutdown(pool);
+		}
+
+		//extract permutation, unit lower, and upper triangular matrices
+		MatrixBlock P = new MatrixBlock(n, n, true);
+		MatrixBlock L = new MatrixBlock(n, n, false);
+		MatrixBlock U = new MatrixBlock(n, n, false);
+		L.allocateDenseBlock();
+		U.allocateDenseBlock();
+		double[] l = L.getDenseArray();
+		double[] u = U.getDenseArray();
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			P.appendValue(i, perm[i], 1);
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			System.arraycopy(a, ix+i, u, ix+i, n-i);
+		}
+
+		return new MatrixBlock[]{ finalizeResult(P), finalizeResult(L), finalizeResult(U) };
+	}
+
+	/**
+	 * Computes the Householder QR decomposition of a matrix A, where the
+	 * output H contains the Householder vectors and R is upper triangular
+	 * (both of size m x n, as returned by commons-math QRDecomposition).
+	 *
+	 * @param in
+	 * @param k
+	 * @return matrix blocks H and R
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] qr( MatrixBlock in, int k )
+		throws DMLRuntimeException
+	{
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		final int p = Math.min(m, n);
+
+		//transposed working copy (contiguous columns of A)
+		double[] qrt = copyToDenseTransposed(in);
+		double[] rdiag = null;
+
+		ExecutorService pool = createThreadPool(k, 2L*m*n*p);
+		try {
+			rdiag = qrDense(qrt, m, n, pool, k);
+		}
+		finally {
+			shutdown(pool);
+		}
+
+		//extract householder vectors and upper triangular matrix
+		MatrixBlock H = new MatrixBlock(m, n, false);
+		MatrixBlock R = new MatrixBlock(m, n, false);
+		H.allocateDenseBlock();
+		R.allocateDenseBlock();
+		double[] h = H.getDenseArray();
+		double[] r = R.getDenseArray();
+		for( int i=0, ix=0; i<m; i++, ix+=n ) {
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				h[ix+j] = qrt[j*m+i] / -rdiag[j];
+			if( i < p ) {
+				r[ix+i] = rdiag[i];
+				for( int j=i+1; j<n; j++ )
+					r[ix+j] = qrt[j*m+i];
+			}
+		}
+
+		return new MatrixBlock[]{ finalizeResult(H), finalizeResult(R) };
+	}
+
+	/**
+	 * Computes the Eigen decomposition of a symmetric matrix A via Householder
+	 * tridiagonalization and the implicit QL algorithm. The eigenvalues (column
+	 * vector) and eigenvectors (columns) are sorted in increasing order of
+	 * eigenvalues. Non-symmetric matrices are delegated to commons-math.
+	 *
+	 * @param in
+	 * @param k
+	 * @return matrix blocks of eigenvalues and eigenvectors
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock[] eigen( MatrixBlock in, int k )
+		throws DMLRuntimeException
+	{
+		checkSquare(in, "Eigen Decomposition");
+
+		//fallback to commons-math for non-symmetric inputs
+		final int n = in.getNumRows();
+		MatrixBlock tmp = copyToDense(in, false);
+		double[] w = tmp.getDenseArray();
+		if( !isSymmetric(w, n) )
+			return LibCommonsMath.computeEigen(in);
+
+		//note: since A is symmetric, the working copy represents t(V), which
+		//allows for row-wise access of eigenvectors during tridiagonalization,
+		//accumulation of transformations, and QL rotations
+		double[] d = new double[n];
+		double[] e = new double[n];
+		ExecutorService pool = createThreadPool(k, 9L*n*n*n);
+		try {
+			tridiagonalize(w, n, d, e, pool, k);
+			tridiagonalQL(w, n, d, e, pool, k);
+		}
+		finally {
+			shutdown(pool);
+		}
+
+		//sort eigenvalues and vectors in increasing order (compatible w/ LAPACK.DSYEVR())
+		double[] buff = new double[n];
+		for( int i=0; i<n; i++ ) {
+			int pos = i;
+			for( int j=i+1; j<n; j++ )
+				if( d[j] < d[pos] )
+					pos = j;
+			if( pos != i ) {
+				double tmpd = d[pos]; d[pos] = d[i]; d[i] = tmpd;
+				System.arraycopy(w, i*n, buff, 0, n);
+				System.arraycopy(w, pos*n, w, i*n, n);
+				System.arraycopy(buff, 0, w, pos*n, n);
+			}
+		}
+
+		//create outputs (transposed eigenvectors)
+		MatrixBlock values = new MatrixBlock(n, 1, false);
+		values.init(d, n, 1);
+		MatrixBlock vectors = new MatrixBlock(n, n, false);
+		vectors.allocateDenseBlock();
+		double[] v = vectors.getDenseArray();
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int j=0, jx=0; j<n; j++, jx+=n )
+				v[jx+i] = w[ix+j];
+
+		return new MatrixBlock[]{ finalizeResult(values), finalizeResult(vectors) };
+	}
+
+	/**
+	 * Solves the system of linear equations A %*% X = B. Square symmetric
+	 * positive definite matrices are solved via Cholesky, other square
+	 * matrices via LU with partial pivoting, and non-square matrices via
+	 * Householder QR (least squares for overdetermined systems).
+	 *
+	 * @param in1 matrix A
+	 * @param in2 matrix B (right-hand-sides)
+	 * @param k
+	 * @return matrix X
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock solve( MatrixBlock in1, MatrixBlock in2, int k )
+		throws DMLRuntimeException
+	{
+		if( in1.getNumRows() != in2.getNumRows() )
+			throw new DMLRuntimeException("Dimension mismatch in solve(): number of rows of A ("+in1.getNumRows()
+					+ ") does not match number of rows of b (" + in2.getNumRows() + ").");
+
+		return solveDense(in1, copyToDense(in2, false), k);
+	}
+
+	/**
+	 * Computes the inverse of a square matrix A, by solving A %*% X = I.
+	 *
+	 * @param in
+	 * @param k
+	 * @return inverse matrix of A
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock inverse( MatrixBlock in, int k )
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a "
+					+ in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+
+		//create identity as right-hand-sides
+		final int n = in.getNumRows();
+		MatrixBlock eye = new MatrixBlock(n, n, false);
+		eye.allocateDenseBlock();
+		double[] c = eye.getDenseArray();
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			c[ix+i] = 1;
+
+		return solveDense(in, eye, k);
+	}
+
+	////////////////////////////////
+	// core solve computation
+	////////////////////////////////
+
+	/**
+	 *
+	 * @param in1
+	 * @param b dense working copy of right-hand-sides (modified)
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock solveDense( MatrixBlock in1, MatrixBlock b, int k )
+		throws DMLRuntimeException
+	{
+		final int m = in1.getNumRows();
+		final int n = in1.getNumColumns();
+		final int r = b.getNumColumns();
+		double[] c = b.getDenseArray();
+
+		MatrixBlock ret = null;
+		ExecutorService pool = createThreadPool(k, 2L*m*n*Math.max(n, r));
+		try
+		{
+			if( m == n ) //square
+			{
+				double[] a = copyToDense(in1, false).getDenseArray();
+				boolean sym = isSymmetric(a, n);
+				if( sym && choleskyDense(a, n, pool, k) ) {
+					//A = L t(L) -> L Y = B, t(L) X = Y
+					triangularSolve(a, n, c, r, true, false, false, pool, k);
+					triangularSolve(a, n, c, r, true, true, false, pool, k);
+				}
+				else {
+					//P A = L U -> L Y = P B, U X = Y
+					if( sym ) //recopy after failed cholesky
+						a = copyToDense(in1, false).getDenseArray();
+					int[] perm = luDense(a, n, pool, k);
+					for( int i=0; i<n; i++ )
+						if( a[i*n+i] == 0 )
+							throw new DMLRuntimeException("Matrix is singular.");
+					c = permuteRows(c, perm, r);
+					triangularSolve(a, n, c, r, true, false, true, pool, k);
+					triangularSolve(a, n, c, r, false, false, false, pool, k);
+				}
+				ret = new MatrixBlock(n, r, false);
+				ret.init(c, n, r);
+			}
+			else //non-square
+			{
+				//A = Q R -> R X = t(Q) B (least squares if m>n)
+				double[] qrt = copyToDenseTransposed(in1);
+				double[] rdiag = qrDense(qrt, m, n, pool, k);
+				for( int i=0; i<rdiag.length; i++ )
+					if( rdiag[i] == 0 )
+						throw new DMLRuntimeException("Matrix is singular.");
+				int par = (pool != null) ? k : 1;
+				ArrayList<QRSolveTask> tasks = new ArrayList<QRSolveTask>();
+				int blklen = (int)(Math.ceil((double)r/par));
+				for( int i=0; i<par & i*blklen<r; i++ )
+					tasks.add(new QRSolveTask(qrt, m, rdiag, c, r, i*blklen, Math.min((i+1)*blklen, r)));
+				executeTasks(pool, tasks);
+
+				//output first min(m,n) rows (remaining rows are zero)
+				ret = new MatrixBlock(n, r, false);
+				ret.allocateDenseBlock();
+				System.arraycopy(c, 0, ret.getDenseArray(), 0, rdiag.length*r);
+			}
+		}
+		finally {
+			shutdown(pool);
+		}
+
+		return finalizeResult(ret);
+	}
+
+	/**
+	 *
+	 * @param c
+	 * @param perm
+	 * @param r
+	 * @return
+	 */
+	private static double[] permuteRows( double[] c, int[] perm, int r )
+	{
+		double[] ret = new double[c.length];
+		for( int i=0; i<perm.length; i++ )
+			System.arraycopy(c, perm[i]*r, ret, i*r, r);
+		return ret;
+	}
+
+	/**
+	 * Solves the triangular systems A X = B (or t(A) X = B) for the given
+	 * triangular part of A, in parallel over disjoint column ranges of B.
+	 *
+	 * @param a dense n x n matrix
+	 * @param n
+	 * @param b dense n x r matrix (overwritten by X)
+	 * @param r
+	 * @param lower use lower triangular part of A
+	 * @param trans use transpose of the lower triangular part of A
+	 * @param unit use unit diagonal
+	 * @param pool
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void triangularSolve( double[] a, int n, double[] b, int r, boolean lower, boolean trans, boolean unit, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+		ArrayList<TriangularSolveTask> tasks = new ArrayList<TriangularSolveTask>();
+		int blklen = (int)(Math.ceil((double)r/par));
+		for( int i=0; i<par & i*blklen<r; i++ )
+			tasks.add(new TriangularSolveTask(a, n, b, r, lower, trans, unit, i*blklen, Math.min((i+1)*blklen, r)));
+		executeTasks(pool, tasks);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @param n
+	 * @param b
+	 * @param r
+	 * @param lower
+	 * @param trans
+	 * @param unit
+	 * @param cl
+	 * @param cu
+	 */
+	private static void triangularSolve( double[] a, int n, double[] b, int r, boolean lower, boolean trans, boolean unit, int cl, int cu )
+	{
+		final int len = cu - cl;
+
+		if( lower && !trans ) //forward substitution
+		{
+			for( int i=0, ix=0, bix=cl; i<n; i++, ix+=n, bix+=r ) {
+				for( int p=0, pbix=cl; p<i; p++, pbix+=r ) {
+					double aval = a[ix+p];
+					if( aval != 0 )
+						LibMatrixMult.vectMultiplyAdd(-aval, b, b, pbix, bix, len);
+				}
+				if( !unit )
+					scale(b, bix, len, 1/a[ix+i]);
+			}
+		}
+		else if( !lower ) //backward substitution
+		{
+			for( int i=n-1, ix=(n-1)*n, bix=(n-1)*r+cl; i>=0; i--, ix-=n, bix-=r ) {
+				for( int p=i+1, pbix=(i+1)*r+cl; p<n; p++, pbix+=r ) {
+					double aval = a[ix+p];
+					if( aval != 0 )
+						LibMatrixMult.vectMultiplyAdd(-aval, b, b, pbix, bix, len);
+				}
+				if( !unit )
+					scale(b, bix, len, 1/a[ix+i]);
+			}
+		}
+		else //backward substitution w/ transposed lower (row-wise access)
+		{
+			for( int i=n-1, ix=(n-1)*n, bix=(n-1)*r+cl; i>=0; i--, ix-=n, bix-=r ) {
+				if( !unit )
+					scale(b, bix, len, 1/a[ix+i]);
+				for( int p=0, pbix=cl; p<i; p++, pbix+=r ) {
+					double aval = a[ix+p];
+					if( aval != 0 )
+						LibMatrixMult.vectMultiplyAdd(-aval, b, b, bix, pbix, len);
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param qrt
+	 * @param m
+	 * @param rdiag
+	 * @param b
+	 * @param r
+	 * @param cl
+	 * @param cu
+	 */
+	private static void qrSolve( double[] qrt, int m, double[] rdiag, double[] b, int r, int cl, int cu )
+	{
+		final int len = cu - cl;
+		final int p = rdiag.length;
+		double[] alpha = new double[len];
+
+		//apply householder reflections to right-hand-sides, i.e., t(Q) B
+		for( int minor=0, qix=0; minor<p; minor++, qix+=m ) {
+			Arrays.fill(alpha, 0);
+			for( int row=minor, bix=minor*r+cl; row<m; row++, bix+=r )
+				LibMatrixMult.vectMultiplyAdd(qrt[qix+row], b, alpha, bix, 0, len);
+			scale(alpha, 0, len, 1 / (rdiag[minor] * qrt[qix+minor]));
+			for( int row=minor, bix=minor*r+cl; row<m; row++, bix+=r )
+				LibMatrixMult.vectMultiplyAdd(qrt[qix+row], alpha, b, 0, bix, len);
+		}
+
+		//backward substitution with R (upper triangular part of t(qrt))
+		for( int j=p-1, bjx=(p-1)*r+cl; j>=0; j--, bjx-=r ) {
+			scale(b, bjx, len, 1 / rdiag[j]);
+			for( int i=0, qix=j*m, bix=cl; i<j; i++, bix+=r )
+				LibMatrixMult.vectMultiplyAdd(-qrt[qix+i], b, b, bjx, bix, len);
+		}
+	}
+
+	////////////////////////////////
+	// core decompositions
+	////////////////////////////////
+
+	/**
+	 * Blocked right-looking Cholesky decomposition, which overwrites the
+	 * lower triangular part of a with L.
+	 *
+	 * @param a
+	 * @param n
+	 * @param pool
+	 * @param k
+	 * @return true if the matrix is positive definite
+	 * @throws DMLRuntimeException
+	 */
+	private static boolean choleskyDense( double[] a, int n, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+
+		for( int kb=0; kb<n; kb+=BLOCKSIZE )
+		{
+			final int ke = Math.min(kb+BLOCKSIZE, n);
+
+			//factorize diagonal block (unblocked)
+			for( int j=kb, jx=kb*n; j<ke; j++, jx+=n ) {
+				double djj = a[jx+j] - LibMatrixMult.dotProduct(a, a, jx+kb, jx+kb, j-kb);
+				if( !(djj > 0) )
+					return false;
+				djj = Math.sqrt(djj);
+				a[jx+j] = djj;
+				for( int i=j+1, ix=(j+1)*n; i<ke; i++, ix+=n )
+					a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+kb, jx+kb, j-kb)) / djj;
+			}
+
+			if( ke < n )
+			{
+				//panel below diagonal block (row-parallel triangular solve)
+				ArrayList<CholeskyTask> tasks = new ArrayList<CholeskyTask>();
+				int blklen = (int)(Math.ceil((double)(n-ke)/par));
+				for( int i=0; i<par & ke+i*blklen<n; i++ )
+					tasks.add(new CholeskyTask(a, n, kb, ke, ke+i*blklen, Math.min(ke+(i+1)*blklen, n), true));
+				executeTasks(pool, tasks);
+
+				//trailing update of lower triangular part (balanced row ranges)
+				tasks.clear();
+				for( int i=0, rl=ke; i<par && rl<n; i++ ) {
+					int ru = (i==par-1) ? n : ke + (int)((n-ke)*Math.sqrt((double)(i+1)/par));
+					if( ru > rl )
+						tasks.add(new CholeskyTask(a, n, kb, ke, rl, ru, false));
+					rl = Math.max(rl, ru);
+				}
+				executeTasks(pool, tasks);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @param n
+	 * @param kb
+	 * @param ke
+	 * @param rl
+	 * @param ru
+	 */
+	private static void choleskyPanel( double[] a, int n, int kb, int ke, int rl, int ru )
+	{
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=kb, jx=kb*n; j<ke; j++, jx+=n )
+				a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+kb, jx+kb, j-kb)) / a[jx+j];
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @param n
+	 * @param kb
+	 * @param ke
+	 * @param rl
+	 * @param ru
+	 */
+	private static void choleskyUpdate( double[] a, int n, int kb, int ke, int rl, int ru )
+	{
+		final int len = ke - kb;
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=ke, jx=ke*n; j<=i; j++, jx+=n )
+				a[ix+j] -= LibMatrixMult.dotProduct(a, a, ix+kb, jx+kb, len);
+	}
+
+	/**
+	 * Blocked right-looking LU decomposition with partial pivoting, which
+	 * overwrites a with L (strictly lower, unit diagonal) and U.
+	 *
+	 * @param a
+	 * @param n
+	 * @param pool
+	 * @param k
+	 * @return row permutation
+	 * @throws DMLRuntimeException
+	 */
+	private static int[] luDense( double[] a, int n, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+		int[] perm = new int[n];
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+		double[] buff = new double[n];
+
+		for( int kb=0; kb<n; kb+=BLOCKSIZE )
+		{
+			final int ke = Math.min(kb+BLOCKSIZE, n);
+
+			//panel factorization (unblocked, w/ interchange of entire rows)
+			for( int j=kb, jx=kb*n; j<ke; j++, jx+=n )
+			{
+				//find pivot
+				int pos = j;
+				double max = Math.abs(a[jx+j]);
+				for( int i=j+1, ix=(j+1)*n; i<n; i++, ix+=n )
+					if( Math.abs(a[ix+j]) > max ) {
+						max = Math.abs(a[ix+j]);
+						pos = i;
+					}
+				if( pos != j ) {
+					System.arraycopy(a, jx, buff, 0, n);
+					System.arraycopy(a, pos*n, a, jx, n);
+					System.arraycopy(buff, 0, a, pos*n, n);
+					int tmp = perm[j]; perm[j] = perm[pos]; perm[pos] = tmp;
+				}
+
+				//eliminate below pivot (within panel)
+				double piv = a[jx+j];
+				if( piv != 0 )
+					for( int i=j+1, ix=(j+1)*n; i<n; i++, ix+=n ) {
+						double lij = (a[ix+j] /= piv);
+						if( lij != 0 )
+							LibMatrixMult.vectMultiplyAdd(-lij, a, a, jx+j+1, ix+j+1, ke-j-1);
+					}
+			}
+
+			if( ke < n )
+			{
+				//row block of U (forward substitution w/ unit lower diagonal block)
+				for( int i=kb+1, ix=(kb+1)*n; i<ke; i++, ix+=n )
+					for( int p=kb, px=kb*n; p<i; p++, px+=n )
+						if( a[ix+p] != 0 )
+							LibMatrixMult.vectMultiplyAdd(-a[ix+p], a, a, px+ke, ix+ke, n-ke);
+
+				//trailing update (row-parallel)
+				ArrayList<LUUpdateTask> tasks = new ArrayList<LUUpdateTask>();
+				int blklen = (int)(Math.ceil((double)(n-ke)/par));
+				for( int i=0; i<par & ke+i*blklen<n; i++ )
+					tasks.add(new LUUpdateTask(a, n, kb, ke, ke+i*blklen, Math.min(ke+(i+1)*blklen, n)));
+				executeTasks(pool, tasks);
+			}
+		}
+
+		return perm;
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @param n
+	 * @param kb
+	 * @param ke
+	 * @param rl
+	 * @param ru
+	 */
+	private static void luUpdate( double[] a, int n, int kb, int ke, int rl, int ru )
+	{
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int p=kb, px=kb*n; p<ke; p++, px+=n )
+				if( a[ix+p] != 0 )
+					LibMatrixMult.vectMultiplyAdd(-a[ix+p], a, a, px+ke, ix+ke, n-ke);
+	}
+
+	/**
+	 * Blocked Householder QR decomposition on the transposed matrix qrt
+	 * (n x m), where the reflections of a panel are applied to the trailing
+	 * columns in parallel. The householder vectors are stored in the lower
+	 * part and R in the upper part of t(qrt) (except the diagonal).
+	 *
+	 * @param qrt
+	 * @param m
+	 * @param n
+	 * @param pool
+	 * @param k
+	 * @return diagonal of R
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] qrDense( double[] qrt, int m, int n, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+		final int p = Math.min(m, n);
+		double[] rdiag = new double[p];
+
+		for( int kb=0; kb<p; kb+=BLOCKSIZE )
+		{
+			final int ke = Math.min(kb+BLOCKSIZE, p);
+
+			//panel factorization (unblocked)
+			for( int minor=kb; minor<ke; minor++ ) {
+				final int qix = minor*m;
+				double xNormSqr = LibMatrixMult.dotProduct(qrt, qrt, qix+minor, qix+minor, m-minor);
+				double aval = (qrt[qix+minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+				rdiag[minor] = aval;
+				if( aval != 0 ) {
+					qrt[qix+minor] -= aval;
+					qrReflect(qrt, m, rdiag, minor, minor+1, minor+1, ke);
+				}
+			}
+
+			//apply panel reflections to trailing columns (column-parallel)
+			if( ke < n ) {
+				ArrayList<QRUpdateTask> tasks = new ArrayList<QRUpdateTask>();
+				int blklen = (int)(Math.ceil((double)(n-ke)/par));
+				for( int i=0; i<par & ke+i*blklen<n; i++ )
+					tasks.add(new QRUpdateTask(qrt, m, rdiag, kb, ke, ke+i*blklen, Math.min(ke+(i+1)*blklen, n)));
+				executeTasks(pool, tasks);
+			}
+		}
+
+		return rdiag;
+	}
+
+	/**
+	 * Applies the householder reflections [ml,mu) to the columns [cl,cu).
+	 *
+	 * @param qrt
+	 * @param m
+	 * @param rdiag
+	 * @param ml
+	 * @param mu
+	 * @param cl
+	 * @param cu
+	 */
+	private static void qrReflect( double[] qrt, int m, double[] rdiag, int ml, int mu, int cl, int cu )
+	{
+		for( int col=cl, cix=cl*m; col<cu; col++, cix+=m )
+			for( int minor=ml, qix=ml*m; minor<Math.min(mu, col); minor++, qix+=m ) {
+				if( rdiag[minor] == 0 )
+					continue;
+				double alpha = LibMatrixMult.dotProduct(qrt, qrt, cix+minor, qix+minor, m-minor);
+				alpha /= rdiag[minor] * qrt[qix+minor];
+				LibMatrixMult.vectMultiplyAdd(alpha, qrt, qrt, qix+minor, cix+minor, m-minor);
+			}
+	}
+
+	/**
+	 * Householder reduction of the symmetric matrix w to tridiagonal form
+	 * (d diagonal, e off-diagonal), incl accumulation of transformations
+	 * (tred2 from EISPACK, operating on the transposed matrix of eigenvectors).
+	 *
+	 * @param w
+	 * @param n
+	 * @param d
+	 * @param e
+	 * @param pool
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void tridiagonalize( double[] w, int n, double[] d, double[] e, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+		ArrayList<EigenTask> tasks = new ArrayList<EigenTask>();
+
+		for( int j=0; j<n; j++ )
+			d[j] = w[j*n+n-1];
+
+		//householder reduction to tridiagonal form
+		for( int i=n-1; i>0; i-- )
+		{
+			double scale = 0;
+			double h = 0;
+			for( int j=0; j<i; j++ )
+				scale += Math.abs(d[j]);
+
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j=0; j<i; j++ ) {
+					d[j] = w[j*n+i-1];
+					w[j*n+i] = 0;
+					w[i*n+j] = 0;
+				}
+			}
+			else {
+				//generate householder vector
+				for( int j=0; j<i; j++ ) {
+					d[j] /= scale;
+					h += d[j] * d[j];
+				}
+				double f = d[i-1];
+				double g = Math.sqrt(h);
+				if( f > 0 )
+					g = -g;
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+				for( int j=0; j<i; j++ )
+					e[j] = 0;
+
+				//apply similarity transformation to remaining rows
+				for( int j=0, jx=0; j<i; j++, jx+=n ) {
+					f = d[j];
+					w[i*n+j] = f;
+					g = e[j] + w[jx+j] * f;
+					for( int p=j+1; p<i; p++ ) {
+						g += w[jx+p] * d[p];
+						e[p] += w[jx+p] * f;
+					}
+					e[j] = g;
+				}
+				f = 0;
+				for( int j=0; j<i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j=0; j<i; j++ )
+					e[j] -= hh * d[j];
+
+				//rank-2 update (row-parallel)
+				tasks.clear();
+				int lpar = ((long)i*i >= PAR_MINFLOP_THRESHOLD/4) ? par : 1;
+				int blklen = (int)(Math.ceil((double)i/lpar));
+				for( int j=0; j<lpar & j*blklen<i; j++ )
+					tasks.add(new EigenTask(w, n, d, e, i, j*blklen, Math.min((j+1)*blklen, i), true));
+				executeTasks(pool, tasks);
+				for( int j=0, jx=0; j<i; j++, jx+=n ) {
+					d[j] = w[jx+i-1];
+					w[jx+i] = 0;
+				}
+			}
+			d[i] = h;
+		}
+
+		//accumulate transformations
+		for( int i=0; i<n-1; i++ )
+		{
+			w[i*n+n-1] = w[i*n+i];
+			w[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int p=0; p<=i; p++ )
+					d[p] = w[(i+1)*n+p] / h;
+
+				//update rows 0..i (row-parallel)
+				tasks.clear();
+				int lpar = ((long)i*i >= PAR_MINFLOP_THRESHOLD/4) ? par : 1;
+				int blklen = (int)(Math.ceil((double)(i+1)/lpar));
+				for( int j=0; j<lpar & j*blklen<=i; j++ )
+					tasks.add(new EigenTask(w, n, d, null, i, j*blklen, Math.min((j+1)*blklen, i+1), false));
+				executeTasks(pool, tasks);
+			}
+			for( int p=0; p<=i; p++ )
+				w[(i+1)*n+p] = 0;
+		}
+		for( int j=0; j<n; j++ ) {
+			d[j] = w[j*n+n-1];
+			w[j*n+n-1] = 0;
+		}
+		w[n*n-1] = 1;
+		e[0] = 0;
+	}
+
+	/**
+	 *
+	 * @param w
+	 * @param n
+	 * @param d
+	 * @param e
+	 * @param i
+	 * @param rl
+	 * @param ru
+	 */
+	private static void tridiagonalizeUpdate( double[] w, int n, double[] d, double[] e, int i, int rl, int ru )
+	{
+		for( int j=rl, jx=rl*n; j<ru; j++, jx+=n ) {
+			double f = d[j];
+			double g = e[j];
+			for( int p=j; p<i; p++ )
+				w[jx+p] -= (f * e[p] + g * d[p]);
+		}
+	}
+
+	/**
+	 *
+	 * @param w
+	 * @param n
+	 * @param d
+	 * @param i
+	 * @param rl
+	 * @param ru
+	 */
+	private static void tridiagonalizeAccumulate( double[] w, int n, double[] d, int i, int rl, int ru )
+	{
+		final int vix = (i+1)*n;
+		for( int j=rl, jx=rl*n; j<ru; j++, jx+=n ) {
+			double g = LibMatrixMult.dotProduct(w, w, vix, jx, i+1);
+			LibMatrixMult.vectMultiplyAdd(-g, d, w, 0, jx, i+1);
+		}
+	}
+
+	/**
+	 * Symmetric tridiagonal QL algorithm with implicit shifts (tql2 from
+	 * EISPACK), where the rotations of a QL step are applied to the
+	 * (transposed) eigenvectors in parallel over disjoint column ranges.
+	 *
+	 * @param w
+	 * @param n
+	 * @param d
+	 * @param e
+	 * @param pool
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private static void tridiagonalQL( double[] w, int n, double[] d, double[] e, ExecutorService pool, int k )
+		throws DMLRuntimeException
+	{
+		int par = (pool != null) ? k : 1;
+		ArrayList<QLRotateTask> tasks = new ArrayList<QLRotateTask>();
+		double[] cs = new double[n];
+		double[] sn = new double[n];
+
+		for( int i=1; i<n; i++ )
+			e[i-1] = e[i];
+		e[n-1] = 0;
+
+		double f = 0;
+		double tst1 = 0;
+		for( int l=0; l<n; l++ )
+		{
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n-1 && Math.abs(e[m]) > EPSILON*tst1 )
+				m++;
+
+			//if m == l, d[l] is an eigenvalue, otherwise iterate
+			if( m > l ) {
+				int iter = 0;
+				do {
+					if( ++iter > MAX_EIGEN_ITER )
+						throw new DMLRuntimeException("Eigen Decomposition did not converge.");
+
+					//compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2 * e[l]);
+					double r = Math.hypot(p, 1);
+					if( p < 0 )
+						r = -r;
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for( int i=l+2; i<n; i++ )
+						d[i] -= h;
+					f = f + h;
+
+					//implicit QL transformation
+					p = d[m];
+					double c = 1, c2 = c, c3 = c;
+					double el1 = e[l+1];
+					double s = 0, s2 = 0;
+					for( int i=m-1; i>=l; i-- ) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = Math.hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						cs[i] = c;
+						sn[i] = s;
+					}
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+
+					//accumulate rotations (column-parallel)
+					tasks.clear();
+					int lpar = ((long)(m-l)*n*6 >= PAR_MINFLOP_THRESHOLD) ? par : 1;
+					int blklen = (int)(Math.ceil((double)n/lpar));
+					for( int j=0; j<lpar & j*blklen<n; j++ )
+						tasks.add(new QLRotateTask(w, n, cs, sn, l, m, j*blklen, Math.min((j+1)*blklen, n)));
+					executeTasks(pool, tasks);
+				}
+				while( Math.abs(e[l]) > EPSILON*tst1 );
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+	}
+
+	/**
+	 *
+	 * @param w
+	 * @param n
+	 * @param cs
+	 * @param sn
+	 * @param l
+	 * @param m
+	 * @param cl
+	 * @param cu
+	 */
+	private static void tridiagonalQLRotate( double[] w, int n, double[] cs, double[] sn, int l, int m, int cl, int cu )
+	{
+		for( int i=m-1; i>=l; i-- ) {
+			final double c = cs[i];
+			final double s = sn[i];
+			final int ix = i*n;
+			final int i1x = (i+1)*n;
+			for( int j=cl; j<cu; j++ ) {
+				double h = w[i1x+j];
+				w[i1x+j] = s * w[ix+j] + c * h;
+				w[ix+j] = c * w[ix+j] - s * h;
+			}
+		}
+	}
+
+	////////////////////////////////
+	// internal utils
+	////////////////////////////////
+
+	/**
+	 *
+	 * @param in
+	 * @param opname
+	 * @throws DMLRuntimeException
+	 */
+	private static void checkSquare( MatrixBlock in, String opname )
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() ) {
+			throw new DMLRuntimeException(opname + " can only be done on a square matrix. Input matrix is rectangular (rows="
+					+ in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+		}
+	}
+
+	/**
+	 * Checks for symmetry w/ relative tolerance (as used by commons-math).
+	 *
+	 * @param a
+	 * @param n
+	 * @return
+	 */
+	private static boolean isSymmetric( double[] a, int n )
+	{
+		final double eps = 10 * n * n * EPSILON/2;
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int j=i+1, jx=(i+1)*n; j<n; j++, jx+=n ) {
+				double aij = a[ix+j];
+				double aji = a[jx+i];
+				if( Math.abs(aij - aji) > Math.max(Math.abs(aij), Math.abs(aji)) * eps )
+					return false;
+			}
+		return true;
+	}
+
+	/**
+	 * Creates a dense working copy of the given matrix block.
+	 *
+	 * @param in
+	 * @param transpose
+	 * @return
+	 */
+	private static MatrixBlock copyToDense( MatrixBlock in, boolean transpose )
+	{
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		ret.allocateDenseBlock();
+		double[] c = ret.getDenseArray();
+
+		if( in.isEmptyBlock(false) )
+			return ret;
+
+		if( in.isInSparseFormat() ) {
+			SparseRow[] a = in.getSparseRows();
+			for( int i=0, cix=0; i<Math.min(a.length, m); i++, cix+=n ) {
+				SparseRow arow = a[i];
+				if( arow==null || arow.isEmpty() )
+					continue;
+				int alen = arow.size();
+				int[] aix = arow.getIndexContainer();
+				double[] avals = arow.getValueContainer();
+				for( int j=0; j<alen; j++ )
+					c[ transpose ? aix[j]*m+i : cix+aix[j] ] = avals[j];
+			}
+		}
+		else {
+			double[] a = in.getDenseArray();
+			if( !transpose )
+				System.arraycopy(a, 0, c, 0, m*n);
+			else
+				for( int i=0, aix=0; i<m; i++ )
+					for( int j=0; j<n; j++, aix++ )
+						c[j*m+i] = a[aix];
+		}
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @return
+	 */
+	private static double[] copyToDenseTransposed( MatrixBlock in ) {
+		return copyToDense(in, true).getDenseArray();
+	}
+
+	/**
+	 *
+	 * @param ret
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock finalizeResult( MatrixBlock ret )
+		throws DMLRuntimeException
+	{
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @param ai
+	 * @param len
+	 * @param factor
+	 */
+	private static void scale( double[] a, int ai, int len, double factor ) {
+		for( int i=ai; i<ai+len; i++ )
+			a[i] *= factor;
+	}
+
+	/**
+	 *
+	 * @param k
+	 * @param flops
+	 * @return thread pool, or null for single-threaded execution
+	 */
+	private static ExecutorService createThreadPool( int k, long flops ) {
+		return (k > 1 && flops >= PAR_MINFLOP_THRESHOLD) ?
+				Executors.newFixedThreadPool(k) : null;
+	}
+
+	/**
+	 *
+	 * @param pool
+	 */
+	private static void shutdown( ExecutorService pool ) {
+		if( pool != null )
+			pool.shutdown();
+	}
+
+	/**
+	 * Executes the given tasks in the thread pool, or sequentially in
+	 * the current thread if no pool is given or there is only one task.
+	 *
+	 * @param pool
+	 * @param tasks
+	 * @throws DMLRuntimeException
+	 */
+	private static void executeTasks( ExecutorService pool, ArrayList<? extends Callable<Object>> tasks )
+		throws DMLRuntimeException
+	{
+		try {
+			if( pool != null && tasks.size() > 1 ) {
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+			else {
+				for( Callable<Object> task : tasks )
+					task.call();
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class CholeskyTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _kb = -1;
+		private int _ke = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		private boolean _panel = false;
+
+		protected CholeskyTask( double[] a, int n, int kb, int ke, int rl, int ru, boolean panel ) {
+			_a = a;
+			_n = n;
+			_kb = kb;
+			_ke = ke;
+			_rl = rl;
+			_ru = ru;
+			_panel = panel;
+		}
+
+		@Override
+		public Object call() {
+			if( _panel )
+				choleskyPanel(_a, _n, _kb, _ke, _rl, _ru);
+			else
+				choleskyUpdate(_a, _n, _kb, _ke, _rl, _ru);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class LUUpdateTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _kb = -1;
+		private int _ke = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected LUUpdateTask( double[] a, int n, int kb, int ke, int rl, int ru ) {
+			_a = a;
+			_n = n;
+			_kb = kb;
+			_ke = ke;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			luUpdate(_a, _n, _kb, _ke, _rl, _ru);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class QRUpdateTask implements Callable<Object>
+	{
+		private double[] _qrt = null;
+		private int _m = -1;
+		private double[] _rdiag = null;
+		private int _kb = -1;
+		private int _ke = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+
+		protected QRUpdateTask( double[] qrt, int m, double[] rdiag, int kb, int ke, int cl, int cu ) {
+			_qrt = qrt;
+			_m = m;
+			_rdiag = rdiag;
+			_kb = kb;
+			_ke = ke;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			qrReflect(_qrt, _m, _rdiag, _kb, _ke, _cl, _cu);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class QRSolveTask implements Callable<Object>
+	{
+		private double[] _qrt = null;
+		private int _m = -1;
+		private double[] _rdiag = null;
+		private double[] _b = null;
+		private int _r = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+
+		protected QRSolveTask( double[] qrt, int m, double[] rdiag, double[] b, int r, int cl, int cu ) {
+			_qrt = qrt;
+			_m = m;
+			_rdiag = rdiag;
+			_b = b;
+			_r = r;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			qrSolve(_qrt, _m, _rdiag, _b, _r, _cl, _cu);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class TriangularSolveTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private double[] _b = null;
+		private int _r = -1;
+		private boolean _lower = false;
+		private boolean _trans = false;
+		private boolean _unit = false;
+		private int _cl = -1;
+		private int _cu = -1;
+
+		protected TriangularSolveTask( double[] a, int n, double[] b, int r, boolean lower, boolean trans, boolean unit, int cl, int cu ) {
+			_a = a;
+			_n = n;
+			_b = b;
+			_r = r;
+			_lower = lower;
+			_trans = trans;
+			_unit = unit;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			triangularSolve(_a, _n, _b, _r, _lower, _trans, _unit, _cl, _cu);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class EigenTask implements Callable<Object>
+	{
+		private double[] _w = null;
+		private int _n = -1;
+		private double[] _d = null;
+		private double[] _e = null;
+		private int _i = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		private boolean _update = false;
+
+		protected EigenTask( double[] w, int n, double[] d, double[] e, int i, int rl, int ru, boolean update ) {
+			_w = w;
+			_n = n;
+			_d = d;
+			_e = e;
+			_i = i;
+			_rl = rl;
+			_ru = ru;
+			_update = update;
+		}
+
+		@Override
+		public Object call() {
+			if( _update )
+				tridiagonalizeUpdate(_w, _n, _d, _e, _i, _rl, _ru);
+			else
+				tridiagonalizeAccumulate(_w, _n, _d, _i, _rl, _ru);
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 *
+	 */
+	private static class QLRotateTask implements Callable<Object>
+	{
+		private double[] _w = null;
+		private int _n = -1;
+		private double[] _cs = null;
+		private double[] _sn = null;
+		private int _l = -1;
+		private int _m = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+
+		protected QLRotateTask( double[] w, int n, double[] cs, double[] sn, int l, int m, int cl, int cu ) {
+			_w = w;
+			_n = n;
+			_cs = cs;
+			_sn = sn;
+			_l = l;
+			_m = m;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			tridiagonalQLRotate(_w, _n, _cs, _sn, _l, _m, _cl, _cu);
+			return null;
+		}
+	}
+}
@@ -103,6 +103,7 @@ public class LibMatrixMult
 		//Timing time = new Timing(true);
 		
 		//pre-processing: output allocation
+		prepMatrixMultCSRInputs(m1, m2);
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
 		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
@@ -114,10 +115,16 @@ public class LibMatrixMult
 		int ru = pm2 ? m2.rlen : m1.rlen; 
 		
 		//core matrix mult computation
+		SparseBlockCSR csr1 = m1.getCSRBlock();
+		SparseBlockCSR csr2 = m2.getCSRBlock();
 		if( m1.isUltraSparse() || m2.isUltraSparse() )
 			matrixMultUltraSparse(m1, m2, ret, 0, ru);
 		else if(!m1.sparse && !m2.sparse)
 			matrixMultDenseDense(m1, m2, ret, tm2, pm2, 0, ru);
+		else if( csr1 != null )
+			matrixMultCSRDense(csr1, m2, ret, 0, ru);
+		else if( csr2 != null )
+			matrixMultDenseCSR(m1, csr2, ret, 0, ru);
 		else if(m1.sparse && m2.sparse)
 			matrixMultSparseSparse(m1, m2, ret, pm2, 0, ru);
 		else if(m1.sparse)
@@ -166,6 +173,7 @@ public class LibMatrixMult
 		
 		//pre-processing: output allocation (in contrast to single-threaded,
 		//we need to allocate sparse as well in order to prevent synchronization)
+		prepMatrixMultCSRInputs(m1, m2);
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
 		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
@@ -240,7 +248,10 @@ public class LibMatrixMult
 		ret.allocateDenseBlock();
 		
 		//core matrix mult chain computation
-		if( mX.sparse )
+		SparseBlockCSR csrX = mX.getCSRBlock();
+		if( csrX != null )
+			matrixMultChainCSR(csrX, mV, mW, ret, ct, 0, mX.rlen);
+		else if( mX.sparse )
 			matrixMultChainSparse(mX, mV, mW, ret, ct, 0, mX.rlen);
 		else
 			matrixMultChainDense(mX, mV, mW, ret, ct, 0, mX.rlen);
@@ -344,7 +355,10 @@ public class LibMatrixMult
 		ret.sparse = false;
 		ret.allocateDenseBlock();
 
-		if( m1.sparse )
+		SparseBlockCSR csr1 = m1.getCSRBlock();
+		if( csr1 != null && leftTranspose )
+			matrixMultTransposeSelfCSR(csr1, ret, 0, ret.rlen);
+		else if( m1.sparse )
 			matrixMultTransposeSelfSparse(m1, ret, leftTranspose, 0, ret.rlen);
 		else 
 			matrixMultTransposeSelfDense(m1, ret, leftTranspose, 0, ret.rlen );
@@ -427,6 +441,7 @@ public class LibMatrixMult
 	public static void matrixMultPermute( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2 )
 		throws DMLUnsupportedOperationException, DMLRuntimeException
 	{
+		prepCSRInputs(pm1, m2); //no CSR kernels
 		//check inputs / outputs
 		if( pm1.isEmptyBlock(false) || m2.isEmptyBlock(false) )
 			return;
@@ -473,6 +488,7 @@ public class LibMatrixMult
 	public static void matrixMultPermute( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int k)
 		throws DMLUnsupportedOperationException, DMLRuntimeException
 	{
+		prepCSRInputs(pm1, m2); //no CSR kernels
 		//check inputs / outputs
 		if( pm1.isEmptyBlock(false) || m2.isEmptyBlock(false) )
 			return;
@@ -529,6 +545,7 @@ public class LibMatrixMult
 	public static void matrixMultWSLoss(MatrixBlock mX, MatrixBlock mU, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, WeightsType wt) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mX, mU, mV, mW); //no CSR kernels
 		//check for empty result
 		if( wt==WeightsType.POST && mW.isEmptyBlock(false) 
 			|| wt==WeightsType.POST_NZ && mX.isEmptyBlock(false) ) {
@@ -565,6 +582,7 @@ public class LibMatrixMult
 	public static void matrixMultWSLoss(MatrixBlock mX, MatrixBlock mU, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, WeightsType wt, int k) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mX, mU, mV, mW); //no CSR kernels
 		//check for empty result
 		if( wt==WeightsType.POST && mW.isEmptyBlock(false)
 			|| wt==WeightsType.POST_NZ && mX.isEmptyBlock(false) ) {
@@ -612,6 +630,7 @@ public class LibMatrixMult
 	public static void matrixMultWSigmoid(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WSigmoidType wt) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result
 		if( mW.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -653,6 +672,7 @@ public class LibMatrixMult
 	public static void matrixMultWSigmoid(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WSigmoidType wt, int k) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result
 		if( mW.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -712,6 +732,7 @@ public class LibMatrixMult
 	public static void matrixMultWDivMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WDivMMType wt) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result 
 		if(   mW.isEmptyBlock(false) 
 		   || (wt.isLeft() && mU.isEmptyBlock(false))
@@ -761,6 +782,7 @@ public class LibMatrixMult
 	public static void matrixMultWDivMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WDivMMType wt, int k) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result 
 		if(   mW.isEmptyBlock(false) 
 		   || (wt.isLeft() && mU.isEmptyBlock(false))
@@ -822,6 +844,7 @@ public class LibMatrixMult
 	public static void matrixMultWCeMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WCeMMType wt) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result 
 		if( mW.isEmptyBlock(false) )  {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -859,6 +882,7 @@ public class LibMatrixMult
 	public static void matrixMultWCeMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WCeMMType wt, int k) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result 
 		if( mW.isEmptyBlock(false) )  {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -903,6 +927,7 @@ public class LibMatrixMult
 	public static void matrixMultWuMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WUMMType wt, ValueFunction fn) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result
 		if( mW.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -944,6 +969,7 @@ public class LibMatrixMult
 	public static void matrixMultWuMM(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WUMMType wt, ValueFunction fn, int k) 
 		throws DMLRuntimeException 
 	{
+		prepCSRInputs(mW, mU, mV); //no CSR kernels
 		//check for empty result
 		if( mW.isEmptyBlock(false) ) {
 			ret.examSparsity(); //turn empty dense into sparse
@@ -1385,6 +1411,112 @@ public class LibMatrixMult
 		}
 	}
 	
+	/**
+	 * Matrix multiplication of a read-only CSR lhs matrix and a dense rhs matrix. In
+	 * contrast to the sparse-dense case, the special cases of vector-matrix and short 
+	 * lhs matrices are not supported because such inputs are converted to sparse rows.
+	 * 
+	 * @param a
+	 * @param m2
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 */
+	private static void matrixMultCSRDense(SparseBlockCSR a, MatrixBlock m2, MatrixBlock ret, int rl, int ru) 
+	{
+		double[] b = m2.denseBlock;
+		double[] c = ret.denseBlock;
+		final int n = m2.clen;
+		
+		int[] aix = a.indexes();
+		double[] avals = a.values();
+		
+		if( n==1 )                 //MATRIX-VECTOR
+		{
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) )
+					c[i] = dotProduct(avals, b, aix, a.pos(i), 0, a.size(i));
+		}
+		else                       //MATRIX-MATRIX
+		{
+			for( int i=rl, cix=rl*n; i<ru; i++, cix+=n )
+			{
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				
+				if( alen==1 && avals[apos]==1 ) //ROW SELECTION 
+				{
+					//plain memcopy for permutation matrices
+					System.arraycopy(b, aix[apos]*n, c, cix, n);
+				}
+				else if( alen > 0 ) //GENERAL CASE
+				{
+					//rest not aligned to blocks of 4 rows
+	    			final int bn = alen % 4;
+	    			switch( bn ){
+		    			case 1: vectMultiplyAdd(avals[apos], b, c, aix[apos]*n, cix, n); break;
+		    	    	case 2: vectMultiplyAdd2(avals[apos],avals[apos+1], b, c, aix[apos]*n, aix[apos+1]*n, cix, n); break;
+		    			case 3: vectMultiplyAdd3(avals[apos],avals[apos+1],avals[apos+2], b, c, aix[apos]*n, aix[apos+1]*n, aix[apos+2]*n, cix, n); break;
+	    			}
+	    			
+	    			//compute blocks of 4 rows (core inner loop)
+	    			for( int k = apos+bn; k<apos+alen; k+=4 ) {
+	    				vectMultiplyAdd4( avals[k], avals[k+1], avals[k+2], avals[k+3], b, c, 
+	    						          aix[k]*n, aix[k+1]*n, aix[k+2]*n, aix[k+3]*n, cix, n );
+	    			}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Matrix multiplication of a dense lhs matrix and a read-only CSR rhs matrix. 
+	 * The vector-matrix case is not supported because such inputs are converted to
+	 * sparse rows.
+	 * 
+	 * @param m1
+	 * @param b
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 */
+	private static void matrixMultDenseCSR(MatrixBlock m1, SparseBlockCSR b, MatrixBlock ret, int rl, int ru) 
+	{
+		double[] a = m1.denseBlock;
+		double[] c = ret.denseBlock;
+		final int cd = m1.clen;
+		final int n = ret.clen;
+		
+		int[] bix = b.indexes();
+		double[] bvals = b.values();
+		
+		final int blocksizeI = 32; //256KB c block (typical L2 size per core), 32KB a block 
+		final int blocksizeK = 32; 
+		
+		//blocked execution
+		for( int bi = rl; bi < ru; bi+=blocksizeI )
+			for( int bk = 0, bimin = Math.min(ru, bi+blocksizeI); bk < cd; bk+=blocksizeK ) 
+			{
+				int bkmin = Math.min(cd, bk+blocksizeK);
+				
+				//core sub block matrix multiplication
+	    		for( int i = bi; i < bimin; i++) 
+	    		{
+	    			int aixi = i * cd; //start index on a
+	    			int cixj = i * n;  //scan index on c
+	    			
+	    			for( int k = bk; k < bkmin; k++ )
+					{
+						double val = a[aixi+k];
+						if( val != 0 && !b.isEmpty(k) ) {
+							int bpos = b.pos(k);
+							vectMultiplyAdd(val, bvals, c, bix, bpos, cixj, bpos+b.size(k));
+						}
+					}
+	    		}
+			}
+	}
+	
 	/**
 	 * 
 	 * @param m1
@@ -1695,6 +1827,60 @@ public class LibMatrixMult
 	}
 	
 
+	/**
+	 * Matrix multiplication chain over a read-only CSR matrix X, equivalent 
+	 * to matrixMultChainSparse.
+	 * 
+	 * @param a
+	 * @param mV
+	 * @param mW
+	 * @param ret
+	 * @param ct
+	 * @param rl
+	 * @param ru
+	 */
+	private static void matrixMultChainCSR(SparseBlockCSR a, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
+	{
+		double[] b = mV.denseBlock;
+		double[] w = (mW!=null) ? mW.denseBlock : null;
+		double[] c = ret.denseBlock;
+		boolean weights = (ct == ChainType.XtwXv);
+		boolean weights2 = (ct == ChainType.XtXvy);
+		
+		int[] aix = a.indexes();
+		double[] avals = a.values();
+		
+		//temporary array for cache blocking
+		//(blocksize chosen to fit b+v in L2 (256KB) for default 1k blocks)
+		final int blocksize = 24;
+		double[] tmp = new double[blocksize];
+		
+		//blockwise mmchain computation
+		for( int bi=rl; bi < ru; bi+=blocksize ) 
+		{
+			//reset row block intermediate
+			int tmplen = Math.min(blocksize, ru-bi);
+			
+			//compute 1st matrix-vector for row block
+			for( int j=0; j < tmplen; j++)
+				tmp[j] = a.isEmpty(bi+j) ? 0 :
+					dotProduct(avals, b, aix, a.pos(bi+j), 0, a.size(bi+j));
+			
+			//multiply weights (in-place), if required
+			if( weights ) 
+				vectMultiply(w, tmp, bi, 0, tmplen);	
+			else if( weights2 )
+				vectSubtract(w, tmp, bi, 0, tmplen);
+		
+			//compute 2nd matrix vector for row block and aggregate
+			for( int j=0; j < tmplen; j++)
+				if( !a.isEmpty(bi+j) && tmp[j] != 0 ) {
+					int apos = a.pos(bi+j);
+					vectMultiplyAdd(tmp[j], avals, c, aix, apos, 0, apos+a.size(bi+j));
+				}
+		}
+	}
+	
 	/**
 	 * 
 	 * @param m1
@@ -1963,6 +2149,41 @@ public class LibMatrixMult
 		}
 	}
 	
+	/**
+	 * Left transpose-self matrix multiplication t(X)%*%X over a read-only CSR 
+	 * matrix X (only upper-triangular matrix due to symmetry).
+	 * 
+	 * @param a
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 */
+	private static void matrixMultTransposeSelfCSR( SparseBlockCSR a, MatrixBlock ret, int rl, int ru ) 
+	{
+		double[] c = ret.denseBlock;
+		final int n = ret.clen;
+		
+		int[] aix = a.indexes();
+		double[] avals = a.values();
+		
+		//algorithm: scan rows, foreach row self join (KIJ)
+		for( int r=0; r<a.numRows(); r++ ) 
+		{
+			if( a.isEmpty(r) )
+				continue;
+			int apos = a.pos(r);
+			int aend = apos + a.size(r);
+			int rlix = (rl==0) ? apos : a.posFIndexGTE(r, rl);
+			
+			for( int i = rlix; i < aend && aix[i]<ru; i++ ) 
+			{
+				double val = avals[i];
+				if( val != 0 )
+					vectMultiplyAdd(val, avals, c, aix, i, aix[i]*n, aend);
+			}
+		}
+	}
+	
 	/**
 	 * 
 	 * @param pm1
@@ -3035,7 +3256,7 @@ public class LibMatrixMult
 	 * @param len
 	 * @return
 	 */
-	private static double dotProduct( double[] a, double[] b, int ai, int bi, final int len )
+	protected static double dotProduct( double[] a, double[] b, int ai, int bi, final int len )
 	{
 		double val = 0;
 		final int bn = len%8;
@@ -3092,6 +3313,35 @@ public class LibMatrixMult
 		return val; 
 	}
 	
+	private static double dotProduct( double[] a, double[] b, int[] aix, int ai, final int bi, final int len )
+	{
+		double val = 0;
+		final int bn = len%8;
+				
+		//compute rest
+		for( int i = ai; i < ai+bn; i++ )
+			val += a[ i ] * b[ bi+aix[i] ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int i = ai+bn; i < ai+len; i+=8 )
+		{
+			//read 64B cacheline of a
+			//read 64B of b via 'gather'
+			//compute cval' = sum(a * b) + cval
+			val += a[ i+0 ] * b[ bi+aix[i+0] ]
+			     + a[ i+1 ] * b[ bi+aix[i+1] ]
+			     + a[ i+2 ] * b[ bi+aix[i+2] ]
+			     + a[ i+3 ] * b[ bi+aix[i+3] ]
+			     + a[ i+4 ] * b[ bi+aix[i+4] ]
+			     + a[ i+5 ] * b[ bi+aix[i+5] ]
+			     + a[ i+6 ] * b[ bi+aix[i+6] ]
+			     + a[ i+7 ] * b[ bi+aix[i+7] ];
+		}
+		
+		//scalar result
+		return val; 
+	}
+	
 	/**
 	 * 
 	 * @param aval
@@ -3101,7 +3351,7 @@ public class LibMatrixMult
 	 * @param ci
 	 * @param len
 	 */
-	private static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
+	protected static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
 		final int bn = len%8;
 		
@@ -3721,6 +3971,10 @@ public class LibMatrixMult
 	{
 		MatrixBlock ret = m1;
 		
+		//X%*%t(X) over sparse rows only (no CSR kernel)
+		if( !leftTranspose )
+			m1.csrToSparse();
+		
 		if( !leftTranspose && m1.sparse && m1.rlen > 1) //X%*%t(X) SPARSE MATRIX
 		{	
 			//directly via LibMatrixReorg in order to prevent sparsity change
@@ -3780,6 +4034,35 @@ public class LibMatrixMult
 		
 		return ret;
 	}
+	
+	/**
+	 * Converts read-only CSR inputs back to sparse rows if there is no CSR kernel 
+	 * for the given combination of inputs, i.e., we only support CSR-dense (w/o 
+	 * short lhs matrices) and dense-CSR (w/o vector-matrix) matrix multiplications. 
+	 * 
+	 * @param m1
+	 * @param m2
+	 */
+	private static void prepMatrixMultCSRInputs( MatrixBlock m1, MatrixBlock m2 )
+	{
+		boolean ultraSparse = m1.isUltraSparse() || m2.isUltraSparse();
+		if( m1.isInCSRFormat() && (ultraSparse || m2.sparse || m1.rlen<=16 || !LOW_LEVEL_OPTIMIZATION) )
+			m1.csrToSparse();
+		if( m2.isInCSRFormat() && (ultraSparse || m1.sparse || m1.rlen==1 || !LOW_LEVEL_OPTIMIZATION) )
+			m2.csrToSparse();
+	}
+	
+	/**
+	 * Converts all given read-only CSR inputs back to sparse rows.
+	 * 
+	 * @param inputs
+	 */
+	private static void prepCSRInputs( MatrixBlock... inputs )
+	{
+		for( MatrixBlock mb : inputs )
+			if( mb != null )
+				mb.csrToSparse();
+	}
 
 	/**
 	 * 
@@ -3917,10 +4200,16 @@ public class LibMatrixMult
 				_ret.allocateDenseBlock();
 			
 			//compute block matrix multiplication
+			SparseBlockCSR csr1 = _m1.getCSRBlock();
+			SparseBlockCSR csr2 = _m2.getCSRBlock();
 			if( _m1.isUltraSparse() || _m2.isUltraSparse() )
 				matrixMultUltraSparse(_m1, _m2, _ret, _rl, _ru);
 			else if(!_m1.sparse && !_m2.sparse)
 				matrixMultDenseDense(_m1, _m2, _ret, _tm2, _pm2, _rl, _ru);
+			else if( csr1 != null )
+				matrixMultCSRDense(csr1, _m2, _ret, _rl, _ru);
+			else if( csr2 != null )
+				matrixMultDenseCSR(_m1, csr2, _ret, _rl, _ru);
 			else if(_m1.sparse && _m2.sparse)
 				matrixMultSparseSparse(_m1, _m2, _ret, _pm2, _rl, _ru);
 			else if(_m1.sparse)
@@ -3976,7 +4265,10 @@ public class LibMatrixMult
 		@Override
 		public Object call() throws DMLRuntimeException
 		{
-			if( _m1.sparse )
+			SparseBlockCSR csrX = _m1.getCSRBlock();
+			if( csrX != null )
+				matrixMultChainCSR(csrX, _m2, _m3, _ret, _ct, _rl, _ru);
+			else if( _m1.sparse )
 				matrixMultChainSparse(_m1, _m2, _m3, _ret, _ct, _rl, _ru);
 			else
 				matrixMultChainDense(_m1, _m2, _m3, _ret, _ct, _rl, _ru);
@@ -4013,7 +4305,10 @@ public class LibMatrixMult
 		@Override
 		public Object call() throws DMLRuntimeException
 		{
-			if( _m1.sparse )
+			SparseBlockCSR csr1 = _m1.getCSRBlock();
+			if( csr1 != null && _left )
+				matrixMultTransposeSelfCSR(csr1, _ret, _rl, _ru);
+			else if( _m1.sparse )
 				matrixMultTransposeSelfSparse(_m1, _ret, _left, _rl, _ru);
 			else
 				matrixMultTransposeSelfDense(_m1, _ret, _left, _rl, _ru);
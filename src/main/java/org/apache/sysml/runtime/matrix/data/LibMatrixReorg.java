@@ -26,7 +26,12 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
@@ -59,6 +64,9 @@ public class LibMatrixReorg
 	public static final boolean SHALLOW_DENSE_ROWWISE_RESHAPE = true;
 	public static final boolean ALLOW_BLOCK_REUSE = false;
 	
+	//minimum number of cells for multi-threaded transpose
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
 	private enum ReorgType {
 		TRANSPOSE,
 		DIAG,
@@ -100,7 +108,10 @@ public class LibMatrixReorg
 		switch( type )
 		{
 			case TRANSPOSE: 
-				return transpose(in, out);
+				if( op.getNumThreads() > 1 )
+					return transpose(in, out, op.getNumThreads());
+				else
+					return transpose(in, out);
 			case DIAG:      
 				return diag(in, out); 
 			case SORT:      
@@ -122,6 +133,9 @@ public class LibMatrixReorg
 	public static MatrixBlock transpose( MatrixBlock in, MatrixBlock out ) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
 		//Timing time = new Timing(true);
 	
 		//sparse-safe operation
@@ -142,6 +156,69 @@ public class LibMatrixReorg
 		return out;
 	}
 
+	/**
+	 * Multi-threaded transpose, partitioned into ranges of output rows (i.e., input 
+	 * columns) in order to allow independent writes to dense and sparse outputs. For 
+	 * dense outputs of very few rows, we partition over input rows (output columns).
+	 * 
+	 * @param in
+	 * @param out
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock transpose( MatrixBlock in, MatrixBlock out, int k ) 
+		throws DMLRuntimeException
+	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
+		//redirect small or special cases to sequential execution
+		if( k <= 1 || in.isEmptyBlock(false) || (long)in.rlen*in.clen < PAR_NUMCELL_THRESHOLD
+			|| (!in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)) //dense vectors
+			|| (in.sparse && !out.sparse && in.rlen==1) ) //sparse row vector
+		{
+			return transpose(in, out);
+		}
+		
+		//Timing time = new Timing(true);
+		
+		//pre-processing: output allocation (in contrast to single-threaded,
+		//we need to allocate sparse as well in order to prevent synchronization)
+		boolean sparse = out.sparse;
+		out.reset(out.rlen, out.clen, sparse);
+		if( sparse )
+			out.allocateSparseRowsBlock();
+		else
+			out.allocateDenseBlock();
+		
+		//core multi-threaded transpose
+		try {
+			boolean row = (!sparse && in.clen < k);
+			int len = row ? in.rlen : in.clen;
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<TransposeTask> tasks = new ArrayList<TransposeTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			blklen += (blklen%8 != 0) ? 8-blklen%8 : 0; //aligned to 8-blocks
+			for( int i=0; i<k & i*blklen<len; i++ )
+				tasks.add(new TransposeTask(in, out, row, i*blklen, Math.min((i+1)*blklen, len)));
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//post-processing (nnz unchanged)
+		out.nonZeros = in.nonZeros;
+		
+		//System.out.println("r' k="+k+" ("+in.rlen+", "+in.clen+", "+in.sparse+", "+out.sparse+") in "+time.stop()+" ms.");
+		
+		return out;
+	}
+
 	/**
 	 * 
 	 * @param in
@@ -152,6 +229,9 @@ public class LibMatrixReorg
 	public static MatrixBlock diag( MatrixBlock in, MatrixBlock out ) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
 		//Timing time = new Timing(true);
 		
 		//sparse-safe operation
@@ -189,6 +269,9 @@ public class LibMatrixReorg
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
 		int rlen = in.rlen;
@@ -305,6 +388,9 @@ public class LibMatrixReorg
 	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise ) 
 		throws DMLRuntimeException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
 		int rlen = in.rlen;
 		int clen = in.clen;
 		
@@ -413,6 +499,11 @@ public class LibMatrixReorg
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		if( select != null )
+			select.csrToSparse();
+		
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
 		//is an empty 1-by-n or m-by-1 matrix because we don't allow matrices with dims 0)
@@ -533,6 +624,9 @@ public class LibMatrixReorg
 	public static MatrixBlock rexpand(MatrixBlock in, MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore) 
 		throws DMLRuntimeException, DMLUnsupportedOperationException
 	{
+		//convert read-only CSR inputs (no CSR support)
+		in.csrToSparse();
+		
 		//prepare parameters
 		int lmax = (int)UtilFunctions.toLong(max);
 		
@@ -629,97 +723,131 @@ public class LibMatrixReorg
 	}
 	
 	/**
-	 * 
+	 *
 	 * @param in
 	 * @param out
-	 * @throws DMLRuntimeException 
+	 * @throws DMLRuntimeException
 	 */
-	private static void transposeDenseToDense(MatrixBlock in, MatrixBlock out) 
+	private static void transposeDenseToDense(MatrixBlock in, MatrixBlock out)
 		throws DMLRuntimeException
 	{
 		final int m = in.rlen;
 		final int n = in.clen;
 		final int m2 = out.rlen;
 		final int n2 = out.clen;
-		
+
 		//set basic meta data
 		out.sparse = false;
 		out.nonZeros = in.nonZeros;
-		
+
 		//shallow dense vector transpose (w/o result allocation)
 		if( SHALLOW_DENSE_VECTOR_TRANSPOSE && (m==1 || n==1) ) {
 			//since the physical representation of dense vectors is always the same,
 			//we don't need to create a copy, given our copy on write semantics.
 			//however, note that with update in-place this would be an invalid optimization
 			out.denseBlock = in.denseBlock;
+			in.setSharedDenseBlock();
+			out.setSharedDenseBlock();
 			return;
 		}
-		
+
 		//allocate output arrays (if required)
 		out.allocateDenseBlock(false);
-		
-		double[] a = in.getDenseArray();
-		double[] c = out.getDenseArray();
-		
+
 		if( m==1 || n==1 ) //VECTOR TRANSPOSE
 		{
-			System.arraycopy(a, 0, c, 0, m2*n2);
+			System.arraycopy(in.getDenseArray(), 0, out.getDenseArray(), 0, m2*n2);
 		}
 		else //MATRIX TRANSPOSE
 		{
-			//blocking according to typical L2 cache sizes 
-			final int blocksizeI = 128;
-			final int blocksizeJ = 128; 
-			
-			//blocked execution
-			for( int bi = 0; bi<m; bi+=blocksizeI )
-				for( int bj = 0; bj<n; bj+=blocksizeJ )
+			transposeDenseToDense(in, out, 0, m, 0, n);
+		}
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param out
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeDenseToDense(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu)
+	{
+		final int n = in.clen;
+		final int n2 = out.clen;
+
+		double[] a = in.getDenseArray();
+		double[] c = out.getDenseArray();
+
+		//blocking according to typical L2 cache sizes
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128;
+
+		//blocked execution
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
+			{
+				int bimin = Math.min(bi+blocksizeI, ru);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				//core transpose operation
+				for( int i=bi; i<bimin; i++ )
 				{
-					int bimin = Math.min(bi+blocksizeI, m);
-					int bjmin = Math.min(bj+blocksizeJ, n);
-					//core transpose operation
-					for( int i=bi; i<bimin; i++ )
-					{
-						int aix = i * n + bj;
-						int cix = bj * n2 + i;
-						transposeRow(a, c, aix, cix, n2, bjmin-bj);
-					}
+					int aix = i * n + bj;
+					int cix = bj * n2 + i;
+					transposeRow(a, c, aix, cix, n2, bjmin-bj);
 				}
-		}
+			}
 	}
-	
+
 	/**
-	 * 
+	 *
 	 * @param in
 	 * @param out
 	 */
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
-		final int m = in.rlen;
+		//allocate output arrays (if required)
+		out.reset(out.rlen, out.clen, true); //always sparse
+		out.allocateSparseRowsBlock();
+
+		transposeDenseToSparse(in, out, 0, in.rlen, 0, in.clen);
+
+		out.nonZeros = in.nonZeros;
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param out
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu)
+	{
 		final int n = in.clen;
 		final int m2 = out.rlen;
 		final int n2 = out.clen;
-		final int ennz2 = (int) (in.nonZeros/m2); 
-		
-		//allocate output arrays (if required)
-		out.reset(m2, n2, true); //always sparse
-		out.allocateSparseRowsBlock();
-				
+		final int ennz2 = (int) (in.nonZeros/m2);
+
 		double[] a = in.getDenseArray();
 		SparseRow[] c = out.getSparseRows();
-		
-		//blocking according to typical L2 cache sizes 
+
+		//blocking according to typical L2 cache sizes
 		final int blocksizeI = 128;
-		final int blocksizeJ = 128; 
-		
+		final int blocksizeJ = 128;
+
 		//blocked execution
-		for( int bi = 0; bi<m; bi+=blocksizeI )
-			for( int bj = 0; bj<n; bj+=blocksizeJ )
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
-				int bimin = Math.min(bi+blocksizeI, m);
-				int bjmin = Math.min(bj+blocksizeJ, n);
+				int bimin = Math.min(bi+blocksizeI, ru);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
 				//core transpose operation
-				for( int i=bi; i<bimin; i++ )				
+				for( int i=bi; i<bimin; i++ )
 					for( int j=bj, aix=i*n+bj; j<bjmin; j++, aix++ )
 					{
 						if( c[j] == null )
@@ -727,63 +855,84 @@ public class LibMatrixReorg
 						c[j].append(i, a[aix]);
 					}
 			}
-		
-		out.nonZeros = in.nonZeros;
 	}
-	
+
 	/**
-	 * 
+	 *
 	 * @param in
 	 * @param out
 	 */
 	private static void transposeSparseToSparse(MatrixBlock in, MatrixBlock out)
 	{
-		final int m = in.rlen;
-		final int n = in.clen;
-		final int m2 = out.rlen;
-		final int n2 = out.clen;
-		final int ennz2 = (int) (in.nonZeros/m2); 
-		
 		//allocate output arrays (if required)
-		out.reset(m2, n2, true); //always sparse
+		out.reset(out.rlen, out.clen, true); //always sparse
 		out.allocateSparseRowsBlock();
-		
+
+		transposeSparseToSparse(in, out, 0, in.rlen, 0, in.clen);
+
+		out.nonZeros = in.nonZeros;
+	}
+
+	/**
+	 * Two-pass sparse transpose of the input column range [cl,cu), i.e., the output
+	 * rows [cl,cu): first, count the non-zeros per output row, second, allocate all
+	 * output rows at their exact size and scatter the input values. Since output rows
+	 * are never shared across column ranges, this is also used by the multi-threaded
+	 * transpose w/o any synchronization.
+	 *
+	 * @param in
+	 * @param out
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeSparseToSparse(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu)
+	{
+		final int n = in.clen;
+		final boolean fullRange = (cl==0 && cu==n);
+
 		SparseRow[] a = in.getSparseRows();
 		SparseRow[] c = out.getSparseRows();
 
-		//initial pass to determine capacity (this helps to prevent
-		//sparse row reallocations and mem inefficiency w/ skew
-		int[] cnt = null;
-		if( n <= 4096 ) { //16KB
-			cnt = new int[n];
-			for( int i=0; i<m; i++ ) {
-				if( a[i] !=null && !a[i].isEmpty() )
-					countAgg(cnt, a[i].getIndexContainer(), a[i].size());
+		//initial pass to determine exact capacity (this prevents
+		//sparse row reallocations and mem inefficiency w/ skew)
+		int[] cnt = new int[cu-cl];
+		for( int i=rl; i<ru; i++ ) {
+			SparseRow arow = a[i];
+			if( arow==null || arow.isEmpty() )
+				continue;
+			int alen = arow.size();
+			int[] aix = arow.getIndexContainer();
+			if( fullRange )
+				countAgg(cnt, aix, alen);
+			else {
+				int j = getLowerBoundPos(arow, cl);
+				for( ; j<alen && aix[j]<cu; j++ )
+					cnt[aix[j]-cl]++;
 			}
 		}
-		
+
 		//allocate output sparse rows
-		if( cnt != null ) {
-			for( int i=0; i<m2; i++ )
-				if( cnt[i] > 0 )
-					c[i] = new SparseRow(cnt[i]);
-		}
-		
-		//blocking according to typical L2 cache sizes 
+		for( int j=cl; j<cu; j++ )
+			if( cnt[j-cl] > 0 )
+				c[j] = new SparseRow(cnt[j-cl]);
+
+		//blocking according to typical L2 cache sizes
 		final int blocksizeI = 128;
-		final int blocksizeJ = 128; 
-	
-		//temporary array for block boundaries (for preventing binary search) 
+		final int blocksizeJ = 128;
+
+		//temporary array for block boundaries (for preventing binary search)
 		int[] ix = new int[blocksizeI];
-		
+
 		//blocked execution
-		for( int bi = 0; bi<m; bi+=blocksizeI )
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
 		{
-			Arrays.fill(ix, 0);
-			for( int bj = 0; bj<n; bj+=blocksizeJ )
+			int bimin = Math.min(bi+blocksizeI, ru);
+			initBlockBoundaries(a, ix, bi, bimin, cl);
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
-				int bimin = Math.min(bi+blocksizeI, m);
-				int bjmin = Math.min(bj+blocksizeJ, n);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
 
 				//core transpose operation
 				for( int i=bi, iix=0; i<bimin; i++, iix++ )
@@ -796,43 +945,36 @@ public class LibMatrixReorg
 						int[] aix = arow.getIndexContainer();
 						int j = ix[iix]; //last block boundary
 						for( ; j<alen && aix[j]<bjmin; j++ )
-						{
-							if( c[aix[j]] == null )
-								 c[aix[j]] = new SparseRow(ennz2,n2);
 							c[aix[j]].append(i, avals[j]);
-						}
 						ix[iix] = j; //keep block boundary
 					}
 				}
 			}
 		}
-		out.nonZeros = in.nonZeros;
 	}
-	
+
 	/**
-	 * 
+	 *
 	 * @param in
 	 * @param out
-	 * @throws DMLRuntimeException 
+	 * @throws DMLRuntimeException
 	 */
-	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out) 
+	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out)
 		throws DMLRuntimeException
 	{
 		final int m = in.rlen;
 		final int n = in.clen;
 		final int m2 = out.rlen;
 		final int n2 = out.clen;
-		
+
 		//allocate output arrays (if required)
 		out.reset(m2, n2, false); //always dense
 		out.allocateDenseBlock();
-		
-		SparseRow[] a = in.getSparseRows();
-		double[] c = out.getDenseArray();
-		
+
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
-			SparseRow arow = a[0];
+			SparseRow arow = in.getSparseRows()[0];
+			double[] c = out.getDenseArray();
 			int alen = arow.size();
 			int[] aix = arow.getIndexContainer();
 			double[] avals = arow.getValueContainer();
@@ -841,41 +983,98 @@ public class LibMatrixReorg
 		}
 		else //MATRIX TRANSPOSE
 		{
-			//blocking according to typical L2 cache sizes 
-			final int blocksizeI = 128;
-			final int blocksizeJ = 128; 
-		
-			//temporary array for block boundaries (for preventing binary search) 
-			int[] ix = new int[blocksizeI];
-			
-			//blocked execution
-			for( int bi = 0; bi<m; bi+=blocksizeI )
+			transposeSparseToDense(in, out, 0, m, 0, n);
+		}
+		out.nonZeros = in.nonZeros;
+	}
+
+	/**
+	 *
+	 * @param in
+	 * @param out
+	 * @param rl
+	 * @param ru
+	 * @param cl
+	 * @param cu
+	 */
+	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu)
+	{
+		final int n2 = out.clen;
+
+		SparseRow[] a = in.getSparseRows();
+		double[] c = out.getDenseArray();
+
+		//blocking according to typical L2 cache sizes
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128;
+
+		//temporary array for block boundaries (for preventing binary search)
+		int[] ix = new int[blocksizeI];
+
+		//blocked execution
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+		{
+			int bimin = Math.min(bi+blocksizeI, ru);
+			initBlockBoundaries(a, ix, bi, bimin, cl);
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
 			{
-				Arrays.fill(ix, 0);
-				for( int bj = 0; bj<n; bj+=blocksizeJ )
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+
+				//core transpose operation
+				for( int i=bi, iix=0; i<bimin; i++, iix++ )
 				{
-					int bimin = Math.min(bi+blocksizeI, m);
-					int bjmin = Math.min(bj+blocksizeJ, n);
-	
-					//core transpose operation
-					for( int i=bi, iix=0; i<bimin; i++, iix++ )
+					SparseRow arow = a[i];
+					if( arow!=null && !arow.isEmpty() )
 					{
-						SparseRow arow = a[i];
-						if( arow!=null && !arow.isEmpty() )
-						{
-							int alen = arow.size();
-							double[] avals = arow.getValueContainer();
-							int[] aix = arow.getIndexContainer();
-							int j = ix[iix]; //last block boundary
-							for( ; j<alen && aix[j]<bjmin; j++ )
-								c[ aix[j]*n2+i ] = avals[ j ];
-							ix[iix] = j; //keep block boundary						
-						}
+						int alen = arow.size();
+						double[] avals = arow.getValueContainer();
+						int[] aix = arow.getIndexContainer();
+						int j = ix[iix]; //last block boundary
+						for( ; j<alen && aix[j]<bjmin; j++ )
+							c[ aix[j]*n2+i ] = avals[ j ];
+						ix[iix] = j; //keep block boundary
 					}
 				}
 			}
 		}
-		out.nonZeros = in.nonZeros;
+	}
+
+	/**
+	 * Initializes the block boundaries of rows [bi,bimin) to the first
+	 * position with column index greater or equal than cl.
+	 *
+	 * @param a
+	 * @param ix
+	 * @param bi
+	 * @param bimin
+	 * @param cl
+	 */
+	private static void initBlockBoundaries( SparseRow[] a, int[] ix, int bi, int bimin, int cl )
+	{
+		if( cl == 0 ) {
+			Arrays.fill(ix, 0);
+			return;
+		}
+
+		for( int i=bi, iix=0; i<bimin; i++, iix++ ) {
+			SparseRow arow = a[i];
+			ix[iix] = (arow!=null && !arow.isEmpty()) ?
+					getLowerBoundPos(arow, cl) : 0;
+		}
+	}
+
+	/**
+	 *
+	 * @param arow
+	 * @param cl
+	 * @return
+	 */
+	private static int getLowerBoundPos( SparseRow arow, int cl )
+	{
+		if( cl == 0 )
+			return 0;
+		int pos = arow.searchIndexesFirstGTE(cl);
+		return (pos >= 0) ? pos : arow.size();
 	}
 	
 	/**
@@ -976,6 +1175,8 @@ public class LibMatrixReorg
 			//we don't need to create a copy, given our copy on write semantics.
 			//however, note that with update in-place this would be an invalid optimization
 			out.denseBlock = in.denseBlock;
+			in.setSharedDenseBlock();
+			out.setSharedDenseBlock();
 			return;
 		}
 		
@@ -2115,4 +2316,47 @@ public class LibMatrixReorg
 			return (val0 > val1 ? -1 : (val0 == val1 ? 0 : 1));
 		}		
 	}
+	
+	/**
+	 * 
+	 */
+	private static class TransposeTask implements Callable<Object>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _out = null;
+		private boolean _row = false;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected TransposeTask(MatrixBlock in, MatrixBlock out, boolean row, int rl, int ru) 
+		{
+			_in = in;
+			_out = out;
+			_row = row;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() 
+			throws DMLRuntimeException
+		{
+			//partition over input rows or input columns
+			int rl = _row ? _rl : 0;
+			int ru = _row ? _ru : _in.rlen;
+			int cl = _row ? 0 : _rl;
+			int cu = _row ? _in.clen : _ru;
+			
+			if( !_in.sparse && !_out.sparse )
+				transposeDenseToDense( _in, _out, rl, ru, cl, cu );
+			else if( _in.sparse && _out.sparse )
+				transposeSparseToSparse( _in, _out, rl, ru, cl, cu );
+			else if( _in.sparse )
+				transposeSparseToDense( _in, _out, rl, ru, cl, cu );
+			else
+				transposeDenseToSparse( _in, _out, rl, ru, cl, cu );
+			
+			return null;
+		}
+	}
 }
@@ -46,6 +46,7 @@ import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
 import org.apache.sysml.parser.DMLTranslator;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLUnsupportedOperationException;
+import org.apache.sysml.runtime.controlprogram.caching.ArrayPool;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.CTable;
 import org.apache.sysml.runtime.functionobjects.DiagIndex;
@@ -114,6 +115,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	//matrix data (sparse or dense)
 	protected double[] denseBlock    = null;
 	protected SparseRow[] sparseRows = null;
+	
+	//read-only CSR alternative to sparseRows (if non-null, sparseRows is null)
+	protected volatile SparseBlockCSR csrBlock = null;
 		
 	//sparse-block-specific attributes (allocation only)
 	protected int estimatedNNzsPerRow = -1; 
@@ -128,6 +132,11 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	//diag-specific attributes (optional)
 	protected boolean diag = false;
 	
+	//owner of the dense block w.r.t. reuse of released arrays (e.g., matrix object),
+	//where blocks with potentially shared dense blocks are never released
+	private static final Object SHARED_OWNER = new Object();
+	private Object owner = null;
+	
 	
 	////////
 	// Matrix Constructors
@@ -185,6 +194,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	public void reset(long estnnzs)
 	{
+		csrBlock = null;
 		estimatedNNzsPerRow=(int)Math.ceil((double)estnnzs/(double)rlen);
 		if(sparse)
 		{
@@ -361,15 +371,78 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		maxrow = r;
 		maxcolumn = c;
 	}
-	
+
 	/**
-	 * 
+	 * Initializes this block as dense block of dimensions r x c, which wraps the given
+	 * row-major array without copy. The caller must not modify the array while it is
+	 * referenced by this block.
+	 *
+	 * @param arr
+	 * @param r
+	 * @param c
+	 * @throws DMLRuntimeException
+	 */
+	public void initDenseUnsafe(double[] arr, int r, int c)
+		throws DMLRuntimeException
+	{
+		//input checks
+		if( arr.length != (long)r*c )
+			throw new DMLRuntimeException("MatrixBlock.initDenseUnsafe() invoked with array of length "
+					+ arr.length+" for dimensions ("+r+","+c+").");
+
+		rlen = r;
+		clen = c;
+		sparse = false;
+		sparseRows = null;
+		csrBlock = null;
+		denseBlock = arr;
+		recomputeNonZeros();
+
+		maxrow = r;
+		maxcolumn = c;
+	}
+
+	/**
+	 * Initializes this block as sparse block of dimensions r x c in read-only CSR format,
+	 * which wraps the given row pointer, column index and value arrays without copy. The
+	 * column indexes are expected to be sorted per row, and the caller must not modify
+	 * the arrays while they are referenced by this block.
+	 *
+	 * @param rowptr
+	 * @param colind
+	 * @param values
+	 * @param r
+	 * @param c
+	 * @throws DMLRuntimeException
+	 */
+	public void initCSRUnsafe(int[] rowptr, int[] colind, double[] values, int r, int c)
+		throws DMLRuntimeException
+	{
+		//input checks
+		if( rowptr.length != r+1 || rowptr[0] != 0 || rowptr[r] > colind.length || rowptr[r] > values.length )
+			throw new DMLRuntimeException("MatrixBlock.initCSRUnsafe() invoked with inconsistent CSR arrays "
+					+ "for dimensions ("+r+","+c+").");
+
+		rlen = r;
+		clen = c;
+		sparse = true;
+		sparseRows = null;
+		denseBlock = null;
+		csrBlock = new SparseBlockCSR(rowptr, colind, values);
+		nonZeros = rowptr[r];
+
+		maxrow = r;
+		maxcolumn = c;
+	}
+
+	/**
+	 *
 	 * @return
 	 */
 	public boolean isAllocated()
 	{
 		if( sparse )
-			return (sparseRows!=null);
+			return (sparseRows!=null || csrBlock!=null);
 		else
 			return (denseBlock!=null);
 	}
@@ -412,8 +485,11 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		}
 		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
+		//reuse of released arrays of exactly the same size if available
 		if(denseBlock == null || denseBlock.length < limit ) {
-			denseBlock = new double[(int)limit];
+			denseBlock = ArrayPool.getDoubleArray((int)limit);
+			if( denseBlock == null )
+				denseBlock = new double[(int)limit];
 		}
 		
 		//clear nnz if necessary
@@ -436,6 +512,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public void allocateSparseRowsBlock(boolean clearNNZ)
 	{	
+		csrToSparse();
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
 		if( sparseRows == null ) {
 			sparseRows=new SparseRow[rlen];
@@ -486,8 +563,55 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	{
 		if(dense)
 			denseBlock = null;
-		if(sparse)
+		if(sparse) {
 			sparseRows = null;
+			csrBlock = null;
+		}
+	}
+	
+	/**
+	 * Sets the owner of this block (e.g., a matrix object), which is allowed to
+	 * release the dense block for reuse. If the block is already owned by another
+	 * object, it is marked as shared and hence never released.
+	 * 
+	 * @param owner
+	 */
+	public void setOwner( Object owner )
+	{
+		this.owner = (this.owner == null || this.owner == owner) ? owner : SHARED_OWNER;
+	}
+	
+	/**
+	 * Marks the dense block of this block as potentially shared with other 
+	 * blocks (e.g., after shallow copies), which prevents its release for reuse.
+	 */
+	public void setSharedDenseBlock()
+	{
+		owner = SHARED_OWNER;
+	}
+	
+	/**
+	 * Transfers the ownership of this block to a new owner (e.g., on update 
+	 * in-place of a matrix object), but only if it is exclusively owned by
+	 * the given old owner.
+	 * 
+	 * @param oldOwner
+	 * @param newOwner
+	 */
+	public void transferOwner( Object oldOwner, Object newOwner )
+	{
+		if( isExclusiveOwner(oldOwner) )
+			owner = newOwner;
+	}
+	
+	/**
+	 * 
+	 * @param owner
+	 * @return
+	 */
+	public boolean isExclusiveOwner( Object owner )
+	{
+		return (owner != null && this.owner == owner);
 	}
 	
 	////////
@@ -584,7 +708,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public boolean isEmptyBlock(boolean safe)
 	{
 		boolean ret = false;
-		if( sparse && sparseRows==null )
+		if( sparse && sparseRows==null && csrBlock==null )
 			ret = true;
 		else if( !sparse && denseBlock==null ) 	
 			ret = true;
@@ -622,6 +746,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	{
 		if(!sparse)
 			return null;
+		csrToSparse();
 		return sparseRows;
 	}
 	
@@ -631,6 +756,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		if( !sparse )
 			throw new RuntimeException("getSparseCellInterator should not be called for dense format");
 		
+		csrToSparse();
 		return new SparseRowsIterator(rlen, sparseRows);
 	}
 	
@@ -640,12 +766,14 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		if( !sparse )
 			throw new RuntimeException("getSparseCellInterator should not be called for dense format");
 		
+		csrToSparse();
 		return new SparseRowsIterator(rl, ru, sparseRows);
 	}
 	
 	@Override
 	public void getCellValues(Collection<Double> ret) 
 	{
+		csrToSparse();
 		int limit=rlen*clen;
 		if(sparse)
 		{
@@ -684,6 +812,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	@Override
 	public void getCellValues(Map<Double, Integer> ret) 
 	{
+		csrToSparse();
 		int limit=rlen*clen;
 		if(sparse)
 		{
@@ -743,6 +872,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		
 		if(sparse)
 		{
+			SparseBlockCSR csr = csrBlock;
+			if( csr != null )
+				return csr.get(r, c);
 			if(sparseRows==null || sparseRows.length<=r || sparseRows[r]==null)
 				return 0;
 			return sparseRows[r].get(c);
@@ -757,6 +889,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	@Override
 	public void setValue(int r, int c, double v) 
 	{
+		csrToSparse();
 		if(r>rlen || c > clen)
 			throw new RuntimeException("indexes ("+r+","+c+") out of range ("+rlen+","+clen+")");
 		if(sparse)
@@ -804,6 +937,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 * 
 	 */
 	public void addValue(int r, int c, double v) {
+		csrToSparse();
 		if(sparse)
 		{
 			//allocation on demand
@@ -835,6 +969,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	{
 		if(sparse)
 		{
+			SparseBlockCSR csr = csrBlock;
+			if( csr != null )
+				return csr.get(r, c);
 			if( sparseRows==null || sparseRows.length<=r || sparseRows[r]==null )
 				return 0;
 			return sparseRows[r].get(c);
@@ -855,6 +992,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public void quickSetValue(int r, int c, double v) 
 	{
+		csrToSparse();
 		if(sparse)
 		{
 			//early abort
@@ -909,6 +1047,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	public double getValueSparseUnsafe(int r, int c) 
 	{
+		csrToSparse();
 		if(sparseRows==null || sparseRows.length<=r || sparseRows[r]==null)
 			return 0;
 		return sparseRows[r].get(c);	
@@ -924,6 +1063,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public void appendValue(int r, int c, double v)
 	{
+		csrToSparse();
 		//early abort (append guarantees no overwrite)
 		if( v == 0 ) 
 			return;
@@ -952,6 +1092,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	public void appendRow(int r, SparseRow values)
 	{
+		csrToSparse();
 		if(values==null)
 			return;
 		if(sparse)
@@ -984,6 +1125,8 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	{
 		if( that==null || that.isEmptyBlock(false) )
 			return; //nothing to append
+		csrToSparse();
+		that.csrToSparse();
 		
 		//init sparse rows if necessary
 		allocateSparseRowsBlock(false);
@@ -1032,6 +1175,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public void sortSparseRows()
 	{
+		csrToSparse();
 		if( !sparse || sparseRows==null )
 			return;
 		
@@ -1040,6 +1184,74 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 				arow.sort();
 	}
 	
+	////////
+	// CSR representation (read-only)
+	
+	/**
+	 * Indicates if this sparse block is currently represented in the 
+	 * read-only CSR format instead of sparse rows.
+	 * 
+	 * @return
+	 */
+	public boolean isInCSRFormat()
+	{
+		return (csrBlock != null);
+	}
+	
+	/**
+	 * Get the read-only CSR representation, or null if this block is
+	 * not in CSR format.
+	 * 
+	 * @return
+	 */
+	public SparseBlockCSR getCSRBlock()
+	{
+		return csrBlock;
+	}
+	
+	/**
+	 * Converts the sparse rows of this block into the read-only CSR format.
+	 * This is a no-op for dense or empty blocks and for blocks that exceed
+	 * the CSR size limit of Integer.MAX_VALUE non-zeros. Since the conversion 
+	 * releases the sparse rows, it must only be applied to blocks that are 
+	 * not yet accessed concurrently (e.g., right after read).
+	 * 
+	 */
+	public void sparseToCSR()
+	{
+		if( !sparse || csrBlock!=null || sparseRows==null 
+			|| nonZeros > Integer.MAX_VALUE )
+			return;
+		
+		SparseBlockCSR csr = new SparseBlockCSR(sparseRows, rlen);
+		nonZeros = csr.size();
+		sparseRows = null;
+		csrBlock = csr;
+	}
+	
+	/**
+	 * Converts a block in CSR format back into sparse rows. Operations that
+	 * are not CSR-aware call this method before accessing the sparse rows. 
+	 * Since a read-only CSR block might be shared by multiple readers, the 
+	 * conversion is synchronized and the CSR block released only after the 
+	 * sparse rows have been assigned. 
+	 * 
+	 */
+	public void csrToSparse()
+	{
+		//fast path w/o synchronization
+		if( csrBlock == null )
+			return;
+		
+		synchronized( this ) {
+			SparseBlockCSR csr = csrBlock;
+			if( csr != null ) {
+				sparseRows = csr.toSparseRows();
+				csrBlock = null;
+			}
+		}
+	}
+	
 	/**
 	 * Utility function for computing the min non-zero value. 
 	 * 
@@ -1324,6 +1536,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	private void denseToSparse() 
 	{	
+		csrToSparse();
 		//set target representation
 		sparse = true;
 		
@@ -1359,6 +1572,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void sparseToDense() 
 		throws DMLRuntimeException 
 	{	
+		csrToSparse();
 		//set target representation
 		sparse = false;
 		
@@ -1396,7 +1610,12 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public void recomputeNonZeros()
 	{
 		nonZeros=0;
-		if( sparse && sparseRows!=null )
+		SparseBlockCSR csr = csrBlock;
+		if( sparse && csr!=null )
+		{
+			nonZeros = csr.size();
+		}
+		else if( sparse && sparseRows!=null )
 		{
 			int limit = Math.min(rlen, sparseRows.length);
 			for(int i=0; i<limit; i++)
@@ -1418,6 +1637,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	protected long recomputeNonZeros(int rl, int ru, int cl, int cu)
 	{
+		csrToSparse();
 		long nnz = 0;
 		if(sparse)
 		{
@@ -1520,6 +1740,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	private void copySparseToSparse(MatrixBlock that)
 	{
+		that.csrToSparse();
 		this.nonZeros=that.nonZeros;
 		if( that.isEmptyBlock(false) )
 		{
@@ -1563,6 +1784,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	private void copySparseToDense(MatrixBlock that)
 	{
+		that.csrToSparse();
 		this.nonZeros=that.nonZeros;
 		if( that.isEmptyBlock(false) )
 		{
@@ -1638,6 +1860,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public void copy(int rl, int ru, int cl, int cu, MatrixBlock src, boolean awareDestNZ ) 
 		throws DMLRuntimeException 
 	{	
+		//convert read-only csr target (writes go to sparse rows)
+		csrToSparse();
+		
 		if(sparse && src.sparse)
 			copySparseToSparse(rl, ru, cl, cu, src, awareDestNZ);
 		else if(sparse && !src.sparse)
@@ -1650,6 +1875,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 
 	private void copySparseToSparse(int rl, int ru, int cl, int cu, MatrixBlock src, boolean awareDestNZ)
 	{	
+		src.csrToSparse();
 		//handle empty src and dest
 		if( src.isEmptyBlock(false) )
 		{
@@ -1724,6 +1950,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void copySparseToDense(int rl, int ru, int cl, int cu, MatrixBlock src, boolean awareDestNZ) 
 		throws DMLRuntimeException
 	{	
+		src.csrToSparse();
 		//handle empty src and dest
 		if( src.isEmptyBlock(false) )
 		{
@@ -1954,6 +2181,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	private void mergeIntoDense(MatrixBlock that)
 	{
+		that.csrToSparse();
 		if( that.sparse ) //DENSE <- SPARSE
 		{
 			double[] a = denseBlock;
@@ -1991,6 +2219,8 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	private void mergeIntoSparse(MatrixBlock that, boolean appendOnly)
 	{
+		csrToSparse();
+		that.csrToSparse();
 		if( that.sparse ) //SPARSE <- SPARSE
 		{
 			SparseRow[] a = sparseRows;
@@ -2295,6 +2525,14 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		
 		if( sparseSrc )
 		{
+			//write csr to sparse (w/o materializing sparse rows)
+			SparseBlockCSR csr = csrBlock;
+			if( csr!=null && nonZeros>0 && nonZeros>=rlen && sparseDst ) {
+				writeCSRToSparse(out, csr);
+				return;
+			}
+			csrToSparse();
+			
 			//write sparse to *
 			if( sparseRows==null || nonZeros==0 ) 
 				writeEmptyBlock(out);
@@ -2388,6 +2626,33 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		}
 	}
 	
+	/**
+	 * Writes a block in CSR format with the same layout as writeSparseBlock.
+	 * 
+	 * @param out
+	 * @param csr
+	 * @throws IOException
+	 */
+	private void writeCSRToSparse(DataOutput out, SparseBlockCSR csr) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() );
+		writeNnzInfo( out, false );
+		
+		int[] aix = csr.indexes();
+		double[] avals = csr.values();
+		for( int r=0; r<rlen; r++ )
+		{
+			int apos = csr.pos(r);
+			int alen = csr.size(r);
+			out.writeInt(alen);
+			for( int j=apos; j<apos+alen; j++ ) {
+				out.writeInt(aix[j]);
+				out.writeDouble(avals[j]);
+			}
+		}
+	}
+	
 	/**
 	 * 
 	 * @param out
@@ -2670,7 +2935,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		if( sparseSrc )
 		{
 			//write sparse to *
-			if(sparseRows==null || lnonZeros==0)
+			if((sparseRows==null && csrBlock==null) || lnonZeros==0)
 				return HEADER_SIZE; //empty block
 			else if( lnonZeros<lrlen && sparseDst )
 				return estimateSizeUltraSparseOnDisk(lrlen, lclen, lnonZeros); //ultra sparse block
@@ -2704,7 +2969,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public long getSizeInMemory() 
 	{
 		double sp = OptimizerUtils.getSparsity(rlen, clen, nonZeros);
-		if( sparse )
+		if( sparse && csrBlock!=null )
+			return 44 + SparseBlockCSR.estimateSizeInMemory(rlen, nonZeros);
+		else if( sparse )
 			return estimateSizeSparseInMemory(rlen, clen, sp);
 		else
 			return estimateSizeDenseInMemory(rlen, clen);
@@ -2995,7 +3262,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp(this, ret, op, op.getNumThreads());
+		else
+			LibMatrixBincell.bincellOp(this, ret, op);
 		
 		return ret;
 	}
@@ -3024,7 +3294,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) 
 		{
 			//e.g., cumsum/cumprod/cummin/cumax
-			LibMatrixAgg.aggregateUnaryMatrix(this, ret, op);
+			if( op.getNumThreads() > 1 )
+				LibMatrixAgg.aggregateUnaryMatrix(this, ret, op, op.getNumThreads());
+			else
+				LibMatrixAgg.aggregateUnaryMatrix(this, ret, op);
 		}
 		else
 		{
@@ -3052,6 +3325,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void sparseUnaryOperations(UnaryOperator op, MatrixBlock ret) 
 		throws DMLUnsupportedOperationException, DMLRuntimeException
 	{
+		csrToSparse();
 		//early abort possible since sparse-safe
 		if( isEmptyBlock(false) )
 			return;
@@ -3149,6 +3423,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void sparseUnaryOperationsInPlace(UnaryOperator op) 
 		throws DMLUnsupportedOperationException, DMLRuntimeException
 	{
+		csrToSparse();
 		//early abort possible since sparse-safe
 		if( isEmptyBlock(false) )
 			return;
@@ -3258,7 +3533,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp( this, that, ret, op, op.getNumThreads() );
+		else
+			LibMatrixBincell.bincellOp( this, that, ret, op );
 		
 		return ret;
 	}
@@ -3597,6 +3875,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public MatrixValue reorgOperations(ReorgOperator op, MatrixValue ret, int startRow, int startColumn, int length)
 		throws DMLRuntimeException 
 	{
+		csrToSparse();
 		if ( !( op.fn instanceof SwapIndex || op.fn instanceof DiagIndex || op.fn instanceof SortIndex) )
 			throw new DMLRuntimeException("the current reorgOperations cannot support: "+op.fn.getClass()+".");
 		
@@ -3944,7 +4223,9 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 		else //update in-place
 		{
 			//use current block as in-place result
+			//(incl conversion of read-only csr block)
 			result = this;
+			result.csrToSparse();
 			
 			//ensure that the current block adheres to the sparsity estimate
 			//and thus implicitly the memory budget used by the compiler
@@ -4071,6 +4352,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void sliceSparse(int rl, int ru, int cl, int cu, MatrixBlock dest) 
 		throws DMLRuntimeException
 	{
+		csrToSparse();
 		//check for early abort
 		if( isEmptyBlock(false) ) 
 			return;
@@ -4164,6 +4446,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public void sliceOperations(ArrayList<IndexedMatrixValue> outlist, IndexRange range, int rowCut, int colCut, 
 			int normalBlockRowFactor, int normalBlockColFactor, int boundaryRlen, int boundaryClen)
 	{
+		csrToSparse();
 		MatrixBlock topleft=null, topright=null, bottomleft=null, bottomright=null;
 		Iterator<IndexedMatrixValue> p=outlist.iterator();
 		int blockRowFactor=normalBlockRowFactor, blockColFactor=normalBlockColFactor;
@@ -4249,6 +4532,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	
 	private void sliceHelp(int r, IndexRange range, int colCut, MatrixBlock left, MatrixBlock right, int rowOffset, int normalBlockRowFactor, int normalBlockColFactor)
 	{
+		csrToSparse();
 		if(sparseRows[r]==null) 
 			return;
 		
@@ -4322,6 +4606,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public MatrixValue zeroOutOperations(MatrixValue result, IndexRange range, boolean complementary)
 			throws DMLUnsupportedOperationException, DMLRuntimeException 
 	{
+		csrToSparse();
 		checkType(result);
 		double currentSparsity=(double)nonZeros/(double)rlen/(double)clen;
 		double estimatedSps=currentSparsity*(double)(range.rowEnd-range.rowStart+1)
@@ -4487,6 +4772,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	private void sparseAggregateUnaryHelp(AggregateUnaryOperator op, MatrixBlock result,
 			int blockingFactorRow, int blockingFactorCol, MatrixIndexes indexesIn) throws DMLRuntimeException
 	{
+		csrToSparse();
 		//initialize result
 		if(op.aggOp.initialValue!=0)
 			result.resetDenseWithValue(result.rlen, result.clen, op.aggOp.initialValue);
@@ -4631,6 +4917,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	 */
 	public void dropLastRowsOrColums(CorrectionLocationType correctionLocation) 
 	{
+		csrToSparse();
 		//do nothing 
 		if(   correctionLocation==CorrectionLocationType.NONE 
 	       || correctionLocation==CorrectionLocationType.INVALID )
@@ -4724,6 +5011,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public CM_COV_Object cmOperations(CMOperator op) 
 		throws DMLRuntimeException 
 	{
+		csrToSparse();
 		// dimension check for input column vectors
 		if ( this.getNumColumns() != 1) {
 			throw new DMLRuntimeException("Central Moment can not be computed on [" 
@@ -4739,6 +5027,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			return cmobj;
 		}
 		
+		//multi-threaded central moment over row partitions
+		if( op.getNumThreads() > 1 )
+			return LibMatrixAgg.aggregateCmCov(this, null, op, op.getNumThreads());
+		
 		int nzcount = 0;
 		if(sparse && sparseRows!=null) //SPARSE
 		{
@@ -4768,6 +5060,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) 
 		throws DMLRuntimeException 
 	{
+		csrToSparse();
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || weights.getNumColumns() != 1) {
 			throw new DMLRuntimeException("Central Moment can be computed only on 1-dimensional column matrices.");
@@ -4778,6 +5071,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 					+ weights.getNumRows() + "," + weights.getNumColumns() +"]");
 		}
 		
+		//multi-threaded central moment over row partitions
+		if( op.getNumThreads() > 1 )
+			return LibMatrixAgg.aggregateCmCov(this, weights, op, op.getNumThreads());
+		
 		CM_COV_Object cmobj = new CM_COV_Object();
 		if (sparse && sparseRows!=null) //SPARSE
 		{
@@ -4807,6 +5104,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) 
 		throws DMLRuntimeException 
 	{
+		csrToSparse();
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || that.getNumColumns() != 1 ) {
 			throw new DMLRuntimeException("Covariance can be computed only on 1-dimensional column matrices."); 
@@ -4846,6 +5144,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) 
 		throws DMLRuntimeException 
 	{
+		csrToSparse();
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || that.getNumColumns() != 1 || weights.getNumColumns() != 1) {
 			throw new DMLRuntimeException("Covariance can be computed only on 1-dimensional column matrices."); 
@@ -5409,6 +5708,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	public MatrixValue replaceOperations(MatrixValue result, double pattern, double replacement) 
 		throws DMLUnsupportedOperationException, DMLRuntimeException
 	{
+		csrToSparse();
 		MatrixBlock ret = checkType(result);
 		examSparsity(); //ensure its in the right format
 		ret.reset(rlen, clen, sparse);
@@ -5634,8 +5934,10 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 			     CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLUnsupportedOperationException, DMLRuntimeException 
 	{	
+		csrToSparse();
 		//setup ctable computation
 		MatrixBlock that = checkType(thatVal);
+		that.csrToSparse();
 		CTable ctable = CTable.getCTableFnObject();
 		double w = scalarThat2;
 		
@@ -6119,6 +6421,7 @@ public class MatrixBlock extends MatrixValue implements Externalizable
 	@Override
 	public String toString()
 	{
+		csrToSparse();
 		StringBuilder sb = new StringBuilder();
 		
 		sb.append("sparse? = ");
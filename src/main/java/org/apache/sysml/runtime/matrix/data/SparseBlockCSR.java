@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Read-optimized compressed sparse row (CSR) representation of a sparse
+ * matrix block, consisting of a row pointer array and contiguous arrays of
+ * column indexes and values. In contrast to SparseRow[], this representation
+ * has no per-row object or array overheads and no slack capacity, but it
+ * does not support incremental updates. Hence, it is only used as read-only
+ * alternative representation of a MatrixBlock (see MatrixBlock.sparseToCSR
+ * and MatrixBlock.csrToSparse).
+ *
+ */
+public class SparseBlockCSR
+{
+	private int[] _ptr = null;       //row pointer array (size: rlen+1)
+	private int[] _indexes = null;   //column index array (size: nnz)
+	private double[] _values = null; //value array (size: nnz)
+
+	/**
+	 * Creates a CSR block from the given sparse rows, where null
+	 * rows or rows beyond the array length are treated as empty.
+	 *
+	 * @param rows
+	 * @param rlen
+	 */
+	public SparseBlockCSR( SparseRow[] rows, int rlen )
+	{
+		//determine exact number of non-zeros
+		long nnz = 0;
+		for( int i=0; i<Math.min(rlen, rows.length); i++ )
+			if( rows[i] != null )
+				nnz += rows[i].size();
+		if( nnz > Integer.MAX_VALUE )
+			throw new RuntimeException("CSR block with "+nnz+" non-zeros exceeds "
+					+ "supported size of "+Integer.MAX_VALUE+" elements.");
+
+		//allocate and copy sparse rows
+		_ptr = new int[rlen+1];
+		_indexes = new int[(int)nnz];
+		_values = new double[(int)nnz];
+		for( int i=0, pos=0; i<rlen; i++ ) {
+			SparseRow arow = (i<rows.length) ? rows[i] : null;
+			if( arow != null && !arow.isEmpty() ) {
+				int alen = arow.size();
+				System.arraycopy(arow.getIndexContainer(), 0, _indexes, pos, alen);
+				System.arraycopy(arow.getValueContainer(), 0, _values, pos, alen);
+				pos += alen;
+			}
+			_ptr[i+1] = pos;
+		}
+	}
+
+	/**
+	 * Creates a CSR block from existing arrays (without copy).
+	 *
+	 * @param ptr
+	 * @param indexes
+	 * @param values
+	 */
+	public SparseBlockCSR( int[] ptr, int[] indexes, double[] values )
+	{
+		_ptr = ptr;
+		_indexes = indexes;
+		_values = values;
+	}
+
+	/**
+	 * Get the number of rows of this block.
+	 *
+	 * @return
+	 */
+	public int numRows() {
+		return _ptr.length-1;
+	}
+
+	/**
+	 * Get the total number of non-zeros of this block.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return _ptr[_ptr.length-1];
+	}
+
+	/**
+	 * Get the number of non-zeros of row r.
+	 *
+	 * @param r
+	 * @return
+	 */
+	public int size( int r ) {
+		return _ptr[r+1] - _ptr[r];
+	}
+
+	/**
+	 * Get the number of non-zeros of rows [rl,ru).
+	 *
+	 * @param rl
+	 * @param ru
+	 * @return
+	 */
+	public int size( int rl, int ru ) {
+		return _ptr[ru] - _ptr[rl];
+	}
+
+	/**
+	 *
+	 * @param r
+	 * @return
+	 */
+	public boolean isEmpty( int r ) {
+		return (_ptr[r+1] == _ptr[r]);
+	}
+
+	/**
+	 * Get the start position of row r in the index and value arrays.
+	 *
+	 * @param r
+	 * @return
+	 */
+	public int pos( int r ) {
+		return _ptr[r];
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public int[] rowPointers() {
+		return _ptr;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public int[] indexes() {
+		return _indexes;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public double[] values() {
+		return _values;
+	}
+
+	/**
+	 *
+	 * @param r
+	 * @param c
+	 * @return
+	 */
+	public double get( int r, int c )
+	{
+		int index = Arrays.binarySearch(_indexes, _ptr[r], _ptr[r+1], c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+
+	/**
+	 * Get the position of the first column index greater or equal than c
+	 * in row r, or the end position of row r if no such index exists.
+	 *
+	 * @param r
+	 * @param c
+	 * @return
+	 */
+	public int posFIndexGTE( int r, int c )
+	{
+		int index = Arrays.binarySearch(_indexes, _ptr[r], _ptr[r+1], c);
+		return (index >= 0) ? index : Math.abs(index+1);
+	}
+
+	/**
+	 * Converts this block into sparse rows, where each non-empty row is
+	 * allocated with its exact size and empty rows are not allocated.
+	 *
+	 * @return
+	 */
+	public SparseRow[] toSparseRows()
+	{
+		int rlen = numRows();
+		SparseRow[] rows = new SparseRow[rlen];
+		for( int i=0; i<rlen; i++ ) {
+			int apos = _ptr[i];
+			int alen = _ptr[i+1] - apos;
+			if( alen > 0 ) {
+				SparseRow arow = new SparseRow(alen);
+				System.arraycopy(_indexes, apos, arow.getIndexContainer(), 0, alen);
+				System.arraycopy(_values, apos, arow.getValueContainer(), 0, alen);
+				arow.setSize(alen);
+				rows[i] = arow;
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Estimates the in-memory size of a CSR block (excl matrix block header).
+	 *
+	 * @param nrows
+	 * @param nnz
+	 * @return
+	 */
+	public static long estimateSizeInMemory( long nrows, long nnz )
+	{
+		//NOTES:
+		// * Fixed overhead of 16B (object), 3x8B (references), 3x16B (array headers)
+		// * Each row requires 4B for the row pointer, no per-row overheads
+		// * Each non-zero value requires 12B for the column-index/value pair.
+		double size = 16 + 24 + 48;
+		size += 4d * (nrows + 1);
+		size += 12d * nnz;
+
+		// robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+}
@@ -35,12 +35,28 @@ public class CMOperator extends Operator
 
 	public ValueFunction fn;
 	public AggregateOperationTypes aggOpType;
+	private int k; //num threads
 
 	public CMOperator(ValueFunction op, AggregateOperationTypes agg) {
+		//default degree of parallelism is 1 
+		//(for example in MR/Spark because we parallelize over the number of blocks)
+		this( op, agg, 1 );
+	}
+	
+	public CMOperator(ValueFunction op, AggregateOperationTypes agg, int numThreads) {
 		fn = op;
 		aggOpType = agg;
+		k = numThreads;
 		sparseSafe = true;
 	}
+	
+	public void setNumThreads(int numThreads) {
+		k = numThreads;
+	}
+	
+	public int getNumThreads(){
+		return k;
+	}
 
 	public AggregateOperationTypes getAggOpType() {
 		return aggOpType;
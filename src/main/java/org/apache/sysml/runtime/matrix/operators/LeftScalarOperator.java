@@ -42,6 +42,15 @@ public class LeftScalarOperator extends ScalarOperator
 			sparseSafe = false;
 	}
 
+	@Override
+	public ScalarOperator copyWithConstant(double cst)
+	{
+		ScalarOperator ret = new LeftScalarOperator(fn, _constant);
+		ret.setNumThreads(getNumThreads());
+		ret.setConstant(cst);
+		return ret;
+	}
+	
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(_constant, in);
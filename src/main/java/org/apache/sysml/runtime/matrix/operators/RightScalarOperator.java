@@ -37,6 +37,15 @@ public class RightScalarOperator extends ScalarOperator
 		super(p, cst);
 	}
 
+	@Override
+	public ScalarOperator copyWithConstant(double cst)
+	{
+		ScalarOperator ret = new RightScalarOperator(fn, _constant);
+		ret.setNumThreads(getNumThreads());
+		ret.setConstant(cst);
+		return ret;
+	}
+	
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(in, _constant);
@@ -44,11 +44,20 @@ public class ScalarOperator  extends Operator
 	
 	public ValueFunction fn;
 	protected double _constant;
+	private int k; //num threads
 	
 	public ScalarOperator(ValueFunction p, double cst)
+	{
+		//default degree of parallelism is 1 
+		//(for example in MR/Spark because we parallelize over the number of blocks)
+		this( p, cst, 1 );
+	}
+	
+	public ScalarOperator(ValueFunction p, double cst, int numThreads)
 	{
 		fn = p;
 		_constant = cst;
+		k = numThreads;
 		
 		//as long as (0 op v)=0, then op is sparsesafe
 		//note: additional functionobjects might qualify according to constant
@@ -98,6 +107,30 @@ public class ScalarOperator  extends Operator
 		}
 	}
 	
+	/**
+	 * Creates a copy of this operator with the given constant. Since instructions
+	 * (and hence their operators) might be shared by concurrently executing 
+	 * threads (e.g., JMLC prepared scripts), variable constants are bound to 
+	 * operator copies instead of modifying the shared operator.
+	 * 
+	 * @param cst
+	 * @return
+	 */
+	public ScalarOperator copyWithConstant(double cst)
+	{
+		ScalarOperator ret = new ScalarOperator(fn, _constant, k);
+		ret.setConstant(cst);
+		return ret;
+	}
+	
+	public void setNumThreads(int numThreads) {
+		k = numThreads;
+	}
+	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	public double executeScalar(double in) throws DMLRuntimeException {
 		throw new DMLRuntimeException("executeScalar(): can not be invoked from base class.");
 	}
@@ -29,9 +29,18 @@ public class UnaryOperator extends Operator
 	private static final long serialVersionUID = 2441990876648978637L;
 
 	public ValueFunction fn;
+	private int k; //num threads
+	
 	public UnaryOperator(ValueFunction p)
+	{
+		//default degree of parallelism is 1
+		this( p, 1 );
+	}
+	
+	public UnaryOperator(ValueFunction p, int numThreads)
 	{
 		fn = p;
+		k = numThreads;
 		sparseSafe = false;
 		
 		if(fn instanceof Builtin)
@@ -47,4 +56,12 @@ public class UnaryOperator extends Operator
 			}
 		}
 	}
+	
+	public void setNumThreads(int numThreads) {
+		k = numThreads;
+	}
+	
+	public int getNumThreads(){
+		return k;
+	}
 }
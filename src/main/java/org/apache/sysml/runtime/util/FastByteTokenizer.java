@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.io.Text;
+
+/**
+ * This tokenizer is the byte-level counterpart of FastStringTokenizer. It operates
+ * directly on the UTF-8 bytes of a line (e.g., the reused backing array of a hadoop
+ * Text) and parses numbers in place, which avoids the string conversion of lines,
+ * the substring per token, and the string split per line.
+ *
+ * The tokenizer supports two modes: (1) textcell mode with a single-character
+ * delimiter, where consecutive delimiters are skipped (see FastStringTokenizer), and
+ * (2) csv mode with a (potentially multi-character) whole separator, where all tokens
+ * (including empty) are preserved and lines as well as tokens are trimmed (see
+ * IOUtilFunctions.split and String.trim). Since UTF-8 is self-synchronizing, matching
+ * the delimiter bytes is equivalent to matching the delimiter characters.
+ *
+ */
+public class FastByteTokenizer
+{
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	//powers of ten that are exactly representable as doubles
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	//max number of significant digits s.t. the mantissa is exactly representable
+	private static final int MAX_DOUBLE_DIGITS = 15;
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private final byte[] _del;
+	private final boolean _preserveAll;
+
+	private byte[] _buf = null;
+	private int _pos = -1;  //current position
+	private int _end = -1;  //end of line (exclusive)
+	private int _tbeg = -1; //begin of current token
+	private int _tend = -1; //end of current token (exclusive)
+
+	/**
+	 * Constructs a new tokenizer in textcell mode, i.e., with single-character
+	 * delimiter and without empty tokens.
+	 *
+	 * @param delimiter
+	 */
+	public FastByteTokenizer(char delimiter)
+	{
+		this(String.valueOf(delimiter), false);
+	}
+
+	/**
+	 * Constructs a new tokenizer for the given delimiter. If preserveAllTokens
+	 * is true, the tokenizer is in csv mode.
+	 *
+	 * @param delimiter
+	 * @param preserveAllTokens
+	 */
+	public FastByteTokenizer(String delimiter, boolean preserveAllTokens)
+	{
+		_del = delimiter.getBytes(UTF8);
+		_preserveAll = preserveAllTokens;
+	}
+
+	/**
+	 *
+	 * @param text
+	 */
+	public void reset( Text text )
+	{
+		reset( text.getBytes(), 0, text.getLength() );
+	}
+
+	/**
+	 *
+	 * @param buf
+	 * @param off
+	 * @param len
+	 */
+	public void reset( byte[] buf, int off, int len )
+	{
+		_buf = buf;
+		_pos = off;
+		_end = off + len;
+		_tbeg = _tend = off;
+
+		if( _preserveAll ) {
+			//trim line (empty lines have no tokens)
+			while( _pos < _end && isWhitespace(_buf[_pos]) )
+				_pos++;
+			while( _end > _pos && isWhitespace(_buf[_end-1]) )
+				_end--;
+			if( _pos == _end )
+				_pos = _end + 1;
+		}
+	}
+
+	/**
+	 * Advances to the next token, which can be accessed via isEmptyToken,
+	 * getToken, and getDouble.
+	 *
+	 * @return true if there is a next token
+	 */
+	public boolean nextToken()
+	{
+		if( _preserveAll )
+		{
+			if( _pos > _end )
+				return false;
+
+			//find end (next delimiter or end of line)
+			int ix = indexOfDelimiter(_pos);
+			_tbeg = _pos;
+			_tend = (ix >= 0) ? ix : _end;
+			_pos = (ix >= 0) ? ix + _del.length : _end + 1;
+
+			//trim token
+			while( _tbeg < _tend && isWhitespace(_buf[_tbeg]) )
+				_tbeg++;
+			while( _tend > _tbeg && isWhitespace(_buf[_tend-1]) )
+				_tend--;
+		}
+		else
+		{
+			//find start (skip over leading delimiters)
+			while( _pos < _end && isDelimiterAt(_pos) )
+				_pos += _del.length;
+			if( _pos >= _end )
+				return false;
+
+			//find end (next delimiter or end of line)
+			int ix = indexOfDelimiter(_pos);
+			_tbeg = _pos;
+			_tend = (ix >= 0) ? ix : _end;
+			_pos = _tend;
+		}
+
+		return true;
+	}
+
+	/**
+	 *
+	 * @return
+	 */
+	public boolean isEmptyToken()
+	{
+		return _tbeg >= _tend;
+	}
+
+	/**
+	 * Returns the current token as a string (for error handling only).
+	 *
+	 * @return
+	 */
+	public String getToken()
+	{
+		return new String(_buf, _tbeg, _tend-_tbeg, UTF8);
+	}
+
+	/**
+	 * Parses the current token as a double.
+	 *
+	 * @return
+	 */
+	public double getDouble()
+	{
+		return parseDouble(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	////////////////////////////////////////
+	// Custom parsing methods for textcell
+	////////////////////////////////////////
+
+	public int nextInt()
+	{
+		long val = nextLong();
+		if( val < Integer.MIN_VALUE || val > Integer.MAX_VALUE )
+			return Integer.parseInt( getToken() ); //raise number format exception
+		return (int) val;
+	}
+
+	public long nextLong()
+	{
+		if( !nextToken() )
+			throw new NoSuchElementException();
+		return parseLong(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	public double nextDouble()
+	{
+		if( !nextToken() )
+			throw new NoSuchElementException();
+		return parseDouble(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	////////////////////////////////////////
+	// Byte-level number parsing
+	////////////////////////////////////////
+
+	/**
+	 * Parses a long from the given byte range, without intermediate string. For
+	 * special cases (e.g., more than 18 digits), we fall back to Long.parseLong,
+	 * which also raises the number format exceptions.
+	 *
+	 * @param buf
+	 * @param off
+	 * @param len
+	 * @return
+	 */
+	public static long parseLong( byte[] buf, int off, int len )
+	{
+		int i = off;
+		int end = off + len;
+		boolean neg = false;
+
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+
+		long val = 0;
+		int ndigits = 0;
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				break;
+			val = val * 10 + d;
+			ndigits++;
+		}
+
+		//fallback for invalid input and potential overflows
+		if( i < end || ndigits == 0 || ndigits > MAX_LONG_DIGITS )
+			return Long.parseLong(new String(buf, off, len, UTF8));
+
+		return neg ? -val : val;
+	}
+
+	/**
+	 * Parses a double from the given byte range, without intermediate string.
+	 * The fast path handles plain decimal numbers with up to 15 significant digits
+	 * and decimal exponents up to 22, for which both the mantissa and the power of
+	 * ten are exactly representable as doubles. Hence, a single multiplication or
+	 * division is correctly rounded and produces exactly the same result as
+	 * Double.parseDouble. All other cases (e.g., NaN, Infinity, hex floats, long
+	 * mantissas, large exponents, or invalid numbers) fall back to Double.parseDouble.
+	 *
+	 * @param buf
+	 * @param off
+	 * @param len
+	 * @return
+	 */
+	public static double parseDouble( byte[] buf, int off, int len )
+	{
+		int i = off;
+		int end = off + len;
+		boolean neg = false;
+
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+
+		long mant = 0;
+		int ndigits = 0; //significant digits
+		int exp = 0;
+		boolean digits = false;
+
+		//integer part
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				break;
+			if( mant > 0 || d > 0 ) {
+				mant = mant * 10 + d;
+				ndigits++;
+			}
+			digits = true;
+		}
+
+		//fractional part
+		if( i < end && buf[i]=='.' ) {
+			for( i++; i < end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				if( mant > 0 || d > 0 ) {
+					mant = mant * 10 + d;
+					ndigits++;
+				}
+				exp--;
+				digits = true;
+			}
+		}
+
+		//exponent
+		if( digits && i < end && (buf[i]=='e' || buf[i]=='E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (buf[i]=='-' || buf[i]=='+') )
+				eneg = (buf[i++]=='-');
+			int eval = 0;
+			int edigits = 0;
+			for( ; i < end && edigits < 6; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				eval = eval * 10 + d;
+				edigits++;
+			}
+			exp += eneg ? -eval : eval;
+			if( edigits == 0 )
+				digits = false;
+		}
+
+		//fallback for special cases and invalid input
+		if( i < end || !digits || ndigits > MAX_DOUBLE_DIGITS
+			|| (mant > 0 && (exp < -22 || exp > 22)) )
+		{
+			return Double.parseDouble(new String(buf, off, len, UTF8));
+		}
+
+		double val = (double) mant;
+		if( exp > 0 )
+			val *= POW10[exp];
+		else if( exp < 0 )
+			val /= POW10[-exp];
+
+		return neg ? -val : val;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return
+	 */
+	private int indexOfDelimiter( int pos )
+	{
+		final byte d0 = _del[0];
+		for( int i=pos; i < _end; i++ )
+			if( _buf[i] == d0 && isDelimiterAt(i) )
+				return i;
+		return -1;
+	}
+
+	/**
+	 *
+	 * @param pos
+	 * @return
+	 */
+	private boolean isDelimiterAt( int pos )
+	{
+		int len = _del.length;
+		if( pos + len > _end )
+			return false;
+		for( int j=0; j < len; j++ )
+			if( _buf[pos+j] != _del[j] )
+				return false;
+		return true;
+	}
+
+	/**
+	 * Whitespace according to String.trim (all chars <= ' '); note that bytes
+	 * of multi-byte UTF-8 characters are negative and hence never whitespace.
+	 *
+	 * @param b
+	 * @return
+	 */
+	private static boolean isWhitespace( byte b )
+	{
+		return b >= 0 && b <= ' ';
+	}
+}
@@ -143,6 +143,29 @@ public class LocalFileUtils
 		}	
 	}
 	
+	/**
+	 * 
+	 * @param filePathAndName
+	 * @param data
+	 * @param len number of bytes to write
+	 * @throws IOException
+	 */
+	public static void writeByteArrayToLocal( String filePathAndName, byte[] data, int len )
+		throws IOException
+	{		
+		FileOutputStream fos = new FileOutputStream( filePathAndName );
+		
+		try 
+		{
+			fos.write( data, 0, len );
+		}
+		finally
+		{
+			if( fos != null )
+				fos.close ();	
+		}	
+	}
+	
 	/**
 	 * 
 	 * @param filePathAndName
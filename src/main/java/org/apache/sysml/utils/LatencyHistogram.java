@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets, where each power of two 
+ * is split into 8 linear sub-buckets. Hence, percentiles are reported with a 
+ * relative error of at most 12.5%, while recording requires only a few atomic
+ * increments and no allocation.
+ * 
+ */
+public class LatencyHistogram 
+{
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int NUM_BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+	
+	private AtomicLongArray _buckets = new AtomicLongArray(NUM_BUCKETS);
+	private AtomicLong _count = new AtomicLong(0);
+	private AtomicLong _total = new AtomicLong(0); //in nano sec
+	private AtomicLong _max = new AtomicLong(0);   //in nano sec
+	
+	/**
+	 * 
+	 * @param nanos
+	 */
+	public void record( long nanos )
+	{
+		long val = Math.max(nanos, 0);
+		_buckets.incrementAndGet(getBucketIndex(val));
+		_count.incrementAndGet();
+		_total.addAndGet(val);
+		
+		//maintain max via compare and swap
+		long max = _max.get();
+		while( val > max && !_max.compareAndSet(max, val) )
+			max = _max.get();
+	}
+	
+	public long getCount() {
+		return _count.get();
+	}
+	
+	public long getTotalTime() {
+		return _total.get();
+	}
+	
+	public long getMaxTime() {
+		return _max.get();
+	}
+	
+	/**
+	 * Returns the upper bound of the bucket that contains the given quantile
+	 * (e.g., 0.99 for the 99th percentile), bounded by the maximum value.
+	 * 
+	 * @param q
+	 * @return
+	 */
+	public long getPercentile( double q )
+	{
+		long count = _count.get();
+		if( count <= 0 )
+			return 0;
+		
+		long rank = Math.max((long)Math.ceil(q * count), 1);
+		long cum = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			cum += _buckets.get(i);
+			if( cum >= rank )
+				return Math.min(getBucketUpperBound(i), _max.get());
+		}
+		
+		return _max.get();
+	}
+	
+	/**
+	 * 
+	 */
+	public void reset()
+	{
+		for( int i=0; i<NUM_BUCKETS; i++ )
+			_buckets.set(i, 0);
+		_count.set(0);
+		_total.set(0);
+		_max.set(0);
+	}
+	
+	/**
+	 * 
+	 * @param val
+	 * @return
+	 */
+	private static int getBucketIndex( long val )
+	{
+		if( val < SUB_BUCKETS )
+			return (int)val;
+		
+		int exp = 63 - Long.numberOfLeadingZeros(val);
+		int sub = (int)((val >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1));
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+	
+	/**
+	 * 
+	 * @param ix
+	 * @return
+	 */
+	private static long getBucketUpperBound( int ix )
+	{
+		if( ix < SUB_BUCKETS )
+			return ix;
+		
+		int exp = ix / SUB_BUCKETS + SUB_BITS - 1;
+		int sub = ix % SUB_BUCKETS;
+		long lower = ((long)(SUB_BUCKETS + sub)) << (exp - SUB_BITS);
+		return lower + (1L << (exp - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+
+/**
+ * Runtime metrics for long-running processes (e.g., embedded JMLC scoring), 
+ * which in contrast to the end-of-run Statistics can be monitored and reset at 
+ * any time, either programmatically or via JMX. Besides per-opcode latency 
+ * histograms, this exposes the buffer pool, recompilation, plan cache, and GC 
+ * statistics. If enabled, these statistics are maintained independent of the 
+ * -stats flag. All counters are lock-free.
+ * 
+ */
+public class RuntimeMetrics implements RuntimeMetricsMXBean
+{
+	private static final Log LOG = LogFactory.getLog(RuntimeMetrics.class.getName());
+	
+	public static final String MBEAN_NAME = "org.apache.sysml:type=RuntimeMetrics";
+	
+	private static volatile boolean _enabled = false;
+	private static final RuntimeMetrics _instance = new RuntimeMetrics();
+	private static ConcurrentHashMap<String, LatencyHistogram> _instLatency = 
+			new ConcurrentHashMap<String, LatencyHistogram>();
+	
+	private RuntimeMetrics() 
+	{
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static RuntimeMetrics getInstance()
+	{
+		return _instance;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static boolean isEnabled()
+	{
+		return _enabled;
+	}
+	
+	/**
+	 * 
+	 * @param flag
+	 */
+	public static void setEnabled( boolean flag )
+	{
+		_enabled = flag;
+	}
+	
+	/**
+	 * Enables the runtime metrics and registers them as MBean 
+	 * at the platform MBean server.
+	 */
+	public static synchronized void registerMBean()
+	{
+		setEnabled(true);
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if( !server.isRegistered(name) )
+				server.registerMBean(_instance, name);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to register runtime metrics MBean.", ex);
+		}
+	}
+	
+	/**
+	 * Disables the runtime metrics and unregisters the MBean.
+	 */
+	public static synchronized void unregisterMBean()
+	{
+		setEnabled(false);
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(MBEAN_NAME);
+			if( server.isRegistered(name) )
+				server.unregisterMBean(name);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to unregister runtime metrics MBean.", ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param timeNanos
+	 */
+	public static void maintainInstructionLatency( String opcode, long timeNanos )
+	{
+		LatencyHistogram hist = _instLatency.get(opcode);
+		if( hist == null ) {
+			LatencyHistogram tmp = _instLatency.putIfAbsent(opcode, hist = new LatencyHistogram());
+			if( tmp != null )
+				hist = tmp;
+		}
+		hist.record(timeNanos);
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @return
+	 */
+	public static LatencyHistogram getInstructionLatency( String opcode )
+	{
+		return _instLatency.get(opcode);
+	}
+	
+	@Override
+	public InstructionMetrics[] getInstructionMetrics()
+	{
+		ArrayList<InstructionMetrics> ret = new ArrayList<InstructionMetrics>();
+		for( Entry<String, LatencyHistogram> e : _instLatency.entrySet() ) {
+			LatencyHistogram hist = e.getValue();
+			if( hist.getCount() <= 0 ) //reset or not yet recorded
+				continue;
+			ret.add(new InstructionMetrics(e.getKey(), hist.getCount(), toMillis(hist.getTotalTime()), 
+				toMillis(hist.getPercentile(0.5)), toMillis(hist.getPercentile(0.99)), toMillis(hist.getMaxTime())));
+		}
+		
+		//sort by total time (descending)
+		InstructionMetrics[] tmp = ret.toArray(new InstructionMetrics[ret.size()]);
+		Arrays.sort(tmp, new Comparator<InstructionMetrics>() {
+			public int compare(InstructionMetrics m1, InstructionMetrics m2) {
+				return Double.compare(m2.getTotalTime(), m1.getTotalTime());
+			}
+		});
+		
+		return tmp;
+	}
+	
+	@Override
+	public long getCacheHitsMem() {
+		return CacheStatistics.getMemHits();
+	}
+	
+	@Override
+	public long getCacheHitsWriteBuffer() {
+		return CacheStatistics.getFSBuffHits();
+	}
+	
+	@Override
+	public long getCacheHitsFS() {
+		return CacheStatistics.getFSHits();
+	}
+	
+	@Override
+	public long getCacheHitsHDFS() {
+		return CacheStatistics.getHDFSHits();
+	}
+	
+	@Override
+	public double getCacheHitRate() {
+		long hits = getCacheHitsMem() + getCacheHitsWriteBuffer();
+		long total = hits + getCacheHitsFS() + getCacheHitsHDFS();
+		return (total > 0) ? (double)hits / total : 0;
+	}
+	
+	@Override
+	public double getArrayPoolHitRate() {
+		long hits = CacheStatistics.getPoolHits();
+		long total = hits + CacheStatistics.getPoolMisses();
+		return (total > 0) ? (double)hits / total : 0;
+	}
+	
+	@Override
+	public long getHopRecompilations() {
+		return Statistics.getHopRecompiledPredDAGs() + Statistics.getHopRecompiledSBDAGs();
+	}
+	
+	@Override
+	public double getHopRecompileTime() {
+		return toMillis(Statistics.getHopRecompileTime());
+	}
+	
+	@Override
+	public long getFunctionRecompilations() {
+		return Statistics.getFunRecompiles();
+	}
+	
+	@Override
+	public long getJMLCPlanCacheHits() {
+		return Statistics.getJMLCPlanCacheHits();
+	}
+	
+	@Override
+	public long getJMLCPlanCacheMisses() {
+		return Statistics.getJMLCPlanCacheMisses();
+	}
+	
+	@Override
+	public long getJVMGCCount() {
+		return Statistics.getJVMgcCount();
+	}
+	
+	@Override
+	public long getJVMGCTime() {
+		return Statistics.getJVMgcTime();
+	}
+	
+	/**
+	 * Resets the instruction latencies as well as the cache 
+	 * and compilation statistics.
+	 */
+	@Override
+	public void reset() 
+	{
+		for( LatencyHistogram hist : _instLatency.values() )
+			hist.reset();
+		CacheStatistics.reset();
+		Statistics.reset();
+	}
+	
+	/**
+	 * 
+	 * @param num
+	 * @return
+	 */
+	public String display( int num )
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("SystemML Runtime Metrics:\n");
+		sb.append("Cache hit rate (Mem+WB):\t" + String.format("%.3f", getCacheHitRate()) + ".\n");
+		sb.append("Array pool hit rate:\t\t" + String.format("%.3f", getArrayPoolHitRate()) + ".\n");
+		sb.append("HOP DAGs/functions recompiled:\t" + getHopRecompilations() + "/" + getFunctionRecompilations() + ".\n");
+		sb.append("JMLC plan cache (hits/misses):\t" + getJMLCPlanCacheHits() + "/" + getJMLCPlanCacheMisses() + ".\n");
+		sb.append("Total JVM GC count/time:\t" + getJVMGCCount() + "/" + String.format("%.3f", ((double)getJVMGCTime())/1000) + " sec.\n");
+		sb.append("Instruction latencies (name, count, p50, p99, max in ms):\n");
+		InstructionMetrics[] tmp = getInstructionMetrics();
+		for( int i=0; i<Math.min(num, tmp.length); i++ )
+			sb.append("-- "+(i+1)+") \t"+tmp[i]+"\n");
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * 
+	 * @param nanos
+	 * @return
+	 */
+	private static double toMillis( long nanos ) {
+		return ((double)nanos) / 1000000;
+	}
+	
+	/**
+	 * Snapshot of the latency statistics of an opcode (in milliseconds). 
+	 */
+	public static class InstructionMetrics
+	{
+		private String _opcode = null;
+		private long _count = -1;
+		private double _total = -1;
+		private double _p50 = -1;
+		private double _p99 = -1;
+		private double _max = -1;
+		
+		@ConstructorProperties({"opcode", "count", "totalTime", "p50", "p99", "maxTime"})
+		public InstructionMetrics( String opcode, long count, double total, double p50, double p99, double max )
+		{
+			_opcode = opcode;
+			_count = count;
+			_total = total;
+			_p50 = p50;
+			_p99 = p99;
+			_max = max;
+		}
+		
+		public String getOpcode() {
+			return _opcode;
+		}
+		
+		public long getCount() {
+			return _count;
+		}
+		
+		public double getTotalTime() {
+			return _total;
+		}
+		
+		public double getP50() {
+			return _p50;
+		}
+		
+		public double getP99() {
+			return _p99;
+		}
+		
+		public double getMaxTime() {
+			return _max;
+		}
+		
+		@Override
+		public String toString() {
+			return _opcode + " \t" + _count + " \t" + String.format("%.3f", _p50) + " \t" 
+				+ String.format("%.3f", _p99) + " \t" + String.format("%.3f", _max);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import org.apache.sysml.utils.RuntimeMetrics.InstructionMetrics;
+
+/**
+ * JMX management interface of the runtime metrics (see RuntimeMetrics).
+ * All times are reported in milliseconds.
+ */
+public interface RuntimeMetricsMXBean 
+{
+	public InstructionMetrics[] getInstructionMetrics();
+	
+	public long getCacheHitsMem();
+	
+	public long getCacheHitsWriteBuffer();
+	
+	public long getCacheHitsFS();
+	
+	public long getCacheHitsHDFS();
+	
+	public double getCacheHitRate();
+	
+	public double getArrayPoolHitRate();
+	
+	public long getHopRecompilations();
+	
+	public double getHopRecompileTime();
+	
+	public long getFunctionRecompilations();
+	
+	public long getJMLCPlanCacheHits();
+	
+	public long getJMLCPlanCacheMisses();
+	
+	public long getJVMGCCount();
+	
+	public long getJVMGCTime();
+	
+	public void reset();
+}
@@ -22,12 +22,14 @@ package org.apache.sysml.utils;
 import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
-import java.util.Arrays;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.sysml.api.DMLScript;
@@ -78,15 +80,27 @@ public class Statistics
 	//Spark-specific stats
 	private static long sparkCtxCreateTime = 0; 
 
+	//JMLC plan cache stats
+	private static AtomicLong jmlcPlanCacheHits = new AtomicLong(0); //count
+	private static AtomicLong jmlcPlanCacheMisses = new AtomicLong(0); //count
+	private static AtomicLong jmlcCompileTime = new AtomicLong(0); //in nano sec
+	
+	//Update in-place stats
+	private static AtomicLong updateInPlace = new AtomicLong(0); //count
+	
 	//PARFOR optimization stats 
 	private static long parforOptTime = 0; //in milli sec
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforDeltaMergeCount = 0; //count
+	private static long parforInMemDPCount = 0; //count
+	private static long parforWorkerBusyTime = 0; //in milli sec
+	private static long parforWorkerAvailTime = 0; //in milli sec
 	
 	//heavy hitter counts and times 
-	private static HashMap<String,Long> _cpInstTime   =  new HashMap<String, Long>();
-	private static HashMap<String,Long> _cpInstCounts =  new HashMap<String, Long>();
+	private static ConcurrentHashMap<String,AtomicLong> _cpInstTime   =  new ConcurrentHashMap<String, AtomicLong>();
+	private static ConcurrentHashMap<String,AtomicLong> _cpInstCounts =  new ConcurrentHashMap<String, AtomicLong>();
 	
 	public static synchronized void setNoOfExecutedMRJobs(int iNoOfExecutedMRJobs) {
 		Statistics.iNoOfExecutedMRJobs = iNoOfExecutedMRJobs;
@@ -227,6 +241,26 @@ public class Statistics
 		funRecompiles.incrementAndGet();
 	}
 	
+	public static void incrementJMLCPlanCacheHits() {
+		//note: not synchronized due to use of atomics
+		jmlcPlanCacheHits.incrementAndGet();
+	}
+	
+	public static void incrementJMLCPlanCacheMisses() {
+		//note: not synchronized due to use of atomics
+		jmlcPlanCacheMisses.incrementAndGet();
+	}
+	
+	public static void incrementJMLCCompileTime( long delta ) {
+		//note: not synchronized due to use of atomics
+		jmlcCompileTime.addAndGet(delta);
+	}
+	
+	public static void incrementUpdateInPlace() {
+		//note: not synchronized due to use of atomics
+		updateInPlace.incrementAndGet();
+	}
+	
 	public static synchronized void incrementParForOptimCount(){
 		parforOptCount ++;
 	}
@@ -242,6 +276,19 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForDeltaMergeCount() {
+		parforDeltaMergeCount ++;
+	}
+	
+	public static synchronized void incrementParForInMemDPCount() {
+		parforInMemDPCount ++;
+	}
+	
+	public static synchronized void incrementParForWorkerTime( long busyTime, long availTime ) {
+		parforWorkerBusyTime += busyTime;
+		parforWorkerAvailTime += availTime;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -288,10 +335,19 @@ public class Statistics
 		hopRecompilePred.set(0);
 		hopRecompileSB.set(0);
 		
+		jmlcPlanCacheHits.set(0);
+		jmlcPlanCacheMisses.set(0);
+		jmlcCompileTime.set(0);
+		updateInPlace.set(0);
+		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforDeltaMergeCount = 0;
+		parforInMemDPCount = 0;
+		parforWorkerBusyTime = 0;
+		parforWorkerAvailTime = 0;
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -361,15 +417,22 @@ public class Statistics
 		return opcode;
 	}
 	
-	public synchronized static void maintainCPHeavyHitters( String key, long timeNanos )
+	public static void maintainCPHeavyHitters( String key, long timeNanos )
 	{
-		Long oldVal = _cpInstTime.get(key);
-		Long newVal = timeNanos + ((oldVal!=null) ? oldVal : 0);
-		_cpInstTime.put(key, newVal);
-
-		Long oldCnt = _cpInstCounts.get(key);
-		Long newCnt = 1 + ((oldCnt!=null) ? oldCnt : 0);
-		_cpInstCounts.put(key, newCnt);
+		//note: not synchronized due to use of concurrent maps and atomics
+		getCounter(_cpInstTime, key).addAndGet(timeNanos);
+		getCounter(_cpInstCounts, key).incrementAndGet();
+	}
+	
+	private static AtomicLong getCounter( ConcurrentHashMap<String,AtomicLong> map, String key )
+	{
+		AtomicLong ret = map.get(key);
+		if( ret == null ) {
+			AtomicLong tmp = map.putIfAbsent(key, ret = new AtomicLong(0));
+			if( tmp != null )
+				ret = tmp;
+		}
+		return ret;
 	}
 	
 	public static Set<String> getCPHeavyHitterOpCodes()
@@ -382,16 +445,18 @@ public class Statistics
 	 * @param num
 	 * @return
 	 */
-	@SuppressWarnings("unchecked")
 	public static String getHeavyHitters( int num )
 	{
-		int len = _cpInstTime.size();
+		//snapshot of concurrently maintained times
+		ArrayList<Entry<String,Long>> tmp = new ArrayList<Entry<String,Long>>();
+		for( Entry<String,AtomicLong> e : _cpInstTime.entrySet() )
+			tmp.add(new SimpleEntry<String,Long>(e.getKey(), e.getValue().get()));
+		int len = tmp.size();
 		if( num <= 0 || len <= 0 )
 			return "-";
 		
 		//get top k via sort
-		Entry<String,Long>[] tmp = _cpInstTime.entrySet().toArray(new Entry[len]);
-		Arrays.sort(tmp, new Comparator<Entry<String, Long>>() {
+		Collections.sort(tmp, new Comparator<Entry<String, Long>>() {
 		    public int compare(Entry<String, Long> e1, Entry<String, Long> e2) {
 		        return e1.getValue().compareTo(e2.getValue());
 		    }
@@ -400,13 +465,13 @@ public class Statistics
 		//prepare output string
 		StringBuilder sb = new StringBuilder();
 		for( int i=0; i<Math.min(num, len); i++ ){
-			String key = tmp[len-1-i].getKey();
+			String key = tmp.get(len-1-i).getKey();
 			sb.append("-- "+(i+1)+") \t");
 			sb.append(key);
 			sb.append(" \t");
-			sb.append(String.format("%.3f", ((double)tmp[len-1-i].getValue())/1000000000));
+			sb.append(String.format("%.3f", ((double)tmp.get(len-1-i).getValue())/1000000000));
 			sb.append(" sec \t");
-			sb.append(_cpInstCounts.get(key));
+			sb.append(getCounter(_cpInstCounts, key).get());
 			sb.append("\n");
 		}
 		
@@ -474,7 +539,23 @@ public class Statistics
 	public static long getFunRecompiles(){
 		return funRecompiles.get();
 	}
+	
+	public static long getJMLCPlanCacheHits(){
+		return jmlcPlanCacheHits.get();
+	}
+	
+	public static long getJMLCPlanCacheMisses(){
+		return jmlcPlanCacheMisses.get();
+	}
+	
+	public static long getJMLCCompileTime(){
+		return jmlcCompileTime.get();
+	}
 		
+	public static long getUpdateInPlace(){
+		return updateInPlace.get();
+	}
+	
 	public static long getParforOptCount(){
 		return parforOptCount;
 	}
@@ -490,6 +571,22 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforDeltaMergeCount(){
+		return parforDeltaMergeCount;
+	}
+	
+	public static long getParforInMemDPCount(){
+		return parforInMemDPCount;
+	}
+	
+	public static long getParforWorkerBusyTime(){
+		return parforWorkerBusyTime;
+	}
+	
+	public static long getParforWorkerAvailTime(){
+		return parforWorkerAvailTime;
+	}
 
 	/**
 	 * Prints statistics.
@@ -522,6 +619,11 @@ public class Statistics
 		{
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			sb.append("Cache prefetches (issued/used):\t" + CacheStatistics.displayPrefetches() + ".\n");
+			sb.append("Cache compression (ratio, C/D):\t" + CacheStatistics.displayCompression() + " sec.\n");
+			sb.append("Cache pool (hits/misses):\t" + CacheStatistics.displayPool() + ".\n");
+			sb.append("Cache WB ops (lock-free/locked):\t" + CacheStatistics.displayWBOps() + ".\n");
+			sb.append("Cache WB waits (lock, evict):\t" + CacheStatistics.displayWBWaitTime() + " sec.\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
@@ -534,11 +636,24 @@ public class Statistics
 				sb.append("Spark ctx create time "+lazy+":\t"+
 						String.format("%.3f", ((double)sparkCtxCreateTime)*1e-9)  + " sec.\n" ); // nanoSec --> sec
 			}
+			if( getJMLCPlanCacheHits()+getJMLCPlanCacheMisses()>0 ) {
+				sb.append("JMLC plan cache (hits/misses):\t" + getJMLCPlanCacheHits() + "/" + getJMLCPlanCacheMisses() + ".\n");
+				sb.append("JMLC compile time:\t\t" + String.format("%.3f", ((double)getJMLCCompileTime())/1000000000) + " sec.\n");
+			}
+			if( getUpdateInPlace()>0 )
+				sb.append("Left indexing in-place:\t\t" + getUpdateInPlace() + ".\n");
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");	
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
+				if( parforDeltaMergeCount>0 )
+					sb.append("ParFor delta result merges:\t" + getParforDeltaMergeCount() + ".\n");
+				if( parforInMemDPCount>0 )
+					sb.append("ParFor in-memory partitionings:\t" + getParforInMemDPCount() + ".\n");
+				if( parforWorkerAvailTime>0 )
+					sb.append("ParFor worker busy time:\t" + String.format("%.3f", ((double)getParforWorkerBusyTime())/1000) + "/" 
+						+ String.format("%.3f", ((double)getParforWorkerAvailTime())/1000) + " sec.\n");
 			}
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.CM;
+import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.CMOperator;
+import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the multi-threaded against the single-threaded cumulative
+ * aggregates (cumsum, cumprod, cummin, cummax) and central moments
+ * (unweighted and weighted) for dense and sparse inputs.
+ */
+public class FullAggregateMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows1 = 2017;
+	private final static int cols1 = 593;
+	private final static int rows2 = 1500000;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-8;
+	private final static int k = 4;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCumsumDense()
+	{
+		runCumAggTest("ucumk+", false);
+	}
+
+	@Test
+	public void testCumsumSparse()
+	{
+		runCumAggTest("ucumk+", true);
+	}
+
+	@Test
+	public void testCumprodDense()
+	{
+		runCumAggTest("ucum*", false);
+	}
+
+	@Test
+	public void testCumprodSparse()
+	{
+		runCumAggTest("ucum*", true);
+	}
+
+	@Test
+	public void testCumminDense()
+	{
+		runCumAggTest("ucummin", false);
+	}
+
+	@Test
+	public void testCumminSparse()
+	{
+		runCumAggTest("ucummin", true);
+	}
+
+	@Test
+	public void testCummaxDense()
+	{
+		runCumAggTest("ucummax", false);
+	}
+
+	@Test
+	public void testCummaxSparse()
+	{
+		runCumAggTest("ucummax", true);
+	}
+
+	@Test
+	public void testCentralMomentDense()
+	{
+		runCentralMomentTest(false, false);
+	}
+
+	@Test
+	public void testCentralMomentSparse()
+	{
+		runCentralMomentTest(true, false);
+	}
+
+	@Test
+	public void testCentralMomentWeightedDense()
+	{
+		runCentralMomentTest(false, true);
+	}
+
+	@Test
+	public void testCentralMomentWeightedSparse()
+	{
+		runCentralMomentTest(true, true);
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @param sparse
+	 */
+	private void runCumAggTest( String opcode, boolean sparse )
+	{
+		try
+		{
+			//values around 1 in order to prevent underflow of cumprod
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			boolean prod = opcode.equals("ucum*");
+			double[][] A = getRandomMatrix(rows1, cols1, prod?0.99:-1, prod?1.01:1, sparsity, 7);
+			MatrixBlock in = new MatrixBlock(rows1, cols1, sparse);
+			in.copy(DataConverter.convertToMatrixBlock(A), sparse);
+
+			//single- and multi-threaded execution
+			Builtin fn = Builtin.getBuiltinFnObject(opcode);
+			MatrixBlock ret1 = (MatrixBlock) in.unaryOperations(new UnaryOperator(fn), new MatrixBlock());
+			MatrixBlock retk = (MatrixBlock) in.unaryOperations(new UnaryOperator(fn, k), new MatrixBlock());
+
+			//compare results
+			Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] Ck = DataConverter.convertToDoubleMatrix(retk);
+			TestUtils.compareMatrices(C1, Ck, rows1, cols1, eps);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param sparse
+	 * @param weighted
+	 */
+	private void runCentralMomentTest( boolean sparse, boolean weighted )
+	{
+		try
+		{
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			MatrixBlock in = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows2, 1, -1, 1, sparsity, 7));
+			MatrixBlock w = !weighted ? null : DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows2, 1, 1, 10, 1.0, 3));
+
+			//single- and multi-threaded execution (variance)
+			AggregateOperationTypes type = CMOperator.getCMAggOpType(2);
+			CMOperator op1 = new CMOperator(CM.getCMFnObject(type), type);
+			CMOperator opk = new CMOperator(CM.getCMFnObject(type), type, k);
+			CM_COV_Object ret1 = weighted ? in.cmOperations(op1, w) : in.cmOperations(op1);
+			CM_COV_Object retk = weighted ? in.cmOperations(opk, w) : in.cmOperations(opk);
+
+			//compare results
+			Assert.assertEquals(ret1.getRequiredResult(op1), retk.getRequiredResult(opk), eps);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_cellwise;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares multi-threaded against single-threaded cell-wise binary operations
+ * (matrix-matrix, matrix-vector, matrix-scalar) for dense and sparse inputs.
+ */
+public class FullCellwiseMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 1791;
+	private final static int cols = 1013;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+
+	private enum InputType {
+		MATRIX,
+		COL_VECTOR,
+		ROW_VECTOR,
+	}
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMultiplyDenseDense()
+	{
+		runMatrixMatrixTest("*", false, false, InputType.MATRIX);
+	}
+
+	@Test
+	public void testMultiplySparseSparse()
+	{
+		runMatrixMatrixTest("*", true, true, InputType.MATRIX);
+	}
+
+	@Test
+	public void testPlusSparseDense()
+	{
+		runMatrixMatrixTest("+", true, false, InputType.MATRIX);
+	}
+
+	@Test
+	public void testMinusDenseSparse()
+	{
+		runMatrixMatrixTest("-", false, true, InputType.MATRIX);
+	}
+
+	@Test
+	public void testGreaterSparseSparse()
+	{
+		runMatrixMatrixTest(">", true, true, InputType.MATRIX);
+	}
+
+	@Test
+	public void testDivideDenseDense()
+	{
+		runMatrixMatrixTest("/", false, false, InputType.MATRIX);
+	}
+
+	@Test
+	public void testMultiplyDenseColVector()
+	{
+		runMatrixMatrixTest("*", false, false, InputType.COL_VECTOR);
+	}
+
+	@Test
+	public void testMultiplySparseColVector()
+	{
+		runMatrixMatrixTest("*", true, false, InputType.COL_VECTOR);
+	}
+
+	@Test
+	public void testMinusDenseRowVector()
+	{
+		runMatrixMatrixTest("-", false, false, InputType.ROW_VECTOR);
+	}
+
+	@Test
+	public void testMinusSparseRowVector()
+	{
+		runMatrixMatrixTest("-", true, false, InputType.ROW_VECTOR);
+	}
+
+	@Test
+	public void testLessEqualsSparseRowVector()
+	{
+		runMatrixMatrixTest("<=", true, false, InputType.ROW_VECTOR);
+	}
+
+	@Test
+	public void testScalarMultiplyDense()
+	{
+		runMatrixScalarTest("*", false, 7);
+	}
+
+	@Test
+	public void testScalarMultiplySparse()
+	{
+		runMatrixScalarTest("*", true, 7);
+	}
+
+	@Test
+	public void testScalarPlusSparse()
+	{
+		runMatrixScalarTest("+", true, 7);
+	}
+
+	@Test
+	public void testScalarNotEqualsSparse()
+	{
+		runMatrixScalarTest("!=", true, 0);
+	}
+
+	@Test
+	public void testScalarGreaterDense()
+	{
+		runMatrixScalarTest(">", false, 0.5);
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @param sparseM1
+	 * @param sparseM2
+	 * @param type
+	 */
+	private void runMatrixMatrixTest( String opcode, boolean sparseM1, boolean sparseM2, InputType type )
+	{
+		try
+		{
+			int rows2 = (type==InputType.ROW_VECTOR) ? 1 : rows;
+			int cols2 = (type==InputType.COL_VECTOR) ? 1 : cols;
+
+			MatrixBlock mb1 = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, -1, 1, sparseM1?sparsity2:sparsity1, 7));
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows2, cols2, -1, 1, sparseM2?sparsity2:sparsity1, 3));
+
+			//single- and multi-threaded execution
+			BinaryOperator op1 = InstructionUtils.parseBinaryOperator(opcode);
+			BinaryOperator opk = InstructionUtils.parseBinaryOperator(opcode);
+			opk.setNumThreads(k);
+			MatrixBlock ret1 = (MatrixBlock) mb1.binaryOperations(op1, mb2, new MatrixBlock());
+			MatrixBlock retk = (MatrixBlock) mb1.binaryOperations(opk, mb2, new MatrixBlock());
+
+			//compare results, incl nnz
+			compareResults(ret1, retk);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 * @param sparse
+	 * @param constant
+	 */
+	private void runMatrixScalarTest( String opcode, boolean sparse, double constant )
+	{
+		try
+		{
+			MatrixBlock mb1 = DataConverter.convertToMatrixBlock(
+					getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7));
+
+			//single- and multi-threaded execution
+			ScalarOperator op1 = InstructionUtils.parseScalarBinaryOperator(opcode, false, constant);
+			ScalarOperator opk = InstructionUtils.parseScalarBinaryOperator(opcode, false, constant);
+			opk.setNumThreads(k);
+			MatrixBlock ret1 = (MatrixBlock) mb1.scalarOperations(op1, new MatrixBlock());
+			MatrixBlock retk = (MatrixBlock) mb1.scalarOperations(opk, new MatrixBlock());
+
+			//compare results, incl nnz
+			compareResults(ret1, retk);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param ret1
+	 * @param retk
+	 */
+	private void compareResults( MatrixBlock ret1, MatrixBlock retk )
+	{
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+		Assert.assertEquals(ret1.isInSparseFormat(), retk.isInSparseFormat());
+
+		double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] Ck = DataConverter.convertToDoubleMatrix(retk);
+		TestUtils.compareMatrices(C1, Ck, ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+}
@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_other;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares operations over read-only CSR blocks against the same operations
+ * over sparse rows, for both CSR-aware kernels (matrix mult, tsmm, mmchain,
+ * sum-type aggregates, serialization) and operations that convert CSR blocks
+ * back to sparse rows.
+ */
+public class FullMatrixMultiplicationCSRTest extends AutomatedTestBase
+{
+	private final static int rows = 1407;
+	private final static int cols = 1011;
+	private final static int cols2 = 73;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.02;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMatrixVectorCSRDense()
+	{
+		runMatrixMultTest(true, 1, 1);
+	}
+
+	@Test
+	public void testMatrixMatrixCSRDense()
+	{
+		runMatrixMultTest(true, cols2, 1);
+	}
+
+	@Test
+	public void testMatrixMatrixCSRDenseMultiThreaded()
+	{
+		runMatrixMultTest(true, cols2, k);
+	}
+
+	@Test
+	public void testMatrixMatrixDenseCSR()
+	{
+		runMatrixMultTest(false, cols2, 1);
+	}
+
+	@Test
+	public void testMatrixMatrixDenseCSRMultiThreaded()
+	{
+		runMatrixMultTest(false, cols2, k);
+	}
+
+	@Test
+	public void testTransposeSelfLeftCSR()
+	{
+		runTransposeSelfTest(true, 1);
+	}
+
+	@Test
+	public void testTransposeSelfLeftCSRMultiThreaded()
+	{
+		runTransposeSelfTest(true, k);
+	}
+
+	@Test
+	public void testTransposeSelfRightCSR()
+	{
+		runTransposeSelfTest(false, 1);
+	}
+
+	@Test
+	public void testMMChainXtXvCSR()
+	{
+		runMMChainTest(ChainType.XtXv, 1);
+	}
+
+	@Test
+	public void testMMChainXtwXvCSRMultiThreaded()
+	{
+		runMMChainTest(ChainType.XtwXv, k);
+	}
+
+	@Test
+	public void testSumCSR()
+	{
+		runAggregateTest("uak+");
+	}
+
+	@Test
+	public void testRowSumsCSR()
+	{
+		runAggregateTest("uark+");
+	}
+
+	@Test
+	public void testColSumsCSR()
+	{
+		runAggregateTest("uack+");
+	}
+
+	@Test
+	public void testColSumsSqCSR()
+	{
+		runAggregateTest("uacsqk+");
+	}
+
+	@Test
+	public void testRowMaxsCSR()
+	{
+		runAggregateTest("uarmax");
+	}
+
+	@Test
+	public void testSerializeCSR()
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+
+			//write csr block w/o conversion and read as sparse block
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			csr.write(new DataOutputStream(bos));
+			Assert.assertTrue(csr.isInCSRFormat());
+			Assert.assertEquals(mb.getExactSizeOnDisk(), bos.size());
+			MatrixBlock ret = new MatrixBlock();
+			ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+
+			compareResults(mb, ret);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Test
+	public void testBinaryOpCSRConversion()
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+			MatrixBlock mb2 = createSparseBlock(rows, cols, sparsity2, 3);
+
+			//cell-wise operations without CSR kernels
+			BinaryOperator op = InstructionUtils.parseBinaryOperator("+");
+			MatrixBlock ret1 = (MatrixBlock) mb.binaryOperations(op, mb2, new MatrixBlock());
+			MatrixBlock ret2 = (MatrixBlock) csr.binaryOperations(op, mb2, new MatrixBlock());
+
+			//input is converted back to sparse rows
+			Assert.assertFalse(csr.isInCSRFormat());
+			compareResults(ret1, ret2);
+			compareResults(mb, csr);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Test
+	public void testLeftIndexingInPlaceCSRTarget()
+	{
+		runLeftIndexingTest(true);
+	}
+
+	@Test
+	public void testLeftIndexingCSRTarget()
+	{
+		runLeftIndexingTest(false);
+	}
+
+	/**
+	 *
+	 * @param leftCSR
+	 * @param n
+	 * @param k
+	 */
+	private void runMatrixMultTest( boolean leftCSR, int n, int k )
+	{
+		try
+		{
+			MatrixBlock m1, m1csr, m2, m2csr;
+			if( leftCSR ) {
+				m1 = createSparseBlock(rows, cols, sparsity2, 7);
+				m1csr = createCSRBlock(rows, cols, sparsity2, 7);
+				m2 = m2csr = createDenseBlock(cols, n, sparsity1, 3);
+			}
+			else {
+				m1 = m1csr = createDenseBlock(n, rows, sparsity1, 3);
+				m2 = createSparseBlock(rows, cols, sparsity2, 7);
+				m2csr = createCSRBlock(rows, cols, sparsity2, 7);
+			}
+
+			//matrix multiplication over sparse rows and csr
+			MatrixBlock ret1 = new MatrixBlock(m1.getNumRows(), m2.getNumColumns(), false);
+			MatrixBlock ret2 = new MatrixBlock(m1.getNumRows(), m2.getNumColumns(), false);
+			LibMatrixMult.matrixMult(m1, m2, ret1);
+			if( k > 1 )
+				LibMatrixMult.matrixMult(m1csr, m2csr, ret2, k);
+			else
+				LibMatrixMult.matrixMult(m1csr, m2csr, ret2);
+
+			//csr input is used directly (no conversion)
+			Assert.assertTrue(leftCSR ? m1csr.isInCSRFormat() : m2csr.isInCSRFormat());
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param left
+	 * @param k
+	 */
+	private void runTransposeSelfTest( boolean left, int k )
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+
+			int n = left ? cols : rows;
+			MatrixBlock ret1 = new MatrixBlock(n, n, false);
+			MatrixBlock ret2 = new MatrixBlock(n, n, false);
+			LibMatrixMult.matrixMultTransposeSelf(mb, ret1, left);
+			LibMatrixMult.matrixMultTransposeSelf(csr, ret2, left, k);
+
+			Assert.assertEquals(left, csr.isInCSRFormat());
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param k
+	 */
+	private void runMMChainTest( ChainType type, int k )
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+			MatrixBlock v = createDenseBlock(cols, 1, 1.0, 3);
+			MatrixBlock w = (type==ChainType.XtwXv) ? createDenseBlock(rows, 1, 1.0, 5) : null;
+
+			MatrixBlock ret1 = new MatrixBlock(cols, 1, false);
+			MatrixBlock ret2 = new MatrixBlock(cols, 1, false);
+			LibMatrixMult.matrixMultChain(mb, v, w, ret1, type);
+			LibMatrixMult.matrixMultChain(csr, v, w, ret2, type, k);
+
+			Assert.assertTrue(csr.isInCSRFormat());
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param opcode
+	 */
+	private void runAggregateTest( String opcode )
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+
+			AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+			MatrixBlock ret1 = (MatrixBlock) mb.aggregateUnaryOperations(op, new MatrixBlock(),
+					rows, cols, new MatrixIndexes(1, 1), true);
+			MatrixBlock ret2 = (MatrixBlock) csr.aggregateUnaryOperations(op, new MatrixBlock(),
+					rows, cols, new MatrixIndexes(1, 1), true);
+
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 */
+	private MatrixBlock createDenseBlock( int rows, int cols, double sparsity, long seed )
+		throws DMLRuntimeException
+	{
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, seed);
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.copy(DataConverter.convertToMatrixBlock(A), false);
+		return mb;
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 */
+	private MatrixBlock createSparseBlock( int rows, int cols, double sparsity, long seed )
+		throws DMLRuntimeException
+	{
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, seed);
+		MatrixBlock mb = new MatrixBlock(rows, cols, true);
+		mb.copy(DataConverter.convertToMatrixBlock(A), true);
+		return mb;
+	}
+
+	/**
+	 *
+	 * @param inplace
+	 */
+	private void runLeftIndexingTest( boolean inplace )
+	{
+		try
+		{
+			MatrixBlock mb = createSparseBlock(rows, cols, sparsity2, 7);
+			MatrixBlock csr = createCSRBlock(rows, cols, sparsity2, 7);
+			MatrixBlock row = new MatrixBlock(1, 100, false);
+			for( int j=0; j<100; j++ )
+				row.quickSetValue(0, j, 42);
+
+			//left indexing of a 1x100 row into sparse rows and csr target
+			MatrixBlock ret1 = mb.leftIndexingOperations(row, 3, 3, 7, 106, new MatrixBlock(), inplace);
+			MatrixBlock ret2 = csr.leftIndexingOperations(row, 3, 3, 7, 106, new MatrixBlock(), inplace);
+
+			//writes are visible on read (target converted back to sparse rows)
+			Assert.assertFalse(ret2.isInCSRFormat());
+			Assert.assertEquals(42, ret2.quickGetValue(3, 7), 0);
+			Assert.assertEquals(42, ret2.quickGetValue(3, 106), 0);
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 */
+	private MatrixBlock createCSRBlock( int rows, int cols, double sparsity, long seed )
+		throws DMLRuntimeException
+	{
+		MatrixBlock mb = createSparseBlock(rows, cols, sparsity, seed);
+		mb.sparseToCSR();
+		Assert.assertTrue(mb.isInCSRFormat());
+		return mb;
+	}
+
+	/**
+	 *
+	 * @param ret1
+	 * @param ret2
+	 */
+	private void compareResults( MatrixBlock ret1, MatrixBlock ret2 )
+	{
+		Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+		Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+
+		double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+		TestUtils.compareMatrices(C1, C2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.ArrayPool;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Checks the reuse semantics of the array pool, i.e., exact-length reuse of
+ * double arrays (incl zero initialization for dense blocks), reuse of larger
+ * byte arrays of the same size class, and the memory cap.
+ */
+public class CachingArrayPoolTest extends AutomatedTestBase
+{
+	private final static int rows = 1000;
+	private final static int cols = 100;
+	private final static long capacity = 4 * 1024 * 1024; //4MB
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testArrayPoolDenseBlock()
+	{
+		try
+		{
+			ArrayPool.init(capacity);
+
+			//release dense block and reuse for block of same size
+			MatrixBlock mb1 = new MatrixBlock(rows, cols, false);
+			mb1.allocateDenseBlock();
+			double[] a = mb1.getDenseArray();
+			a[7] = 7;
+			ArrayPool.putDoubleArray(a);
+			MatrixBlock mb2 = new MatrixBlock(rows, cols, false);
+			mb2.allocateDenseBlock();
+			Assert.assertTrue(a == mb2.getDenseArray());
+			Assert.assertEquals(0, mb2.getDenseArray()[7], 0);
+
+			//no reuse for different size
+			ArrayPool.putDoubleArray(a);
+			MatrixBlock mb3 = new MatrixBlock(rows, cols+1, false);
+			mb3.allocateDenseBlock();
+			Assert.assertTrue(a != mb3.getDenseArray());
+		}
+		finally
+		{
+			ArrayPool.clear();
+		}
+	}
+
+	@Test
+	public void testArrayPoolByteArray()
+	{
+		try
+		{
+			ArrayPool.init(capacity);
+
+			//reuse of larger array of same size class
+			byte[] b = new byte[10000];
+			ArrayPool.putByteArray(b);
+			Assert.assertNull(ArrayPool.getByteArray(10001));
+			Assert.assertTrue(b == ArrayPool.getByteArray(9000));
+			Assert.assertNull(ArrayPool.getByteArray(9000));
+		}
+		finally
+		{
+			ArrayPool.clear();
+		}
+	}
+
+	@Test
+	public void testArrayPoolCapacity()
+	{
+		try
+		{
+			ArrayPool.init(capacity);
+
+			//exceed capacity (evicts least recently released arrays)
+			int len = (int)(capacity / 8 / 3);
+			double[][] A = new double[4][];
+			for( int i=0; i<4; i++ ) {
+				A[i] = new double[len];
+				ArrayPool.putDoubleArray(A[i]);
+			}
+			Assert.assertTrue(A[3] == ArrayPool.getDoubleArray(len));
+			Assert.assertTrue(A[2] == ArrayPool.getDoubleArray(len));
+			Assert.assertTrue(A[1] == ArrayPool.getDoubleArray(len));
+			Assert.assertNull(ArrayPool.getDoubleArray(len));
+
+			//reject arrays larger than capacity
+			ArrayPool.putDoubleArray(new double[(int)(capacity/8)+1]);
+			Assert.assertNull(ArrayPool.getDoubleArray((int)(capacity/8)+1));
+		}
+		finally
+		{
+			ArrayPool.clear();
+		}
+	}
+}
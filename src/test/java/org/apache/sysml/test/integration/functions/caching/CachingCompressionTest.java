@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheCompression;
+import org.apache.sysml.runtime.controlprogram.caching.CacheCompression.Codec;
+import org.apache.sysml.runtime.controlprogram.caching.CacheCompression.CompressionPlan;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Writes low-cardinality (rounded) and random dense/sparse matrix blocks
+ * into the write buffer (heap or offheap, where the latter has a small capacity
+ * in order to force evictions to the local file system) and compares the chosen
+ * codec as well as the read blocks with the original blocks.
+ */
+public class CachingCompressionTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CachingCompressionTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1200;
+	private final static int cols = 300;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static long capacity = 4 * 1024 * 1024; //4MB
+	private final static int num = 12;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressionDenseLowCardinality()
+	{
+		runCompressionTest(false, true, Codec.DENSE_DICT, false);
+	}
+
+	@Test
+	public void testCompressionSparseLowCardinality()
+	{
+		runCompressionTest(true, true, Codec.SPARSE_DICT, false);
+	}
+
+	@Test
+	public void testCompressionDenseRandom()
+	{
+		runCompressionTest(false, false, Codec.NONE, false);
+	}
+
+	@Test
+	public void testCompressionSparseRandom()
+	{
+		runCompressionTest(true, false, Codec.NONE, false);
+	}
+
+	@Test
+	public void testCompressionDenseLowCardinalityOffHeap()
+	{
+		runCompressionTest(false, true, Codec.DENSE_DICT, true);
+	}
+
+	@Test
+	public void testCompressionSparseLowCardinalityOffHeap()
+	{
+		runCompressionTest(true, true, Codec.SPARSE_DICT, true);
+	}
+
+	@Test
+	public void testCompressionDenseRandomOffHeap()
+	{
+		runCompressionTest(false, false, Codec.NONE, true);
+	}
+
+	/**
+	 *
+	 * @param sparse
+	 * @param rounded
+	 * @param codec expected codec
+	 * @param offheap
+	 */
+	private void runCompressionTest( boolean sparse, boolean rounded, Codec codec, boolean offheap )
+	{
+		boolean oldFlag = CacheableData.CACHING_BUFFER_COMPRESSION;
+		long oldSize = CacheableData.CACHING_BUFFER_OFFHEAP_SIZE;
+
+		try
+		{
+			String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			CacheableData.CACHING_BUFFER_COMPRESSION = true;
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = offheap ? capacity : 0;
+			LazyWriteBuffer.init();
+
+			//write blocks (incl evictions)
+			double[][][] A = new double[num][][];
+			for( int i=0; i<num; i++ ) {
+				A[i] = getRandomMatrix(rows, cols, -10, 10, sparse?sparsity2:sparsity1, 7+i);
+				if( rounded )
+					A[i] = TestUtils.round(A[i]);
+				MatrixBlock mb = DataConverter.convertToMatrixBlock(A[i]);
+				CompressionPlan plan = CacheCompression.analyze(mb);
+				Assert.assertEquals(codec, plan.getCodec());
+				Assert.assertTrue(plan.getSize() <= plan.getRawSize());
+				LazyWriteBuffer.writeMatrix(dir+"cache"+i, mb);
+			}
+
+			//read and compare blocks (reverse order)
+			for( int i=num-1; i>=0; i-- ) {
+				MatrixBlock mb = LazyWriteBuffer.readMatrix(dir+"cache"+i);
+				Assert.assertEquals(sparse, mb.isInSparseFormat());
+				double[][] C = DataConverter.convertToDoubleMatrix(mb);
+				TestUtils.compareMatrices(A[i], C, rows, cols, 0);
+			}
+
+			for( int i=0; i<num; i++ )
+				LazyWriteBuffer.deleteMatrix(dir+"cache"+i);
+			LazyWriteBuffer.waitForPendingWrites();
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_BUFFER_COMPRESSION = oldFlag;
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = oldSize;
+			LazyWriteBuffer.init();
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrently writes, reads, and deletes disjoint sets of matrix blocks
+ * from multiple threads (heap or offheap write buffer, where the small capacity
+ * forces concurrent evictions to the local file system) and compares the read
+ * blocks with the original blocks.
+ */
+public class CachingConcurrentWriteBufferTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CachingConcurrentWriteBufferTest.class.getSimpleName() + "/";
+
+	private final static int rows = 500;
+	private final static int cols = 200;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static long capacity = 4 * 1024 * 1024; //4MB
+	private final static int threads = 4;
+	private final static int num = 6;
+	private final static int iter = 3;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testConcurrentWriteBufferHeap()
+	{
+		runConcurrentWriteBufferTest(false);
+	}
+
+	@Test
+	public void testConcurrentWriteBufferOffHeap()
+	{
+		runConcurrentWriteBufferTest(true);
+	}
+
+	/**
+	 *
+	 * @param offheap
+	 */
+	private void runConcurrentWriteBufferTest( boolean offheap )
+	{
+		long oldSize = CacheableData.CACHING_BUFFER_OFFHEAP_SIZE;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try
+		{
+			final String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = offheap ? capacity : 0;
+			LazyWriteBuffer.init();
+
+			//run workers on disjoint sets of cache files
+			ArrayList<Future<Void>> tasks = new ArrayList<Future<Void>>();
+			for( int k=0; k<threads; k++ ) {
+				final int pos = k;
+				tasks.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						runWorker(dir, pos);
+						return null;
+					}
+				}));
+			}
+			for( Future<Void> task : tasks )
+				task.get();
+			LazyWriteBuffer.waitForPendingWrites();
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			pool.shutdown();
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = oldSize;
+			LazyWriteBuffer.init();
+		}
+	}
+
+	/**
+	 *
+	 * @param dir
+	 * @param pos
+	 * @throws Exception
+	 */
+	private void runWorker( String dir, int pos )
+		throws Exception
+	{
+		for( int j=0; j<iter; j++ )
+		{
+			//write blocks (incl evictions)
+			double[][][] A = new double[num][][];
+			for( int i=0; i<num; i++ ) {
+				double sparsity = (i%2==0) ? sparsity1 : sparsity2;
+				A[i] = getRandomMatrix(rows, cols, -1, 1, sparsity, 7+pos*num+i+j);
+				MatrixBlock mb = DataConverter.convertToMatrixBlock(A[i]);
+				LazyWriteBuffer.writeMatrix(dir+"cache"+pos+"_"+i, mb);
+			}
+
+			//read and compare blocks (reverse order)
+			for( int i=num-1; i>=0; i-- ) {
+				MatrixBlock mb = LazyWriteBuffer.readMatrix(dir+"cache"+pos+"_"+i);
+				double[][] C = DataConverter.convertToDoubleMatrix(mb);
+				TestUtils.compareMatrices(A[i], C, rows, cols, 0);
+			}
+
+			//delete blocks (incl pending writes)
+			for( int i=0; i<num; i++ )
+				LazyWriteBuffer.deleteMatrix(dir+"cache"+pos+"_"+i);
+		}
+	}
+}
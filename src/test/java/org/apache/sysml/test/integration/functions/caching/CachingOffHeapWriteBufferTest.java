@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapByteStore;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Writes a sequence of dense and sparse matrix blocks into the off-heap
+ * write buffer (with small capacity in order to force evictions to the
+ * local file system) and compares the read or prefetched blocks with the 
+ * original blocks.
+ */
+public class CachingOffHeapWriteBufferTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CachingOffHeapWriteBufferTest.class.getSimpleName() + "/";
+
+	private final static int rows = 700;
+	private final static int cols = 300;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static long capacity = 4 * 1024 * 1024; //4MB
+	private final static int num = 12;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOffHeapDense()
+	{
+		runOffHeapWriteBufferTest(false, false, rows, false);
+	}
+
+	@Test
+	public void testOffHeapSparse()
+	{
+		runOffHeapWriteBufferTest(true, true, rows, false);
+	}
+
+	@Test
+	public void testOffHeapMixed()
+	{
+		runOffHeapWriteBufferTest(false, true, rows, false);
+	}
+
+	@Test
+	public void testOffHeapDenseExceedsCapacity()
+	{
+		runOffHeapWriteBufferTest(false, false, 3*rows, false);
+	}
+
+	@Test
+	public void testOffHeapMixedPrefetch()
+	{
+		runOffHeapWriteBufferTest(false, true, rows, true);
+	}
+
+	/**
+	 *
+	 * @param sparse1 sparsity of even blocks
+	 * @param sparse2 sparsity of odd blocks
+	 * @param rows
+	 * @param prefetch
+	 */
+	private void runOffHeapWriteBufferTest( boolean sparse1, boolean sparse2, int rows, boolean prefetch )
+	{
+		long oldSize = CacheableData.CACHING_BUFFER_OFFHEAP_SIZE;
+
+		try
+		{
+			String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+
+			//init offheap write buffer
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = capacity;
+			LazyWriteBuffer.init();
+			Assert.assertTrue(OffHeapByteStore.isActive());
+			Assert.assertEquals(capacity, LazyWriteBuffer.getWriteBufferSize());
+
+			//write blocks (incl evictions)
+			double[][][] A = new double[num][][];
+			for( int i=0; i<num; i++ ) {
+				double sparsity = (i%2==0 ? sparse1 : sparse2) ? sparsity2 : sparsity1;
+				A[i] = getRandomMatrix(rows, cols, -1, 1, sparsity, 7+i);
+				MatrixBlock mb = DataConverter.convertToMatrixBlock(A[i]);
+				LazyWriteBuffer.writeMatrix(dir+"cache"+i, mb);
+			}
+
+			//prefetch blocks (asynchronous reads)
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Future<MatrixBlock>[] F = new Future[num];
+			for( int i=0; i<num && prefetch; i++ ) {
+				F[i] = LazyWriteBuffer.prefetchMatrix(dir+"cache"+i);
+				Assert.assertNotNull(F[i]);
+			}
+			
+			//read and compare blocks (reverse order)
+			for( int i=num-1; i>=0; i-- ) {
+				MatrixBlock mb = prefetch ? F[i].get() : 
+					LazyWriteBuffer.readMatrix(dir+"cache"+i);
+				double[][] C = DataConverter.convertToDoubleMatrix(mb);
+				TestUtils.compareMatrices(A[i], C, rows, cols, 0);
+			}
+
+			//delete blocks (incl pending writes)
+			for( int i=0; i<num; i++ )
+				LazyWriteBuffer.deleteMatrix(dir+"cache"+i);
+			LazyWriteBuffer.waitForPendingWrites();
+			for( int i=0; i<num; i++ )
+				Assert.assertFalse(new File(dir+"cache"+i).exists());
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			LazyWriteBuffer.cleanup();
+			CacheableData.CACHING_BUFFER_OFFHEAP_SIZE = oldSize;
+			LazyWriteBuffer.init();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.indexing;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Runs left indexing in for/while loops with and without update in-place and
+ * checks the results as well as that aliases and pinned inputs are not modified.
+ */
+public class LeftIndexingUpdateInPlaceTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/indexing/";
+	private final static String TEST_NAME1 = "LeftIndexingUpdateInPlace1";
+	private final static String TEST_NAME2 = "LeftIndexingUpdateInPlace2";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LeftIndexingUpdateInPlaceTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1021;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"R","S"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"Y","R"}));
+	}
+
+	@Test
+	public void testForLoopAliasUpdateInPlace() 
+	{
+		runUpdateInPlaceTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testForLoopAliasNoUpdateInPlace() 
+	{
+		runUpdateInPlaceTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testWhileLoopFunctionUpdateInPlace() 
+	{
+		runUpdateInPlaceTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testWhileLoopFunctionNoUpdateInPlace() 
+	{
+		runUpdateInPlaceTest(TEST_NAME2, false);
+	}
+	
+	/**
+	 * 
+	 * @param testname
+	 * @param inplace
+	 */
+	private void runUpdateInPlaceTest( String testname, boolean inplace ) 
+	{		
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean flagOld = OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE;
+		
+		try
+		{
+			rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+			OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE = inplace;
+			
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			String[] outputs = config.getOutputFiles();
+			programArgs = new String[]{"-stats", "-args", String.valueOf(rows), 
+				output(outputs[0]), output(outputs[1]) };
+			
+			runTest(true, false, null, -1);
+			
+			//check in-place updates (the first update copies the aliased or pinned input)
+			long expected = testname.equals(TEST_NAME1) ? 2*rows-1 : rows-1;
+			Assert.assertEquals(inplace ? expected : 0, Statistics.getUpdateInPlace());
+			
+			//compare results, incl unmodified alias or function input
+			HashMap<CellIndex, Double> ret1 = readDMLMatrixFromHDFS(outputs[0]);
+			HashMap<CellIndex, Double> ret2 = readDMLMatrixFromHDFS(outputs[1]);
+			HashMap<CellIndex, Double> exp1 = new HashMap<CellIndex, Double>();
+			HashMap<CellIndex, Double> exp2 = new HashMap<CellIndex, Double>();
+			for( int i=1; i<=rows; i++ ) {
+				if( testname.equals(TEST_NAME1) ) {
+					exp1.put(new CellIndex(i,1), (double)i);
+					exp1.put(new CellIndex(i,2), 2d*i);
+					exp1.put(new CellIndex(i,3), 2d*i);
+				}
+				else {
+					exp1.put(new CellIndex(i,1), 3d*i);
+					exp1.put(new CellIndex(i,2), 1d);
+					exp2.put(new CellIndex(i,1), 1d);
+					exp2.put(new CellIndex(i,2), 1d);
+				}
+			}
+			TestUtils.compareMatrices(ret1, exp1, 0, "DML", "Expected");
+			TestUtils.compareMatrices(ret2, exp2, 0, "DML", "Expected");
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+			OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE = flagOld;
+		}
+	}
+}
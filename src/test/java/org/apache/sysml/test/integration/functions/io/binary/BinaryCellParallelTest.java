@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.io.ReaderBinaryCell;
+import org.apache.sysml.runtime.io.ReaderBinaryCellParallel;
+import org.apache.sysml.runtime.io.WriterBinaryCellParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixCell;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Reads dense and sparse binary cell matrices, which consist of multiple part files
+ * with interleaved rows, via the sequential and parallel binary cell readers, and
+ * checks the round trip of the parallel binary cell writer.
+ */
+public class BinaryCellParallelTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BinaryCellParallelTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols1 = 1;
+	private final static int cols2 = 567;
+	private final static int numFiles = 7;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseVectorSequential()
+	{
+		runBinaryCellReadTest(rows, cols1, sparsity1, false);
+	}
+
+	@Test
+	public void testDenseMatrixSequential()
+	{
+		runBinaryCellReadTest(rows, cols2, sparsity1, false);
+	}
+
+	@Test
+	public void testSparseMatrixSequential()
+	{
+		runBinaryCellReadTest(rows, cols2, sparsity2, false);
+	}
+
+	@Test
+	public void testDenseVectorParallel()
+	{
+		runBinaryCellReadTest(rows, cols1, sparsity1, true);
+	}
+
+	@Test
+	public void testDenseMatrixParallel()
+	{
+		runBinaryCellReadTest(rows, cols2, sparsity1, true);
+	}
+
+	@Test
+	public void testSparseMatrixParallel()
+	{
+		runBinaryCellReadTest(rows, cols2, sparsity2, true);
+	}
+
+	@Test
+	public void testEmptyMatrixParallel()
+	{
+		runBinaryCellReadTest(rows, cols2, 0, true);
+	}
+
+	@Test
+	public void testWriteReadParallel()
+	{
+		try
+		{
+			String fname = TEST_DATA_DIR + TEST_CLASS_DIR + "W";
+			double[][] A = getRandomMatrix(rows, cols2, -1, 1, sparsity2, 3);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			new WriterBinaryCellParallel().writeMatrixToHDFS(mb, fname, rows, cols2, -1, -1, mb.getNonZeros());
+			MatrixBlock mb2 = new ReaderBinaryCellParallel().readMatrixFromHDFS(fname, rows, cols2, -1, -1, mb.getNonZeros());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols2, 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param parallel
+	 */
+	@SuppressWarnings("deprecation")
+	private void runBinaryCellReadTest( int rows, int cols, double sparsity, boolean parallel )
+	{
+		try
+		{
+			//write binary cell part files (round-robin rows, reverse order)
+			String fname = TEST_DATA_DIR + TEST_CLASS_DIR + "X" + cols + "_" + sparsity + (parallel?"_p":"");
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			FileSystem fs = FileSystem.get(job);
+			MatrixIndexes indexes = new MatrixIndexes();
+			MatrixCell cell = new MatrixCell();
+			for( int k=0; k<numFiles; k++ ) {
+				Path path = new Path(fname, String.format("0-m-%05d", k));
+				SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class);
+				try {
+					for( int i=rows-1-k; i>=0; i-=numFiles )
+						for( int j=cols-1; j>=0; j-- )
+							if( A[i][j] != 0 ) {
+								indexes.setIndexes(i+1, j+1);
+								cell.setValue(A[i][j]);
+								writer.append(indexes, cell);
+							}
+				}
+				finally {
+					writer.close();
+				}
+			}
+
+			//read entire matrix
+			long nnz = DataConverter.convertToMatrixBlock(A).getNonZeros();
+			MatrixBlock mb = parallel ?
+				new ReaderBinaryCellParallel().readMatrixFromHDFS(fname, rows, cols, -1, -1, nnz) :
+				new ReaderBinaryCell().readMatrixFromHDFS(fname, rows, cols, -1, -1, nnz);
+			Assert.assertEquals(nnz, mb.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysml.runtime.io.MatrixWriter;
+import org.apache.sysml.runtime.io.MatrixWriterFactory;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.WriterBinaryBlockLocal;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Writes dense, sparse, and empty matrices as memory-mapped local binary block
+ * files and reads them via the (transparently delegating) sequential and parallel
+ * binary block readers, via random access to individual blocks, and via range
+ * reads of the blocks overlapping an index range.
+ */
+public class LocalBinaryBlockTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockTest.class.getSimpleName() + "/";
+
+	private final static int rows = 2345;
+	private final static int cols1 = 1;
+	private final static int cols2 = 1789;
+	private final static int blen = 1000;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double sparsity3 = 0.0001;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseVectorSequential()
+	{
+		runLocalBinaryBlockTest(rows, cols1, sparsity1, false);
+	}
+
+	@Test
+	public void testDenseMatrixSequential()
+	{
+		runLocalBinaryBlockTest(rows, cols2, sparsity1, false);
+	}
+
+	@Test
+	public void testSparseMatrixSequential()
+	{
+		runLocalBinaryBlockTest(rows, cols2, sparsity2, false);
+	}
+
+	@Test
+	public void testDenseVectorParallel()
+	{
+		runLocalBinaryBlockTest(rows, cols1, sparsity1, true);
+	}
+
+	@Test
+	public void testDenseMatrixParallel()
+	{
+		runLocalBinaryBlockTest(rows, cols2, sparsity1, true);
+	}
+
+	@Test
+	public void testSparseMatrixParallel()
+	{
+		runLocalBinaryBlockTest(rows, cols2, sparsity2, true);
+	}
+
+	@Test
+	public void testUltraSparseMatrixParallel()
+	{
+		runLocalBinaryBlockTest(rows, cols2, sparsity3, true);
+	}
+
+	@Test
+	public void testEmptyMatrixParallel()
+	{
+		runLocalBinaryBlockTest(rows, cols2, 0, true);
+	}
+
+	@Test
+	public void testRangeReadDense()
+	{
+		runRangeReadTest(rows, cols2, sparsity1);
+	}
+
+	@Test
+	public void testRangeReadSparse()
+	{
+		runRangeReadTest(rows, cols2, sparsity2);
+	}
+
+	@Test
+	public void testRangeReadUltraSparse()
+	{
+		runRangeReadTest(rows, cols2, sparsity3);
+	}
+
+	@Test
+	public void testWriterFactory()
+	{
+		boolean flag = OptimizerUtils.ALLOW_LOCAL_MMAP_BINARY_BLOCK;
+		RUNTIME_PLATFORM platformOld = DMLScript.rtplatform;
+		try {
+			OptimizerUtils.ALLOW_LOCAL_MMAP_BINARY_BLOCK = true;
+			DMLScript.rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+			MatrixWriter writer = MatrixWriterFactory.createMatrixWriter(OutputInfo.BinaryBlockOutputInfo);
+			Assert.assertTrue(writer instanceof WriterBinaryBlockLocal);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			OptimizerUtils.ALLOW_LOCAL_MMAP_BINARY_BLOCK = flag;
+			DMLScript.rtplatform = platformOld;
+		}
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param parallel
+	 */
+	private void runLocalBinaryBlockTest( int rows, int cols, double sparsity, boolean parallel )
+	{
+		try
+		{
+			//write local binary block file
+			String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			String fname = dir + "X" + cols + "_" + sparsity + (parallel?"_p":"");
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			new WriterBinaryBlockLocal(-1).writeMatrixToHDFS(mb, fname, rows, cols, blen, blen, mb.getNonZeros());
+			Assert.assertTrue(new File(fname).isFile());
+
+			//read entire matrix (via delegation of binary block readers)
+			ReaderBinaryBlock reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+			MatrixBlock mb2 = reader.readMatrixFromHDFS(fname, rows, cols, blen, blen, mb.getNonZeros());
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+
+			//read individual blocks (random access and all non-empty blocks)
+			LocalBinaryBlockFile file = new LocalBinaryBlockFile(new File(fname));
+			for( int bi=0; bi<(rows+blen-1)/blen; bi++ )
+				for( int bj=0; bj<(cols+blen-1)/blen; bj++ )
+					compareBlock(A, new MatrixIndexes(bi+1, bj+1), file.readBlock(new MatrixIndexes(bi+1, bj+1)));
+			ArrayList<IndexedMatrixValue> blocks = reader.readIndexedMatrixBlocksFromHDFS(fname, rows, cols, blen, blen);
+			Assert.assertEquals(file.getNumBlocks(), blocks.size());
+			for( IndexedMatrixValue block : blocks )
+				compareBlock(A, block.getIndexes(), (MatrixBlock)block.getValue());
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 */
+	private void runRangeReadTest( int rows, int cols, double sparsity )
+	{
+		try
+		{
+			//write local binary block file
+			String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			String fname = dir + "R" + cols + "_" + sparsity;
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			new WriterBinaryBlockLocal(-1).writeMatrixToHDFS(mb, fname, rows, cols, blen, blen, mb.getNonZeros());
+
+			//check block statistics of footer index
+			LocalBinaryBlockFile file = new LocalBinaryBlockFile(new File(fname));
+			Assert.assertEquals(mb.getNonZeros(), file.getNonZeros());
+			for( int i=0; i<file.getNumBlocks(); i++ ) {
+				MatrixBlock block = file.readBlock(i);
+				Assert.assertEquals(block.getNonZeros(), file.getBlockNonZeros(i));
+				Assert.assertEquals(block.min(), file.getBlockMin(i), 0);
+				Assert.assertEquals(block.max(), file.getBlockMax(i), 0);
+			}
+
+			//read index ranges (single cell, within block, across blocks, full)
+			long[][] ranges = new long[][] {{7,7,1789,1789}, {1,1,1,cols}, {3,17,5,999},
+				{995,1205,990,1010}, {500,2345,1000,1001}, {1,rows,1,cols}};
+			ReaderBinaryBlockLocal reader = new ReaderBinaryBlockLocal(1);
+			for( long[] r : ranges ) {
+				IndexRange ixrange = new IndexRange(r[0], r[1], r[2], r[3]);
+				MatrixBlock ret = reader.readMatrixRangeFromHDFS(fname, rows, cols, blen, blen, ixrange);
+				MatrixBlock expected = mb.sliceOperations((int)r[0]-1, (int)r[1]-1, (int)r[2]-1, (int)r[3]-1, new MatrixBlock());
+				Assert.assertEquals("Wrong nnz for range "+ixrange, expected.getNonZeros(), ret.getNonZeros());
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+					DataConverter.convertToDoubleMatrix(ret), expected.getNumRows(), expected.getNumColumns(), 0);
+			}
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param A
+	 * @param ix
+	 * @param block
+	 */
+	private void compareBlock( double[][] A, MatrixIndexes ix, MatrixBlock block )
+	{
+		int rl = (int)(ix.getRowIndex()-1)*blen;
+		int cl = (int)(ix.getColumnIndex()-1)*blen;
+		int brows = Math.min(blen, A.length-rl);
+		int bcols = Math.min(blen, A[0].length-cl);
+		Assert.assertEquals(brows, block.getNumRows());
+		Assert.assertEquals(bcols, block.getNumColumns());
+		for( int i=0; i<brows; i++ )
+			for( int j=0; j<bcols; j++ )
+				Assert.assertEquals(A[rl+i][cl+j], block.quickGetValue(i, j), 0);
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the byte-level tokenization and double parsing of the csv and
+ * textcell readers against the string-based split and Double.parseDouble,
+ * and reads csv files with header, multi-character delimiters, empty fields,
+ * and unknown dimensions via the sequential and (single-pass) parallel csv readers.
+ */
+public class CSVByteParsingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CSVByteParsingTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 17;
+	private final static int cols2 = 1100; //multiple row chunks per split
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static double fillValue = 7;
+
+	private final static String[] values = new String[] {
+		"0", "-0", "+1", "1.", ".5", "-.5", "007", "3.14159", "-2.5e-3", "1E10",
+		"1e+22", "1e23", "4.9e-324", "1.7976931348623157E308", "123456789012345",
+		"1234567890123456789", "0.1", "0.30000000000000004", "1e-22", "1e-23",
+		"NaN", "Infinity", "-Infinity", "0x1.8p1", "2.5d", "1f", "0.000001234",
+		"12345678901234567890.123456789e-5" };
+
+	private final static String[] lines = new String[] {
+		"1,2,3", " 1 , 2 ,3 ", "1,,3", ",2,", "", "  ", "1", "a,,", "1,2,3,",
+		",,,", "x,y|z", "ä,ö,ü" };
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testParseDoubleSpecialValues()
+	{
+		for( String val : values ) {
+			byte[] buf = val.getBytes();
+			Assert.assertEquals("Wrong value for "+val, Double.doubleToLongBits(Double.parseDouble(val)),
+				Double.doubleToLongBits(FastByteTokenizer.parseDouble(buf, 0, buf.length)));
+		}
+	}
+
+	@Test
+	public void testParseDoubleRandomValues()
+	{
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			double val = (i%3==0) ? rand.nextGaussian() * Math.pow(10, rand.nextInt(40)-20) :
+				(i%3==1) ? Math.round(rand.nextDouble() * 1e6) / 1e3 : rand.nextLong();
+			String str = Double.toString(val);
+			byte[] buf = str.getBytes();
+			Assert.assertEquals("Wrong value for "+str, Double.doubleToLongBits(Double.parseDouble(str)),
+				Double.doubleToLongBits(FastByteTokenizer.parseDouble(buf, 0, buf.length)));
+		}
+	}
+
+	@Test
+	public void testParseDoubleInvalid()
+	{
+		for( String val : new String[]{"", "-", ".", "1e", "1.2.3", "abc", "1,5"} ) {
+			byte[] buf = val.getBytes();
+			try {
+				FastByteTokenizer.parseDouble(buf, 0, buf.length);
+				Assert.fail("Expected number format exception for: "+val);
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void testTokenizeCommaDelim()
+	{
+		runTokenizeTest(",");
+	}
+
+	@Test
+	public void testTokenizeMultiCharDelim()
+	{
+		runTokenizeTest("|.");
+	}
+
+	@Test
+	public void testTokenizeTextCell()
+	{
+		FastByteTokenizer st = new FastByteTokenizer(' ');
+		st.reset(new Text("  17 3   -2.5e-3 "));
+		Assert.assertEquals(17, st.nextInt());
+		Assert.assertEquals(3, st.nextLong());
+		Assert.assertEquals(-2.5e-3, st.nextDouble(), 0);
+		Assert.assertFalse(st.nextToken());
+	}
+
+	@Test
+	public void testReadCSVDenseSequential()
+	{
+		runReadCSVTest(sparsity1, ",", false, false);
+	}
+
+	@Test
+	public void testReadCSVSparseSequential()
+	{
+		runReadCSVTest(sparsity2, ",", false, false);
+	}
+
+	@Test
+	public void testReadCSVHeaderFillSequential()
+	{
+		runReadCSVTest(sparsity1, "|.", true, false);
+	}
+
+	@Test
+	public void testReadCSVDenseParallel()
+	{
+		runReadCSVTest(sparsity1, ",", false, true);
+	}
+
+	@Test
+	public void testReadCSVSparseParallel()
+	{
+		runReadCSVTest(sparsity2, ",", false, true);
+	}
+
+	@Test
+	public void testReadCSVHeaderFillParallel()
+	{
+		runReadCSVTest(sparsity1, "|.", true, true);
+	}
+
+	@Test
+	public void testReadCSVWideDenseParallel()
+	{
+		runReadCSVTest(rows, cols2, sparsity1, ",", false, true, true);
+	}
+
+	@Test
+	public void testReadCSVWideSparseParallel()
+	{
+		runReadCSVTest(rows, cols2, sparsity2, ",", false, true, true);
+	}
+
+	@Test
+	public void testReadCSVUnknownDimsParallel()
+	{
+		runReadCSVTest(rows, cols, sparsity1, ",", false, true, false);
+	}
+
+	/**
+	 *
+	 * @param delim
+	 */
+	private void runTokenizeTest( String delim )
+	{
+		FastByteTokenizer st = new FastByteTokenizer(delim, true);
+		for( String line : lines ) {
+			line = line.replace(",", delim);
+			String[] parts = IOUtilFunctions.split(line.trim(), delim);
+			st.reset(new Text(line));
+			int pos = 0;
+			while( st.nextToken() ) {
+				Assert.assertTrue("Too many tokens for: "+line, pos < parts.length);
+				Assert.assertEquals(parts[pos].trim(), st.getToken());
+				Assert.assertEquals(parts[pos].trim().isEmpty(), st.isEmptyToken());
+				pos++;
+			}
+			Assert.assertEquals("Wrong number of tokens for: "+line, parts.length, pos);
+		}
+	}
+
+	/**
+	 *
+	 * @param sparsity
+	 * @param delim
+	 * @param header
+	 * @param parallel
+	 */
+	private void runReadCSVTest( double sparsity, String delim, boolean header, boolean parallel )
+	{
+		runReadCSVTest(rows, cols, sparsity, delim, header, parallel, true);
+	}
+
+	/**
+	 *
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param delim
+	 * @param header
+	 * @param parallel
+	 * @param knownDims
+	 */
+	private void runReadCSVTest( int rows, int cols, double sparsity, String delim, boolean header, boolean parallel, boolean knownDims )
+	{
+		try
+		{
+			//write csv file (w/ empty fields for zeros, which are filled by the reader)
+			String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			String fname = dir + "X" + cols + (header?"_h":"") + (parallel?"_p":"") + ".csv";
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			BufferedWriter bw = new BufferedWriter(new FileWriter(fname));
+			try {
+				if( header ) {
+					for( int j=0; j<cols; j++ )
+						bw.write(((j>0)?delim:"") + "C" + (j+1));
+					bw.write("\n");
+				}
+				for( int i=0; i<rows; i++ ) {
+					for( int j=0; j<cols; j++ ) {
+						if( j>0 )
+							bw.write(delim);
+						if( A[i][j] != 0 )
+							bw.write(" " + A[i][j]);
+						else if( !header )
+							bw.write("0");
+					}
+					bw.write((i%2==0) ? "\n" : " \r\n");
+				}
+			}
+			finally {
+				bw.close();
+			}
+
+			//read csv file
+			CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, header, fillValue, null);
+			MatrixReader reader = parallel ? new ReaderTextCSVParallel(props) : new ReaderTextCSV(props);
+			MatrixBlock mb = knownDims ? reader.readMatrixFromHDFS(fname, rows, cols, 1000, 1000, -1) :
+				reader.readMatrixFromHDFS(fname, -1, -1, 1000, 1000, -1);
+			Assert.assertEquals(rows, mb.getNumRows());
+			Assert.assertEquals(cols, mb.getNumColumns());
+
+			//compare results (w/ filled empty fields)
+			if( header ) {
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						if( A[i][j] == 0 )
+							A[i][j] = fillValue;
+			}
+			double[][] C = DataConverter.convertToDoubleMatrix(mb);
+			TestUtils.compareMatrices(A, C, rows, cols, 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+}
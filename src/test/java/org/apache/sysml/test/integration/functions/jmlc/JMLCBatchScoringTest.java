@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.BatchScorer;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Scores individually submitted rows via the micro-batching front end of a 
+ * prepared script and compares the per-row results with the expected scores.
+ */
+public class JMLCBatchScoringTest extends AutomatedTestBase 
+{
+	private final static String SCRIPT = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "W = read(\"./tmp/W\", rows=-1, cols=-1);\n"
+		+ "Y = X %*% W + 7;\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 523;
+	private final static int cols = 46;
+	private final static int classes = 5;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static int numThreads = 4;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testJMLCBatchScoringDense() 
+	{
+		runJMLCBatchScoringTest(sparsity1, 64, 5);
+	}
+	
+	@Test
+	public void testJMLCBatchScoringSparse() 
+	{
+		runJMLCBatchScoringTest(sparsity2, 64, 5);
+	}
+	
+	@Test
+	public void testJMLCBatchScoringSingleRowBatches() 
+	{
+		runJMLCBatchScoringTest(sparsity1, 1, 5);
+	}
+	
+	@Test
+	public void testJMLCBatchScoringNoLatency() 
+	{
+		runJMLCBatchScoringTest(sparsity1, 64, 0);
+	}
+	
+	@Test
+	public void testJMLCBatchScoringInvalidRow() 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			//prepare script and bind shared model
+			PreparedScript pstmt = conn.prepareScript(SCRIPT, new String[]{"X","W"}, new String[]{"Y"}, false);
+			double[][] W = getRandomMatrix(cols, classes, -1, 1, 1.0, 7);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3);
+			pstmt.setMatrix("W", W, true);
+			
+			//submit all rows, with one row of invalid length
+			BatchScorer scorer = pstmt.createBatchScorer("X", "Y", 64, 5);
+			ArrayList<Future<double[]>> rt = new ArrayList<Future<double[]>>();
+			for( int i=0; i<rows; i++ )
+				rt.add(scorer.submit((i==rows/2) ? new double[cols+1] : X[i]));
+			
+			//check that only the invalid row failed
+			for( int i=0; i<rows; i++ ) {
+				try {
+					Assert.assertEquals(classes, rt.get(i).get().length);
+					Assert.assertTrue(i != rows/2);
+				}
+				catch(ExecutionException ex) {
+					Assert.assertEquals(rows/2, i);
+				}
+			}
+			
+			scorer.close();
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	@Test
+	public void testJMLCBatchScoringConcurrentClose() 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			//prepare script and bind shared model
+			PreparedScript pstmt = conn.prepareScript(SCRIPT, new String[]{"X","W"}, new String[]{"Y"}, false);
+			double[][] W = getRandomMatrix(cols, classes, -1, 1, 1.0, 7);
+			final double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3);
+			pstmt.setMatrix("W", W, true);
+			
+			//submit rows concurrently to closing the scorer
+			final BatchScorer scorer = pstmt.createBatchScorer("X", "Y", 16, 1);
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<Callable<List<Future<double[]>>>> tasks = new ArrayList<Callable<List<Future<double[]>>>>();
+			for( int t=0; t<numThreads; t++ )
+				tasks.add(new Callable<List<Future<double[]>>>() {
+					@Override
+					public List<Future<double[]>> call() {
+						ArrayList<Future<double[]>> ret = new ArrayList<Future<double[]>>();
+						try {
+							for( int i=0; i<rows; i++ )
+								ret.add(scorer.submit(X[i]));
+						}
+						catch(DMLException ex) {
+							//expected after close
+						}
+						return ret;
+					}
+				});
+			List<Future<List<Future<double[]>>>> rt = new ArrayList<Future<List<Future<double[]>>>>();
+			for( Callable<List<Future<double[]>>> task : tasks )
+				rt.add(pool.submit(task));
+			Thread.sleep(5);
+			scorer.close();
+			pool.shutdown();
+			
+			//check that all accepted requests have been scored
+			for( Future<List<Future<double[]>>> task : rt )
+				for( Future<double[]> req : task.get() )
+					Assert.assertEquals(classes, req.get(10, TimeUnit.SECONDS).length);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param sparsity
+	 * @param batchSize
+	 * @param latency
+	 */
+	private void runJMLCBatchScoringTest( double sparsity, int batchSize, long latency ) 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			//prepare script and bind shared model
+			PreparedScript pstmt = conn.prepareScript(SCRIPT, new String[]{"X","W"}, new String[]{"Y"}, false);
+			double[][] W = getRandomMatrix(cols, classes, -1, 1, 1.0, 7);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			pstmt.setMatrix("W", W, true);
+			
+			//submit all rows individually
+			BatchScorer scorer = pstmt.createBatchScorer("X", "Y", batchSize, latency);
+			ArrayList<Future<double[]>> rt = new ArrayList<Future<double[]>>();
+			for( int i=0; i<rows; i++ )
+				rt.add(scorer.submit(X[i]));
+			
+			//compare per-row results with expected scores
+			for( int i=0; i<rows; i++ ) {
+				double[] y = rt.get(i).get();
+				Assert.assertEquals(classes, y.length);
+				for( int j=0; j<classes; j++ ) {
+					double expected = 7;
+					for( int k=0; k<cols; k++ )
+						expected += X[i][k] * W[k][j];
+					Assert.assertEquals(expected, y[j], eps);
+				}
+			}
+			
+			scorer.close();
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Executes a single prepared script concurrently by multiple threads, with a 
+ * shared (reused) model input and thread-local data inputs, as well as with
+ * thread-local scalar operands of shared matrix-scalar and central moment 
+ * instructions.
+ */
+public class JMLCParallelScoringTest extends AutomatedTestBase 
+{
+	private final static String SCRIPT = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "W = read(\"./tmp/W\", rows=-1, cols=-1);\n"
+		+ "Y = matrix(0, rows=nrow(X), cols=ncol(W));\n"
+		+ "for( i in 1:3 ) {\n"
+		+ "  Y = Y + X %*% W;\n"
+		+ "}\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static String SCRIPT2 = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "s = as.scalar(X[1,1]);\n"
+		+ "Y = X * s + (X > s);\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static String SCRIPT3 = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "o = as.scalar(X[1,1]);\n"
+		+ "Y = matrix(centralMoment(X[,2], o), rows=1, cols=2);\n"
+		+ "Y[1,2] = centralMoment(X[,3], 2);\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 37;
+	private final static int cols = 46;
+	private final static int classes = 5;
+	
+	private final static int numThreads = 8;
+	private final static int nRuns = 10;
+	private final static int nRuns2 = 100;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testJMLCParallelScoringDense() 
+	{
+		runJMLCParallelScoringTest(sparsity1);
+	}
+	
+	@Test
+	public void testJMLCParallelScoringSparse() 
+	{
+		runJMLCParallelScoringTest(sparsity2);
+	}
+	
+	@Test
+	public void testJMLCParallelScoringScalarOperand() 
+	{
+		runJMLCParallelScoringTest(sparsity1, 1);
+	}
+	
+	@Test
+	public void testJMLCParallelScoringCentralMoment() 
+	{
+		runJMLCParallelScoringTest(sparsity1, 2);
+	}
+	
+	/**
+	 * 
+	 * @param sparsity
+	 */
+	private void runJMLCParallelScoringTest( double sparsity ) 
+	{
+		runJMLCParallelScoringTest(sparsity, 0);
+	}
+	
+	/**
+	 * 
+	 * @param sparsity
+	 * @param type 0: matrix mult w/ shared model, 1: scalar operands, 2: central moment
+	 */
+	private void runJMLCParallelScoringTest( double sparsity, int type ) 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			//prepare script once and bind shared model (if required)
+			PreparedScript pstmt = null;
+			double[][] W = null;
+			if( type == 1 ) {
+				pstmt = conn.prepareScript(SCRIPT2, new String[]{"X"}, new String[]{"Y"}, false);
+			}
+			else if( type == 2 ) {
+				pstmt = conn.prepareScript(SCRIPT3, new String[]{"X"}, new String[]{"Y"}, false);
+			}
+			else {
+				pstmt = conn.prepareScript(SCRIPT, new String[]{"X","W"}, new String[]{"Y"}, false);
+				W = getRandomMatrix(cols, classes, -1, 1, 1.0, 7);
+				pstmt.setMatrix("W", W, true);
+			}
+			
+			//execute script concurrently
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<ScoringTask> tasks = new ArrayList<ScoringTask>();
+			for( int i=0; i<numThreads; i++ )
+				tasks.add(new ScoringTask(pstmt, W, sparsity, type, i));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : rt )
+				task.get();
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private class ScoringTask implements Callable<Object>
+	{
+		private PreparedScript _pstmt = null;
+		private double[][] _W = null;
+		private double _sparsity = -1;
+		private int _type = -1;
+		private int _id = -1;
+		
+		public ScoringTask( PreparedScript pstmt, double[][] W, double sparsity, int type, int id )
+		{
+			_pstmt = pstmt;
+			_W = W;
+			_sparsity = sparsity;
+			_type = type;
+			_id = id;
+		}
+		
+		@Override
+		public Object call() throws Exception
+		{
+			if( _type == 1 )
+				return callScalarOperand();
+			else if( _type == 2 )
+				return callCentralMoment();
+			
+			for( int r=0; r<nRuns; r++ )
+			{
+				//bind thread-local input and execute script
+				double[][] X = getRandomMatrix(rows, cols, -1, 1, _sparsity, _id*nRuns+r);
+				_pstmt.setMatrix("X", X);
+				ResultVariables rs = _pstmt.executeScript();
+				double[][] Y = rs.getMatrix("Y");
+				
+				//compare with expected result
+				double[][] expected = new double[rows][classes];
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<classes; j++ ) {
+						for( int k=0; k<cols; k++ )
+							expected[i][j] += X[i][k] * _W[k][j];
+						expected[i][j] *= 3;
+					}
+				TestUtils.compareMatrices(expected, Y, rows, classes, eps);
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * 
+		 * @return
+		 * @throws Exception
+		 */
+		private Object callScalarOperand() throws Exception
+		{
+			for( int r=0; r<nRuns2; r++ )
+			{
+				//bind thread-local input (w/ thread-local scalar operand) and execute script
+				double[][] X = getRandomMatrix(rows, cols, -1, 1, _sparsity, _id*nRuns2+r);
+				_pstmt.setMatrix("X", X);
+				ResultVariables rs = _pstmt.executeScript();
+				double[][] Y = rs.getMatrix("Y");
+				
+				//compare with expected result
+				double s = X[0][0];
+				double[][] expected = new double[rows][cols];
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						expected[i][j] = X[i][j] * s + ((X[i][j] > s) ? 1 : 0);
+				TestUtils.compareMatrices(expected, Y, rows, cols, eps);
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * 
+		 * @return
+		 * @throws Exception
+		 */
+		private Object callCentralMoment() throws Exception
+		{
+			for( int r=0; r<nRuns2; r++ )
+			{
+				//bind thread-local input (w/ thread-dependent order) and execute script
+				double[][] X = getRandomMatrix(rows, cols, -1, 1, _sparsity, _id*nRuns2+r);
+				int order = 2 + _id % 3;
+				X[0][0] = order;
+				_pstmt.setMatrix("X", X);
+				ResultVariables rs = _pstmt.executeScript();
+				double[][] Y = rs.getMatrix("Y");
+				
+				//compare with expected result
+				double[][] expected = new double[1][2];
+				expected[0][0] = computeCentralMoment(X, 1, order);
+				expected[0][1] = computeCentralMoment(X, 2, 2);
+				TestUtils.compareMatrices(expected, Y, 1, 2, eps);
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * 
+		 * @param X
+		 * @param col
+		 * @param order
+		 * @return
+		 */
+		private double computeCentralMoment(double[][] X, int col, int order) 
+		{
+			double mean = 0;
+			for( int i=0; i<rows; i++ )
+				mean += X[i][col];
+			mean /= rows;
+			double ret = 0;
+			for( int i=0; i<rows; i++ )
+				ret += Math.pow(X[i][col] - mean, order);
+			return ret / rows;
+		}
+	}
+}
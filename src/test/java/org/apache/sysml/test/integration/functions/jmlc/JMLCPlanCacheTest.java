@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
+import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Prepares scripts repeatedly and checks the hits/misses of the JMLC plan cache
+ * as well as the results of scripts prepared from cached plans.
+ */
+public class JMLCPlanCacheTest extends AutomatedTestBase 
+{
+	private final static String SCRIPT = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "Y = X * $1;\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static String SCRIPT2 = 
+		  "scale = function(matrix[double] A, double s) return (matrix[double] B) {\n"
+		+ "  B = A * s;\n"
+		+ "}\n"
+		+ "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "s = as.scalar(X[1,1]);\n"
+		+ "Y = matrix(0, rows=nrow(X), cols=ncol(X));\n"
+		+ "for( i in 1:2 ) {\n"
+		+ "  Z = scale(X, s);\n"
+		+ "  Y = Y + Z;\n"
+		+ "}\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+	
+	private final static int rows = 17;
+	private final static int cols = 11;
+	
+	private final static int numThreads = 4;
+	private final static int nRuns = 20;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testJMLCPlanCacheHits() 
+	{
+		runJMLCPlanCacheTest(PlanCacheType.HITS);
+	}
+	
+	@Test
+	public void testJMLCPlanCacheDifferentArgs() 
+	{
+		runJMLCPlanCacheTest(PlanCacheType.DIFF_ARGS);
+	}
+	
+	@Test
+	public void testJMLCPlanCacheDisabled() 
+	{
+		runJMLCPlanCacheTest(PlanCacheType.DISABLED);
+	}
+	
+	@Test
+	public void testJMLCPlanCacheHitsDeepCopy() 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			Connection.clearPlanCache();
+			Statistics.reset();
+			
+			//prepare script three times (one miss, two hits)
+			String[] inputs = new String[]{"X"};
+			String[] outputs = new String[]{"Y"};
+			PreparedScript pstmt1 = conn.prepareScript(SCRIPT2, inputs, outputs, false);
+			PreparedScript pstmt2 = conn.prepareScript(SCRIPT2, inputs, outputs, false);
+			PreparedScript pstmt3 = conn.prepareScript(SCRIPT2, inputs, outputs, false);
+			Assert.assertEquals(2, Statistics.getJMLCPlanCacheHits());
+			
+			//check that cache hits do not share program blocks and instructions
+			checkDisjointPrograms(pstmt1.getRTProgram(), pstmt2.getRTProgram());
+			checkDisjointPrograms(pstmt2.getRTProgram(), pstmt3.getRTProgram());
+			
+			//execute scripts and compare results
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 1.0, 7);
+			for( PreparedScript pstmt : new PreparedScript[]{pstmt1, pstmt2, pstmt3} ) {
+				pstmt.setMatrix("X", X);
+				double[][] Y = pstmt.executeScript().getMatrix("Y");
+				for( int r=0; r<rows; r++ )
+					for( int c=0; c<cols; c++ )
+						Assert.assertEquals(2*X[r][c]*X[0][0], Y[r][c], 1e-10);
+			}
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	@Test
+	public void testJMLCPlanCacheHitsConcurrentMiss() 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			Connection.clearPlanCache();
+			Statistics.reset();
+			
+			//prepare script once (miss)
+			String[] inputs = new String[]{"X"};
+			String[] outputs = new String[]{"Y"};
+			PreparedScript pstmt1 = conn.prepareScript(SCRIPT2, inputs, outputs, false);
+			
+			//execute the miss script concurrently with preparing/executing hits
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ArrayList<PlanCacheTask> tasks = new ArrayList<PlanCacheTask>();
+			tasks.add(new PlanCacheTask(conn, pstmt1, 0));
+			for( int i=1; i<numThreads; i++ )
+				tasks.add(new PlanCacheTask(conn, null, i));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : rt )
+				task.get();
+			
+			//check plan cache statistics (all but the first prepare are hits)
+			Assert.assertEquals((numThreads-1)*nRuns, Statistics.getJMLCPlanCacheHits());
+			Assert.assertEquals(1, Statistics.getJMLCPlanCacheMisses());
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	/**
+	 * Executes the given prepared script (or newly prepared scripts if null)
+	 * repeatedly with thread-local inputs and compares the results.
+	 */
+	private class PlanCacheTask implements Callable<Object>
+	{
+		private Connection _conn = null;
+		private PreparedScript _pstmt = null;
+		private int _id = -1;
+		
+		public PlanCacheTask( Connection conn, PreparedScript pstmt, int id )
+		{
+			_conn = conn;
+			_pstmt = pstmt;
+			_id = id;
+		}
+		
+		@Override
+		public Object call() throws Exception
+		{
+			for( int r=0; r<nRuns; r++ )
+			{
+				PreparedScript pstmt = (_pstmt != null) ? _pstmt : 
+					_conn.prepareScript(SCRIPT2, new String[]{"X"}, new String[]{"Y"}, false);
+				double[][] X = getRandomMatrix(rows, cols, -1, 1, 1.0, _id*nRuns+r);
+				pstmt.setMatrix("X", X);
+				double[][] Y = pstmt.executeScript().getMatrix("Y");
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						Assert.assertEquals(2*X[i][j]*X[0][0], Y[i][j], 1e-10);
+			}
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 * @param prog1
+	 * @param prog2
+	 */
+	private void checkDisjointPrograms( Program prog1, Program prog2 )
+	{
+		Assert.assertNotSame(prog1, prog2);
+		checkDisjointProgramBlocks(prog1.getProgramBlocks(), prog2.getProgramBlocks());
+		for( String fkey : prog1.getFunctionProgramBlocks().keySet() ) {
+			FunctionProgramBlock fpb1 = prog1.getFunctionProgramBlocks().get(fkey);
+			FunctionProgramBlock fpb2 = prog2.getFunctionProgramBlocks().get(fkey);
+			Assert.assertNotSame(fpb1, fpb2);
+			Assert.assertSame(prog2, fpb2.getProgram());
+			checkDisjointProgramBlocks(fpb1.getChildBlocks(), fpb2.getChildBlocks());
+		}
+	}
+	
+	/**
+	 * 
+	 * @param pbs1
+	 * @param pbs2
+	 */
+	private void checkDisjointProgramBlocks( ArrayList<ProgramBlock> pbs1, ArrayList<ProgramBlock> pbs2 )
+	{
+		Assert.assertEquals(pbs1.size(), pbs2.size());
+		for( int i=0; i<pbs1.size(); i++ ) {
+			ProgramBlock pb1 = pbs1.get(i);
+			ProgramBlock pb2 = pbs2.get(i);
+			Assert.assertNotSame(pb1, pb2);
+			ArrayList<Instruction> inst1 = pb1.getInstructions();
+			ArrayList<Instruction> inst2 = pb2.getInstructions();
+			Assert.assertEquals(inst1.size(), inst2.size());
+			for( int j=0; j<inst1.size(); j++ )
+				Assert.assertNotSame(inst1.get(j), inst2.get(j));
+			if( pb1 instanceof ForProgramBlock )
+				checkDisjointProgramBlocks(((ForProgramBlock)pb1).getChildBlocks(), 
+					((ForProgramBlock)pb2).getChildBlocks());
+		}
+	}
+	
+	private enum PlanCacheType {
+		HITS,
+		DIFF_ARGS,
+		DISABLED,
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 */
+	private void runJMLCPlanCacheTest( PlanCacheType type ) 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			Connection.clearPlanCache();
+			if( type == PlanCacheType.DISABLED )
+				Connection.setPlanCacheCapacity(0);
+			Statistics.reset();
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.7, 7);
+			for( int i=0; i<5; i++ ) 
+			{
+				//prepare script (equal or different arguments)
+				int scale = (type == PlanCacheType.DIFF_ARGS) ? i+2 : 2;
+				HashMap<String, String> args = new HashMap<String, String>();
+				args.put("$1", String.valueOf(scale));
+				PreparedScript pstmt = conn.prepareScript(SCRIPT, args, new String[]{"X"}, new String[]{"Y"}, false);
+				
+				//execute script and compare results
+				pstmt.setMatrix("X", X);
+				ResultVariables rs = pstmt.executeScript();
+				double[][] Y = rs.getMatrix("Y");
+				for( int r=0; r<rows; r++ )
+					for( int c=0; c<cols; c++ )
+						Assert.assertEquals(X[r][c]*scale, Y[r][c], 0);
+			}
+			
+			//check plan cache statistics
+			long hits = (type == PlanCacheType.HITS) ? 4 : 0;
+			Assert.assertEquals(hits, Statistics.getJMLCPlanCacheHits());
+			Assert.assertEquals(5-hits, Statistics.getJMLCPlanCacheMisses());
+			Assert.assertTrue(Statistics.getJMLCCompileTime() > 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			Connection.setPlanCacheCapacity(64);
+			conn.close();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.LatencyHistogram;
+import org.apache.sysml.utils.RuntimeMetrics;
+import org.apache.sysml.utils.RuntimeMetrics.InstructionMetrics;
+
+/**
+ * Executes a JMLC script repeatedly with enabled runtime metrics and checks the
+ * per-instruction latency percentiles, the JMX export, and the reset of metrics.
+ */
+public class JMLCRuntimeMetricsTest extends AutomatedTestBase
+{
+	private final static String SCRIPT =
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "Y = X %*% t(X) + 7;\n"
+		+ "write(Y, \"./tmp/Y\");\n";
+
+	private final static int rows = 37;
+	private final static int cols = 23;
+	private final static int numRuns = 20;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testLatencyHistogram()
+	{
+		LatencyHistogram hist = new LatencyHistogram();
+		for( int i=1; i<=1000; i++ )
+			hist.record(i * 1000L);
+
+		Assert.assertEquals(1000, hist.getCount());
+		Assert.assertEquals(1000000L, hist.getMaxTime());
+		Assert.assertEquals(500500000L, hist.getTotalTime());
+
+		//percentiles within the relative error of the log sub-buckets
+		Assert.assertEquals(500000, hist.getPercentile(0.5), 500000*0.1);
+		Assert.assertEquals(990000, hist.getPercentile(0.99), 990000*0.1);
+		Assert.assertTrue(hist.getPercentile(0.99) <= hist.getMaxTime());
+
+		hist.reset();
+		Assert.assertEquals(0, hist.getCount());
+		Assert.assertEquals(0, hist.getMaxTime());
+	}
+
+	@Test
+	public void testJMLCRuntimeMetrics()
+	{
+		Connection conn = new Connection();
+
+		try
+		{
+			RuntimeMetrics.registerMBean();
+			RuntimeMetrics.getInstance().reset();
+
+			//execute script repeatedly
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.7, 7);
+			PreparedScript pstmt = conn.prepareScript(SCRIPT, new String[]{"X"}, new String[]{"Y"}, false);
+			for( int i=0; i<numRuns; i++ ) {
+				pstmt.setMatrix("X", X);
+				ResultVariables rs = pstmt.executeScript();
+				Assert.assertEquals(rows, rs.getMatrix("Y").length);
+			}
+
+			//check per-instruction latencies
+			InstructionMetrics[] metrics = RuntimeMetrics.getInstance().getInstructionMetrics();
+			Assert.assertTrue(metrics.length > 0);
+			boolean tsmm = false;
+			for( InstructionMetrics m : metrics ) {
+				Assert.assertTrue(m.getCount() > 0);
+				Assert.assertTrue(m.getP50() <= m.getP99());
+				Assert.assertTrue(m.getP99() <= m.getMaxTime());
+				tsmm |= m.getOpcode().equals("tsmm") || m.getOpcode().equals("ba+*");
+				if( m.getOpcode().equals("tsmm") || m.getOpcode().equals("ba+*") )
+					Assert.assertEquals(numRuns, m.getCount());
+			}
+			Assert.assertTrue(tsmm);
+
+			//check jmx export
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(RuntimeMetrics.MBEAN_NAME);
+			Assert.assertTrue(server.isRegistered(name));
+			Object[] exported = (Object[]) server.getAttribute(name, "InstructionMetrics");
+			Assert.assertEquals(metrics.length, exported.length);
+			Assert.assertTrue((Long)server.getAttribute(name, "CacheHitsMem") > 0);
+
+			//check reset via jmx
+			server.invoke(name, "reset", null, null);
+			Assert.assertEquals(0, RuntimeMetrics.getInstance().getInstructionMetrics().length);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			RuntimeMetrics.unregisterMBean();
+			conn.close();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Binds dense (row-major) and sparse (CSR) inputs without copy, and accesses 
+ * dense and sparse outputs directly.
+ */
+public class JMLCZeroCopyInputTest extends AutomatedTestBase 
+{
+	private final static String SCRIPT1 = 
+		  "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+		+ "W = read(\"./tmp/W\", rows=-1, cols=-1);\n"
+		+ "Y = X %*% W + 7;\n"
+		+ "Z = X;\n"
+		+ "write(Y, \"./tmp/Y\");\n"
+		+ "write(Z, \"./tmp/Z\");\n";
+	
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 37;
+	private final static int cols = 46;
+	private final static int classes = 5;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testJMLCZeroCopyDense() 
+	{
+		runJMLCZeroCopyTest(sparsity1, false);
+	}
+	
+	@Test
+	public void testJMLCZeroCopySparse() 
+	{
+		runJMLCZeroCopyTest(sparsity2, true);
+	}
+	
+	/**
+	 * 
+	 * @param sparsity
+	 * @param csr
+	 */
+	private void runJMLCZeroCopyTest( double sparsity, boolean csr ) 
+	{
+		Connection conn = new Connection();
+		
+		try
+		{
+			PreparedScript pstmt = conn.prepareScript(SCRIPT1, new String[]{"X","W"}, new String[]{"Y","Z"}, false);
+			
+			//bind row-major model without copy
+			double[][] W = getRandomMatrix(cols, classes, -1, 1, 1.0, 7);
+			double[] Wa = DataConverter.convertToDoubleVector(DataConverter.convertToMatrixBlock(W));
+			pstmt.setMatrix("W", Wa, cols, classes, true);
+			
+			//bind dense or csr input without copy
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			double[] Xa = DataConverter.convertToDoubleVector(DataConverter.convertToMatrixBlock(X));
+			SparseBlockCSR Xcsr = null;
+			if( csr ) {
+				Xcsr = createCSR(X);
+				pstmt.setMatrix("X", Xcsr.rowPointers(), Xcsr.indexes(), Xcsr.values(), rows, cols, false);
+			}
+			else {
+				pstmt.setMatrix("X", Xa, rows, cols, false);
+			}
+			ResultVariables rs = pstmt.executeScript();
+			
+			//check dense output array
+			double[] Y = rs.getDenseArray("Y");
+			Assert.assertEquals(rows*classes, Y.length);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<classes; j++ ) {
+					double expected = 7;
+					for( int k=0; k<cols; k++ )
+						expected += X[i][k] * W[k][j];
+					Assert.assertEquals(expected, Y[i*classes+j], eps);
+				}
+			
+			//check pass-through output w/o copy
+			MatrixBlock Z = rs.getMatrixBlock("Z");
+			if( csr ) {
+				SparseBlockCSR Zcsr = rs.getCSRBlock("Z");
+				Assert.assertSame(Xcsr.values(), Zcsr.values());
+				Assert.assertSame(Xcsr.indexes(), Zcsr.indexes());
+			}
+			else {
+				Assert.assertSame(Xa, rs.getDenseArray("Z"));
+			}
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(Z), rows, cols, 0);
+			
+			//check csr output of dense result (converted)
+			SparseBlockCSR Ycsr = rs.getCSRBlock("Y");
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<classes; j++ )
+					Assert.assertEquals(Y[i*classes+j], Ycsr.get(i, j), 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+		finally
+		{
+			conn.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param X
+	 * @return
+	 */
+	private static SparseBlockCSR createCSR( double[][] X )
+	{
+		int nnz = 0;
+		for( double[] row : X )
+			for( double v : row )
+				nnz += (v != 0) ? 1 : 0;
+		
+		int[] rowptr = new int[X.length+1];
+		int[] colind = new int[nnz];
+		double[] values = new double[nnz];
+		for( int i=0, pos=0; i<X.length; i++ ) {
+			for( int j=0; j<X[i].length; j++ )
+				if( X[i][j] != 0 ) {
+					colind[pos] = j;
+					values[pos++] = X[i][j];
+				}
+			rowptr[i+1] = pos;
+		}
+		
+		return new SparseBlockCSR(rowptr, colind, values);
+	}
+}
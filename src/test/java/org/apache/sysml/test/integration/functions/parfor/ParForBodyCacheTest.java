@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.parfor.ParForBodyCache;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Runs remote spark parfor loops with many small tasks, where executors reuse 
+ * cached parfor bodies across tasks, and checks that the results of all tasks 
+ * are preserved.
+ */
+public class ParForBodyCacheTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_bodycache";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForBodyCacheTest.class.getSimpleName() + "/";
+
+	private final static int rows1 = 7;
+	private final static int rows2 = 73;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForBodyCacheFewTasks()
+	{
+		runParForBodyCacheTest(rows1);
+	}
+
+	@Test
+	public void testParForBodyCacheManyTasks()
+	{
+		runParForBodyCacheTest(rows2);
+	}
+
+	/**
+	 *
+	 * @param n
+	 */
+	private void runParForBodyCacheTest( int n )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+
+		try
+		{
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+			rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK;
+			ParForBodyCache.clear();
+
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(n), output("R") };
+
+			runTest(true, false, null, -1);
+
+			//check that parsed bodies have been returned to the executor-side cache
+			//(local spark executors share the driver jvm)
+			Assert.assertTrue(ParForBodyCache.size() > 0);
+			
+			//compare with expected results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+			for( int i=1; i<=n; i++ ) {
+				expected.put(new CellIndex(i,1), (double)(2*i*i));
+				expected.put(new CellIndex(i,2), (double)i);
+			}
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Runs parfor loops with row and cell writes (incl overwrites with zeros) into
+ * a non-empty result variable, with and without delta result merge.
+ */
+public class ParForDeltaResultMergeTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_delta_merge";
+	private final static String TEST_NAME2 = "parfor_delta_merge_nested";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForDeltaResultMergeTest.class.getSimpleName() + "/";
+
+	private final static int rows = 382;
+	private final static int cols = 17;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForDeltaMergeDense()
+	{
+		runParForDeltaMergeTest(3, true);
+	}
+
+	@Test
+	public void testParForDeltaMergeSparse()
+	{
+		runParForDeltaMergeTest(0, true);
+	}
+
+	@Test
+	public void testParForNoDeltaMergeDense()
+	{
+		runParForDeltaMergeTest(3, false);
+	}
+
+	@Test
+	public void testParForNoDeltaMergeSparse()
+	{
+		runParForDeltaMergeTest(0, false);
+	}
+
+	@Test
+	public void testParForDeltaMergeNested()
+	{
+		runParForDeltaMergeNestedTest(true);
+	}
+
+	@Test
+	public void testParForNoDeltaMergeNested()
+	{
+		runParForDeltaMergeNestedTest(false);
+	}
+
+	/**
+	 *
+	 * @param init
+	 * @param delta
+	 */
+	private void runParForDeltaMergeTest( int init, boolean delta )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean deltaOld = ParForProgramBlock.USE_DELTA_RESULT_MERGE;
+
+		try
+		{
+			rtplatform = RUNTIME_PLATFORM.HYBRID;
+			ParForProgramBlock.USE_DELTA_RESULT_MERGE = delta;
+
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", String.valueOf(rows),
+				String.valueOf(cols), String.valueOf(init), output("R") };
+
+			runTest(true, false, null, -1);
+
+			//compare with expected results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+			for( int i=1; i<=rows; i++ )
+				for( int j=1; j<=cols; j++ ) {
+					double val = (i%3==0) ? 0 : (i%3==1) ? ((j==1) ? i : init) : i*j;
+					if( val != 0 )
+						expected.put(new CellIndex(i,j), val);
+				}
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+
+			//check for applied delta result merge
+			Assert.assertEquals(delta, Statistics.getParforDeltaMergeCount() > 0);
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+			ParForProgramBlock.USE_DELTA_RESULT_MERGE = deltaOld;
+		}
+	}
+
+	/**
+	 * Nested parfor, where the outer worker writes the result variable before
+	 * the inner parfor writes into the same column.
+	 *
+	 * @param delta
+	 */
+	private void runParForDeltaMergeNestedTest( boolean delta )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean deltaOld = ParForProgramBlock.USE_DELTA_RESULT_MERGE;
+
+		try
+		{
+			rtplatform = RUNTIME_PLATFORM.HYBRID;
+			ParForProgramBlock.USE_DELTA_RESULT_MERGE = delta;
+
+			TestConfiguration config = getTestConfiguration(TEST_NAME2);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows),
+				String.valueOf(cols), output("R") };
+
+			runTest(true, false, null, -1);
+
+			//compare with expected results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+			for( int i=1; i<=rows; i++ )
+				for( int j=1; j<=2; j++ )
+					expected.put(new CellIndex(i,j), (double)i*j);
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+			ParForProgramBlock.USE_DELTA_RESULT_MERGE = deltaOld;
+		}
+	}
+}
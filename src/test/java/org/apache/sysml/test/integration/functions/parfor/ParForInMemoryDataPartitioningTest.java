@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Runs local parfor loops with row- and column-wise local data partitioning,
+ * with and without in-memory partitioning.
+ */
+public class ParForInMemoryDataPartitioningTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_inmem_dp1"; //row-wise
+	private final static String TEST_NAME2 = "parfor_inmem_dp2"; //column-wise
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForInMemoryDataPartitioningTest.class.getSimpleName() + "/";
+
+	private final static int rows = 2345;
+	private final static int cols = 7;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForRowwiseInMemoryPartitioning()
+	{
+		runParForDataPartitioningTest(TEST_NAME1, true);
+	}
+
+	@Test
+	public void testParForRowwiseFilePartitioning()
+	{
+		runParForDataPartitioningTest(TEST_NAME1, false);
+	}
+
+	@Test
+	public void testParForColwiseInMemoryPartitioning()
+	{
+		runParForDataPartitioningTest(TEST_NAME2, true);
+	}
+
+	@Test
+	public void testParForColwiseFilePartitioning()
+	{
+		runParForDataPartitioningTest(TEST_NAME2, false);
+	}
+
+	/**
+	 *
+	 * @param testname
+	 * @param inMemory
+	 */
+	private void runParForDataPartitioningTest( String testname, boolean inMemory )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean inMemoryOld = ParForProgramBlock.ALLOW_IN_MEMORY_PARTITIONING;
+
+		try
+		{
+			rtplatform = RUNTIME_PLATFORM.HYBRID;
+			ParForProgramBlock.ALLOW_IN_MEMORY_PARTITIONING = inMemory;
+
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", String.valueOf(rows),
+				String.valueOf(cols), output("R") };
+
+			runTest(true, false, null, -1);
+
+			//compare with expected results (X[i,j] = (i-1)*cols+j)
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+			if( testname.equals(TEST_NAME1) ) {
+				for( long i=1; i<=rows; i++ )
+					expected.put(new CellIndex((int)i,1), (double)((i-1)*cols*cols + cols*(cols+1)/2));
+			}
+			else {
+				for( long j=1; j<=cols; j++ )
+					expected.put(new CellIndex((int)j,1), (double)((long)cols*rows*(rows-1)/2 + rows*j));
+			}
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+
+			//check for applied in-memory partitioning
+			Assert.assertEquals(inMemory, Statistics.getParforInMemDPCount() > 0);
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+			ParForProgramBlock.ALLOW_IN_MEMORY_PARTITIONING = inMemoryOld;
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Runs skewed parfor loops with the work-stealing task partitioner and checks
+ * that all iterations are executed exactly once, both at the level of the
+ * per-worker deques and for end-to-end DML scripts.
+ */
+public class ParForWorkStealingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_workstealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+
+	private final static int rows1 = 7;
+	private final static int rows2 = 731;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testTaskQueueMinTaskSize1()
+	{
+		runTaskQueueTest(rows2, 1, 4);
+	}
+
+	@Test
+	public void testTaskQueueMinTaskSize16()
+	{
+		runTaskQueueTest(rows2, 16, 4);
+	}
+
+	@Test
+	public void testTaskQueueFewIterations()
+	{
+		runTaskQueueTest(rows1, 1, 16);
+	}
+
+	@Test
+	public void testParForWorkStealingFewIterations()
+	{
+		runParForWorkStealingTest(rows1);
+	}
+
+	@Test
+	public void testParForWorkStealingManyIterations()
+	{
+		runParForWorkStealingTest(rows2);
+	}
+
+	/**
+	 *
+	 * @param n
+	 * @param minTaskSize
+	 * @param k
+	 */
+	private void runTaskQueueTest( int n, long minTaskSize, int k )
+	{
+		try
+		{
+			//seed worker deques
+			final LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(k, minTaskSize);
+			TaskPartitionerWorkStealing tp = new TaskPartitionerWorkStealing(minTaskSize, k, "i",
+				new IntObject(1), new IntObject(n), new IntObject(1));
+			long numSeeds = tp.createTasks(queue);
+			Assert.assertEquals(Math.min(n, k), numSeeds);
+
+			//execute tasks with skewed cost per iteration
+			final AtomicIntegerArray counts = new AtomicIntegerArray(n+1);
+			final AtomicLong maxTaskSize = new AtomicLong(0);
+			Thread[] threads = new Thread[k];
+			for( int t=0; t<k; t++ ) {
+				final int ix = t;
+				threads[t] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						Task task = null;
+						while( (task = queue.dequeueTask(ix)) != LocalTaskQueue.NO_MORE_TASKS ) {
+							List<IntObject> it = task.getIterations();
+							maxTaskSize.set(Math.max(maxTaskSize.get(), it.get(1).getLongValue()-it.get(0).getLongValue()+1));
+							for( long i=it.get(0).getLongValue(); i<=it.get(1).getLongValue(); i+=it.get(2).getLongValue() ) {
+								counts.incrementAndGet((int)i);
+								if( i % 97 == 0 )
+									Thread.yield();
+							}
+							queue.completeTask(task);
+						}
+					}
+				});
+			}
+			for( Thread thread : threads )
+				thread.start();
+			for( Thread thread : threads )
+				thread.join();
+
+			//check all iterations executed exactly once
+			for( int i=1; i<=n; i++ )
+				Assert.assertEquals("Wrong count for iteration "+i, 1, counts.get(i));
+			Assert.assertTrue(queue.getNumTasks() >= numSeeds);
+			Assert.assertTrue(maxTaskSize.get() <= minTaskSize);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param n
+	 */
+	private void runParForWorkStealingTest( int n )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+
+		try
+		{
+			rtplatform = RUNTIME_PLATFORM.HYBRID;
+
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(n), output("R") };
+
+			runTest(true, false, null, -1);
+
+			//compare with expected results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<CellIndex, Double>();
+			for( int i=1; i<=n; i++ ) {
+				long m = (long)Math.ceil(i/8d);
+				expected.put(new CellIndex(i,1), (double)(i*m*m));
+				expected.put(new CellIndex(i,2), (double)i);
+			}
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.rtplatform = platformOld;
+		}
+	}
+}
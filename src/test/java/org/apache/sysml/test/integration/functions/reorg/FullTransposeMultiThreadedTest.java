@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the multi-threaded against the single-threaded transpose
+ * for all combinations of dense and sparse inputs and outputs.
+ */
+public class FullTransposeMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows1 = 1791;
+	private final static int cols1 = 1013;
+	private final static int rows2 = 350000;
+	private final static int cols2 = 3;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testTransposeDenseDenseMatrix()
+	{
+		runTransposeTest(false, false, rows1, cols1);
+	}
+
+	@Test
+	public void testTransposeDenseSparseMatrix()
+	{
+		runTransposeTest(false, true, rows1, cols1);
+	}
+
+	@Test
+	public void testTransposeSparseSparseMatrix()
+	{
+		runTransposeTest(true, true, rows1, cols1);
+	}
+
+	@Test
+	public void testTransposeSparseDenseMatrix()
+	{
+		runTransposeTest(true, false, rows1, cols1);
+	}
+
+	@Test
+	public void testTransposeDenseDenseTallSkinny()
+	{
+		runTransposeTest(false, false, rows2, cols2);
+	}
+
+	@Test
+	public void testTransposeSparseDenseTallSkinny()
+	{
+		runTransposeTest(true, false, rows2, cols2);
+	}
+
+	@Test
+	public void testTransposeSparseSparseTallSkinny()
+	{
+		runTransposeTest(true, true, rows2, cols2);
+	}
+
+	@Test
+	public void testTransposeSparseSparseWide()
+	{
+		runTransposeTest(true, true, cols2, rows2);
+	}
+
+	/**
+	 *
+	 * @param sparseIn
+	 * @param sparseOut
+	 * @param rows
+	 * @param cols
+	 */
+	private void runTransposeTest( boolean sparseIn, boolean sparseOut, int rows, int cols )
+	{
+		try
+		{
+			double sparsity = sparseIn ? sparsity2 : sparsity1;
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock in = new MatrixBlock(rows, cols, sparseIn);
+			in.copy(DataConverter.convertToMatrixBlock(A), sparseIn);
+
+			//single- and multi-threaded execution
+			MatrixBlock ret1 = LibMatrixReorg.transpose(in, new MatrixBlock(cols, rows, sparseOut));
+			MatrixBlock retk = LibMatrixReorg.transpose(in, new MatrixBlock(cols, rows, sparseOut), k);
+
+			//compare results, incl nnz and format
+			Assert.assertEquals(in.getNonZeros(), retk.getNonZeros());
+			Assert.assertEquals(ret1.isInSparseFormat(), retk.isInSparseFormat());
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] Ck = DataConverter.convertToDoubleMatrix(retk);
+			TestUtils.compareMatrices(C1, Ck, cols, rows, 0);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(A[i][j], Ck[j][i], 0);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the single- and multi-threaded native dense linear algebra
+ * operations (solve, inverse, cholesky, lu, qr, eigen) against the
+ * results of the commons-math decompositions.
+ */
+public class LinearAlgebraMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows1 = 317;
+	private final static int rows2 = 611;
+	private final static int cols2 = 1;
+	private final static double eps = 1e-7;
+	private final static int k = 4;
+
+	private enum InputType {
+		GENERAL,
+		SYMMETRIC_PD,
+		OVERDETERMINED,
+	}
+
+	@Override
+	public void setUp()
+	{
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSolveGeneral()
+	{
+		runSolveTest(InputType.GENERAL, cols2);
+	}
+
+	@Test
+	public void testSolveGeneralMultipleRhs()
+	{
+		runSolveTest(InputType.GENERAL, 7);
+	}
+
+	@Test
+	public void testSolveSymmetricPD()
+	{
+		runSolveTest(InputType.SYMMETRIC_PD, cols2);
+	}
+
+	@Test
+	public void testSolveOverdetermined()
+	{
+		runSolveTest(InputType.OVERDETERMINED, cols2);
+	}
+
+	@Test
+	public void testInverseGeneral()
+	{
+		runInverseTest(InputType.GENERAL);
+	}
+
+	@Test
+	public void testInverseSymmetricPD()
+	{
+		runInverseTest(InputType.SYMMETRIC_PD);
+	}
+
+	@Test
+	public void testCholesky()
+	{
+		try
+		{
+			double[][] A = createInput(InputType.SYMMETRIC_PD);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+			RealMatrix L = new CholeskyDecomposition(new Array2DRowRealMatrix(A, false)).getL();
+			compareResults(L.getData(), LibMatrixLinAlg.cholesky(in, 1), LibMatrixLinAlg.cholesky(in, k));
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Test
+	public void testLU()
+	{
+		try
+		{
+			double[][] A = createInput(InputType.GENERAL);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+			LUDecomposition lu = new LUDecomposition(new Array2DRowRealMatrix(A, false));
+			MatrixBlock[] ret1 = LibMatrixLinAlg.lu(in, 1);
+			MatrixBlock[] retk = LibMatrixLinAlg.lu(in, k);
+			compareResults(lu.getP().getData(), ret1[0], retk[0]);
+			compareResults(lu.getL().getData(), ret1[1], retk[1]);
+			compareResults(lu.getU().getData(), ret1[2], retk[2]);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Test
+	public void testQRSquare()
+	{
+		runQRTest(InputType.GENERAL);
+	}
+
+	@Test
+	public void testQROverdetermined()
+	{
+		runQRTest(InputType.OVERDETERMINED);
+	}
+
+	@Test
+	public void testEigenSymmetric()
+	{
+		try
+		{
+			double[][] A = createInput(InputType.SYMMETRIC_PD);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+			//compare eigenvalues (ascending) against commons-math
+			EigenDecomposition eig = new EigenDecomposition(new Array2DRowRealMatrix(A, false));
+			double[] evals = eig.getRealEigenvalues().clone();
+			java.util.Arrays.sort(evals);
+			double[][] E = new double[rows1][1];
+			for( int i=0; i<rows1; i++ )
+				E[i][0] = evals[i];
+			MatrixBlock[] ret1 = LibMatrixLinAlg.eigen(in, 1);
+			MatrixBlock[] retk = LibMatrixLinAlg.eigen(in, k);
+			compareResults(E, ret1[0], retk[0]);
+
+			//check eigenvectors (sign-independent) via A %*% V = V %*% diag(evals)
+			double[][] V = DataConverter.convertToDoubleMatrix(retk[1]);
+			compareResults(DataConverter.convertToDoubleMatrix(ret1[1]), V);
+			double[][] AV = new Array2DRowRealMatrix(A, false).multiply(new Array2DRowRealMatrix(V, false)).getData();
+			for( int i=0; i<rows1; i++ )
+				for( int j=0; j<rows1; j++ )
+					V[i][j] *= evals[j];
+			compareResults(AV, V);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param rhs
+	 */
+	private void runSolveTest( InputType type, int rhs )
+	{
+		try
+		{
+			double[][] A = createInput(type);
+			double[][] B = getRandomMatrix(A.length, rhs, -1, 1, 1.0, 3);
+			MatrixBlock in1 = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock in2 = DataConverter.convertToMatrixBlock(B);
+
+			RealMatrix X = new QRDecomposition(new Array2DRowRealMatrix(A, false))
+				.getSolver().solve(new Array2DRowRealMatrix(B, false));
+			compareResults(X.getData(), LibMatrixLinAlg.solve(in1, in2, 1), LibMatrixLinAlg.solve(in1, in2, k));
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 */
+	private void runInverseTest( InputType type )
+	{
+		try
+		{
+			double[][] A = createInput(type);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+			RealMatrix X = new QRDecomposition(new Array2DRowRealMatrix(A, false)).getSolver().getInverse();
+			compareResults(X.getData(), LibMatrixLinAlg.inverse(in, 1), LibMatrixLinAlg.inverse(in, k));
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 */
+	private void runQRTest( InputType type )
+	{
+		try
+		{
+			double[][] A = createInput(type);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+			QRDecomposition qr = new QRDecomposition(new Array2DRowRealMatrix(A, false));
+			MatrixBlock[] ret1 = LibMatrixLinAlg.qr(in, 1);
+			MatrixBlock[] retk = LibMatrixLinAlg.qr(in, k);
+			compareResults(qr.getH().getData(), ret1[0], retk[0]);
+			compareResults(qr.getR().getData(), ret1[1], retk[1]);
+		}
+		catch(Exception ex)
+		{
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return
+	 */
+	private double[][] createInput( InputType type )
+	{
+		switch( type ) {
+			case GENERAL:
+				return getRandomMatrix(rows1, rows1, -1, 1, 1.0, 7);
+			case OVERDETERMINED:
+				return getRandomMatrix(rows2, rows1, -1, 1, 1.0, 7);
+			case SYMMETRIC_PD: {
+				//X^T X + n*I (well-conditioned)
+				RealMatrix X = new Array2DRowRealMatrix(getRandomMatrix(rows2, rows1, -1, 1, 0.7, 7), false);
+				double[][] A = X.transpose().multiply(X).getData();
+				for( int i=0; i<rows1; i++ )
+					A[i][i] += rows1;
+				return A;
+			}
+			default:
+				throw new RuntimeException("Unsupported input type: "+type);
+		}
+	}
+
+	/**
+	 *
+	 * @param expected
+	 * @param ret1
+	 * @param retk
+	 */
+	private void compareResults( double[][] expected, MatrixBlock ret1, MatrixBlock retk )
+	{
+		double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] Ck = DataConverter.convertToDoubleMatrix(retk);
+		compareResults(expected, C1);
+		compareResults(expected, Ck);
+	}
+
+	/**
+	 *
+	 * @param expected
+	 * @param actual
+	 */
+	private void compareResults( double[][] expected, double[][] actual )
+	{
+		TestUtils.compareMatrices(expected, actual, expected.length, expected[0].length, eps);
+	}
+}
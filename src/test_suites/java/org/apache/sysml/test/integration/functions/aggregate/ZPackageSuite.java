@@ -42,6 +42,7 @@ import org.junit.runners.Suite;
 	TraceTest.class,
   
 	FullAggregateTest.class,
+	FullAggregateMultiThreadedTest.class,
 	FullColAggregateTest.class,
 	FullGroupedAggregateTest.class,
 	FullGroupedAggregateMatrixTest.class,
@@ -32,6 +32,7 @@ import org.junit.runners.Suite;
 	FullVectorVectorCellwiseOperationTest.class,
 	FullVectorVectorCellwiseCompareOperationTest.class,
 	FullMinus1MultTest.class,
+	FullCellwiseMultiThreadedTest.class,
 })
 
 
@@ -30,6 +30,7 @@ import org.junit.runners.Suite;
 	FullMatrixMultiplicationUltraSparseTest.class,
 	FullIntegerDivisionTest.class,
 	FullMatrixMultiplicationTest.class,
+	FullMatrixMultiplicationCSRTest.class,
 	FullMatrixMultiplicationTransposeSelfTest.class,
 	FullMinMaxComparisonTest.class,
 	FullPowerTest.class,
@@ -26,6 +26,10 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	CachingArrayPoolTest.class,
+	CachingCompressionTest.class,
+	CachingConcurrentWriteBufferTest.class,
+	CachingOffHeapWriteBufferTest.class,
 	CachingPWriteExportTest.class
 })
 
@@ -26,6 +26,11 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	JMLCBatchScoringTest.class,
+	JMLCParallelScoringTest.class,
+	JMLCPlanCacheTest.class,
+	JMLCRuntimeMetricsTest.class,
+	JMLCZeroCopyInputTest.class,
 	SystemTMulticlassSVMScoreTest.class
 })
 
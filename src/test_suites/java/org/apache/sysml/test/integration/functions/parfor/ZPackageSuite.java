@@ -28,14 +28,18 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	ForLoopPredicateTest.class,
 	ParForAdversarialLiteralsTest.class,
+	ParForBodyCacheTest.class,
 	ParForColwiseDataPartitioningTest.class,
 	ParForDataPartitionLeftIndexingTest.class,
+	ParForDeltaResultMergeTest.class,
 	ParForDependencyAnalysisTest.class,
 	ParForFunctionSerializationTest.class,
+	ParForInMemoryDataPartitioningTest.class,
 	ParForMultipleDataPartitioningTest.class,
 	ParForNaNResultMergeTest.class,
 	ParForReplaceThreadIDRecompileTest.class,
 	ParForRowwiseDataPartitioningTest.class,
+	ParForWorkStealingTest.class,
 	
 	ParForParallelRemoteResultMergeTest.class,
 	ParForSerialRemoteResultMergeTest.class,
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	DiagV2MTest.class,
 	FullTransposeTest.class,
+	FullTransposeMultiThreadedTest.class,
 	FullOrderTest.class,
 	
 	MatrixReshapeTest.class